@@ -0,0 +1,116 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.benchmarks;
+
+import org.flywaydb.core.internal.util.IOUtils;
+import org.flywaydb.core.internal.util.line.Line;
+import org.flywaydb.core.internal.util.line.LineReader;
+import org.flywaydb.core.internal.util.scanner.LoadableResource;
+import org.flywaydb.core.internal.util.scanner.classpath.ClassPathResource;
+import org.flywaydb.core.internal.util.scanner.filesystem.FileSystemResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Calculating the checksum of a single SQL file, read from the filesystem (decoded straight from the file from 64 KB
+ * on) and from the classpath. The legacy benchmarks calculate the same checksums the way they used to be, by reading
+ * the resource line by line and encoding every trimmed line separately, as a baseline. A new resource is created for
+ * every invocation, as resources remember their checksum.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChecksumBenchmark {
+    @Param({"1024", "65536", "1048576", "16777216"})
+    public int size;
+
+    private File directory;
+    private File file;
+    private ClassLoader classLoader;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Fixtures.createTempDirectory();
+        file = new File(directory, "V1__Migration.sql");
+        Fixtures.writeSqlFile(file, size);
+        classLoader = new URLClassLoader(new URL[]{directory.toURI().toURL()}, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Fixtures.delete(directory);
+    }
+
+    @Benchmark
+    public int fileSystem() {
+        return new FileSystemResource(file.getPath(), Fixtures.UTF8).checksum();
+    }
+
+    @Benchmark
+    public int classPath() {
+        return new ClassPathResource(file.getName(), classLoader, Fixtures.UTF8).checksum();
+    }
+
+    @Benchmark
+    public int fileSystemLegacy() {
+        return lineByLineChecksum(new FileSystemResource(file.getPath(), Fixtures.UTF8));
+    }
+
+    @Benchmark
+    public int classPathLegacy() {
+        return lineByLineChecksum(new ClassPathResource(file.getName(), classLoader, Fixtures.UTF8));
+    }
+
+    /**
+     * Calculates the checksum of this resource line by line, like it was before checksums were calculated in bulk.
+     *
+     * @param resource The resource.
+     * @return The checksum.
+     */
+    private static int lineByLineChecksum(LoadableResource resource) {
+        CRC32 crc32 = new CRC32();
+        LineReader lineReader = resource.loadAsString();
+        try {
+            Line line;
+            while ((line = lineReader.readLine()) != null) {
+                crc32.update(line.getLine().trim().getBytes(Fixtures.UTF8));
+            }
+        } finally {
+            IOUtils.close(lineReader);
+        }
+        return (int) crc32.getValue();
+    }
+}
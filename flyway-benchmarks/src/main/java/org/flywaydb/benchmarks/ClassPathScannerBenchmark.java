@@ -0,0 +1,103 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.benchmarks;
+
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.internal.util.scanner.LoadableResource;
+import org.flywaydb.core.internal.util.scanner.classpath.ClassPathScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scanning a jar for SQL migrations, as done for classpath locations when no migration index is available. The jar
+ * contains as many unrelated entries as migrations. Scanners share a process-wide index of the entries of each jar,
+ * so the cold benchmark changes the modification time of the jar before every invocation to have its index rebuilt,
+ * while the warm benchmark measures scans hitting the index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassPathScannerBenchmark {
+    @Param({"10", "1000", "50000"})
+    public int migrations;
+
+    private File directory;
+    private File jar;
+    private URLClassLoader classLoader;
+    private Location location;
+
+    @Setup
+    public void setUp() throws IOException {
+        Fixtures.disableLogging();
+        directory = Fixtures.createTempDirectory();
+        jar = new File(directory, "migrations.jar");
+        Fixtures.writeMigrationJar(jar, migrations);
+        classLoader = new URLClassLoader(new URL[]{jar.toURI().toURL()}, null);
+        location = new Location("classpath:" + Fixtures.LOCATION);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        classLoader.close();
+        Fixtures.delete(directory);
+    }
+
+    @Benchmark
+    public LoadableResource[] scanForResourcesCold(JarModification jarModification) throws IOException {
+        return new ClassPathScanner(classLoader, Fixtures.UTF8).scanForResources(location, "V", ".sql");
+    }
+
+    @Benchmark
+    public LoadableResource[] scanForResourcesWarm() throws IOException {
+        return new ClassPathScanner(classLoader, Fixtures.UTF8).scanForResources(location, "V", ".sql");
+    }
+
+    /**
+     * Makes the jar look modified before every invocation, so its entry index is no longer valid.
+     */
+    @State(Scope.Thread)
+    public static class JarModification {
+        private long modifications;
+
+        @Setup(Level.Invocation)
+        public void modify(ClassPathScannerBenchmark benchmark) {
+            // Whole seconds, as some filesystems don't store finer modification times
+            if (!benchmark.jar.setLastModified(1514764800000L + 1000L * (++modifications % 2))) {
+                throw new IllegalStateException("Unable to change the modification time of " + benchmark.jar);
+            }
+        }
+    }
+}
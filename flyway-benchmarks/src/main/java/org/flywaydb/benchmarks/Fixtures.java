@@ -0,0 +1,278 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.benchmarks;
+
+import org.flywaydb.core.api.logging.Log;
+import org.flywaydb.core.api.logging.LogCreator;
+import org.flywaydb.core.api.logging.LogFactory;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Generates the synthetic migrations, scripts and jars the benchmarks run against. Everything is derived from a fixed
+ * seed, so that every run measures exactly the same work.
+ */
+final class Fixtures {
+    static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /**
+     * The classpath location of the migrations in generated jars.
+     */
+    static final String LOCATION = "db/migration";
+
+    private Fixtures() {
+        // Utility class
+    }
+
+    /**
+     * Silences Flyway, so that logging does not dominate the measurements.
+     */
+    static void disableLogging() {
+        LogFactory.setLogCreator(new LogCreator() {
+            @Override
+            public Log createLogger(Class<?> clazz) {
+                return new Log() {
+                    @Override
+                    public void debug(String message) {
+                    }
+
+                    @Override
+                    public void info(String message) {
+                    }
+
+                    @Override
+                    public void warn(String message) {
+                    }
+
+                    @Override
+                    public void error(String message) {
+                    }
+
+                    @Override
+                    public void error(String message, Exception e) {
+                    }
+                };
+            }
+        });
+    }
+
+    /**
+     * Generates migration versions in the formats used in practice: plain numbers, dotted versions and timestamps.
+     *
+     * @param count The number of versions.
+     * @return The versions, in ascending order.
+     */
+    static List<String> versions(int count) {
+        List<String> versions = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            switch (i % 4) {
+                case 0:
+                    versions.add(String.valueOf(i));
+                    break;
+                case 1:
+                    versions.add(i + ".1");
+                    break;
+                case 2:
+                    versions.add(i + ".2.0.1");
+                    break;
+                default:
+                    versions.add(i + ".20180101120000");
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * Generates the contents of a versioned migration.
+     *
+     * @param i The number of the migration.
+     * @return The SQL.
+     */
+    static String migrationScript(int i) {
+        return "-- Migration " + i + "\n"
+                + "CREATE TABLE t_" + i + " (\n"
+                + "  id INT NOT NULL,\n"
+                + "  name VARCHAR(100)\n"
+                + ");\n"
+                + "INSERT INTO t_" + i + " (id, name) VALUES (1, '${name}');\n"
+                + "INSERT INTO t_" + i + " (id, name) VALUES (2, 'it''s; " + i + "');\n";
+    }
+
+    /**
+     * @param i       The number of the migration.
+     * @param version The version of the migration.
+     * @return The filename of the migration.
+     */
+    static String migrationFilename(int i, String version) {
+        return "V" + version.replace('.', '_') + "__Migration_" + i + ".sql";
+    }
+
+    /**
+     * Writes this number of versioned migrations to this directory.
+     *
+     * @param directory The directory.
+     * @param count     The number of migrations.
+     */
+    static void writeMigrations(File directory, int count) throws IOException {
+        List<String> versions = versions(count);
+        for (int i = 1; i <= count; i++) {
+            write(new File(directory, migrationFilename(i, versions.get(i - 1))), migrationScript(i));
+        }
+    }
+
+    /**
+     * Writes a jar containing this number of versioned migrations at {@link #LOCATION}, mixed with as many unrelated
+     * entries, the way migrations usually end up packaged alongside the rest of an application.
+     *
+     * @param jar   The jar to write.
+     * @param count The number of migrations.
+     */
+    static void writeMigrationJar(File jar, int count) throws IOException {
+        List<String> versions = versions(count);
+        ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(jar));
+        try {
+            for (int i = 1; i <= count; i++) {
+                zip.putNextEntry(new ZipEntry(LOCATION + "/" + migrationFilename(i, versions.get(i - 1))));
+                zip.write(migrationScript(i).getBytes(UTF8));
+                zip.closeEntry();
+
+                zip.putNextEntry(new ZipEntry("com/example/app/module" + (i % 100) + "/Resource" + i + ".properties"));
+                zip.write(("key=" + i + "\n").getBytes(UTF8));
+                zip.closeEntry();
+            }
+        } finally {
+            zip.close();
+        }
+    }
+
+    /**
+     * Generates a file of this size made of typical SQL lines.
+     *
+     * @param file The file to write.
+     * @param size The approximate size in bytes.
+     */
+    static void writeSqlFile(File file, int size) throws IOException {
+        Random random = new Random(42);
+        StringBuilder sql = new StringBuilder(size + 128);
+        while (sql.length() < size) {
+            sql.append("INSERT INTO person (id, name, created) VALUES (")
+                    .append(random.nextInt(1000000))
+                    .append(", 'Name ").append(Long.toHexString(random.nextLong()))
+                    .append("', '2018-01-01');\n");
+        }
+        write(file, sql.toString());
+    }
+
+    /**
+     * Generates a SQL script of this number of statements in the dialect of this database. Apart from plain DDL and
+     * DML it contains the constructs that make splitting statements expensive, such as string literals containing
+     * delimiters, comments and stored procedure bodies.
+     *
+     * @param dialect    The dialect (h2, postgresql, oracle, mysql or sqlserver).
+     * @param statements The number of statements.
+     * @return The script.
+     */
+    static String sqlScript(String dialect, int statements) {
+        String delimiter = "sqlserver".equals(dialect) ? "\nGO" : ";";
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < statements; i++) {
+            switch (i % 5) {
+                case 0:
+                    sql.append("CREATE TABLE t_").append(i).append(" (\n  id INT NOT NULL,\n  name VARCHAR(100)\n)");
+                    break;
+                case 1:
+                    sql.append("/* Multi-line\n   comment; */\nINSERT INTO t_").append(i)
+                            .append(" (id, name) VALUES (1, 'it''s; -- not a comment')");
+                    break;
+                case 2:
+                    sql.append("UPDATE t_").append(i).append(" SET name = 'a\nmulti-line; value' WHERE id = 1 -- comment");
+                    break;
+                case 3:
+                    sql.append(block(dialect, i));
+                    break;
+                default:
+                    sql.append("DELETE FROM t_").append(i).append(" WHERE name IN ('a', 'b', 'c')");
+            }
+            sql.append(delimiter).append("\n");
+        }
+        return sql.toString();
+    }
+
+    private static String block(String dialect, int i) {
+        if ("postgresql".equals(dialect)) {
+            return "CREATE FUNCTION f_" + i + "() RETURNS trigger AS $body$\nBEGIN\n  RAISE NOTICE 'x;';\n"
+                    + "  RETURN NEW;\nEND;\n$body$ LANGUAGE plpgsql";
+        }
+        if ("oracle".equals(dialect)) {
+            return "CREATE OR REPLACE PROCEDURE p_" + i + " AS\nBEGIN\n  INSERT INTO t VALUES (q'[it's;]');\n"
+                    + "  IF 1 = 1 THEN\n    NULL;\n  END IF;\nEND;\n/";
+        }
+        if ("h2".equals(dialect)) {
+            return "CREATE ALIAS f_" + i + " AS $$\nString f(String s) { return s + \";\"; }\n$$";
+        }
+        if ("mysql".equals(dialect)) {
+            return "INSERT INTO t_" + i + " (name) VALUES (\"double \\\"quoted\\\"; value\")";
+        }
+        return "CREATE PROCEDURE p_" + i + " AS\nBEGIN\n  SELECT 'x;' AS [name;]\nEND";
+    }
+
+    /**
+     * Creates a new temporary directory.
+     *
+     * @return The directory.
+     */
+    static File createTempDirectory() throws IOException {
+        return Files.createTempDirectory("flyway-benchmarks").toFile();
+    }
+
+    /**
+     * Deletes this file or directory recursively.
+     *
+     * @param file The file or directory.
+     */
+    static void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+    }
+
+    private static void write(File file, String contents) throws IOException {
+        OutputStream outputStream = new FileOutputStream(file);
+        Writer writer = new OutputStreamWriter(outputStream, UTF8);
+        try {
+            writer.write(contents);
+        } finally {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.benchmarks;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Migrating an empty embedded database end to end, from scanning the filesystem location to updating the schema
+ * history table. Every iteration starts from a new database, so each measures exactly one migrate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MigrateBenchmark {
+    @Param({"h2", "hsqldb", "sqlite"})
+    public String database;
+
+    @Param({"10", "1000", "50000"})
+    public int migrations;
+
+    private File directory;
+    private File migrationDirectory;
+    private int run;
+    private Flyway flyway;
+
+    @Setup(Level.Trial)
+    public void setUpMigrations() throws IOException {
+        Fixtures.disableLogging();
+        directory = Fixtures.createTempDirectory();
+        migrationDirectory = new File(directory, "migrations");
+        if (!migrationDirectory.mkdir()) {
+            throw new IOException("Unable to create " + migrationDirectory);
+        }
+        Fixtures.writeMigrations(migrationDirectory, migrations);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownMigrations() {
+        Fixtures.delete(directory);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpDatabase() {
+        run++;
+        flyway = new Flyway();
+        flyway.setDataSource(getUrl(), "sa", "");
+        flyway.setLocations("filesystem:" + migrationDirectory.getAbsolutePath());
+        flyway.setPlaceholders(Collections.singletonMap("name", "benchmark"));
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownDatabase() {
+        flyway.clean();
+    }
+
+    private String getUrl() {
+        if ("hsqldb".equals(database)) {
+            return "jdbc:hsqldb:mem:flyway_benchmark_" + run;
+        }
+        if ("sqlite".equals(database)) {
+            return "jdbc:sqlite:" + new File(directory, "flyway_benchmark_" + run + ".db").getAbsolutePath();
+        }
+        return "jdbc:h2:mem:flyway_benchmark_" + run + ";DB_CLOSE_DELAY=-1";
+    }
+
+    @Benchmark
+    public int migrate() {
+        return flyway.migrate();
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.benchmarks;
+
+import org.flywaydb.core.api.MigrationType;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.resolver.MigrationResolver;
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.info.MigrationInfoServiceImpl;
+import org.flywaydb.core.internal.resolver.ResolvedMigrationImpl;
+import org.flywaydb.core.internal.schemahistory.AppliedMigration;
+import org.flywaydb.core.internal.schemahistory.SchemaHistory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matching resolved migrations against a large schema history, as done by info, validate and migrate. 90% of the
+ * migrations are applied, the rest is pending. Neither resolving nor reading the history is measured here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MigrationInfoBenchmark {
+    @Param({"10", "1000", "50000"})
+    public int migrations;
+
+    private MigrationResolver migrationResolver;
+    private SchemaHistory schemaHistory;
+
+    @Setup
+    public void setUp() {
+        List<String> versions = Fixtures.versions(migrations);
+        final List<ResolvedMigration> resolvedMigrations = new ArrayList<>(migrations);
+        final List<AppliedMigration> appliedMigrations = new ArrayList<>(migrations);
+        Date installedOn = new Date();
+        for (int i = 1; i <= migrations; i++) {
+            MigrationVersion version = MigrationVersion.fromVersion(versions.get(i - 1));
+            String description = "Migration " + i;
+            String script = Fixtures.migrationFilename(i, versions.get(i - 1));
+
+            ResolvedMigrationImpl resolvedMigration = new ResolvedMigrationImpl();
+            resolvedMigration.setVersion(version);
+            resolvedMigration.setDescription(description);
+            resolvedMigration.setScript(script);
+            resolvedMigration.setChecksum(i);
+            resolvedMigration.setType(MigrationType.SQL);
+            resolvedMigrations.add(resolvedMigration);
+
+            if (i <= migrations * 9 / 10) {
+                appliedMigrations.add(new AppliedMigration(i, version, description, MigrationType.SQL, script, i,
+                        installedOn, "benchmark", 10, true));
+            }
+        }
+
+        migrationResolver = new MigrationResolver() {
+            @Override
+            public Collection<ResolvedMigration> resolveMigrations() {
+                return resolvedMigrations;
+            }
+        };
+        schemaHistory = new InMemorySchemaHistory(appliedMigrations);
+    }
+
+    @Benchmark
+    public MigrationInfoServiceImpl refresh() {
+        MigrationInfoServiceImpl migrationInfoService = new MigrationInfoServiceImpl(migrationResolver, schemaHistory,
+                MigrationVersion.LATEST, false, true, true, true, true);
+        migrationInfoService.refresh();
+        return migrationInfoService;
+    }
+
+    /**
+     * A read-only schema history with a fixed list of applied migrations.
+     */
+    private static class InMemorySchemaHistory extends SchemaHistory {
+        private final List<AppliedMigration> appliedMigrations;
+
+        InMemorySchemaHistory(List<AppliedMigration> appliedMigrations) {
+            this.appliedMigrations = appliedMigrations;
+        }
+
+        @Override
+        public <T> T lock(Callable<T> callable) {
+            try {
+                return callable.call();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public void create() {
+        }
+
+        @Override
+        public List<AppliedMigration> allAppliedMigrations() {
+            return appliedMigrations;
+        }
+
+        @Override
+        public void removeFailedMigrations() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void update(AppliedMigration appliedMigration, ResolvedMigration resolvedMigration) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void updateSnapshotChecksum(AppliedMigration snapshotMigration, int checksum) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void compact(MigrationVersion version, int checksum, List<AppliedMigration> appliedMigrations) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected void doAddAppliedMigration(int installedRank, MigrationVersion version, String description,
+                                             MigrationType type, String script, Integer checksum, int executionTime,
+                                             boolean success) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
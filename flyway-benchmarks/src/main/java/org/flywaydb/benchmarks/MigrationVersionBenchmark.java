@@ -0,0 +1,77 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.benchmarks;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and sorting migration versions, as done for every migration whenever Flyway resolves them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MigrationVersionBenchmark {
+    @Param({"10", "1000", "50000"})
+    public int migrations;
+
+    private List<String> versions;
+    private MigrationVersion[] shuffled;
+
+    @Setup
+    public void setUp() {
+        versions = Fixtures.versions(migrations);
+        shuffled = new MigrationVersion[migrations];
+        for (int i = 0; i < migrations; i++) {
+            shuffled[i] = MigrationVersion.fromVersion(versions.get(i));
+        }
+        Collections.shuffle(Arrays.asList(shuffled), new Random(42));
+    }
+
+    @Benchmark
+    public void fromVersion(Blackhole blackhole) {
+        for (String version : versions) {
+            blackhole.consume(MigrationVersion.fromVersion(version));
+        }
+    }
+
+    @Benchmark
+    public MigrationVersion[] sort() {
+        MigrationVersion[] sorted = shuffled.clone();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
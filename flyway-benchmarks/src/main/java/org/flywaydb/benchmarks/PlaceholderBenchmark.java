@@ -0,0 +1,78 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.benchmarks;
+
+import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replacing placeholders in the lines of a migration, with many placeholders defined but few actually used, as is
+ * common when the same placeholders are shared by all migrations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlaceholderBenchmark {
+    @Param({"1", "10", "100"})
+    public int placeholders;
+
+    @Param({"10", "1000", "50000"})
+    public int lines;
+
+    private PlaceholderReplacer placeholderReplacer;
+    private String[] sql;
+
+    @Setup
+    public void setUp() {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < placeholders; i++) {
+            values.put("placeholder" + i, "value" + i);
+        }
+        placeholderReplacer = new PlaceholderReplacer(values, "${", "}");
+
+        sql = new String[lines];
+        for (int i = 0; i < lines; i++) {
+            sql[i] = i % 10 == 0
+                    ? "INSERT INTO ${placeholder0}.person (id, name) VALUES (" + i + ", '${placeholder" + (i % placeholders) + "}');"
+                    : "INSERT INTO person (id, name) VALUES (" + i + ", 'Name " + i + "');";
+        }
+    }
+
+    @Benchmark
+    public void replacePlaceholders(Blackhole blackhole) {
+        for (String line : sql) {
+            blackhole.consume(placeholderReplacer.replacePlaceholders(line));
+        }
+    }
+}
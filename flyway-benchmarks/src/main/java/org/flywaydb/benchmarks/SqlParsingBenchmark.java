@@ -0,0 +1,93 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.benchmarks;
+
+import org.flywaydb.core.internal.database.Delimiter;
+import org.flywaydb.core.internal.database.ExecutableSqlScript;
+import org.flywaydb.core.internal.database.SqlStatementBuilder;
+import org.flywaydb.core.internal.database.h2.H2SqlStatementBuilder;
+import org.flywaydb.core.internal.database.mysql.MySQLSqlStatementBuilder;
+import org.flywaydb.core.internal.database.oracle.OracleSqlStatementBuilder;
+import org.flywaydb.core.internal.database.postgresql.PostgreSQLSqlStatementBuilder;
+import org.flywaydb.core.internal.database.sqlserver.SQLServerSqlStatementBuilder;
+import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.flywaydb.core.internal.util.scanner.StringResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splitting SQL scripts into statements, for each dialect with its own statement builder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqlParsingBenchmark {
+    @Param({"h2", "postgresql", "oracle", "mysql", "sqlserver"})
+    public String dialect;
+
+    @Param({"10", "1000", "50000"})
+    public int statements;
+
+    private StringResource resource;
+
+    @Setup
+    public void setUp() {
+        Fixtures.disableLogging();
+        resource = new StringResource(Fixtures.sqlScript(dialect, statements));
+    }
+
+    @Benchmark
+    public List<?> parse() {
+        final String dialect = this.dialect;
+        return new ExecutableSqlScript(resource, PlaceholderReplacer.NO_PLACEHOLDERS, false, false, 0) {
+            @Override
+            protected SqlStatementBuilder createSqlStatementBuilder() {
+                return createBuilder(dialect);
+            }
+        }.getSqlStatements();
+    }
+
+    private static SqlStatementBuilder createBuilder(String dialect) {
+        if ("postgresql".equals(dialect)) {
+            return new PostgreSQLSqlStatementBuilder(Delimiter.SEMICOLON);
+        }
+        if ("oracle".equals(dialect)) {
+            return new OracleSqlStatementBuilder(Delimiter.SEMICOLON);
+        }
+        if ("mysql".equals(dialect)) {
+            return new MySQLSqlStatementBuilder(Delimiter.SEMICOLON);
+        }
+        if ("sqlserver".equals(dialect)) {
+            return new SQLServerSqlStatementBuilder(Delimiter.GO);
+        }
+        return new H2SqlStatementBuilder(Delimiter.SEMICOLON);
+    }
+}
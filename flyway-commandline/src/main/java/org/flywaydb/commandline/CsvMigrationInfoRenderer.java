@@ -0,0 +1,90 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.commandline;
+
+import org.flywaydb.core.api.MigrationInfo;
+
+import java.io.PrintStream;
+import java.text.DateFormat;
+
+/**
+ * Renders migration infos as CSV (RFC 4180), with a header line followed by one line per migration.
+ */
+class CsvMigrationInfoRenderer extends MigrationInfoRenderer {
+    private static final String HEADER = "category,version,description,type,script,checksum,installedRank,"
+            + "installedOn,installedBy,executionTime,state";
+
+    /**
+     * The stream to write to.
+     */
+    private final PrintStream out;
+
+    /**
+     * Creates a new CSV renderer.
+     *
+     * @param out The stream to write to.
+     */
+    CsvMigrationInfoRenderer(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    boolean isMachineReadable() {
+        return true;
+    }
+
+    @Override
+    void render(Iterable<MigrationInfo> migrationInfos) {
+        DateFormat dateFormat = createDateFormat();
+
+        out.print(HEADER + "\r\n");
+        StringBuilder line = new StringBuilder();
+        for (MigrationInfo migrationInfo : migrationInfos) {
+            line.setLength(0);
+            appendValue(line, getCategory(migrationInfo)).append(',');
+            appendValue(line, getVersionStr(migrationInfo)).append(',');
+            appendValue(line, migrationInfo.getDescription()).append(',');
+            appendValue(line, migrationInfo.getType().name()).append(',');
+            appendValue(line, migrationInfo.getScript()).append(',');
+            appendValue(line, migrationInfo.getChecksum()).append(',');
+            appendValue(line, migrationInfo.getInstalledRank()).append(',');
+            appendValue(line, formatDate(dateFormat, migrationInfo.getInstalledOn())).append(',');
+            appendValue(line, migrationInfo.getInstalledBy()).append(',');
+            appendValue(line, migrationInfo.getExecutionTime()).append(',');
+            appendValue(line, migrationInfo.getState().name()).append("\r\n");
+            out.print(line);
+        }
+        out.flush();
+    }
+
+    /**
+     * Appends this value to this line, quoting it if it contains a separator, a quote or a line break.
+     *
+     * @param line  The line to append to.
+     * @param value The value to append. Nothing is appended for {@code null}.
+     * @return The line.
+     */
+    private static StringBuilder appendValue(StringBuilder line, Object value) {
+        if (value == null) {
+            return line;
+        }
+        String str = value.toString();
+        if (str.indexOf(',') < 0 && str.indexOf('"') < 0 && str.indexOf('\n') < 0 && str.indexOf('\r') < 0) {
+            return line.append(str);
+        }
+        return line.append('"').append(str.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.commandline;
+
+import org.flywaydb.core.api.MigrationInfo;
+
+import java.io.PrintStream;
+import java.text.DateFormat;
+
+/**
+ * Renders migration infos as a JSON array with one object per migration, written out as the array is iterated over.
+ */
+class JsonMigrationInfoRenderer extends MigrationInfoRenderer {
+    /**
+     * The stream to write to.
+     */
+    private final PrintStream out;
+
+    /**
+     * Creates a new JSON renderer.
+     *
+     * @param out The stream to write to.
+     */
+    JsonMigrationInfoRenderer(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    boolean isMachineReadable() {
+        return true;
+    }
+
+    @Override
+    void render(Iterable<MigrationInfo> migrationInfos) {
+        DateFormat dateFormat = createDateFormat();
+
+        out.print("[");
+        StringBuilder object = new StringBuilder();
+        boolean first = true;
+        for (MigrationInfo migrationInfo : migrationInfos) {
+            object.setLength(0);
+            object.append(first ? "\n" : ",\n");
+            object.append("  {\"category\": ");
+            appendString(object, getCategory(migrationInfo));
+            object.append(", \"version\": ");
+            appendString(object, migrationInfo.getVersion() == null ? null : migrationInfo.getVersion().toString());
+            object.append(", \"description\": ");
+            appendString(object, migrationInfo.getDescription());
+            object.append(", \"type\": ");
+            appendString(object, migrationInfo.getType().name());
+            object.append(", \"script\": ");
+            appendString(object, migrationInfo.getScript());
+            object.append(", \"checksum\": ").append(migrationInfo.getChecksum());
+            object.append(", \"installedRank\": ").append(migrationInfo.getInstalledRank());
+            object.append(", \"installedOn\": ");
+            appendString(object, migrationInfo.getInstalledOn() == null ? null
+                    : formatDate(dateFormat, migrationInfo.getInstalledOn()));
+            object.append(", \"installedBy\": ");
+            appendString(object, migrationInfo.getInstalledBy());
+            object.append(", \"executionTime\": ").append(migrationInfo.getExecutionTime());
+            object.append(", \"state\": ");
+            appendString(object, migrationInfo.getState().name());
+            object.append("}");
+            out.print(object);
+            first = false;
+        }
+        out.print(first ? "]\n" : "\n]\n");
+        out.flush();
+    }
+
+    /**
+     * Appends this string as a JSON string literal.
+     *
+     * @param object The object being rendered.
+     * @param str    The string to append. {@code null} is appended as a JSON null.
+     */
+    private static void appendString(StringBuilder object, String str) {
+        if (str == null) {
+            object.append("null");
+            return;
+        }
+        object.append('"');
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            switch (c) {
+                case '"':
+                    object.append("\\\"");
+                    break;
+                case '\\':
+                    object.append("\\\\");
+                    break;
+                case '\n':
+                    object.append("\\n");
+                    break;
+                case '\r':
+                    object.append("\\r");
+                    break;
+                case '\t':
+                    object.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        object.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        object.append(c);
+                    }
+            }
+        }
+        object.append('"');
+    }
+}
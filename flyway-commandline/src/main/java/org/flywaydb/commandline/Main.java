@@ -18,12 +18,13 @@ package org.flywaydb.commandline;
 import org.flywaydb.core.Flyway;
 import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationInfoFilter;
 import org.flywaydb.core.api.MigrationInfoService;
+import org.flywaydb.core.api.MigrationState;
 import org.flywaydb.core.api.MigrationVersion;
 import org.flywaydb.core.api.logging.Log;
 import org.flywaydb.core.api.logging.LogFactory;
 import org.flywaydb.core.internal.configuration.ConfigUtils;
-import org.flywaydb.core.internal.info.MigrationInfoDumper;
 import org.flywaydb.core.internal.util.ClassUtils;
 import org.flywaydb.core.internal.util.StringUtils;
 import org.flywaydb.core.internal.util.VersionPrinter;
@@ -34,9 +35,12 @@ import java.io.Console;
 import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
 
@@ -46,8 +50,17 @@ import java.util.Properties;
 public class Main {
     private static Log LOG;
 
+    private static final String INFO_FORMAT = "flyway.infoFormat";
+    private static final String INFO_ORDER = "flyway.infoOrder";
+    private static final String INFO_STATES = "flyway.infoStates";
+    private static final String INFO_FROM_VERSION = "flyway.infoFromVersion";
+    private static final String INFO_TO_VERSION = "flyway.infoToVersion";
+    private static final String INFO_SINCE = "flyway.infoSince";
+    private static final String INFO_OFFSET = "flyway.infoOffset";
+    private static final String INFO_LIMIT = "flyway.infoLimit";
+
     private static List<String> VALID_OPERATIONS_AND_FLAGS = Arrays.asList("-X", "-q", "-n", "-v", "-?",
-            "help", "migrate", "clean", "info", "validate", "undo", "baseline", "repair");
+            "help", "migrate", "clean", "info", "validate", "undo", "baseline", "repair", "compact", "watch");
 
     /**
      * Initializes the logging.
@@ -69,13 +82,14 @@ public class Main {
         initLogging(logLevel);
 
         try {
-            printVersion();
             if (isPrintVersionAndExit(args)) {
+                printVersion();
                 System.exit(0);
             }
 
             List<String> operations = determineOperations(args);
             if (operations.isEmpty() || operations.contains("help") || isFlagSet(args, "-?")) {
+                printVersion();
                 printUsage();
                 return;
             }
@@ -90,6 +104,20 @@ public class Main {
             properties.putAll(envVars);
             overrideConfigurationWithArgs(properties, args);
 
+            // The info options are only parsed for the info command, so they can't fail any other command
+            MigrationInfoFilter infoFilter = null;
+            MigrationInfoRenderer infoRenderer = null;
+            if (operations.contains("info")) {
+                infoFilter = createInfoFilter(properties);
+                infoRenderer = createInfoRenderer(properties);
+                if (infoRenderer.isMachineReadable()) {
+                    // Standard output is left to the renderer alone, all logging goes to standard error instead
+                    System.setOut(System.err);
+                }
+            }
+
+            printVersion();
+
             if (!isSuppressPrompt(args)) {
                 promptForCredentialsIfMissing(properties);
             }
@@ -104,7 +132,7 @@ public class Main {
             Flyway flyway = Flyway.config(classLoader).configure(properties).load();
 
             for (String operation : operations) {
-                executeOperation(flyway, operation);
+                executeOperation(flyway, operation, infoFilter, infoRenderer);
             }
         } catch (Exception e) {
             if (logLevel == Level.DEBUG) {
@@ -148,10 +176,15 @@ public class Main {
     /**
      * Executes this operation on this Flyway instance.
      *
-     * @param flyway    The Flyway instance.
-     * @param operation The operation to execute.
+     * @param flyway       The Flyway instance.
+     * @param operation    The operation to execute.
+     * @param infoFilter   The filter selecting the migrations to print for the info operation. {@code null} for other
+     *                     operations.
+     * @param infoRenderer The renderer printing the migrations for the info operation. {@code null} for other
+     *                     operations.
      */
-    private static void executeOperation(Flyway flyway, String operation) {
+    private static void executeOperation(Flyway flyway, String operation, MigrationInfoFilter infoFilter,
+                                         MigrationInfoRenderer infoRenderer) {
         if ("clean".equals(operation)) {
             flyway.clean();
         } else if ("baseline".equals(operation)) {
@@ -163,14 +196,19 @@ public class Main {
         } else if ("validate".equals(operation)) {
             flyway.validate();
         } else if ("info".equals(operation)) {
-            MigrationInfoService info = flyway.info();
+            // Only the infos that can match the filter are built
+            MigrationInfoService info = flyway.info(infoFilter);
             MigrationInfo current = info.current();
             MigrationVersion currentSchemaVersion = current == null ? MigrationVersion.EMPTY : current.getVersion();
             LOG.info("Schema version: " + currentSchemaVersion);
             LOG.info("");
-            LOG.info(MigrationInfoDumper.dumpToAsciiTable(info.all()));
+            infoRenderer.render(info.iterate(infoFilter));
         } else if ("repair".equals(operation)) {
             flyway.repair();
+        } else if ("compact".equals(operation)) {
+            flyway.compact();
+        } else if ("watch".equals(operation)) {
+            new MigrationWatcher(flyway.getConfiguration()).watch();
         } else {
             LOG.error("Invalid operation: " + operation);
             printUsage();
@@ -196,6 +234,94 @@ public class Main {
         return Level.INFO;
     }
 
+    /**
+     * Creates the filter selecting the migrations to print for the info operation.
+     *
+     * @param properties The properties to read the filter from.
+     * @return The filter.
+     */
+    private static MigrationInfoFilter createInfoFilter(Properties properties) {
+        MigrationInfoFilter filter = new MigrationInfoFilter();
+
+        String order = properties.getProperty(INFO_ORDER);
+        if ("version".equalsIgnoreCase(order)) {
+            filter.orderBy(MigrationInfoFilter.Order.VERSION);
+        } else if (order != null && !"installedRank".equalsIgnoreCase(order)) {
+            throw new FlywayException("Invalid value for infoOrder: " + order + " (expected installedRank or version)");
+        }
+
+        String states = properties.getProperty(INFO_STATES);
+        if (states != null) {
+            List<MigrationState> migrationStates = new ArrayList<>();
+            for (String state : StringUtils.tokenizeToStringArray(states, ",")) {
+                try {
+                    migrationStates.add(MigrationState.valueOf(state.toUpperCase(Locale.ENGLISH)));
+                } catch (IllegalArgumentException e) {
+                    throw new FlywayException("Invalid value for infoStates: " + state
+                            + " (expected one of " + Arrays.toString(MigrationState.values()) + ")");
+                }
+            }
+            filter.states(migrationStates.toArray(new MigrationState[0]));
+        }
+
+        String fromVersion = properties.getProperty(INFO_FROM_VERSION);
+        if (fromVersion != null) {
+            filter.fromVersion(MigrationVersion.fromVersion(fromVersion));
+        }
+        String toVersion = properties.getProperty(INFO_TO_VERSION);
+        if (toVersion != null) {
+            filter.toVersion(MigrationVersion.fromVersion(toVersion));
+        }
+
+        String since = properties.getProperty(INFO_SINCE);
+        if (since != null) {
+            String pattern = since.length() > 10 ? "yyyy-MM-dd HH:mm:ss" : "yyyy-MM-dd";
+            try {
+                filter.installedSince(new SimpleDateFormat(pattern).parse(since));
+            } catch (ParseException e) {
+                throw new FlywayException("Invalid value for infoSince: " + since
+                        + " (expected yyyy-MM-dd or yyyy-MM-dd HH:mm:ss)");
+            }
+        }
+
+        filter.offset(getIntProperty(properties, INFO_OFFSET));
+        filter.limit(getIntProperty(properties, INFO_LIMIT));
+        return filter;
+    }
+
+    private static int getIntProperty(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new FlywayException("Invalid value for " + key.substring("flyway.".length()) + ": " + value
+                    + " (expected a number)");
+        }
+    }
+
+    /**
+     * Creates the renderer printing the migrations for the info operation.
+     *
+     * @param properties The properties to read the format from.
+     * @return The renderer.
+     */
+    private static MigrationInfoRenderer createInfoRenderer(Properties properties) {
+        String format = properties.getProperty(INFO_FORMAT, "table");
+        if ("table".equalsIgnoreCase(format)) {
+            return new TableMigrationInfoRenderer();
+        }
+        if ("csv".equalsIgnoreCase(format)) {
+            return new CsvMigrationInfoRenderer(System.out);
+        }
+        if ("json".equalsIgnoreCase(format)) {
+            return new JsonMigrationInfoRenderer(System.out);
+        }
+        throw new FlywayException("Invalid value for infoFormat: " + format + " (expected table, csv or json)");
+    }
+
     /**
      * Initializes the properties with the default configuration for the command-line tool.
      *
@@ -216,6 +342,14 @@ public class Main {
         properties.remove(ConfigUtils.CONFIG_FILE);
         properties.remove(ConfigUtils.CONFIG_FILES);
         properties.remove(ConfigUtils.CONFIG_FILE_ENCODING);
+        properties.remove(INFO_FORMAT);
+        properties.remove(INFO_ORDER);
+        properties.remove(INFO_STATES);
+        properties.remove(INFO_FROM_VERSION);
+        properties.remove(INFO_TO_VERSION);
+        properties.remove(INFO_SINCE);
+        properties.remove(INFO_OFFSET);
+        properties.remove(INFO_LIMIT);
     }
 
     /**
@@ -250,6 +384,8 @@ public class Main {
         LOG.info("undo     : [" + "pro] Undoes the most recently applied versioned migration");
         LOG.info("baseline : Baselines an existing database at the baselineVersion");
         LOG.info("repair   : Repairs the schema history table");
+        LOG.info("compact  : Compacts the applied migrations up to the target into a snapshot");
+        LOG.info("watch    : Migrates the database whenever the filesystem locations change");
         LOG.info("");
         LOG.info("Options (Format: -key=value)");
         LOG.info("-------");
@@ -268,12 +404,20 @@ public class Main {
         LOG.info("sqlMigrationSeparator        : File name separator for sql migrations");
         LOG.info("sqlMigrationSuffixes         : Comma-separated list of file name suffixes for sql migrations");
         LOG.info("mixed                        : Allow mixing transactional and non-transactional statements");
+        LOG.info("stream                       : Stream SQL migrations statement by statement instead of loading them fully in memory");
+        LOG.info("batch                        : Batch consecutive DML statements in SQL migrations");
+        LOG.info("batchSize                    : Maximum number of statements per batch");
+        LOG.info("lockWaitTimeout              : Max seconds to wait for the schema history lock (0 = no limit)");
+        LOG.info("batchClean                   : Batch the drop statements of clean");
+        LOG.info("cleanParallelism             : Max number of schemas to clean concurrently");
+        LOG.info("serverSideClean              : Clean Oracle and SQL Server on the server side");
         LOG.info("encoding                     : Encoding of sql migrations");
         LOG.info("placeholderReplacement       : Whether placeholders should be replaced");
         LOG.info("placeholders                 : Placeholders to replace in sql migrations");
         LOG.info("placeholderPrefix            : Prefix of every placeholder");
         LOG.info("placeholderSuffix            : Suffix of every placeholder");
         LOG.info("installedBy                  : Username that will be recorded in the schema history table");
+        LOG.info("checksumCacheFile            : File in which to cache migration checksums across runs");
         LOG.info("target                       : Target version up to which Flyway should use migrations");
         LOG.info("outOfOrder                   : Allows migrations to be run \"out of order\"");
         LOG.info("callbacks                    : Comma-separated list of FlywayCallback classes");
@@ -290,6 +434,14 @@ public class Main {
         LOG.info("configFiles                  : Comma-separated list of config files to use");
         LOG.info("configFileEncoding           : Encoding to use when loading the config files");
         LOG.info("jarDirs                      : Comma-separated list of dirs for Jdbc drivers & Java migrations");
+        LOG.info("infoFormat                   : Format of the info output: table, csv or json");
+        LOG.info("infoOrder                    : Order of the info output: installedRank or version");
+        LOG.info("infoStates                   : Comma-separated list of migration states to include in info");
+        LOG.info("infoFromVersion              : Lowest migration version to include in info");
+        LOG.info("infoToVersion                : Highest migration version to include in info");
+        LOG.info("infoSince                    : Only include migrations installed since this date in info");
+        LOG.info("infoOffset                   : Number of migrations to skip in info");
+        LOG.info("infoLimit                    : Maximum number of migrations to include in info");
         LOG.info("dryRunOutput                 : [" + "pro] File where to output the SQL statements of a migration dry run");
         LOG.info("errorHandlers                : [" + "pro] Comma-separated list of handlers for errors and warnings");
         LOG.info("");
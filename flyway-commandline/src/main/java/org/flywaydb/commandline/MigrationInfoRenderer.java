@@ -0,0 +1,69 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.commandline;
+
+import org.flywaydb.core.api.MigrationInfo;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * Renders migration infos for the info command. Rows are written out one by one as the migration infos are iterated
+ * over, instead of being collected and rendered as a whole first.
+ */
+abstract class MigrationInfoRenderer {
+    /**
+     * Renders these migration infos.
+     *
+     * @param migrationInfos The migration infos to render.
+     */
+    abstract void render(Iterable<MigrationInfo> migrationInfos);
+
+    /**
+     * @return Whether the output is meant to be parsed, so nothing else may be written to standard output.
+     */
+    boolean isMachineReadable() {
+        return false;
+    }
+
+    /**
+     * @return A new date format for the installation dates. Not thread-safe, so meant to be used for a single
+     * rendering.
+     */
+    static DateFormat createDateFormat() {
+        return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+    }
+
+    /**
+     * Formats this date.
+     *
+     * @param dateFormat The date format to use.
+     * @param date       The date to format. Can be {@code null}.
+     * @return The formatted date. An empty string if {@code null}.
+     */
+    static String formatDate(DateFormat dateFormat, Date date) {
+        return date == null ? "" : dateFormat.format(date);
+    }
+
+    static String getCategory(MigrationInfo migrationInfo) {
+        return migrationInfo.getVersion() == null ? "Repeatable" : "Versioned";
+    }
+
+    static String getVersionStr(MigrationInfo migrationInfo) {
+        return migrationInfo.getVersion() == null ? "" : migrationInfo.getVersion().toString();
+    }
+}
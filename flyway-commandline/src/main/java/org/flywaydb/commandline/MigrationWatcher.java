@@ -0,0 +1,200 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.commandline;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.configuration.ClassicConfiguration;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.logging.Log;
+import org.flywaydb.core.api.logging.LogFactory;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the filesystem locations and migrates the database as soon as migrations are added or changed. The Flyway
+ * instance and its database connections are kept for the whole session. Only the files and directories reported by
+ * the watch service are scanned again, while the resources of all others are kept along with their already calculated
+ * checksums. The migrations are then resolved again from these resources and the schema history table is read again.
+ * When the watch service lost track of the changes, the locations are scanned again in full.
+ */
+class MigrationWatcher {
+    private static final Log LOG = LogFactory.getLog(MigrationWatcher.class);
+
+    /**
+     * The time in milliseconds to wait for further changes after a change, as editors often save files in several
+     * steps.
+     */
+    private static final long SETTLE_MILLIS = 100;
+
+    /**
+     * The Flyway instance used for all migrations of this session. Its scanner keeps the resources found so far.
+     */
+    private final Flyway flyway;
+
+    /**
+     * The DataSource keeping the connections open between migrations.
+     */
+    private final ReusableConnectionDataSource dataSource;
+
+    /**
+     * Creates a new watcher.
+     *
+     * @param configuration The Flyway configuration.
+     */
+    MigrationWatcher(Configuration configuration) {
+        ClassicConfiguration watchConfiguration = new ClassicConfiguration(configuration);
+        dataSource = new ReusableConnectionDataSource(configuration.getDataSource());
+        watchConfiguration.setDataSource(dataSource);
+        flyway = new Flyway(watchConfiguration);
+    }
+
+    /**
+     * Migrates the database, then keeps migrating it whenever the filesystem locations change, until the process is
+     * interrupted.
+     */
+    void watch() {
+        WatchService watchService;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            boolean watching = false;
+            for (Location location : flyway.getConfiguration().getLocations()) {
+                if (location.isFileSystem()) {
+                    register(watchService, Paths.get(location.getPath()));
+                    watching = true;
+                }
+            }
+            if (!watching) {
+                throw new FlywayException("Unable to watch for migrations: no filesystem locations configured");
+            }
+        } catch (IOException e) {
+            throw new FlywayException("Unable to watch for migrations: " + e.getMessage(), e);
+        }
+
+        try {
+            migrate();
+            LOG.info("Watching for changes. Press Ctrl+C to stop.");
+            while (true) {
+                WatchKey watchKey = watchService.take();
+                Set<Path> changedPaths = new HashSet<>();
+                boolean complete = true;
+                do {
+                    complete &= handleEvents(watchService, watchKey, changedPaths);
+                } while ((watchKey = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null);
+                if (complete) {
+                    flyway.filesChanged(changedPaths);
+                }
+                migrate();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                LOG.debug("Unable to close watch service: " + e.getMessage());
+            }
+            dataSource.close();
+        }
+    }
+
+    /**
+     * Registers this directory and all its subdirectories with this watch service.
+     *
+     * @param watchService The watch service.
+     * @param directory    The directory.
+     * @throws IOException when the directory could not be registered.
+     */
+    private void register(final WatchService watchService, Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            LOG.warn("Unable to watch filesystem location: " + directory + " (not a directory)");
+            return;
+        }
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+                LOG.debug("Watching " + dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Handles the events of this watch key, collecting the changed paths and registering any newly created
+     * directories.
+     *
+     * @param watchService The watch service.
+     * @param watchKey     The watch key.
+     * @param changedPaths The changed paths collected so far.
+     * @return {@code false} if events have been lost, so that the changed paths are incomplete.
+     */
+    private boolean handleEvents(WatchService watchService, WatchKey watchKey, Set<Path> changedPaths) {
+        boolean complete = true;
+        Path directory = (Path) watchKey.watchable();
+        for (WatchEvent<?> event : watchKey.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                LOG.debug("Lost track of changes in " + directory);
+                complete = false;
+                continue;
+            }
+            Path path = directory.resolve((Path) event.context());
+            LOG.debug("Detected " + event.kind().name() + " of " + path);
+            changedPaths.add(path);
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                try {
+                    register(watchService, path);
+                } catch (IOException e) {
+                    LOG.warn("Unable to watch directory " + path + ": " + e.getMessage());
+                }
+            }
+        }
+        if (!watchKey.reset()) {
+            // The directory itself is gone, so its entries were not reported individually.
+            changedPaths.add(directory);
+        }
+        return complete;
+    }
+
+    /**
+     * Migrates the database, reporting any failure without ending the session.
+     */
+    private void migrate() {
+        try {
+            flyway.migrate();
+        } catch (FlywayException e) {
+            LOG.error(e.getMessage());
+        } catch (RuntimeException e) {
+            LOG.error("Unexpected error while migrating: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.commandline;
+
+import org.flywaydb.core.internal.util.jdbc.JdbcUtils;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.logging.Logger;
+
+/**
+ * DataSource keeping the connections closed by Flyway open for reuse by the next command, so long-running operations
+ * don't have to reconnect to the database for every command. A connection returned for reuse gets its original
+ * session state back, so each command finds it as if it had just been opened. Connections whose state can't be
+ * restored are closed instead.
+ */
+class ReusableConnectionDataSource implements DataSource {
+    /**
+     * The maximum number of idle connections to keep. Flyway uses at most two connections at a time.
+     */
+    private static final int MAX_IDLE_CONNECTIONS = 2;
+
+    /**
+     * The DataSource providing the actual connections.
+     */
+    private final DataSource dataSource;
+
+    /**
+     * The idle connections, most recently used first.
+     */
+    private final Deque<ReusableConnection> idleConnections = new ArrayDeque<>();
+
+    /**
+     * @param dataSource The DataSource providing the actual connections.
+     */
+    ReusableConnectionDataSource(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public Connection getConnection() throws SQLException {
+        ReusableConnection connection;
+        synchronized (idleConnections) {
+            connection = idleConnections.poll();
+        }
+        while (connection != null && !connection.connection.isValid(1)) {
+            JdbcUtils.closeConnection(connection.connection);
+            synchronized (idleConnections) {
+                connection = idleConnections.poll();
+            }
+        }
+        return wrap(connection == null ? new ReusableConnection(dataSource.getConnection()) : connection);
+    }
+
+    /**
+     * Opens a connection as another user. Such connections are not reused.
+     */
+    public Connection getConnection(String username, String password) throws SQLException {
+        return dataSource.getConnection(username, password);
+    }
+
+    /**
+     * Wraps this connection so that closing it returns it to the idle connections instead.
+     *
+     * @param connection The actual connection.
+     * @return The wrapped connection.
+     */
+    private Connection wrap(final ReusableConnection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                new InvocationHandler() {
+                    private boolean closed;
+
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        if ("close".equals(method.getName())) {
+                            if (!closed) {
+                                closed = true;
+                                release(connection);
+                            }
+                            return null;
+                        }
+                        if ("isClosed".equals(method.getName())) {
+                            return closed || connection.connection.isClosed();
+                        }
+                        if (closed) {
+                            throw new SQLException("Connection is closed");
+                        }
+                        try {
+                            return method.invoke(connection.connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Returns this connection to the idle connections, rolling back any transaction left open and restoring its
+     * original session state. The connection is closed instead if this fails.
+     *
+     * @param connection The connection.
+     */
+    private void release(ReusableConnection connection) {
+        try {
+            connection.restoreOriginalState();
+        } catch (SQLException | RuntimeException e) {
+            JdbcUtils.closeConnection(connection.connection);
+            return;
+        }
+        synchronized (idleConnections) {
+            if (idleConnections.size() < MAX_IDLE_CONNECTIONS) {
+                idleConnections.push(connection);
+                return;
+            }
+        }
+        JdbcUtils.closeConnection(connection.connection);
+    }
+
+    /**
+     * Closes all idle connections.
+     */
+    void close() {
+        synchronized (idleConnections) {
+            for (ReusableConnection connection : idleConnections) {
+                JdbcUtils.closeConnection(connection.connection);
+            }
+            idleConnections.clear();
+        }
+    }
+
+    public int getLoginTimeout() throws SQLException {
+        return dataSource.getLoginTimeout();
+    }
+
+    public void setLoginTimeout(int timeout) throws SQLException {
+        dataSource.setLoginTimeout(timeout);
+    }
+
+    public PrintWriter getLogWriter() throws SQLException {
+        return dataSource.getLogWriter();
+    }
+
+    public void setLogWriter(PrintWriter pw) throws SQLException {
+        dataSource.setLogWriter(pw);
+    }
+
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return dataSource.unwrap(iface);
+    }
+
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || dataSource.isWrapperFor(iface);
+    }
+
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return dataSource.getParentLogger();
+    }
+
+    /**
+     * An actual connection along with the session state it had when it was opened.
+     */
+    private static class ReusableConnection {
+        private final Connection connection;
+        private final boolean autoCommit;
+        private final boolean readOnly;
+        private final int transactionIsolation;
+        private final String catalog;
+
+        /**
+         * The original schema. {@code null} if the driver doesn't support querying it.
+         */
+        private final String schema;
+
+        /**
+         * @param connection The newly opened connection.
+         * @throws SQLException when its session state could not be read.
+         */
+        ReusableConnection(Connection connection) throws SQLException {
+            this.connection = connection;
+            try {
+                autoCommit = connection.getAutoCommit();
+                readOnly = connection.isReadOnly();
+                transactionIsolation = connection.getTransactionIsolation();
+                catalog = connection.getCatalog();
+                schema = getSchema(connection);
+            } catch (SQLException | RuntimeException e) {
+                JdbcUtils.closeConnection(connection);
+                throw e;
+            }
+        }
+
+        private static String getSchema(Connection connection) {
+            try {
+                return connection.getSchema();
+            } catch (SQLException | AbstractMethodError e) {
+                // Pre-JDBC 4.1 driver
+                return null;
+            }
+        }
+
+        /**
+         * Rolls back any transaction left open and restores the session state this connection had when it was
+         * opened.
+         *
+         * @throws SQLException when this failed.
+         */
+        void restoreOriginalState() throws SQLException {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+            }
+            if (connection.getAutoCommit() != autoCommit) {
+                connection.setAutoCommit(autoCommit);
+            }
+            if (connection.isReadOnly() != readOnly) {
+                connection.setReadOnly(readOnly);
+            }
+            if (connection.getTransactionIsolation() != transactionIsolation) {
+                connection.setTransactionIsolation(transactionIsolation);
+            }
+            if (catalog != null && !catalog.equals(connection.getCatalog())) {
+                connection.setCatalog(catalog);
+            }
+            if (schema != null && !schema.equals(connection.getSchema())) {
+                connection.setSchema(schema);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.commandline;
+
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.logging.Log;
+import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.internal.util.StringUtils;
+
+import java.text.DateFormat;
+
+/**
+ * Renders migration infos as an ascii table in the logs and the console. The migration infos are iterated over twice:
+ * once to determine the width of the columns and once to write the rows, so no row is held in memory.
+ */
+class TableMigrationInfoRenderer extends MigrationInfoRenderer {
+    private static final Log LOG = LogFactory.getLog(TableMigrationInfoRenderer.class);
+
+    private static final String[] COLUMNS = {"Category", "Version", "Description", "Type", "Installed On", "State"};
+
+    @Override
+    void render(Iterable<MigrationInfo> migrationInfos) {
+        DateFormat dateFormat = createDateFormat();
+
+        int[] widths = new int[COLUMNS.length];
+        for (int i = 0; i < COLUMNS.length; i++) {
+            widths[i] = COLUMNS[i].length();
+        }
+        boolean empty = true;
+        for (MigrationInfo migrationInfo : migrationInfos) {
+            String[] row = toRow(migrationInfo, dateFormat);
+            for (int i = 0; i < row.length; i++) {
+                widths[i] = Math.max(widths[i], row[i].length());
+            }
+            empty = false;
+        }
+
+        StringBuilder ruler = new StringBuilder("+");
+        for (int width : widths) {
+            ruler.append("-").append(StringUtils.trimOrPad("", width, '-')).append("-+");
+        }
+
+        LOG.info(ruler.toString());
+        LOG.info(format(COLUMNS, widths));
+        LOG.info(ruler.toString());
+        if (empty) {
+            LOG.info("| " + StringUtils.trimOrPad("No migrations found", ruler.length() - 4) + " |");
+        } else {
+            for (MigrationInfo migrationInfo : migrationInfos) {
+                LOG.info(format(toRow(migrationInfo, dateFormat), widths));
+            }
+        }
+        LOG.info(ruler.toString());
+    }
+
+    private static String[] toRow(MigrationInfo migrationInfo, DateFormat dateFormat) {
+        return new String[]{
+                getCategory(migrationInfo),
+                getVersionStr(migrationInfo),
+                migrationInfo.getDescription(),
+                migrationInfo.getType().name(),
+                formatDate(dateFormat, migrationInfo.getInstalledOn()),
+                migrationInfo.getState().getDisplayName()
+        };
+    }
+
+    private static String format(String[] values, int[] widths) {
+        StringBuilder line = new StringBuilder("|");
+        for (int i = 0; i < widths.length; i++) {
+            line.append(" ").append(StringUtils.trimOrPad(values[i], widths[i], ' ')).append(" |");
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.commandline;
+
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.flywaydb.core.api.MigrationType;
+import org.flywaydb.core.api.MigrationVersion;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+
+public class MigrationInfoRendererTest {
+    private static final MigrationInfo PLAIN = info("1", "Plain", "V1__Plain.sql", 123, null, null);
+    private static final MigrationInfo SPECIAL = info(null, "Say \"hi\", world\r\nagain", "R__C:\\tab\there\u0001.sql",
+            -7, new Date(0), "o'neil");
+
+    @Test
+    public void csv() throws UnsupportedEncodingException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new CsvMigrationInfoRenderer(new PrintStream(out, false, "UTF-8")).render(Arrays.asList(PLAIN, SPECIAL));
+
+        String installedOn = MigrationInfoRenderer.createDateFormat().format(new Date(0));
+        assertEquals("category,version,description,type,script,checksum,installedRank,installedOn,installedBy,"
+                        + "executionTime,state\r\n"
+                        + "Versioned,1,Plain,SQL,V1__Plain.sql,123,,,,,PENDING\r\n"
+                        + "Repeatable,,\"Say \"\"hi\"\", world\r\nagain\",SQL,R__C:\\tab\there\u0001.sql,-7,1,"
+                        + installedOn + ",o'neil,10,SUCCESS\r\n",
+                out.toString("UTF-8"));
+    }
+
+    @Test
+    public void json() throws UnsupportedEncodingException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new JsonMigrationInfoRenderer(new PrintStream(out, false, "UTF-8")).render(Arrays.asList(PLAIN, SPECIAL));
+
+        String installedOn = MigrationInfoRenderer.createDateFormat().format(new Date(0));
+        assertEquals("[\n"
+                        + "  {\"category\": \"Versioned\", \"version\": \"1\", \"description\": \"Plain\", \"type\": \"SQL\","
+                        + " \"script\": \"V1__Plain.sql\", \"checksum\": 123, \"installedRank\": null,"
+                        + " \"installedOn\": null, \"installedBy\": null, \"executionTime\": null, \"state\": \"PENDING\"},\n"
+                        + "  {\"category\": \"Repeatable\", \"version\": null,"
+                        + " \"description\": \"Say \\\"hi\\\", world\\r\\nagain\", \"type\": \"SQL\","
+                        + " \"script\": \"R__C:\\\\tab\\there\\u0001.sql\", \"checksum\": -7, \"installedRank\": 1,"
+                        + " \"installedOn\": \"" + installedOn + "\", \"installedBy\": \"o'neil\", \"executionTime\": 10,"
+                        + " \"state\": \"SUCCESS\"}\n"
+                        + "]\n",
+                out.toString("UTF-8"));
+    }
+
+    @Test
+    public void jsonEmpty() throws UnsupportedEncodingException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new JsonMigrationInfoRenderer(new PrintStream(out, false, "UTF-8"))
+                .render(Collections.<MigrationInfo>emptyList());
+        assertEquals("[]\n", out.toString("UTF-8"));
+    }
+
+    private static MigrationInfo info(final String version, final String description, final String script,
+                                      final Integer checksum, final Date installedOn, final String installedBy) {
+        return new MigrationInfo() {
+            @Override
+            public MigrationType getType() {
+                return MigrationType.SQL;
+            }
+
+            @Override
+            public Integer getChecksum() {
+                return checksum;
+            }
+
+            @Override
+            public MigrationVersion getVersion() {
+                return version == null ? null : MigrationVersion.fromVersion(version);
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+
+            @Override
+            public String getScript() {
+                return script;
+            }
+
+            @Override
+            public MigrationState getState() {
+                return installedOn == null ? MigrationState.PENDING : MigrationState.SUCCESS;
+            }
+
+            @Override
+            public Date getInstalledOn() {
+                return installedOn;
+            }
+
+            @Override
+            public String getInstalledBy() {
+                return installedBy;
+            }
+
+            @Override
+            public Integer getInstalledRank() {
+                return installedOn == null ? null : 1;
+            }
+
+            @Override
+            public Integer getExecutionTime() {
+                return installedOn == null ? null : 10;
+            }
+
+            @Override
+            public int compareTo(MigrationInfo o) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
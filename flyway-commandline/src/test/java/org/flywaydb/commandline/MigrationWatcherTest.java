@@ -0,0 +1,106 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.commandline;
+
+import org.flywaydb.core.api.configuration.ClassicConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MigrationWatcherTest {
+    private static final String URL = "jdbc:h2:mem:migration_watcher;DB_CLOSE_DELAY=-1";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void watch() throws IOException, SQLException, InterruptedException {
+        File location = temporaryFolder.newFolder("migrations");
+        write(location, "V1__First.sql", "CREATE TABLE first (id INT);");
+
+        ClassicConfiguration configuration = new ClassicConfiguration();
+        configuration.setDataSource(URL, "sa", "");
+        configuration.setLocationsAsStrings("filesystem:" + location.getPath());
+        final MigrationWatcher watcher = new MigrationWatcher(configuration);
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                watcher.watch();
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        try {
+            awaitTable("FIRST");
+
+            // A new subdirectory is scanned and watched from then on
+            File subdirectory = new File(location, "sub");
+            assertTrue(subdirectory.mkdir());
+            write(subdirectory, "V2__Second.sql", "CREATE TABLE second (id INT);");
+            awaitTable("SECOND");
+            write(subdirectory, "V3__Third.sql", "CREATE TABLE third (id INT);");
+            awaitTable("THIRD");
+
+            // A failing migration doesn't end the session
+            write(location, "V4__Fourth.sql", "CREATE TABLE fourth (id INT);");
+            write(subdirectory, "V4__Duplicate.sql", "CREATE TABLE duplicate (id INT);");
+            Thread.sleep(1000);
+            assertFalse(tableExists("FOURTH"));
+            assertFalse(tableExists("DUPLICATE"));
+            assertTrue(thread.isAlive());
+            Files.delete(new File(subdirectory, "V4__Duplicate.sql").toPath());
+            awaitTable("FOURTH");
+            assertFalse(tableExists("DUPLICATE"));
+        } finally {
+            // Let the last migration complete before stopping
+            Thread.sleep(500);
+            thread.interrupt();
+            thread.join(10000);
+        }
+        assertFalse(thread.isAlive());
+    }
+
+    private static void awaitTable(String table) throws SQLException, InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!tableExists(table)) {
+            assertTrue("Table " + table + " not created in time", System.currentTimeMillis() < deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private static boolean tableExists(String table) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             ResultSet resultSet = connection.getMetaData().getTables(null, "PUBLIC", table, null)) {
+            return resultSet.next();
+        }
+    }
+
+    private static void write(File root, String filename, String sql) throws IOException {
+        Files.write(new File(root, filename).toPath(), sql.getBytes(Charset.forName("UTF-8")));
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.commandline;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ReusableConnectionDataSourceTest {
+    @Test
+    public void restoresSessionState() throws SQLException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:reusable_connection;DB_CLOSE_DELAY=-1");
+        h2.setUser("sa");
+        h2.setPassword("");
+        ReusableConnectionDataSource dataSource = new ReusableConnectionDataSource(h2);
+        try {
+            Connection connection = dataSource.getConnection();
+            Connection physical = connection.unwrap(Connection.class);
+            int isolation = connection.getTransactionIsolation();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE SCHEMA other");
+                statement.execute("CREATE TABLE public.t (id INT)");
+            }
+            connection.setAutoCommit(false);
+            connection.setSchema("OTHER");
+            connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+            connection.setReadOnly(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("INSERT INTO public.t VALUES (1)");
+            }
+            connection.close();
+            assertTrue(connection.isClosed());
+
+            Connection reused = dataSource.getConnection();
+            assertSame(physical, reused.unwrap(Connection.class));
+            assertTrue(reused.getAutoCommit());
+            assertEquals("PUBLIC", reused.getSchema());
+            assertEquals(isolation, reused.getTransactionIsolation());
+            assertFalse(reused.isReadOnly());
+            // The transaction left open was rolled back
+            try (Statement statement = reused.createStatement()) {
+                statement.execute("SELECT * FROM t");
+                assertFalse(statement.getResultSet().next());
+            }
+
+            // A connection whose state can't be restored is not reused
+            Connection other = dataSource.getConnection();
+            Connection otherPhysical = other.unwrap(Connection.class);
+            otherPhysical.close();
+            other.close();
+            reused.close();
+            Connection next = dataSource.getConnection();
+            assertNotSame(otherPhysical, next.unwrap(Connection.class));
+            next.close();
+        } finally {
+            dataSource.close();
+        }
+    }
+
+    @Test
+    public void delegatesToUnderlyingDataSource() throws SQLException {
+        JdbcDataSource h2 = new UnwrappableDataSource();
+        h2.setURL("jdbc:h2:mem:reusable_connection_delegate;TRACE_LEVEL_FILE=0");
+        ReusableConnectionDataSource dataSource = new ReusableConnectionDataSource(h2);
+        assertSame(dataSource, dataSource.unwrap(DataSource.class));
+        assertSame(h2, dataSource.unwrap(UnwrappableDataSource.class));
+        assertTrue(dataSource.isWrapperFor(UnwrappableDataSource.class));
+        assertFalse(dataSource.isWrapperFor(String.class));
+
+        dataSource.setLoginTimeout(7);
+        assertEquals(7, h2.getLoginTimeout());
+        assertEquals(7, dataSource.getLoginTimeout());
+        dataSource.setLogWriter(null);
+        assertEquals(null, dataSource.getLogWriter());
+    }
+
+    /**
+     * The H2 DataSource, which doesn't support unwrapping itself.
+     */
+    private static class UnwrappableDataSource extends JdbcDataSource {
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            if (iface.isInstance(this)) {
+                return iface.cast(this);
+            }
+            return super.unwrap(iface);
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) throws SQLException {
+            return iface.isInstance(this);
+        }
+    }
+}
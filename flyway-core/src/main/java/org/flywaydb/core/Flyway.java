@@ -18,6 +18,7 @@ package org.flywaydb.core;
 
 import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.MigrationInfoFilter;
 import org.flywaydb.core.api.MigrationInfoService;
 import org.flywaydb.core.api.MigrationVersion;
 import org.flywaydb.core.api.callback.Callback;
@@ -35,6 +36,7 @@ import org.flywaydb.core.internal.callback.LegacyCallback;
 import org.flywaydb.core.internal.callback.SqlScriptFlywayCallbackFactory;
 import org.flywaydb.core.internal.command.DbBaseline;
 import org.flywaydb.core.internal.command.DbClean;
+import org.flywaydb.core.internal.command.DbCompact;
 import org.flywaydb.core.internal.command.DbInfo;
 import org.flywaydb.core.internal.command.DbMigrate;
 import org.flywaydb.core.internal.command.DbRepair;
@@ -44,23 +46,32 @@ import org.flywaydb.core.internal.configuration.ConfigUtils;
 import org.flywaydb.core.internal.database.Database;
 import org.flywaydb.core.internal.database.DatabaseFactory;
 import org.flywaydb.core.internal.database.Schema;
+import org.flywaydb.core.internal.database.SqlScriptCache;
 import org.flywaydb.core.internal.resolver.CompositeMigrationResolver;
+import org.flywaydb.core.internal.resolver.ResolvedMigrationCache;
 import org.flywaydb.core.internal.schemahistory.SchemaHistory;
 import org.flywaydb.core.internal.schemahistory.SchemaHistoryFactory;
+import org.flywaydb.core.internal.util.ConcurrencyUtils;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
 import org.flywaydb.core.internal.util.StringUtils;
 import org.flywaydb.core.internal.util.VersionPrinter;
+import org.flywaydb.core.internal.util.scanner.CachingScanner;
 import org.flywaydb.core.internal.util.scanner.Scanner;
 
 import javax.sql.DataSource;
 import java.io.File;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 /**
  * This is the centre point of Flyway, and for most users, the only class they will ever have to deal with.
@@ -101,6 +112,50 @@ public class Flyway implements FlywayConfiguration {
      */
     private boolean dbConnectionInfoPrinted;
 
+    /**
+     * The scanner shared with other Flyway instances. {@code null} to use a new scanner for each command.
+     */
+    private Scanner sharedScanner;
+
+    /**
+     * The cache of parsed SQL scripts shared with other Flyway instances. {@code null} if none.
+     */
+    private SqlScriptCache sharedSqlScriptCache;
+
+    /**
+     * The cache of resolved migrations shared with other Flyway instances. {@code null} if none.
+     */
+    private ResolvedMigrationCache sharedResolvedMigrationCache;
+
+    /**
+     * The thread pool for background work shared with other Flyway instances. {@code null} if none.
+     */
+    private ExecutorService sharedExecutorService;
+
+    /**
+     * The thread pool for the background work of the commands of this instance, such as scanning filesystem
+     * locations, calculating checksums and preparing upcoming migrations. Owned by this instance and shared by all its commands, including concurrent ones.
+     * Its idle threads terminate on their own, so it is never shut down. {@code null} until the first command.
+     */
+    private ExecutorService executorService;
+
+    /**
+     * The scanner reused by the commands of this instance. {@code null} until the first command.
+     */
+    private CachingScanner scanner;
+
+    /**
+     * The ClassLoader and the encoding the scanner was created with.
+     */
+    private ClassLoader scannerClassLoader;
+    private Charset scannerEncoding;
+
+    /**
+     * The files and directories on the filesystem reported as changed since the previous command. {@code null} if
+     * unknown, in which case all locations are scanned again.
+     */
+    private Set<Path> changedPaths;
+
     /**
      * Creates a new instance of Flyway. This is your starting point.
      *
@@ -147,6 +202,42 @@ public class Flyway implements FlywayConfiguration {
         this.configuration = new ClassicConfiguration(configuration);
     }
 
+    /**
+     * Shares the scanning of locations, the resolution of migrations, the parsing of SQL migrations and the threads
+     * for background work with other Flyway instances using the same configuration, apart from the data source and
+     * the schemas.
+     *
+     * @param scanner                The scanner to share. Must be safe to use from multiple threads.
+     * @param sqlScriptCache         The cache of parsed SQL scripts to share.
+     * @param resolvedMigrationCache The cache of resolved migrations to share.
+     * @param executorService        The thread pool for background work to share. Shut down by its owner.
+     */
+    /* private -> for MultiTargetMigrator */ synchronized void share(Scanner scanner, SqlScriptCache sqlScriptCache,
+                                                        ResolvedMigrationCache resolvedMigrationCache,
+                                                        ExecutorService executorService) {
+        this.sharedScanner = scanner;
+        this.sharedSqlScriptCache = sqlScriptCache;
+        this.sharedResolvedMigrationCache = resolvedMigrationCache;
+        this.sharedExecutorService = executorService;
+    }
+
+    /**
+     * Reports that only these files and directories in the filesystem locations have changed since the previous
+     * command. The next command then only scans these paths again instead of all locations. For tools watching the
+     * filesystem locations for changes, such as the watch command of the command-line tool.
+     *
+     * @param paths The files and directories that have been added, modified or removed.
+     */
+    public synchronized void filesChanged(Collection<Path> paths) {
+        if (scanner == null) {
+            return;
+        }
+        if (changedPaths == null) {
+            changedPaths = new HashSet<>();
+        }
+        changedPaths.addAll(paths);
+    }
+
     /**
      * @return The configuration that Flyway is using.
      */
@@ -364,6 +455,13 @@ public class Flyway implements FlywayConfiguration {
         return configuration.getInstalledBy();
     }
 
+    @Override
+    @Deprecated
+    public String getChecksumCacheFile() {
+        LOG.warn("Flyway.getChecksumCacheFile() has been deprecated and will be removed in Flyway 6.0. Use the same method on Flyway.getConfiguration() instead.");
+        return configuration.getChecksumCacheFile();
+    }
+
     @Override
     @Deprecated
     public boolean isGroup() {
@@ -371,6 +469,55 @@ public class Flyway implements FlywayConfiguration {
         return configuration.isGroup();
     }
 
+    @Override
+    @Deprecated
+    public boolean isStream() {
+        LOG.warn("Flyway.isStream() has been deprecated and will be removed in Flyway 6.0. Use the same method on Flyway.getConfiguration() instead.");
+        return configuration.isStream();
+    }
+
+    @Override
+    @Deprecated
+    public boolean isBatch() {
+        LOG.warn("Flyway.isBatch() has been deprecated and will be removed in Flyway 6.0. Use the same method on Flyway.getConfiguration() instead.");
+        return configuration.isBatch();
+    }
+
+    @Override
+    @Deprecated
+    public int getBatchSize() {
+        LOG.warn("Flyway.getBatchSize() has been deprecated and will be removed in Flyway 6.0. Use the same method on Flyway.getConfiguration() instead.");
+        return configuration.getBatchSize();
+    }
+
+    @Override
+    @Deprecated
+    public int getLockWaitTimeout() {
+        LOG.warn("Flyway.getLockWaitTimeout() has been deprecated and will be removed in Flyway 6.0. Use the same method on Flyway.getConfiguration() instead.");
+        return configuration.getLockWaitTimeout();
+    }
+
+    @Override
+    @Deprecated
+    public boolean isBatchClean() {
+        LOG.warn("Flyway.isBatchClean() has been deprecated and will be removed in Flyway 6.0. Use the same method on Flyway.getConfiguration() instead.");
+        return configuration.isBatchClean();
+    }
+
+    @Override
+    @Deprecated
+    public int getCleanParallelism() {
+        LOG.warn("Flyway.getCleanParallelism() has been deprecated and will be removed in Flyway 6.0. Use the same method on Flyway.getConfiguration() instead.");
+        return configuration.getCleanParallelism();
+    }
+
+    @Override
+    @Deprecated
+    public boolean isServerSideClean() {
+        LOG.warn("Flyway.isServerSideClean() has been deprecated and will be removed in Flyway 6.0. Use the same method on Flyway.getConfiguration() instead.");
+        return configuration.isServerSideClean();
+    }
+
     @Override
     @Deprecated
     public ErrorHandler[] getErrorHandlers() {
@@ -1081,7 +1228,7 @@ public class Flyway implements FlywayConfiguration {
                 }
 
                 return new DbMigrate(database, schemaHistory, schemas[0], migrationResolver, configuration,
-                        callbackExecutor).migrate();
+                        callbackExecutor, getExecutorService()).migrate();
             }
         });
     }
@@ -1177,7 +1324,8 @@ public class Flyway implements FlywayConfiguration {
     }
 
     private void doClean(Database database, SchemaHistory schemaHistory, Schema[] schemas, CallbackExecutor callbackExecutor) {
-        new DbClean(database, schemaHistory, schemas, callbackExecutor, configuration.isCleanDisabled()).clean();
+        new DbClean(database, schemaHistory, schemas, callbackExecutor, configuration.isCleanDisabled(),
+                configuration.getCleanParallelism()).clean();
     }
 
     /**
@@ -1222,6 +1370,29 @@ public class Flyway implements FlywayConfiguration {
         });
     }
 
+    /**
+     * <p>Retrieves the information about the migrations that can match this filter. Only their infos are built, which
+     * saves time and memory on large histories when only a page or a range of them is needed. Iterate over them with
+     * {@link MigrationInfoService#iterate(MigrationInfoFilter)} using the same filter. The other lookups of the returned
+     * service only cover these migrations, except for {@link MigrationInfoService#current()}.</p>
+     *
+     * @param filter The filter selecting the migrations.
+     * @return The migrations that can match the filter.
+     * @throws FlywayException when the info retrieval failed.
+     */
+    public MigrationInfoService info(final MigrationInfoFilter filter) {
+        return execute(new Command<MigrationInfoService>() {
+            public MigrationInfoService execute(MigrationResolver migrationResolver, SchemaHistory schemaHistory,
+                                                final Database database, final Schema[] schemas, CallbackExecutor callbackExecutor
+
+
+
+            ) {
+                return new DbInfo(migrationResolver, schemaHistory, configuration, callbackExecutor).info(filter);
+            }
+        });
+    }
+
     /**
      * <p>Baselines an existing database, excluding all migrations up to and including baselineVersion.</p>
      * <p>
@@ -1268,23 +1439,49 @@ public class Flyway implements FlywayConfiguration {
         });
     }
 
+    /**
+     * Compacts the Flyway schema history table. The successfully applied migrations up to the target version (or the
+     * current version if no target is set) are validated and folded into a single snapshot row holding a checksum of
+     * their versions and checksums. Their rows are moved to an archive table next to the schema history table.
+     * Validate, migrate and info then only need to look at the snapshot and the migrations applied after it.
+     *
+     * @return The number of applied migrations compacted into the snapshot.
+     * @throws FlywayException when the compaction failed, for example when a migration up to the target version
+     *                         fails validation or has not been applied.
+     */
+    public int compact() throws FlywayException {
+        return execute(new Command<Integer>() {
+            public Integer execute(MigrationResolver migrationResolver,
+                                   SchemaHistory schemaHistory, Database database, Schema[] schemas, CallbackExecutor callbackExecutor
+
+
+
+            ) {
+                return new DbCompact(migrationResolver, schemaHistory, configuration.getTarget()).compact();
+            }
+        });
+    }
+
     /**
      * Creates the MigrationResolver.
      *
      * @param database            The database-specific support.
      * @param scanner             The Scanner for resolving migrations.
      * @param placeholderReplacer The placeholder replacer.
+     * @param executorService     The thread pool for background work.
      * @return A new, fully configured, MigrationResolver instance.
      */
     private MigrationResolver createMigrationResolver(Database database, Scanner scanner,
-                                                      PlaceholderReplacer placeholderReplacer) {
+                                                      PlaceholderReplacer placeholderReplacer,
+                                                      ExecutorService executorService) {
         for (MigrationResolver resolver : configuration.getResolvers()) {
             ConfigUtils.injectFlywayConfiguration(resolver, configuration);
         }
 
         return new CompositeMigrationResolver(database, scanner, configuration,
                 Arrays.asList(configuration.getLocations()),
-                placeholderReplacer, configuration.getResolvers());
+                placeholderReplacer, sharedSqlScriptCache, sharedResolvedMigrationCache, executorService,
+                configuration.getResolvers());
     }
 
     /**
@@ -1365,10 +1562,10 @@ public class Flyway implements FlywayConfiguration {
             LOG.debug("DDL Transactions Supported: " + database.supportsDdlTransactions());
 
             Schema[] schemas = prepareSchemas(database);
-            Scanner scanner = new Scanner(configuration.getClassLoader(), configuration.getEncoding());
+            Scanner scanner = getScanner();
             PlaceholderReplacer placeholderReplacer = createPlaceholderReplacer();
             result = command.execute(
-                    createMigrationResolver(database, scanner, placeholderReplacer),
+                    createMigrationResolver(database, scanner, placeholderReplacer, getExecutorService()),
                     SchemaHistoryFactory.getSchemaHistory(configuration, database, schemas[0]
 
 
@@ -1399,6 +1596,47 @@ public class Flyway implements FlywayConfiguration {
         return result;
     }
 
+    /**
+     * Retrieves the thread pool for background work, creating it on first use.
+     *
+     * @return The thread pool shared with other Flyway instances, if any, or the one of this instance.
+     */
+    private synchronized ExecutorService getExecutorService() {
+        if (sharedExecutorService != null) {
+            return sharedExecutorService;
+        }
+        if (executorService == null) {
+            executorService = ConcurrencyUtils.newDaemonThreadPool("flyway-worker", ConcurrencyUtils.availableProcessors());
+        }
+        return executorService;
+    }
+
+    /**
+     * Retrieves the scanner for the next command. All commands of this instance reuse the same scanner, so locations
+     * are only scanned and resources only read again when they have changed since the previous command.
+     *
+     * @return The scanner.
+     */
+    private synchronized Scanner getScanner() {
+        if (sharedScanner != null) {
+            return sharedScanner;
+        }
+
+        if (scanner == null
+                || scannerClassLoader != configuration.getClassLoader()
+                || !scannerEncoding.equals(configuration.getEncoding())) {
+            scannerClassLoader = configuration.getClassLoader();
+            scannerEncoding = configuration.getEncoding();
+            scanner = new CachingScanner(scannerClassLoader, scannerEncoding, getExecutorService());
+        } else if (changedPaths != null) {
+            scanner.revalidate(changedPaths);
+        } else {
+            scanner.revalidate();
+        }
+        changedPaths = null;
+        return scanner;
+    }
+
     private Schema[] prepareSchemas(Database database) {
         String[] schemaNames = configuration.getSchemas();
         if (schemaNames.length == 0) {
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core;
+
+/**
+ * The outcome of migrating a single target with the {@link MultiTargetMigrator}.
+ */
+public class MigrationTargetResult {
+    /**
+     * The name of the target.
+     */
+    private final String name;
+
+    /**
+     * The number of successfully applied migrations.
+     */
+    private final int migrationsExecuted;
+
+    /**
+     * The time taken to migrate the target (in ms).
+     */
+    private final long executionTime;
+
+    /**
+     * The exception that caused the migration of the target to fail. {@code null} if it succeeded.
+     */
+    private final RuntimeException exception;
+
+    /**
+     * Creates a new result.
+     *
+     * @param name               The name of the target.
+     * @param migrationsExecuted The number of successfully applied migrations.
+     * @param executionTime      The time taken to migrate the target (in ms).
+     * @param exception          The exception that caused the migration of the target to fail. {@code null} if it succeeded.
+     */
+    MigrationTargetResult(String name, int migrationsExecuted, long executionTime, RuntimeException exception) {
+        this.name = name;
+        this.migrationsExecuted = migrationsExecuted;
+        this.executionTime = executionTime;
+        this.exception = exception;
+    }
+
+    /**
+     * @return The name of the target.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Whether the target was migrated successfully.
+     */
+    public boolean isSuccess() {
+        return exception == null;
+    }
+
+    /**
+     * @return The number of successfully applied migrations.
+     */
+    public int getMigrationsExecuted() {
+        return migrationsExecuted;
+    }
+
+    /**
+     * @return The time taken to migrate the target (in ms).
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * @return The exception that caused the migration of the target to fail. {@code null} if it succeeded.
+     */
+    public RuntimeException getException() {
+        return exception;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + (isSuccess() ? migrationsExecuted + " migration(s) applied" : "failed (" + exception.getMessage() + ")");
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.configuration.ClassicConfiguration;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.logging.Log;
+import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.internal.database.SqlScriptCache;
+import org.flywaydb.core.internal.resolver.ResolvedMigrationCache;
+import org.flywaydb.core.internal.util.ConcurrencyUtils;
+import org.flywaydb.core.internal.util.StopWatch;
+import org.flywaydb.core.internal.util.TimeFormat;
+import org.flywaydb.core.internal.util.scanner.CachingScanner;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Migrates many targets (databases or schemas) with the same migrations, such as one schema or database per tenant.
+ * <p>The targets are migrated concurrently using a bounded number of threads. The configured locations are only
+ * scanned once, the migrations are only resolved once and each SQL migration is only parsed once per database type,
+ * no matter how many targets there are.
+ * A failing target doesn't prevent the other targets from being migrated. Its failure is reported in its result
+ * instead.</p>
+ * <p>The targets only differ in their data source and schemas. Everything else, including the placeholders, comes
+ * from the shared configuration, which is copied when the migration starts.</p>
+ */
+public class MultiTargetMigrator {
+    private static final Log LOG = LogFactory.getLog(MultiTargetMigrator.class);
+
+    /**
+     * The configuration shared by all targets.
+     */
+    private final Configuration configuration;
+
+    /**
+     * The targets to migrate.
+     */
+    private final List<Target> targets = new ArrayList<>();
+
+    /**
+     * The maximum number of targets to migrate concurrently.
+     */
+    private int threads = ConcurrencyUtils.availableProcessors();
+
+    /**
+     * Creates a new migrator.
+     *
+     * @param configuration The configuration shared by all targets. Its data source and schemas are replaced by the
+     *                      ones of each target.
+     */
+    public MultiTargetMigrator(Configuration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Adds a target to migrate.
+     *
+     * @param name       The name of the target, used for reporting.
+     * @param dataSource The datasource to use to connect to the target.
+     * @param schemas    The schemas managed by Flyway for this target. Leave empty to use the schemas of the shared
+     *                   configuration.
+     * @return This migrator.
+     */
+    public MultiTargetMigrator target(String name, DataSource dataSource, String... schemas) {
+        targets.add(new Target(name, dataSource, schemas));
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of targets to migrate concurrently.
+     *
+     * @param threads The maximum number of threads. (default: the number of available processors)
+     * @return This migrator.
+     */
+    public MultiTargetMigrator threads(int threads) {
+        if (threads < 1) {
+            throw new FlywayException("Invalid number of threads: " + threads + " (must be at least 1)");
+        }
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Migrates all targets.
+     *
+     * @return The result of each target, in the order the targets were added.
+     * @throws FlywayException when the migration was interrupted. Failures of individual targets are reported in
+     *                         their results instead.
+     */
+    public List<MigrationTargetResult> migrate() throws FlywayException {
+        List<MigrationTargetResult> results = new ArrayList<>();
+        if (targets.isEmpty()) {
+            return results;
+        }
+
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+
+        // The caches are only valid for a single configuration, so changes made while migrating must not leak in
+        final Configuration sharedConfiguration = new ClassicConfiguration(configuration);
+        // A single pool for the background work of all targets, so the number of threads doesn't grow with them
+        final ExecutorService workerExecutorService = ConcurrencyUtils.newDaemonThreadPool("flyway-worker",
+                ConcurrencyUtils.availableProcessors());
+        final CachingScanner scanner = new CachingScanner(sharedConfiguration.getClassLoader(),
+                sharedConfiguration.getEncoding(), workerExecutorService);
+        final SqlScriptCache sqlScriptCache = new SqlScriptCache();
+        final ResolvedMigrationCache resolvedMigrationCache = new ResolvedMigrationCache();
+
+        ExecutorService executorService = ConcurrencyUtils.newDaemonThreadPool("flyway-migrate", Math.min(threads, targets.size()));
+        try {
+            List<Future<MigrationTargetResult>> futures = new ArrayList<>();
+            for (final Target target : targets) {
+                futures.add(executorService.submit(new Callable<MigrationTargetResult>() {
+                    @Override
+                    public MigrationTargetResult call() {
+                        return migrate(target, sharedConfiguration, scanner, sqlScriptCache, resolvedMigrationCache,
+                                workerExecutorService);
+                    }
+                }));
+            }
+            for (Future<MigrationTargetResult> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FlywayException("Interrupted while migrating " + targets.size() + " targets", e);
+        } catch (ExecutionException e) {
+            throw new FlywayException("Unable to migrate " + targets.size() + " targets", e.getCause());
+        } finally {
+            executorService.shutdownNow();
+            workerExecutorService.shutdownNow();
+        }
+
+        stopWatch.stop();
+        logSummary(results, stopWatch.getTotalTimeMillis());
+        return results;
+    }
+
+    /**
+     * Migrates this target.
+     *
+     * @param target                 The target to migrate.
+     * @param sharedConfiguration    The configuration shared by all targets.
+     * @param scanner                The scanner shared by all targets.
+     * @param sqlScriptCache         The cache of parsed SQL scripts shared by all targets.
+     * @param resolvedMigrationCache The cache of resolved migrations shared by all targets.
+     * @param executorService        The thread pool for background work shared by all targets.
+     * @return The result.
+     */
+    private MigrationTargetResult migrate(Target target, Configuration sharedConfiguration, CachingScanner scanner,
+                                          SqlScriptCache sqlScriptCache, ResolvedMigrationCache resolvedMigrationCache,
+                                          ExecutorService executorService) {
+        ClassicConfiguration targetConfiguration = new ClassicConfiguration(sharedConfiguration);
+        targetConfiguration.setDataSource(target.dataSource);
+        if (target.schemas.length > 0) {
+            targetConfiguration.setSchemas(target.schemas);
+        }
+
+        Flyway flyway = new Flyway(targetConfiguration);
+        flyway.share(scanner, sqlScriptCache, resolvedMigrationCache, executorService);
+
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        try {
+            int migrationsExecuted = flyway.migrate();
+            stopWatch.stop();
+            return new MigrationTargetResult(target.name, migrationsExecuted, stopWatch.getTotalTimeMillis(), null);
+        } catch (RuntimeException e) {
+            stopWatch.stop();
+            LOG.error("Migration of target " + target.name + " failed: " + e.getMessage());
+            return new MigrationTargetResult(target.name, 0, stopWatch.getTotalTimeMillis(), e);
+        }
+    }
+
+    /**
+     * Logs the summary of this migration run.
+     *
+     * @param results       The results of all targets.
+     * @param executionTime The total time taken to migrate all targets (in ms).
+     */
+    private void logSummary(List<MigrationTargetResult> results, long executionTime) {
+        int failed = 0;
+        int migrationsExecuted = 0;
+        for (MigrationTargetResult result : results) {
+            if (!result.isSuccess()) {
+                failed++;
+            }
+            migrationsExecuted += result.getMigrationsExecuted();
+        }
+
+        String summary = "Applied " + migrationsExecuted + " migration(s) to " + (results.size() - failed)
+                + " of " + results.size() + " targets (execution time " + TimeFormat.format(executionTime) + ")";
+        if (failed > 0) {
+            LOG.warn(summary + ". " + failed + " target(s) failed!");
+        } else {
+            LOG.info(summary);
+        }
+    }
+
+    /**
+     * A database or schema to migrate.
+     */
+    private static class Target {
+        private final String name;
+        private final DataSource dataSource;
+        private final String[] schemas;
+
+        Target(String name, DataSource dataSource, String[] schemas) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.schemas = schemas;
+        }
+    }
+}
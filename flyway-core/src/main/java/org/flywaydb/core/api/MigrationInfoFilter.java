@@ -0,0 +1,322 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Selects the migration infos to iterate over with {@link MigrationInfoService#iterate(MigrationInfoFilter)}, the
+ * order in which to return them and the page to return. A new filter matches all migration infos, in the order of
+ * {@link MigrationInfoService#all()}.
+ */
+public class MigrationInfoFilter {
+    /**
+     * The order in which to return the migration infos.
+     */
+    public enum Order {
+        /**
+         * Applied migrations in the order they were applied, followed by the other migrations. This is the order of
+         * {@link MigrationInfoService#all()}.
+         */
+        INSTALLED_RANK,
+
+        /**
+         * Versioned migrations ordered by version, followed by repeatable migrations in the order they were applied.
+         */
+        VERSION
+    }
+
+    /**
+     * The states to match. {@code null} for all states.
+     */
+    private Set<MigrationState> states;
+
+    /**
+     * The lowest version to match (inclusive). {@code null} for no lower bound.
+     */
+    private MigrationVersion fromVersion;
+
+    /**
+     * The highest version to match (inclusive). {@code null} for no upper bound.
+     */
+    private MigrationVersion toVersion;
+
+    /**
+     * Only match migrations installed on or after this date. {@code null} to match regardless of installation date.
+     */
+    private Date installedSince;
+
+    /**
+     * The order in which to return the migration infos.
+     */
+    private Order order = Order.INSTALLED_RANK;
+
+    /**
+     * The number of matching migration infos to skip.
+     */
+    private int offset;
+
+    /**
+     * The maximum number of migration infos to return. 0 for no limit.
+     */
+    private int limit;
+
+    /**
+     * Only matches migrations in one of these states.
+     *
+     * @param states The states to match.
+     * @return This filter.
+     */
+    public MigrationInfoFilter states(MigrationState... states) {
+        this.states = states.length == 0 ? EnumSet.noneOf(MigrationState.class) : EnumSet.copyOf(Arrays.asList(states));
+        return this;
+    }
+
+    /**
+     * Only matches versioned migrations with this version or a higher one.
+     *
+     * @param fromVersion The lowest version to match (inclusive). {@code null} for no lower bound.
+     * @return This filter.
+     */
+    public MigrationInfoFilter fromVersion(MigrationVersion fromVersion) {
+        this.fromVersion = fromVersion;
+        return this;
+    }
+
+    /**
+     * Only matches versioned migrations with this version or a lower one.
+     *
+     * @param toVersion The highest version to match (inclusive). {@code null} for no upper bound.
+     * @return This filter.
+     */
+    public MigrationInfoFilter toVersion(MigrationVersion toVersion) {
+        this.toVersion = toVersion;
+        return this;
+    }
+
+    /**
+     * Only matches migrations applied on or after this date. Migrations that haven't been applied don't match.
+     *
+     * @param installedSince The date. {@code null} to match regardless of installation date.
+     * @return This filter.
+     */
+    public MigrationInfoFilter installedSince(Date installedSince) {
+        this.installedSince = installedSince == null ? null : new Date(installedSince.getTime());
+        return this;
+    }
+
+    /**
+     * Sets the order in which to return the migration infos. (default: {@link Order#INSTALLED_RANK})
+     *
+     * @param order The order.
+     * @return This filter.
+     */
+    public MigrationInfoFilter orderBy(Order order) {
+        this.order = order;
+        return this;
+    }
+
+    /**
+     * Skips this number of matching migration infos, for retrieving a page other than the first one.
+     *
+     * @param offset The number of matching migration infos to skip. (default: 0)
+     * @return This filter.
+     */
+    public MigrationInfoFilter offset(int offset) {
+        if (offset < 0) {
+            throw new FlywayException("Invalid offset: " + offset + ". It must be 0 or greater.");
+        }
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * Returns at most this number of migration infos.
+     *
+     * @param limit The maximum number of migration infos to return. 0 for no limit. (default: 0)
+     * @return This filter.
+     */
+    public MigrationInfoFilter limit(int limit) {
+        if (limit < 0) {
+            throw new FlywayException("Invalid limit: " + limit + ". It must be 0 or greater.");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * @return The order in which to return the migration infos.
+     */
+    public Order getOrder() {
+        return order;
+    }
+
+    /**
+     * @return The number of matching migration infos to skip.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return The maximum number of migration infos to return. 0 for no limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Checks whether this migration info matches this filter, regardless of order and page.
+     *
+     * @param migrationInfo The migration info.
+     * @return {@code true} if it does, {@code false} if not.
+     */
+    public boolean matches(MigrationInfo migrationInfo) {
+        return (states == null || states.contains(migrationInfo.getState()))
+                && mayMatch(migrationInfo.getVersion(), migrationInfo.getInstalledOn());
+    }
+
+    /**
+     * Checks whether a migration with this version and installation date can match this filter, before its info is
+     * built. Its state can only be checked afterwards, by {@link #matches(MigrationInfo)}.
+     *
+     * @param version     The version of the migration. {@code null} for repeatable migrations.
+     * @param installedOn The date the migration was applied on. {@code null} if it hasn't been applied.
+     * @return {@code false} if it can't match, {@code true} if it may.
+     */
+    public boolean mayMatch(MigrationVersion version, Date installedOn) {
+        if (fromVersion != null || toVersion != null) {
+            if (version == null
+                    || (fromVersion != null && version.compareTo(fromVersion) < 0)
+                    || (toVersion != null && version.compareTo(toVersion) > 0)) {
+                return false;
+            }
+        }
+        return installedSince == null || (installedOn != null && !installedOn.before(installedSince));
+    }
+
+    /**
+     * Applies this filter to these migration infos. Each one is only checked against the filter as the iteration
+     * reaches it.
+     *
+     * @param migrationInfos The migration infos, in the order of {@link MigrationInfoService#all()}.
+     * @return The matching infos, in the order and for the page requested by this filter. Can be iterated over several
+     * times.
+     */
+    public Iterable<MigrationInfo> apply(List<? extends MigrationInfo> migrationInfos) {
+        final List<? extends MigrationInfo> orderedMigrationInfos;
+        if (order == Order.VERSION) {
+            List<MigrationInfo> versionOrderedMigrationInfos = new ArrayList<>(migrationInfos);
+            // Stable, so migrations applied several times for the same version keep the order they were applied in
+            Collections.sort(versionOrderedMigrationInfos, new Comparator<MigrationInfo>() {
+                @Override
+                public int compare(MigrationInfo o1, MigrationInfo o2) {
+                    if (o1.getVersion() == null) {
+                        return o2.getVersion() == null ? 0 : 1;
+                    }
+                    if (o2.getVersion() == null) {
+                        return -1;
+                    }
+                    return o1.getVersion().compareTo(o2.getVersion());
+                }
+            });
+            orderedMigrationInfos = versionOrderedMigrationInfos;
+        } else {
+            orderedMigrationInfos = migrationInfos;
+        }
+
+        return new Iterable<MigrationInfo>() {
+            @Override
+            public Iterator<MigrationInfo> iterator() {
+                return new FilteringIterator(orderedMigrationInfos.iterator());
+            }
+        };
+    }
+
+    /**
+     * Iterates over the migration infos matching this filter, skipping and limiting them as requested by it.
+     */
+    private class FilteringIterator implements Iterator<MigrationInfo> {
+        private final Iterator<? extends MigrationInfo> iterator;
+
+        /**
+         * The number of matching migration infos still to skip.
+         */
+        private int toSkip;
+
+        /**
+         * The number of migration infos returned so far.
+         */
+        private int returned;
+
+        /**
+         * The next matching migration info. {@code null} if not looked up yet or if there is none.
+         */
+        private MigrationInfo next;
+
+        FilteringIterator(Iterator<? extends MigrationInfo> iterator) {
+            this.iterator = iterator;
+            this.toSkip = offset;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (limit > 0 && returned >= limit) {
+                return false;
+            }
+            while (iterator.hasNext()) {
+                MigrationInfo migrationInfo = iterator.next();
+                if (matches(migrationInfo)) {
+                    if (toSkip > 0) {
+                        toSkip--;
+                    } else {
+                        next = migrationInfo;
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public MigrationInfo next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            MigrationInfo migrationInfo = next;
+            next = null;
+            returned++;
+            return migrationInfo;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
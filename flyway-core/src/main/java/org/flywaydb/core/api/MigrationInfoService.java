@@ -15,6 +15,8 @@
  */
 package org.flywaydb.core.api;
 
+import java.util.Arrays;
+
 /**
  * Info about all migrations, including applied, current and pending with details and status.
  */
@@ -46,4 +48,17 @@ public interface MigrationInfoService {
      * @return The applied migrations. An empty array if none.
      */
     MigrationInfo[] applied();
+
+    /**
+     * Iterates over the infos matching this filter, in the order and for the page requested by it. Each info is only
+     * checked against the filter as the iteration reaches it, so a page of a large history can be written out without
+     * collecting the matching infos first. The default implementation filters {@link #all()}; Flyway's own
+     * implementation filters its infos in place, without copying them.
+     *
+     * @param filter The filter selecting the infos, their order and the page to return.
+     * @return The matching infos. Can be iterated over several times.
+     */
+    default Iterable<MigrationInfo> iterate(MigrationInfoFilter filter) {
+        return filter.apply(Arrays.asList(all()));
+    }
 }
\ No newline at end of file
@@ -39,6 +39,11 @@ public enum MigrationState {
      */
     BASELINE("Baseline", true, true, false),
 
+    /**
+     * This is a snapshot of the migrations applied against this DB up to its version, which were compacted into it.
+     */
+    SNAPSHOT("Snapshot", true, true, false),
+
     /**
      * <p>This usually indicates a problem.</p>
      * <p>
@@ -29,6 +29,11 @@ public enum MigrationType {
      */
     BASELINE(true, false),
 
+    /**
+     * Snapshot of the applied migrations compacted into it.
+     */
+    SNAPSHOT(true, false),
+
     /**
      * SQL migrations.
      */
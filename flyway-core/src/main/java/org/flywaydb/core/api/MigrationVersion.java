@@ -18,6 +18,8 @@ package org.flywaydb.core.api;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 /**
@@ -29,17 +31,34 @@ public final class MigrationVersion implements Comparable<MigrationVersion> {
     /**
      * Version for an empty schema.
      */
-    public static final MigrationVersion EMPTY = new MigrationVersion(null, "<< Empty Schema >>");
+    public static final MigrationVersion EMPTY = new MigrationVersion(new long[0], "<< Empty Schema >>");
 
     /**
      * Latest version.
      */
-    public static final MigrationVersion LATEST = new MigrationVersion(BigInteger.valueOf(-1), "<< Latest Version >>");
+    public static final MigrationVersion LATEST = new MigrationVersion(new long[]{-1}, "<< Latest Version >>");
 
     /**
      * Current version. Only a marker. For the real version use Flyway.info().current() instead.
      */
-    public static final MigrationVersion CURRENT = new MigrationVersion(BigInteger.valueOf(-2), "<< Current Version >>");
+    public static final MigrationVersion CURRENT = new MigrationVersion(new long[]{-2}, "<< Current Version >>");
+
+    /**
+     * The version string of {@link #LATEST}.
+     */
+    private static final String LATEST_VERSION = Long.toString(Long.MAX_VALUE);
+
+    /**
+     * The maximum number of versions kept in the cache. This covers the migrations of all but the largest projects,
+     * while keeping the memory held by the cache small.
+     */
+    private static final int CACHE_SIZE = 16384;
+
+    /**
+     * The versions created so far, by version string. Versions are immutable, so the same instance can be handed out
+     * whenever a version string is seen again, as is the case for every migration in the schema history.
+     */
+    private static final ConcurrentMap<String, MigrationVersion> CACHE = new ConcurrentHashMap<>();
 
     /**
      * Compiled pattern for matching proper version format
@@ -47,9 +66,21 @@ public final class MigrationVersion implements Comparable<MigrationVersion> {
     private static Pattern splitPattern = Pattern.compile("\\.(?=\\d)");
 
     /**
-     * The individual parts this version string is composed of. Ex. 1.2.3.4.0 -> [1, 2, 3, 4, 0]
+     * The individual parts this version string is composed of, without trailing zeros. Ex. 1.2.3.4.0 -> [1, 2, 3, 4]
+     * {@code null} if one of the parts doesn't fit in a long, in which case {@link #bigVersionParts} is used instead.
+     */
+    private final long[] versionParts;
+
+    /**
+     * The individual parts this version string is composed of, for versions with a part that doesn't fit in a long.
+     * {@code null} otherwise.
+     */
+    private final BigInteger[] bigVersionParts;
+
+    /**
+     * The hash code, calculated once from the version parts.
      */
-    private final List<BigInteger> versionParts;
+    private final int hash;
 
     /**
      * The printable text to represent the version.
@@ -63,12 +94,22 @@ public final class MigrationVersion implements Comparable<MigrationVersion> {
      *                a marker for the latest version that has been applied to the database.
      * @return The MigrationVersion
      */
-    @SuppressWarnings("ConstantConditions")
     public static MigrationVersion fromVersion(String version) {
         if ("current".equalsIgnoreCase(version)) return CURRENT;
-        if (LATEST.getVersion().equals(version)) return LATEST;
+        if (LATEST_VERSION.equals(version)) return LATEST;
         if (version == null) return EMPTY;
-        return new MigrationVersion(version);
+
+        MigrationVersion migrationVersion = CACHE.get(version);
+        if (migrationVersion == null) {
+            migrationVersion = new MigrationVersion(version);
+            if (CACHE.size() < CACHE_SIZE) {
+                MigrationVersion cached = CACHE.putIfAbsent(version, migrationVersion);
+                if (cached != null) {
+                    migrationVersion = cached;
+                }
+            }
+        }
+        return migrationVersion;
     }
 
     /**
@@ -79,20 +120,31 @@ public final class MigrationVersion implements Comparable<MigrationVersion> {
      */
     private MigrationVersion(String version) {
         String normalizedVersion = version.replace('_', '.');
-        this.versionParts = tokenize(normalizedVersion);
+        long[] parts = parse(normalizedVersion);
+        BigInteger[] bigParts = null;
+        if (parts == null) {
+            bigParts = tokenize(normalizedVersion);
+            parts = toLongs(bigParts);
+            if (parts != null) {
+                bigParts = null;
+            }
+        }
+        this.versionParts = parts;
+        this.bigVersionParts = bigParts;
+        this.hash = parts == null ? hash(bigParts) : hash(parts);
         this.displayText = normalizedVersion;
     }
 
     /**
-     * Creates a Version using this version string.
+     * Creates a marker version.
      *
-     * @param version     The version in one of the following formats: 6, 6.0, 005, 1.2.3.4, 201004200021. <br/>{@code null}
-     *                    means that this version refers to an empty schema.
-     * @param displayText The alternative text to display instead of the version number.
+     * @param versionParts The parts of the version. Irrelevant for comparisons, as markers are compared by identity.
+     * @param displayText  The alternative text to display instead of the version number.
      */
-    private MigrationVersion(BigInteger version, String displayText) {
-        this.versionParts = new ArrayList<>();
-        this.versionParts.add(version);
+    private MigrationVersion(long[] versionParts, String displayText) {
+        this.versionParts = versionParts;
+        this.bigVersionParts = null;
+        this.hash = hash(versionParts);
         this.displayText = displayText;
     }
 
@@ -108,8 +160,8 @@ public final class MigrationVersion implements Comparable<MigrationVersion> {
      * @return Numeric version as String
      */
     public String getVersion() {
-        if (this.equals(EMPTY)) return null;
-        if (this.equals(LATEST)) return Long.toString(Long.MAX_VALUE);
+        if (this == EMPTY) return null;
+        if (this == LATEST) return LATEST_VERSION;
         return displayText;
     }
 
@@ -120,12 +172,13 @@ public final class MigrationVersion implements Comparable<MigrationVersion> {
 
         MigrationVersion version1 = (MigrationVersion) o;
 
-        return compareTo(version1) == 0;
+        // Equal versions always have the same parts and therefore the same hash
+        return hash == version1.hash && compareTo(version1) == 0;
     }
 
     @Override
     public int hashCode() {
-        return versionParts == null ? 0 : versionParts.hashCode();
+        return hash;
     }
 
     @SuppressWarnings("NullableProblems")
@@ -157,11 +210,25 @@ public final class MigrationVersion implements Comparable<MigrationVersion> {
         if (o == LATEST) {
             return Integer.MIN_VALUE;
         }
-        final List<BigInteger> parts1 = versionParts;
-        final List<BigInteger> parts2 = o.versionParts;
-        int largestNumberOfParts = Math.max(parts1.size(), parts2.size());
+
+        if (versionParts != null && o.versionParts != null) {
+            final long[] parts1 = versionParts;
+            final long[] parts2 = o.versionParts;
+            int largestNumberOfParts = Math.max(parts1.length, parts2.length);
+            for (int i = 0; i < largestNumberOfParts; i++) {
+                final int compared = Long.compare(
+                        i < parts1.length ? parts1[i] : 0L,
+                        i < parts2.length ? parts2[i] : 0L);
+                if (compared != 0) {
+                    return compared;
+                }
+            }
+            return 0;
+        }
+
+        int largestNumberOfParts = Math.max(getNumberOfParts(), o.getNumberOfParts());
         for (int i = 0; i < largestNumberOfParts; i++) {
-            final int compared = getOrZero(parts1, i).compareTo(getOrZero(parts2, i));
+            final int compared = getOrZero(i).compareTo(o.getOrZero(i));
             if (compared != 0) {
                 return compared;
             }
@@ -169,17 +236,82 @@ public final class MigrationVersion implements Comparable<MigrationVersion> {
         return 0;
     }
 
-    private BigInteger getOrZero(List<BigInteger> elements, int i) {
-        return i < elements.size() ? elements.get(i) : BigInteger.ZERO;
+    private int getNumberOfParts() {
+        return versionParts == null ? bigVersionParts.length : versionParts.length;
+    }
+
+    private BigInteger getOrZero(int i) {
+        if (i >= getNumberOfParts()) {
+            return BigInteger.ZERO;
+        }
+        return versionParts == null ? bigVersionParts[i] : BigInteger.valueOf(versionParts[i]);
+    }
+
+    /**
+     * Parses this version string in the common format of plain digits separated by dots, without going through
+     * regular expressions and BigIntegers.
+     *
+     * @param str The version string.
+     * @return The version parts, without trailing zeros. {@code null} if the string is in any other format or one of
+     * its parts doesn't fit in a long, in which case it must be tokenized instead.
+     */
+    private static long[] parse(String str) {
+        int length = str.length();
+        int numberOfParts = 1;
+        for (int i = 0; i < length; i++) {
+            if (str.charAt(i) == '.') {
+                numberOfParts++;
+            }
+        }
+
+        long[] parts = new long[numberOfParts];
+        int part = 0;
+        long value = 0;
+        boolean digitSeen = false;
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+            if (c == '.') {
+                if (!digitSeen) {
+                    return null;
+                }
+                parts[part++] = value;
+                value = 0;
+                digitSeen = false;
+            } else if (c >= '0' && c <= '9') {
+                int digit = c - '0';
+                if (value > (Long.MAX_VALUE - digit) / 10) {
+                    return null;
+                }
+                value = value * 10 + digit;
+                digitSeen = true;
+            } else {
+                return null;
+            }
+        }
+        if (!digitSeen) {
+            return null;
+        }
+        parts[part] = value;
+
+        int significantParts = parts.length;
+        while (significantParts > 1 && parts[significantParts - 1] == 0) {
+            significantParts--;
+        }
+        if (significantParts < parts.length) {
+            long[] trimmedParts = new long[significantParts];
+            System.arraycopy(parts, 0, trimmedParts, 0, significantParts);
+            return trimmedParts;
+        }
+        return parts;
     }
 
     /**
-     * Splits this string into list of Long
+     * Splits this string into list of BigInteger. This handles all formats accepted by Flyway, however unusual.
      *
      * @param str The string to split.
      * @return The resulting array.
      */
-    private List<BigInteger> tokenize(String str) {
+    private static BigInteger[] tokenize(String str) {
         List<BigInteger> parts = new ArrayList<>();
         try {
             for (String part : splitPattern.split(str)) {
@@ -196,6 +328,37 @@ public final class MigrationVersion implements Comparable<MigrationVersion> {
             }
             parts.remove(i);
         }
-        return parts;
+        return parts.toArray(new BigInteger[0]);
+    }
+
+    /**
+     * @param parts The version parts.
+     * @return The same parts as longs. {@code null} if one of them doesn't fit in a long.
+     */
+    private static long[] toLongs(BigInteger[] parts) {
+        long[] longs = new long[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            if (parts[i].bitLength() > 63) {
+                return null;
+            }
+            longs[i] = parts[i].longValue();
+        }
+        return longs;
+    }
+
+    private static int hash(long[] parts) {
+        int hash = 1;
+        for (long part : parts) {
+            hash = 31 * hash + (int) (part ^ (part >>> 32));
+        }
+        return hash;
+    }
+
+    private static int hash(BigInteger[] parts) {
+        int hash = 1;
+        for (BigInteger part : parts) {
+            hash = 31 * hash + part.hashCode();
+        }
+        return hash;
     }
-}
\ No newline at end of file
+}
@@ -310,6 +310,65 @@ public class ClassicConfiguration implements Configuration {
      */
     private boolean group;
 
+    /**
+     * Whether to stream SQL migrations when executing them. Streaming doesn't require loading the entire SQL file in memory at once.
+     * Instead each statement is loaded and executed one at a time. This is particularly useful for very large SQL migrations composed of multiple MB or even GB of data.
+     * <p>
+     * {@code true} to stream SQL migrations. {@code false} to fully load them in memory instead. (default: {@code false})
+     */
+    private boolean stream;
+
+    /**
+     * Whether to batch SQL statements when executing them. Batching can save up to 99 percent of network roundtrips by
+     * sending consecutive plain DML statements (insert, update, delete and merge) to the database in batches instead of one by one.
+     * <p>
+     * {@code true} to batch SQL statements. {@code false} to execute them individually instead. (default: {@code false})
+     */
+    private boolean batch;
+
+    /**
+     * How many statements are sent to the database together when migrations or clean are batched. Larger batches save
+     * more round trips at the cost of more memory held by the JDBC driver.
+     * <p>
+     * The maximum number of statements per batch. (default: 100)
+     */
+    private int batchSize = 100;
+
+    /**
+     * The maximum time to wait for the lock on the schema history table when another Flyway instance is holding it.
+     * Flyway fails when the lock couldn't be acquired within this time.
+     * <p>
+     * The maximum time to wait for the lock in seconds. 0 to wait indefinitely. (default: 0)
+     */
+    private int lockWaitTimeout;
+
+    /**
+     * Whether clean should batch its drop statements. Dropping objects of the same type is then done with statements
+     * dropping several objects at once where the database supports them (PostgreSQL and CockroachDB), or sent to the
+     * database in JDBC batches of up to batchSize statements otherwise, instead of one round trip per object.
+     * <p>
+     * {@code true} to batch the drop statements of clean. {@code false} to drop objects one by one. (default: {@code false})
+     */
+    private boolean batchClean;
+
+    /**
+     * The maximum number of schemas clean should clean concurrently, each over its own connection. Databases that only
+     * use a single connection, like SQLite, always clean their schemas one after another.
+     * Schemas referenced by objects in other schemas, like foreign keys or views, are also cleaned one after another.
+     * <p>
+     * The maximum number of schemas to clean concurrently. 1 to clean them one after another. (default: 1)
+     */
+    private int cleanParallelism = 1;
+
+    /**
+     * Whether clean should enumerate and drop the objects of a schema on the database server, with a single generated
+     * PL/SQL block (Oracle) or T-SQL batch (SQL Server), instead of one round trip per object. Other databases ignore
+     * this setting.
+     * <p>
+     * {@code true} to clean Oracle and SQL Server schemas on the server. {@code false} to drop objects one by one. (default: {@code false})
+     */
+    private boolean serverSideClean;
+
     /**
      * The username that will be recorded in the schema history table as having applied the migration.
      * <p>
@@ -317,6 +376,15 @@ public class ClassicConfiguration implements Configuration {
      */
     private String installedBy;
 
+    /**
+     * The file in which to cache the checksums of migrations across runs, so that unchanged migrations don't have to be
+     * read again. Migrations are considered unchanged as long as the size and modification time of their file (or the
+     * size and CRC of their jar entry) are the same.
+     * <p>
+     * The path of the cache file or {@code null} to disable the cache. (default: {@code null})
+     */
+    private String checksumCacheFile;
+
 
 
 
@@ -375,10 +443,18 @@ public class ClassicConfiguration implements Configuration {
 
         setEncoding(configuration.getEncoding());
         setGroup(configuration.isGroup());
+        setStream(configuration.isStream());
+        setBatch(configuration.isBatch());
+        setBatchSize(configuration.getBatchSize());
+        setLockWaitTimeout(configuration.getLockWaitTimeout());
+        setBatchClean(configuration.isBatchClean());
+        setCleanParallelism(configuration.getCleanParallelism());
+        setServerSideClean(configuration.isServerSideClean());
         setIgnoreFutureMigrations(configuration.isIgnoreFutureMigrations());
         setIgnoreMissingMigrations(configuration.isIgnoreMissingMigrations());
         setIgnoreIgnoredMigrations(configuration.isIgnoreIgnoredMigrations());
         setInstalledBy(configuration.getInstalledBy());
+        setChecksumCacheFile(configuration.getChecksumCacheFile());
         setLocations(configuration.getLocations());
         setMixed(configuration.isMixed());
         setOutOfOrder(configuration.isOutOfOrder());
@@ -548,11 +624,51 @@ public class ClassicConfiguration implements Configuration {
         return installedBy;
     }
 
+    @Override
+    public String getChecksumCacheFile() {
+        return checksumCacheFile;
+    }
+
     @Override
     public boolean isGroup() {
         return group;
     }
 
+    @Override
+    public boolean isStream() {
+        return stream;
+    }
+
+    @Override
+    public boolean isBatch() {
+        return batch;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public int getLockWaitTimeout() {
+        return lockWaitTimeout;
+    }
+
+    @Override
+    public boolean isBatchClean() {
+        return batchClean;
+    }
+
+    @Override
+    public int getCleanParallelism() {
+        return cleanParallelism;
+    }
+
+    @Override
+    public boolean isServerSideClean() {
+        return serverSideClean;
+    }
+
     @Override
     public ErrorHandler[] getErrorHandlers() {
 
@@ -717,6 +833,88 @@ public class ClassicConfiguration implements Configuration {
         this.group = group;
     }
 
+    /**
+     * Whether to stream SQL migrations when executing them. Streaming doesn't require loading the entire SQL file in memory at once.
+     * Instead each statement is loaded and executed one at a time. This is particularly useful for very large SQL migrations composed of multiple MB or even GB of data.
+     *
+     * @param stream {@code true} to stream SQL migrations. {@code false} to fully load them in memory instead. (default: {@code false})
+     */
+    public void setStream(boolean stream) {
+        this.stream = stream;
+    }
+
+    /**
+     * Whether to batch SQL statements when executing them. Batching can save up to 99 percent of network roundtrips by
+     * sending consecutive plain DML statements (insert, update, delete and merge) to the database in batches instead of one by one.
+     *
+     * @param batch {@code true} to batch SQL statements. {@code false} to execute them individually instead. (default: {@code false})
+     */
+    public void setBatch(boolean batch) {
+        this.batch = batch;
+    }
+
+    /**
+     * How many statements are sent to the database together when migrations or clean are batched. Larger batches save
+     * more round trips at the cost of more memory held by the JDBC driver.
+     *
+     * @param batchSize The maximum number of statements per batch. (default: 100)
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new FlywayException("Invalid batch size: " + batchSize + " (must be at least 1)");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * The maximum time to wait for the lock on the schema history table when another Flyway instance is holding it.
+     * Flyway fails when the lock couldn't be acquired within this time.
+     *
+     * @param lockWaitTimeout The maximum time to wait for the lock in seconds. 0 to wait indefinitely. (default: 0)
+     */
+    public void setLockWaitTimeout(int lockWaitTimeout) {
+        if (lockWaitTimeout < 0) {
+            throw new FlywayException("Invalid lock wait timeout: " + lockWaitTimeout + " (must be 0 or more)");
+        }
+        this.lockWaitTimeout = lockWaitTimeout;
+    }
+
+    /**
+     * Whether clean should batch its drop statements. Dropping objects of the same type is then done with statements
+     * dropping several objects at once where the database supports them (PostgreSQL and CockroachDB), or sent to the
+     * database in JDBC batches of up to batchSize statements otherwise, instead of one round trip per object.
+     *
+     * @param batchClean {@code true} to batch the drop statements of clean. {@code false} to drop objects one by one. (default: {@code false})
+     */
+    public void setBatchClean(boolean batchClean) {
+        this.batchClean = batchClean;
+    }
+
+    /**
+     * The maximum number of schemas clean should clean concurrently, each over its own connection. Databases that only
+     * use a single connection, like SQLite, always clean their schemas one after another.
+     * Schemas referenced by objects in other schemas, like foreign keys or views, are also cleaned one after another.
+     *
+     * @param cleanParallelism The maximum number of schemas to clean concurrently. 1 to clean them one after another. (default: 1)
+     */
+    public void setCleanParallelism(int cleanParallelism) {
+        if (cleanParallelism < 1) {
+            throw new FlywayException("Invalid clean parallelism: " + cleanParallelism + " (must be at least 1)");
+        }
+        this.cleanParallelism = cleanParallelism;
+    }
+
+    /**
+     * Whether clean should enumerate and drop the objects of a schema on the database server, with a single generated
+     * PL/SQL block (Oracle) or T-SQL batch (SQL Server), instead of one round trip per object. Other databases ignore
+     * this setting.
+     *
+     * @param serverSideClean {@code true} to clean Oracle and SQL Server schemas on the server. {@code false} to drop objects one by one. (default: {@code false})
+     */
+    public void setServerSideClean(boolean serverSideClean) {
+        this.serverSideClean = serverSideClean;
+    }
+
     /**
      * The username that will be recorded in the schema history table as having applied the migration.
      *
@@ -729,6 +927,20 @@ public class ClassicConfiguration implements Configuration {
         this.installedBy = installedBy;
     }
 
+    /**
+     * The file in which to cache the checksums of migrations across runs, so that unchanged migrations don't have to be
+     * read again. Migrations are considered unchanged as long as the size and modification time of their file (or the
+     * size and CRC of their jar entry) are the same.
+     *
+     * @param checksumCacheFile The path of the cache file or {@code null} to disable the cache. (default: {@code null})
+     */
+    public void setChecksumCacheFile(String checksumCacheFile) {
+        if ("".equals(checksumCacheFile)) {
+            checksumCacheFile = null;
+        }
+        this.checksumCacheFile = checksumCacheFile;
+    }
+
     /**
      * Whether to allow mixing transactional and non-transactional statements within the same migration.
      *
@@ -1390,11 +1602,51 @@ public class ClassicConfiguration implements Configuration {
             setGroup(groupProp);
         }
 
+        Boolean streamProp = getBooleanProp(props, ConfigUtils.STREAM);
+        if (streamProp != null) {
+            setStream(streamProp);
+        }
+
+        Boolean batchProp = getBooleanProp(props, ConfigUtils.BATCH);
+        if (batchProp != null) {
+            setBatch(batchProp);
+        }
+
+        Integer batchSizeProp = getIntegerProp(props, ConfigUtils.BATCH_SIZE);
+        if (batchSizeProp != null) {
+            setBatchSize(batchSizeProp);
+        }
+
+        Integer lockWaitTimeoutProp = getIntegerProp(props, ConfigUtils.LOCK_WAIT_TIMEOUT);
+        if (lockWaitTimeoutProp != null) {
+            setLockWaitTimeout(lockWaitTimeoutProp);
+        }
+
+        Boolean batchCleanProp = getBooleanProp(props, ConfigUtils.BATCH_CLEAN);
+        if (batchCleanProp != null) {
+            setBatchClean(batchCleanProp);
+        }
+
+        Integer cleanParallelismProp = getIntegerProp(props, ConfigUtils.CLEAN_PARALLELISM);
+        if (cleanParallelismProp != null) {
+            setCleanParallelism(cleanParallelismProp);
+        }
+
+        Boolean serverSideCleanProp = getBooleanProp(props, ConfigUtils.SERVER_SIDE_CLEAN);
+        if (serverSideCleanProp != null) {
+            setServerSideClean(serverSideCleanProp);
+        }
+
         String installedByProp = props.remove(ConfigUtils.INSTALLED_BY);
         if (installedByProp != null) {
             setInstalledBy(installedByProp);
         }
 
+        String checksumCacheFileProp = props.remove(ConfigUtils.CHECKSUM_CACHE_FILE);
+        if (checksumCacheFileProp != null) {
+            setChecksumCacheFile(checksumCacheFileProp);
+        }
+
         String dryRunOutputProp = props.remove(ConfigUtils.DRYRUN_OUTPUT);
         if (dryRunOutputProp != null) {
             setDryRunOutputAsFileName(dryRunOutputProp);
@@ -1412,6 +1664,18 @@ public class ClassicConfiguration implements Configuration {
         }
     }
 
+    private Integer getIntegerProp(Map<String, String> props, String key) {
+        String value = props.remove(key);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new FlywayException("Invalid value for " + key + " (should be an integer): " + value, e);
+        }
+    }
+
     private Boolean getBooleanProp(Map<String, String> props, String key) {
         String value = props.remove(key);
         if (value != null && !"true".equals(value) && !"false".equals(value)) {
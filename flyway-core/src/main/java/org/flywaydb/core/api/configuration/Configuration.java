@@ -327,6 +327,66 @@ public interface Configuration {
      */
     boolean isGroup();
 
+    /**
+     * Whether to stream SQL migrations when executing them. Streaming doesn't require loading the entire SQL file in memory at once.
+     * Instead each statement is loaded and executed one at a time. This is particularly useful for very large SQL migrations composed of multiple MB or even GB of data.
+     * Streamed migrations are read twice: once to check their statements without keeping them and once to execute them.
+     *
+     * @return {@code true} to stream SQL migrations. {@code false} to fully load them in memory instead. (default: {@code false})
+     */
+    boolean isStream();
+
+    /**
+     * Whether to batch SQL statements when executing them. Batching can save up to 99 percent of network roundtrips by
+     * sending consecutive plain DML statements (insert, update, delete and merge) to the database in batches instead of one by one.
+     *
+     * @return {@code true} to batch SQL statements. {@code false} to execute them individually instead. (default: {@code false})
+     */
+    boolean isBatch();
+
+    /**
+     * How many statements are sent to the database together when migrations or clean are batched. Larger batches save
+     * more round trips at the cost of more memory held by the JDBC driver.
+     *
+     * @return The maximum number of statements per batch. (default: 100)
+     */
+    int getBatchSize();
+
+    /**
+     * The maximum time to wait for the lock on the schema history table when another Flyway instance is holding it.
+     * Flyway fails when the lock couldn't be acquired within this time.
+     *
+     * @return The maximum time to wait for the lock in seconds. 0 to wait indefinitely. (default: 0)
+     */
+    int getLockWaitTimeout();
+
+    /**
+     * Whether clean should batch its drop statements. Dropping objects of the same type is then done with statements
+     * dropping several objects at once where the database supports them (PostgreSQL and CockroachDB), or sent to the
+     * database in JDBC batches of up to batchSize statements otherwise, instead of one round trip per object.
+     *
+     * @return {@code true} to batch the drop statements of clean. {@code false} to drop objects one by one. (default: {@code false})
+     */
+    boolean isBatchClean();
+
+    /**
+     * The maximum number of schemas clean should clean concurrently, each over its own connection. Databases that only
+     * use a single connection, like SQLite, always clean their schemas one after another.
+     * Schemas referenced by objects in other schemas, like foreign keys or views, are also cleaned one after another.
+     *
+     * @return The maximum number of schemas to clean concurrently. 1 to clean them one after another. (default: 1)
+     */
+    int getCleanParallelism();
+
+    /**
+     * Whether clean should enumerate and drop the objects of a schema on the database server, with a single generated
+     * PL/SQL block (Oracle) or T-SQL batch (SQL Server), instead of one round trip per object. Other databases ignore
+     * this setting.
+     *
+     * @return {@code true} to clean Oracle and SQL Server schemas on the server. {@code false} to drop objects one by one. (default: {@code false})
+     */
+    boolean isServerSideClean();
+
     /**
      * The username that will be recorded in the schema history table as having applied the migration.
      *
@@ -334,6 +394,15 @@ public interface Configuration {
      */
     String getInstalledBy();
 
+    /**
+     * The file in which to cache the checksums of migrations across runs, so that unchanged migrations don't have to be
+     * read again. Migrations are considered unchanged as long as the size and modification time of their file (or the
+     * size and CRC of their jar entry) are the same.
+     *
+     * @return The path of the cache file or {@code null} to disable the cache. (default: {@code null})
+     */
+    String getChecksumCacheFile();
+
     /**
      * Handlers for errors and warnings that occur during a migration. This can be used to customize Flyway's behavior by for example
      * throwing another runtime exception, outputting a warning or suppressing the error instead of throwing a FlywayException.
@@ -76,10 +76,18 @@ public class FluentConfiguration implements Configuration {
 
         config.setEncoding(configuration.getEncoding());
         config.setGroup(configuration.isGroup());
+        config.setStream(configuration.isStream());
+        config.setBatch(configuration.isBatch());
+        config.setBatchSize(configuration.getBatchSize());
+        config.setLockWaitTimeout(configuration.getLockWaitTimeout());
+        config.setBatchClean(configuration.isBatchClean());
+        config.setCleanParallelism(configuration.getCleanParallelism());
+        config.setServerSideClean(configuration.isServerSideClean());
         config.setIgnoreFutureMigrations(configuration.isIgnoreFutureMigrations());
         config.setIgnoreMissingMigrations(configuration.isIgnoreMissingMigrations());
         config.setIgnoreIgnoredMigrations(configuration.isIgnoreIgnoredMigrations());
         config.setInstalledBy(configuration.getInstalledBy());
+        config.setChecksumCacheFile(configuration.getChecksumCacheFile());
         config.setLocations(configuration.getLocations());
         config.setMixed(configuration.isMixed());
         config.setOutOfOrder(configuration.isOutOfOrder());
@@ -246,11 +254,51 @@ public class FluentConfiguration implements Configuration {
         return config.getInstalledBy();
     }
 
+    @Override
+    public String getChecksumCacheFile() {
+        return config.getChecksumCacheFile();
+    }
+
     @Override
     public boolean isGroup() {
         return config.isGroup();
     }
 
+    @Override
+    public boolean isStream() {
+        return config.isStream();
+    }
+
+    @Override
+    public boolean isBatch() {
+        return config.isBatch();
+    }
+
+    @Override
+    public int getBatchSize() {
+        return config.getBatchSize();
+    }
+
+    @Override
+    public int getLockWaitTimeout() {
+        return config.getLockWaitTimeout();
+    }
+
+    @Override
+    public boolean isBatchClean() {
+        return config.isBatchClean();
+    }
+
+    @Override
+    public int getCleanParallelism() {
+        return config.getCleanParallelism();
+    }
+
+    @Override
+    public boolean isServerSideClean() {
+        return config.isServerSideClean();
+    }
+
     @Override
     public ErrorHandler[] getErrorHandlers() {
         return config.getErrorHandlers();
@@ -339,6 +387,86 @@ public class FluentConfiguration implements Configuration {
         return this;
     }
 
+    /**
+     * Whether to stream SQL migrations when executing them. Streaming doesn't require loading the entire SQL file in memory at once.
+     * Instead each statement is loaded and executed one at a time. This is particularly useful for very large SQL migrations composed of multiple MB or even GB of data.
+     *
+     * @param stream {@code true} to stream SQL migrations. {@code false} to fully load them in memory instead. (default: {@code false})
+     */
+    public FluentConfiguration stream(boolean stream) {
+        config.setStream(stream);
+        return this;
+    }
+
+    /**
+     * Whether to batch SQL statements when executing them. Batching can save up to 99 percent of network roundtrips by
+     * sending consecutive plain DML statements (insert, update, delete and merge) to the database in batches instead of one by one.
+     *
+     * @param batch {@code true} to batch SQL statements. {@code false} to execute them individually instead. (default: {@code false})
+     */
+    public FluentConfiguration batch(boolean batch) {
+        config.setBatch(batch);
+        return this;
+    }
+
+    /**
+     * How many statements are sent to the database together when migrations or clean are batched. Larger batches save
+     * more round trips at the cost of more memory held by the JDBC driver.
+     *
+     * @param batchSize The maximum number of statements per batch. (default: 100)
+     */
+    public FluentConfiguration batchSize(int batchSize) {
+        config.setBatchSize(batchSize);
+        return this;
+    }
+
+    /**
+     * The maximum time to wait for the lock on the schema history table when another Flyway instance is holding it.
+     * Flyway fails when the lock couldn't be acquired within this time.
+     *
+     * @param lockWaitTimeout The maximum time to wait for the lock in seconds. 0 to wait indefinitely. (default: 0)
+     */
+    public FluentConfiguration lockWaitTimeout(int lockWaitTimeout) {
+        config.setLockWaitTimeout(lockWaitTimeout);
+        return this;
+    }
+
+    /**
+     * Whether clean should batch its drop statements. Dropping objects of the same type is then done with statements
+     * dropping several objects at once where the database supports them (PostgreSQL and CockroachDB), or sent to the
+     * database in JDBC batches of up to batchSize statements otherwise, instead of one round trip per object.
+     *
+     * @param batchClean {@code true} to batch the drop statements of clean. {@code false} to drop objects one by one. (default: {@code false})
+     */
+    public FluentConfiguration batchClean(boolean batchClean) {
+        config.setBatchClean(batchClean);
+        return this;
+    }
+
+    /**
+     * The maximum number of schemas clean should clean concurrently, each over its own connection. Databases that only
+     * use a single connection, like SQLite, always clean their schemas one after another.
+     * Schemas referenced by objects in other schemas, like foreign keys or views, are also cleaned one after another.
+     *
+     * @param cleanParallelism The maximum number of schemas to clean concurrently. 1 to clean them one after another. (default: 1)
+     */
+    public FluentConfiguration cleanParallelism(int cleanParallelism) {
+        config.setCleanParallelism(cleanParallelism);
+        return this;
+    }
+
+    /**
+     * Whether clean should enumerate and drop the objects of a schema on the database server, with a single generated
+     * PL/SQL block (Oracle) or T-SQL batch (SQL Server), instead of one round trip per object. Other databases ignore
+     * this setting.
+     *
+     * @param serverSideClean {@code true} to clean Oracle and SQL Server schemas on the server. {@code false} to drop objects one by one. (default: {@code false})
+     */
+    public FluentConfiguration serverSideClean(boolean serverSideClean) {
+        config.setServerSideClean(serverSideClean);
+        return this;
+    }
+
     /**
      * The username that will be recorded in the schema history table as having applied the migration.
      *
@@ -349,6 +477,18 @@ public class FluentConfiguration implements Configuration {
         return this;
     }
 
+    /**
+     * The file in which to cache the checksums of migrations across runs, so that unchanged migrations don't have to be
+     * read again. Migrations are considered unchanged as long as the size and modification time of their file (or the
+     * size and CRC of their jar entry) are the same.
+     *
+     * @param checksumCacheFile The path of the cache file or {@code null} to disable the cache. (default: {@code null})
+     */
+    public FluentConfiguration checksumCacheFile(String checksumCacheFile) {
+        config.setChecksumCacheFile(checksumCacheFile);
+        return this;
+    }
+
     /**
      * Whether to allow mixing transactional and non-transactional statements within the same migration.
      *
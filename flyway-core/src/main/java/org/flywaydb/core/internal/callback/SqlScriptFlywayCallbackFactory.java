@@ -89,7 +89,9 @@ public class SqlScriptFlywayCallbackFactory {
                     }
                     SqlScript sqlScript = database.createSqlScript(resource,
                             placeholderReplacer,
-                            configuration.isMixed()
+                            configuration.isMixed(),
+                            configuration.isStream(),
+                            configuration.isBatch() ? configuration.getBatchSize() : 0
 
 
 
@@ -24,10 +24,13 @@ import org.flywaydb.core.internal.database.Connection;
 import org.flywaydb.core.internal.database.Database;
 import org.flywaydb.core.internal.database.Schema;
 import org.flywaydb.core.internal.schemahistory.SchemaHistory;
+import org.flywaydb.core.internal.util.ConcurrencyUtils;
 import org.flywaydb.core.internal.util.StopWatch;
 import org.flywaydb.core.internal.util.TimeFormat;
 import org.flywaydb.core.internal.util.jdbc.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
 
 /**
@@ -36,6 +39,11 @@ import java.util.concurrent.Callable;
 public class DbClean {
     private static final Log LOG = LogFactory.getLog(DbClean.class);
 
+    /**
+     * The database to clean.
+     */
+    private final Database database;
+
     /**
      * The connection to use.
      */
@@ -62,6 +70,11 @@ public class DbClean {
      */
     private boolean cleanDisabled;
 
+    /**
+     * The maximum number of schemas to clean concurrently, each over its own connection.
+     */
+    private final int cleanParallelism;
+
     /**
      * Creates a new database cleaner.
      *
@@ -70,14 +83,17 @@ public class DbClean {
      * @param schemas          The schemas to clean.
      * @param callbackExecutor The callback executor.
      * @param cleanDisabled    Whether to disable clean.
+     * @param cleanParallelism The maximum number of schemas to clean concurrently, each over its own connection.
      */
     public DbClean(Database database, SchemaHistory schemaHistory, Schema[] schemas,
-                   CallbackExecutor callbackExecutor, boolean cleanDisabled) {
+                   CallbackExecutor callbackExecutor, boolean cleanDisabled, int cleanParallelism) {
+        this.database = database;
         this.connection = database.getMainConnection();
         this.schemaHistory = schemaHistory;
         this.schemas = schemas;
         this.callbackExecutor = callbackExecutor;
         this.cleanDisabled = cleanDisabled;
+        this.cleanParallelism = cleanParallelism;
     }
 
     /**
@@ -92,7 +108,19 @@ public class DbClean {
         callbackExecutor.executeOnMainConnection(Event.BEFORE_CLEAN);
 
         try {
-            connection.changeCurrentSchemaTo(schemas[0]);
+            List<Schema> existingSchemas = new ArrayList<>();
+            for (Schema schema : schemas) {
+                if (!schema.exists()) {
+                    LOG.warn("Unable to clean unknown schema: " + schema);
+                    continue;
+                }
+                existingSchemas.add(schema);
+            }
+
+            boolean currentSchemaExists = !existingSchemas.isEmpty() && existingSchemas.get(0) == schemas[0];
+            if (currentSchemaExists) {
+                connection.changeCurrentSchemaTo(schemas[0]);
+            }
             boolean dropSchemas = false;
             try {
                 dropSchemas = schemaHistory.hasSchemasMarker();
@@ -100,16 +128,24 @@ public class DbClean {
                 LOG.error("Error while checking whether the schemas should be dropped", e);
             }
 
-            for (Schema schema : schemas) {
-                if (!schema.exists()) {
-                    LOG.warn("Unable to clean unknown schema: " + schema);
-                    continue;
+            if (cleanParallelism > 1 && existingSchemas.size() > 1) {
+                if (database.useSingleConnection()) {
+                    LOG.debug("Cleaning schemas one after another as " + database.getDbName()
+                            + " only uses a single connection");
+                } else if (database.hasCrossSchemaDependencies(existingSchemas)) {
+                    LOG.info("Cleaning schemas one after another as objects in some of them depend on objects in"
+                            + " others");
+                } else {
+                    cleanConcurrently(existingSchemas, dropSchemas, currentSchemaExists);
+                    existingSchemas.clear();
                 }
+            }
 
+            for (Schema schema : existingSchemas) {
                 if (dropSchemas) {
-                    dropSchema(schema);
+                    dropSchema(connection, schema);
                 } else {
-                    cleanSchema(schema);
+                    cleanSchema(connection, schema);
                 }
             }
         } catch (FlywayException e) {
@@ -121,13 +157,68 @@ public class DbClean {
         schemaHistory.clearCache();
     }
 
+    /**
+     * Cleans (or drops) these schemas concurrently, each over a new connection of its own, and waits for all of them to
+     * complete. Every failure is logged, and the first one is rethrown once all schemas have been processed. Only for
+     * schemas without dependencies between them, as the connections would otherwise block each other.
+     *
+     * @param schemas             The schemas to clean.
+     * @param dropSchemas         Whether to drop the schemas instead of cleaning them.
+     * @param currentSchemaExists Whether the first configured schema exists and should be made the current schema of
+     *                            each connection.
+     * @throws FlywayException when the clean of at least one of the schemas failed.
+     */
+    private void cleanConcurrently(List<Schema> schemas, final boolean dropSchemas, final boolean currentSchemaExists) {
+        final String currentSchemaName = this.schemas[0].getName();
+        List<Callable<FlywayException>> tasks = new ArrayList<>(schemas.size());
+        for (final Schema schema : schemas) {
+            tasks.add(new Callable<FlywayException>() {
+                @Override
+                public FlywayException call() {
+                    Connection schemaConnection = null;
+                    try {
+                        schemaConnection = database.openConnection();
+                        if (currentSchemaExists) {
+                            schemaConnection.changeCurrentSchemaTo(schemaConnection.getSchema(currentSchemaName));
+                        }
+                        Schema schemaOnConnection = schemaConnection.getSchema(schema.getName());
+                        if (dropSchemas) {
+                            dropSchema(schemaConnection, schemaOnConnection);
+                        } else {
+                            cleanSchema(schemaConnection, schemaOnConnection);
+                        }
+                        return null;
+                    } catch (FlywayException e) {
+                        LOG.error("Unable to clean schema " + schema + ": " + e.getMessage());
+                        return e;
+                    } finally {
+                        if (schemaConnection != null) {
+                            schemaConnection.close();
+                        }
+                    }
+                }
+            });
+        }
+
+        FlywayException firstFailure = null;
+        for (FlywayException failure : ConcurrencyUtils.invokeAll("flyway-clean", cleanParallelism, tasks)) {
+            if (failure != null && firstFailure == null) {
+                firstFailure = failure;
+            }
+        }
+        if (firstFailure != null) {
+            throw firstFailure;
+        }
+    }
+
     /**
      * Drops this schema.
      *
-     * @param schema The schema to drop.
+     * @param connection The connection to use.
+     * @param schema     The schema to drop.
      * @throws FlywayException when the drop failed.
      */
-    private void dropSchema(final Schema schema) {
+    private void dropSchema(Connection connection, final Schema schema) {
         LOG.debug("Dropping schema " + schema + " ...");
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
@@ -146,10 +237,11 @@ public class DbClean {
     /**
      * Cleans this schema of all objects.
      *
-     * @param schema The schema to clean.
+     * @param connection The connection to use.
+     * @param schema     The schema to clean.
      * @throws FlywayException when clean failed.
      */
-    private void cleanSchema(final Schema schema) {
+    private void cleanSchema(Connection connection, final Schema schema) {
         LOG.debug("Cleaning schema " + schema + " ...");
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
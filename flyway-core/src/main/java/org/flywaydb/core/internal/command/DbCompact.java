@@ -0,0 +1,207 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.command;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.flywaydb.core.api.MigrationType;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.logging.Log;
+import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.api.resolver.MigrationResolver;
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.info.MigrationInfoImpl;
+import org.flywaydb.core.internal.info.MigrationInfoServiceImpl;
+import org.flywaydb.core.internal.info.SnapshotChecksumCalculator;
+import org.flywaydb.core.internal.schemahistory.AppliedMigration;
+import org.flywaydb.core.internal.schemahistory.SchemaHistory;
+import org.flywaydb.core.internal.util.StopWatch;
+import org.flywaydb.core.internal.util.TimeFormat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+
+/**
+ * Handles Flyway's compact command. Folds the successfully applied migrations up to a version into a single snapshot
+ * row of the schema history table, so that the migrations applied before it no longer need to be read and matched
+ * one by one.
+ */
+public class DbCompact {
+    private static final Log LOG = LogFactory.getLog(DbCompact.class);
+
+    /**
+     * The migration resolver.
+     */
+    private final MigrationResolver migrationResolver;
+
+    /**
+     * The migration infos.
+     */
+    private final MigrationInfoServiceImpl migrationInfoService;
+
+    /**
+     * The schema history table.
+     */
+    private final SchemaHistory schemaHistory;
+
+    /**
+     * The version up to which to compact. {@code null}, {@code latest} or {@code current} to compact up to the
+     * current version.
+     */
+    private final MigrationVersion target;
+
+    /**
+     * Creates a new DbCompact.
+     *
+     * @param migrationResolver The migration resolver.
+     * @param schemaHistory     The schema history table.
+     * @param target            The version up to which to compact. {@code null}, {@code latest} or {@code current}
+     *                          to compact up to the current version.
+     */
+    public DbCompact(MigrationResolver migrationResolver, SchemaHistory schemaHistory, MigrationVersion target) {
+        this.migrationResolver = migrationResolver;
+        this.migrationInfoService = new MigrationInfoServiceImpl(migrationResolver, schemaHistory,
+                MigrationVersion.LATEST, true, true, false, false, false);
+        this.schemaHistory = schemaHistory;
+        this.target = target;
+    }
+
+    /**
+     * Compacts the schema history table.
+     *
+     * @return The number of applied migrations compacted into the snapshot.
+     */
+    public int compact() {
+        if (!schemaHistory.exists()) {
+            LOG.info("Schema history table " + schemaHistory + " does not exist yet. Nothing to compact.");
+            return 0;
+        }
+
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+
+        final MigrationVersion[] snapshotVersion = new MigrationVersion[1];
+        int count = schemaHistory.lock(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                snapshotVersion[0] = determineSnapshotVersion();
+                if (snapshotVersion[0] == null) {
+                    return 0;
+                }
+                return doCompact(snapshotVersion[0]);
+            }
+        });
+
+        stopWatch.stop();
+
+        if (count == 0) {
+            LOG.info("Schema history table " + schemaHistory + " is already compacted. Nothing to compact.");
+        } else {
+            LOG.info("Successfully compacted " + count + " applied migration" + (count == 1 ? "" : "s")
+                    + " of schema history table " + schemaHistory + " up to version " + snapshotVersion[0]
+                    + " (execution time " + TimeFormat.format(stopWatch.getTotalTimeMillis()) + ")");
+        }
+        return count;
+    }
+
+    /**
+     * @return The version up to which to compact. {@code null} if no versioned migration has been applied yet.
+     */
+    private MigrationVersion determineSnapshotVersion() {
+        migrationInfoService.refresh();
+        if (target != null && target != MigrationVersion.LATEST && target != MigrationVersion.CURRENT) {
+            return target;
+        }
+        MigrationInfo current = migrationInfoService.current();
+        return current == null ? null : current.getVersion();
+    }
+
+    /**
+     * Compacts the applied migrations up to this version.
+     *
+     * @param version The version of the snapshot.
+     * @return The number of applied migrations compacted.
+     */
+    private int doCompact(MigrationVersion version) {
+        AppliedMigration baselineMarker = schemaHistory.getBaselineMarker();
+        MigrationVersion baseline = baselineMarker == null ? null : baselineMarker.getVersion();
+
+        List<AppliedMigration> appliedMigrations = new ArrayList<>();
+        boolean newMigrations = false;
+        for (MigrationInfo migrationInfo : migrationInfoService.all()) {
+            MigrationInfoImpl migrationInfoImpl = (MigrationInfoImpl) migrationInfo;
+            AppliedMigration appliedMigration = migrationInfoImpl.getAppliedMigration();
+            MigrationState state = migrationInfo.getState();
+
+            if (migrationInfo.getVersion() == null) {
+                // Repeatable migrations that were re-applied since then are no longer relevant
+                if (state == MigrationState.SUPERSEDED) {
+                    appliedMigrations.add(appliedMigration);
+                    newMigrations = true;
+                }
+                continue;
+            }
+            if ((baseline != null && migrationInfo.getVersion().compareTo(baseline) <= 0)
+                    || migrationInfo.getVersion().compareTo(version) > 0) {
+                continue;
+            }
+
+            String validationError = migrationInfoImpl.validate();
+            if (validationError != null) {
+                throw new FlywayException("Unable to compact schema history table " + schemaHistory
+                        + " up to version " + version + ": " + validationError);
+            }
+            // Migrations that were never applied would otherwise be considered applied once compacted
+            if (appliedMigration == null || state != MigrationState.SUCCESS && state != MigrationState.OUT_OF_ORDER
+                    && state != MigrationState.SNAPSHOT) {
+                throw new FlywayException("Unable to compact schema history table " + schemaHistory
+                        + " up to version " + version + ": migration " + migrationInfo.getVersion()
+                        + " is in state " + state);
+            }
+            appliedMigrations.add(appliedMigration);
+            if (state != MigrationState.SNAPSHOT) {
+                newMigrations = true;
+            }
+        }
+        if (!newMigrations) {
+            return 0;
+        }
+
+        Map<MigrationVersion, ResolvedMigration> resolvedMigrations = new TreeMap<>();
+        for (ResolvedMigration resolvedMigration : migrationResolver.resolveMigrations()) {
+            MigrationVersion resolvedVersion = resolvedMigration.getVersion();
+            if (resolvedVersion != null
+                    && (baseline == null || resolvedVersion.compareTo(baseline) > 0)
+                    && resolvedVersion.compareTo(version) <= 0) {
+                resolvedMigrations.put(resolvedVersion, resolvedMigration);
+            }
+        }
+
+        int count = 0;
+        for (AppliedMigration appliedMigration : appliedMigrations) {
+            if (appliedMigration.getType() != MigrationType.SNAPSHOT) {
+                count++;
+            }
+        }
+        schemaHistory.compact(version, SnapshotChecksumCalculator.calculate(resolvedMigrations.values()),
+                appliedMigrations);
+        return count;
+    }
+}
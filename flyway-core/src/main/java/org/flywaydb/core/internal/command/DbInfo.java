@@ -16,6 +16,7 @@
 package org.flywaydb.core.internal.command;
 
 import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationInfoFilter;
 import org.flywaydb.core.api.MigrationInfoService;
 import org.flywaydb.core.api.callback.Event;
 import org.flywaydb.core.api.callback.FlywayCallback;
@@ -48,6 +49,10 @@ public class DbInfo {
     }
 
     public MigrationInfoService info() {
+        return info(null);
+    }
+
+    public MigrationInfoService info(MigrationInfoFilter filter) {
         callbackExecutor.executeOnMainConnection(Event.BEFORE_INFO);
 
 
@@ -56,7 +61,7 @@ public class DbInfo {
             migrationInfoService =
                     new MigrationInfoServiceImpl(migrationResolver, schemaHistory, configuration.getTarget(),
                             configuration.isOutOfOrder(), true, true, true, true);
-            migrationInfoService.refresh();
+            migrationInfoService.refresh(filter);
         } catch (FlywayException e) {
             callbackExecutor.executeOnMainConnection(Event.AFTER_INFO_ERROR);
             throw e;
@@ -46,6 +46,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Main workflow for migrating the database.
@@ -83,11 +84,26 @@ public class DbMigrate {
      */
     private final CallbackExecutor callbackExecutor;
 
+    /**
+     * The thread pool to prepare upcoming migrations on.
+     */
+    private final ExecutorService executorService;
+
     /**
      * The connection to use to perform the actual database migrations.
      */
     private final Connection connectionUserObjects;
 
+    /**
+     * The migration infos, kept up to date incrementally for the duration of a migration run.
+     */
+    private MigrationInfoServiceImpl infoService;
+
+    /**
+     * Prepares upcoming migrations in the background for the duration of a migration run.
+     */
+    private MigrationPrefetcher prefetcher;
+
     /**
      * Creates a new database migrator.
      *
@@ -96,10 +112,11 @@ public class DbMigrate {
      * @param migrationResolver The migration resolver.
      * @param configuration     The Flyway configuration.
      * @param callbackExecutor  The callbacks executor.
+     * @param executorService   The thread pool to prepare upcoming migrations on.
      */
     public DbMigrate(Database database,
                      SchemaHistory schemaHistory, Schema schema, MigrationResolver migrationResolver,
-                     Configuration configuration, CallbackExecutor callbackExecutor) {
+                     Configuration configuration, CallbackExecutor callbackExecutor, ExecutorService executorService) {
         this.database = database;
         this.connectionUserObjects = database.getMigrationConnection();
         this.schemaHistory = schemaHistory;
@@ -107,6 +124,7 @@ public class DbMigrate {
         this.migrationResolver = migrationResolver;
         this.configuration = configuration;
         this.callbackExecutor = callbackExecutor;
+        this.executorService = executorService;
     }
 
     /**
@@ -119,23 +137,29 @@ public class DbMigrate {
         callbackExecutor.executeOnMigrationConnection(Event.BEFORE_MIGRATE);
 
         int count;
+        prefetcher = new MigrationPrefetcher(executorService);
         try {
             StopWatch stopWatch = new StopWatch();
             stopWatch.start();
 
             schemaHistory.create();
 
-            count = configuration.isGroup() ?
-                    // When group is active, start the transaction boundary early to
-                    // ensure that all changes to the schema history table are either committed or rolled back atomically.
-                    schemaHistory.lock(new Callable<Integer>() {
-                        @Override
-                        public Integer call() {
-                            return migrateAll();
-                        }
-                    }) :
-                    // For all regular cases, proceed with the migration as usual.
-                    migrateAll();
+            if (isUpToDate()) {
+                // Nothing to do. Don't queue up behind other Flyway instances for the schema history table lock.
+                count = 0;
+            } else {
+                count = configuration.isGroup() ?
+                        // When group is active, start the transaction boundary early to
+                        // ensure that all changes to the schema history table are either committed or rolled back atomically.
+                        schemaHistory.lock(new Callable<Integer>() {
+                            @Override
+                            public Integer call() {
+                                return migrateAll();
+                            }
+                        }) :
+                        // For all regular cases, proceed with the migration as usual.
+                        migrateAll();
+            }
 
             stopWatch.stop();
 
@@ -143,12 +167,83 @@ public class DbMigrate {
         } catch (FlywayException e) {
             callbackExecutor.executeOnMigrationConnection(Event.AFTER_MIGRATE_ERROR);
             throw e;
+        } finally {
+            prefetcher.close();
         }
 
         callbackExecutor.executeOnMigrationConnection(Event.AFTER_MIGRATE);
         return count;
     }
 
+    /**
+     * Checks whether the schema is already up to date, using read-only queries and without acquiring the lock on the
+     * schema history table. The schema is up to date when no migration is pending or failed and, unless future
+     * migrations are ignored, none is newer than the latest available one. Concurrent Flyway instances can only ever
+     * apply further migrations, so a schema found to be up to date stays that way. Otherwise the migration infos are
+     * refreshed in full again once the lock is acquired.
+     *
+     * @return {@code true} if it is, {@code false} if the migrations must be applied under lock.
+     */
+    private boolean isUpToDate() {
+        infoService = new MigrationInfoServiceImpl(migrationResolver, schemaHistory, configuration.getTarget(), configuration.isOutOfOrder(), true, true, true, true);
+        infoService.refresh();
+
+        MigrationInfo[] failed = infoService.failed();
+        if (infoService.pending().length > 0
+                || (failed.length > 0 && !isIgnoredFutureFailure(failed))
+                || (infoService.future().length > 0 && !configuration.isIgnoreFutureMigrations())) {
+            return false;
+        }
+
+        MigrationInfo current = infoService.current();
+        MigrationVersion currentSchemaVersion = current == null ? MigrationVersion.EMPTY : current.getVersion();
+        LOG.info("Current version of schema " + schema + ": " + currentSchemaVersion);
+        warnAboutFutureMigrations(currentSchemaVersion);
+        if (failed.length > 0) {
+            LOG.warn("Schema " + schema + " contains a failed future migration to version " + failed[0].getVersion() + " !");
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether these failed migrations consist of a single failed future migration that can be ignored.
+     *
+     * @param failed The failed migrations.
+     * @return {@code true} if they can be ignored, {@code false} if the schema must not be migrated further.
+     */
+    private boolean isIgnoredFutureFailure(MigrationInfo[] failed) {
+        return failed.length == 1
+                && failed[0].getState() == MigrationState.FUTURE_FAILED
+                && configuration.isIgnoreFutureMigrations();
+    }
+
+    /**
+     * Warns when the schema has migrations that are newer than the latest available one.
+     *
+     * @param currentSchemaVersion The current version of the schema.
+     */
+    private void warnAboutFutureMigrations(MigrationVersion currentSchemaVersion) {
+        if (infoService.future().length == 0) {
+            return;
+        }
+        List<MigrationInfo> resolved = Arrays.asList(infoService.resolved());
+        Collections.reverse(resolved);
+        if (resolved.isEmpty()) {
+            LOG.warn("Schema " + schema + " has version " + currentSchemaVersion
+                    + ", but no migration could be resolved in the configured locations !");
+        } else {
+            for (MigrationInfo migrationInfo : resolved) {
+                // Only consider versioned migrations
+                if (migrationInfo.getVersion() != null) {
+                    LOG.warn("Schema " + schema + " has a version (" + currentSchemaVersion
+                            + ") that is newer than the latest available migration ("
+                            + migrationInfo.getVersion() + ") !");
+                    break;
+                }
+            }
+        }
+    }
+
     private int migrateAll() {
         int total = 0;
         while (true) {
@@ -179,9 +274,13 @@ public class DbMigrate {
      * @return The number of newly applied migrations.
      */
     private Integer migrateGroup(boolean firstRun) {
-        MigrationInfoServiceImpl infoService =
-                new MigrationInfoServiceImpl(migrationResolver, schemaHistory, configuration.getTarget(), configuration.isOutOfOrder(), true, true, true, true);
-        infoService.refresh();
+        if (firstRun) {
+            // The schema history table may have been repaired or cleaned since the check made without the lock.
+            infoService.refresh();
+        } else {
+            // Only pick up the migrations applied by this run since the previous group instead of rebuilding everything.
+            infoService.refreshIncrementally();
+        }
 
         MigrationInfo current = infoService.current();
         MigrationVersion currentSchemaVersion = current == null ? MigrationVersion.EMPTY : current.getVersion();
@@ -193,31 +292,11 @@ public class DbMigrate {
             }
         }
 
-        MigrationInfo[] future = infoService.future();
-        if (future.length > 0) {
-            List<MigrationInfo> resolved = Arrays.asList(infoService.resolved());
-            Collections.reverse(resolved);
-            if (resolved.isEmpty()) {
-                LOG.warn("Schema " + schema + " has version " + currentSchemaVersion
-                        + ", but no migration could be resolved in the configured locations !");
-            } else {
-                for (MigrationInfo migrationInfo : resolved) {
-                    // Only consider versioned migrations
-                    if (migrationInfo.getVersion() != null) {
-                        LOG.warn("Schema " + schema + " has a version (" + currentSchemaVersion
-                                + ") that is newer than the latest available migration ("
-                                + migrationInfo.getVersion() + ") !");
-                        break;
-                    }
-                }
-            }
-        }
+        warnAboutFutureMigrations(currentSchemaVersion);
 
         MigrationInfo[] failed = infoService.failed();
         if (failed.length > 0) {
-            if ((failed.length == 1)
-                    && (failed[0].getState() == MigrationState.FUTURE_FAILED)
-                    && configuration.isIgnoreFutureMigrations()) {
+            if (isIgnoredFutureFailure(failed)) {
                 LOG.warn("Schema " + schema + " contains a failed future migration to version " + failed[0].getVersion() + " !");
             } else {
                 if (failed[0].getVersion() == null) {
@@ -227,8 +306,17 @@ public class DbMigrate {
             }
         }
 
+        MigrationInfoImpl[] pending = infoService.pending();
+        if (configuration.isGroup()) {
+            // All migrations of the group are inspected upfront, so prepare them all in parallel.
+            prefetcher.prefetch(Arrays.asList(pending));
+        } else if (pending.length > 1) {
+            // Prepare the next migrations while the first one is being applied.
+            prefetcher.prefetch(Arrays.asList(pending).subList(1, Math.min(pending.length, 1 + prefetcher.getLookAhead())));
+        }
+
         LinkedHashMap<MigrationInfoImpl, Boolean> group = new LinkedHashMap<>();
-        for (MigrationInfoImpl pendingMigration : infoService.pending()) {
+        for (MigrationInfoImpl pendingMigration : pending) {
             boolean isOutOfOrder = pendingMigration.getVersion() != null
                     && pendingMigration.getVersion().compareTo(currentSchemaVersion) < 0;
             group.put(pendingMigration, isOutOfOrder);
@@ -17,6 +17,7 @@ package org.flywaydb.core.internal.command;
 
 import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationType;
 import org.flywaydb.core.api.MigrationVersion;
 import org.flywaydb.core.api.callback.Event;
 import org.flywaydb.core.api.logging.Log;
@@ -132,6 +133,10 @@ public class DbRepair {
                     || typeUpdateNeeded(resolved, applied))) {
                 schemaHistory.update(applied, resolved);
             }
+            if (applied != null && applied.getType() == MigrationType.SNAPSHOT
+                    && snapshotChecksumUpdateNeeded(applied)) {
+                schemaHistory.updateSnapshotChecksum(applied, migrationInfoService.getSnapshotChecksum());
+            }
         }
     }
 
@@ -139,6 +144,11 @@ public class DbRepair {
         return !ObjectUtils.nullSafeEquals(resolved.getChecksum(), applied.getChecksum());
     }
 
+    private boolean snapshotChecksumUpdateNeeded(AppliedMigration applied) {
+        Integer snapshotChecksum = migrationInfoService.getSnapshotChecksum();
+        return snapshotChecksum != null && !snapshotChecksum.equals(applied.getChecksum());
+    }
+
     private boolean descriptionUpdateNeeded(ResolvedMigration resolved, AppliedMigration applied) {
         return !ObjectUtils.nullSafeEquals(resolved.getDescription(), applied.getDescription());
     }
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.command;
+
+import org.flywaydb.core.api.logging.Log;
+import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.api.resolver.MigrationExecutor;
+import org.flywaydb.core.internal.info.MigrationInfoImpl;
+import org.flywaydb.core.internal.resolver.sql.SqlMigrationExecutor;
+import org.flywaydb.core.internal.util.ConcurrencyUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Prepares upcoming SQL migrations on background threads while the current migration is being executed against the
+ * database. Preparing a SQL migration means loading its script, replacing its placeholders and parsing it. This
+ * CPU-bound work then overlaps with the database-bound execution instead of happening on the critical path.
+ */
+class MigrationPrefetcher {
+    private static final Log LOG = LogFactory.getLog(MigrationPrefetcher.class);
+
+    /**
+     * The number of threads to use.
+     */
+    private final int threads;
+
+    /**
+     * The executors of the migrations that have already been submitted for preparation.
+     */
+    private final Set<MigrationExecutor> submitted = Collections.newSetFromMap(new IdentityHashMap<MigrationExecutor, Boolean>());
+
+    /**
+     * The preparations that have been started.
+     */
+    private final List<Future<?>> futures = new ArrayList<>();
+
+    /**
+     * The thread pool to prepare the migrations on.
+     */
+    private final ExecutorService executorService;
+
+    /**
+     * Whether preparing migrations has been stopped.
+     */
+    private volatile boolean closed;
+
+    /**
+     * @param executorService The thread pool to prepare the migrations on.
+     */
+    MigrationPrefetcher(ExecutorService executorService) {
+        this.executorService = executorService;
+        this.threads = ConcurrencyUtils.availableProcessors();
+    }
+
+    /**
+     * @return The number of migrations worth preparing ahead of the one currently being executed.
+     */
+    int getLookAhead() {
+        return 2 * threads;
+    }
+
+    /**
+     * Starts preparing these migrations in the background, unless this has already been done before.
+     *
+     * @param migrations The migrations to prepare, in the order in which they will be applied.
+     */
+    void prefetch(List<MigrationInfoImpl> migrations) {
+        List<MigrationExecutor> executors = new ArrayList<>(migrations.size());
+        for (MigrationInfoImpl migration : migrations) {
+            executors.add(migration.getResolvedMigration().getExecutor());
+        }
+        prefetchExecutors(executors);
+    }
+
+    /**
+     * Starts preparing the migrations of these executors in the background, unless this has already been done before.
+     * Only SQL migrations need preparing.
+     *
+     * @param executors The executors of the migrations to prepare, in the order in which they will be applied.
+     */
+    /* private -> testing */ void prefetchExecutors(List<MigrationExecutor> executors) {
+        for (final MigrationExecutor executor : executors) {
+            if (!(executor instanceof SqlMigrationExecutor) || !submitted.add(executor)) {
+                continue;
+            }
+
+            futures.add(executorService.submit(new Runnable() {
+                @Override
+                public void run() {
+                    if (closed) {
+                        return;
+                    }
+                    try {
+                        // Parses the script as a side effect
+                        executor.executeInTransaction();
+                    } catch (RuntimeException e) {
+                        // Ignore. The error will be raised again when the migration itself is applied.
+                        LOG.debug("Unable to prepare migration in the background: " + e.getMessage());
+                    }
+                }
+            }));
+        }
+    }
+
+    /**
+     * Stops preparing migrations. Preparations that haven't started yet are skipped. Running ones are left to finish
+     * instead of being interrupted, as their threads belong to a pool shared with other work and the scripts they
+     * parse may be shared with other executions.
+     */
+    void close() {
+        closed = true;
+        for (Future<?> future : futures) {
+            future.cancel(false);
+        }
+    }
+}
@@ -62,9 +62,14 @@ public class ConfigUtils {
     public static final String BASELINE_DESCRIPTION = "flyway.baselineDescription";
     public static final String BASELINE_ON_MIGRATE = "flyway.baselineOnMigrate";
     public static final String BASELINE_VERSION = "flyway.baselineVersion";
+    public static final String BATCH = "flyway.batch";
+    public static final String BATCH_CLEAN = "flyway.batchClean";
+    public static final String BATCH_SIZE = "flyway.batchSize";
     public static final String CALLBACKS = "flyway.callbacks";
+    public static final String CHECKSUM_CACHE_FILE = "flyway.checksumCacheFile";
     public static final String CLEAN_DISABLED = "flyway.cleanDisabled";
     public static final String CLEAN_ON_VALIDATION_ERROR = "flyway.cleanOnValidationError";
+    public static final String CLEAN_PARALLELISM = "flyway.cleanParallelism";
     public static final String DRIVER = "flyway.driver";
     public static final String DRYRUN_OUTPUT = "flyway.dryRunOutput";
     public static final String ENCODING = "flyway.encoding";
@@ -75,6 +80,7 @@ public class ConfigUtils {
     public static final String IGNORE_IGNORED_MIGRATIONS = "flyway.ignoreIgnoredMigrations";
     public static final String INSTALLED_BY = "flyway.installedBy";
     public static final String LOCATIONS = "flyway.locations";
+    public static final String LOCK_WAIT_TIMEOUT = "flyway.lockWaitTimeout";
     public static final String MIXED = "flyway.mixed";
     public static final String OUT_OF_ORDER = "flyway.outOfOrder";
     public static final String PASSWORD = "flyway.password";
@@ -85,6 +91,7 @@ public class ConfigUtils {
     public static final String REPEATABLE_SQL_MIGRATION_PREFIX = "flyway.repeatableSqlMigrationPrefix";
     public static final String RESOLVERS = "flyway.resolvers";
     public static final String SCHEMAS = "flyway.schemas";
+    public static final String SERVER_SIDE_CLEAN = "flyway.serverSideClean";
     public static final String SKIP_DEFAULT_CALLBACKS = "flyway.skipDefaultCallbacks";
     public static final String SKIP_DEFAULT_RESOLVERS = "flyway.skipDefaultResolvers";
     public static final String SQL_MIGRATION_PREFIX = "flyway.sqlMigrationPrefix";
@@ -94,6 +101,7 @@ public class ConfigUtils {
     public static final String SQL_MIGRATION_SUFFIX = "flyway.sqlMigrationSuffix";
 
     public static final String SQL_MIGRATION_SUFFIXES = "flyway.sqlMigrationSuffixes";
+    public static final String STREAM = "flyway.stream";
     public static final String TABLE = "flyway.table";
     public static final String TARGET = "flyway.target";
     public static final String UNDO_SQL_MIGRATION_PREFIX = "flyway.undoSqlMigrationPrefix";
@@ -286,11 +294,51 @@ public class ConfigUtils {
                     return configuration.isGroup();
                 }
 
+                @Override
+                public boolean isStream() {
+                    return configuration.isStream();
+                }
+
+                @Override
+                public boolean isBatch() {
+                    return configuration.isBatch();
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return configuration.getBatchSize();
+                }
+
+                @Override
+                public int getLockWaitTimeout() {
+                    return configuration.getLockWaitTimeout();
+                }
+
+                @Override
+                public boolean isBatchClean() {
+                    return configuration.isBatchClean();
+                }
+
+                @Override
+                public int getCleanParallelism() {
+                    return configuration.getCleanParallelism();
+                }
+
+                @Override
+                public boolean isServerSideClean() {
+                    return configuration.isServerSideClean();
+                }
+
                 @Override
                 public String getInstalledBy() {
                     return configuration.getInstalledBy();
                 }
 
+                @Override
+                public String getChecksumCacheFile() {
+                    return configuration.getChecksumCacheFile();
+                }
+
                 @Override
                 public ErrorHandler[] getErrorHandlers() {
                     return configuration.getErrorHandlers();
@@ -363,6 +411,27 @@ public class ConfigUtils {
         if ("FLYWAY_GROUP".equals(key)) {
             return GROUP;
         }
+        if ("FLYWAY_STREAM".equals(key)) {
+            return STREAM;
+        }
+        if ("FLYWAY_BATCH".equals(key)) {
+            return BATCH;
+        }
+        if ("FLYWAY_BATCH_SIZE".equals(key)) {
+            return BATCH_SIZE;
+        }
+        if ("FLYWAY_LOCK_WAIT_TIMEOUT".equals(key)) {
+            return LOCK_WAIT_TIMEOUT;
+        }
+        if ("FLYWAY_BATCH_CLEAN".equals(key)) {
+            return BATCH_CLEAN;
+        }
+        if ("FLYWAY_CLEAN_PARALLELISM".equals(key)) {
+            return CLEAN_PARALLELISM;
+        }
+        if ("FLYWAY_SERVER_SIDE_CLEAN".equals(key)) {
+            return SERVER_SIDE_CLEAN;
+        }
         if ("FLYWAY_IGNORE_FUTURE_MIGRATIONS".equals(key)) {
             return IGNORE_FUTURE_MIGRATIONS;
         }
@@ -375,6 +444,9 @@ public class ConfigUtils {
         if ("FLYWAY_INSTALLED_BY".equals(key)) {
             return INSTALLED_BY;
         }
+        if ("FLYWAY_CHECKSUM_CACHE_FILE".equals(key)) {
+            return CHECKSUM_CACHE_FILE;
+        }
         if ("FLYWAY_LOCATIONS".equals(key)) {
             return LOCATIONS;
         }
@@ -62,6 +62,11 @@ public abstract class AbstractSqlStatement<C extends ContextImpl> implements Sql
         return sql;
     }
 
+    @Override
+    public boolean isBatchable() {
+        return false;
+    }
+
     /**
      * Strips this delimiter from this sql statement.
      *
@@ -35,12 +35,18 @@ public abstract class Connection<D extends Database> implements Closeable {
      */
     protected final String originalSchemaNameOrSearchPath;
 
+    /**
+     * The maximum time to wait for a lock in seconds. 0 to wait indefinitely.
+     */
+    protected final int lockWaitTimeout;
+
     protected Connection(Configuration configuration, D database, java.sql.Connection connection, int nullType
 
 
 
     ) {
         this.database = database;
+        this.lockWaitTimeout = configuration.getLockWaitTimeout();
 
 
 
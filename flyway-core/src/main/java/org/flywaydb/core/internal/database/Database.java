@@ -22,6 +22,7 @@ import org.flywaydb.core.api.logging.LogFactory;
 import org.flywaydb.core.internal.exception.FlywaySqlException;
 import org.flywaydb.core.internal.util.Pair;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.flywaydb.core.internal.util.StringUtils;
 import org.flywaydb.core.internal.util.jdbc.JdbcUtils;
 import org.flywaydb.core.internal.util.scanner.LoadableResource;
 import org.flywaydb.core.internal.util.scanner.classpath.ClassPathResource;
@@ -30,7 +31,10 @@ import java.io.Closeable;
 import java.nio.charset.Charset;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -132,13 +136,15 @@ public abstract class Database<C extends Connection> implements Closeable {
      *
      * @param resource        The resource containing the SQL script.
      * @param mixed           Whether to allow mixing transactional and non-transactional statements within the same migration.
+     * @param stream          Whether to stream the SQL script statement by statement instead of loading it fully in memory.
+     * @param batchSize       The maximum number of consecutive DML statements to send to the database in a single batch. 0 to disable batching.
 
 
 
      * @return The new SqlScript.
      */
     public final SqlScript createSqlScript(LoadableResource resource,
-                                           PlaceholderReplacer placeholderReplacer, boolean mixed
+                                           PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
@@ -149,7 +155,7 @@ public abstract class Database<C extends Connection> implements Closeable {
 
 
 
-        return doCreateSqlScript(resource, placeholderReplacer, mixed
+        return doCreateSqlScript(resource, placeholderReplacer, mixed, stream, batchSize
 
 
 
@@ -162,13 +168,15 @@ public abstract class Database<C extends Connection> implements Closeable {
      * @param resource            The resource containing the SQL script.
      * @param placeholderReplacer The placeholder replacer.
      * @param mixed               Whether to allow mixing transactional and non-transactional statements within the same migration.
+     * @param stream              Whether to stream the SQL script statement by statement instead of loading it fully in memory.
+     * @param batchSize           The maximum number of consecutive DML statements to send to the database in a single batch. 0 to disable batching.
 
 
 
      * @return The new SqlScript.
      */
     protected abstract SqlScript doCreateSqlScript(LoadableResource resource,
-                                                   PlaceholderReplacer placeholderReplacer, boolean mixed
+                                                   PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
@@ -276,6 +284,55 @@ public abstract class Database<C extends Connection> implements Closeable {
         return false;
     }
 
+    /**
+     * Checks whether objects outside of each of these schemas depend on objects inside of it, like a foreign key or a
+     * view in another schema referencing one of its tables. Such schemas can't safely be cleaned concurrently, as
+     * dropping the referenced objects also locks or drops the objects depending on them.
+     *
+     * @param schemas The schemas to check.
+     * @return {@code true} if they do or if this can't be determined, {@code false} if the schemas are independent.
+     */
+    public final boolean hasCrossSchemaDependencies(List<Schema> schemas) {
+        List<String> schemaNames = new ArrayList<>(schemas.size());
+        for (Schema schema : schemas) {
+            schemaNames.add(schema.getName());
+        }
+        try {
+            return doHasCrossSchemaDependencies(schemaNames);
+        } catch (SQLException e) {
+            LOG.debug("Unable to check for dependencies between schemas " + schemaNames + ": " + e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * Checks whether objects outside of each of these schemas depend on objects inside of it. The default
+     * implementation relies on the foreign keys and view usages of the SQL standard INFORMATION_SCHEMA.
+     *
+     * @param schemaNames The names of the schemas to check.
+     * @return {@code true} if they do, {@code false} if the schemas are independent.
+     * @throws SQLException when the dependencies could not be determined.
+     */
+    protected boolean doHasCrossSchemaDependencies(List<String> schemaNames) throws SQLException {
+        String[] params = schemaNames.toArray(new String[0]);
+        return getMainConnection().getJdbcTemplate().queryForInt("SELECT COUNT(*)"
+                + " FROM INFORMATION_SCHEMA.REFERENTIAL_CONSTRAINTS"
+                + " WHERE UNIQUE_CONSTRAINT_SCHEMA IN " + createParameterList(params.length)
+                + " AND CONSTRAINT_SCHEMA <> UNIQUE_CONSTRAINT_SCHEMA", params) > 0
+                || getMainConnection().getJdbcTemplate().queryForInt("SELECT COUNT(*)"
+                + " FROM INFORMATION_SCHEMA.VIEW_TABLE_USAGE"
+                + " WHERE TABLE_SCHEMA IN " + createParameterList(params.length)
+                + " AND VIEW_SCHEMA <> TABLE_SCHEMA", params) > 0;
+    }
+
+    /**
+     * @param count The number of parameters.
+     * @return A parenthesized list of this many parameter placeholders, like (?, ?, ?), for an IN condition.
+     */
+    protected static String createParameterList(int count) {
+        return "(" + StringUtils.collectionToCommaDelimitedString(Collections.nCopies(count, "?")) + ")";
+    }
+
     public DatabaseMetaData getJdbcMetaData() {
         return jdbcMetaData;
     }
@@ -310,6 +367,20 @@ public abstract class Database<C extends Connection> implements Closeable {
         return migrationConnection;
     }
 
+    /**
+     * Opens a new connection, in addition to the main and the migration connection, for work done concurrently with
+     * them. The caller is responsible for closing it.
+     *
+     * @return The new connection.
+     */
+    public final C openConnection() {
+        return getConnection(JdbcUtils.openConnection(configuration.getDataSource())
+
+
+
+        );
+    }
+
     /**
      * Returns the major version number of the database.
      *
@@ -346,7 +417,7 @@ public abstract class Database<C extends Connection> implements Closeable {
         placeholders.put("table_quoted", table.toString());
         PlaceholderReplacer placeholderReplacer = new PlaceholderReplacer(placeholders, "${", "}");
 
-        return createSqlScript(getRawCreateScript(), placeholderReplacer, false
+        return createSqlScript(getRawCreateScript(), placeholderReplacer, false, false, 0
 
 
 
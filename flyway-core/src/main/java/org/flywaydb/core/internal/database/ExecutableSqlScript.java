@@ -23,17 +23,20 @@ import org.flywaydb.core.api.logging.LogFactory;
 import org.flywaydb.core.internal.sqlscript.FlywaySqlScriptException;
 import org.flywaydb.core.internal.sqlscript.SqlStatement;
 import org.flywaydb.core.internal.util.AsciiTable;
+import org.flywaydb.core.internal.util.IOUtils;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
 import org.flywaydb.core.internal.util.StringUtils;
 import org.flywaydb.core.internal.util.jdbc.ContextImpl;
 import org.flywaydb.core.internal.util.jdbc.ErrorImpl;
 import org.flywaydb.core.internal.util.jdbc.JdbcTemplate;
+import org.flywaydb.core.internal.util.jdbc.JdbcUtils;
 import org.flywaydb.core.internal.util.jdbc.Result;
 import org.flywaydb.core.internal.util.line.Line;
 import org.flywaydb.core.internal.util.line.LineReader;
 import org.flywaydb.core.internal.util.line.PlaceholderReplacingLine;
 import org.flywaydb.core.internal.util.scanner.LoadableResource;
 
+import java.sql.BatchUpdateException;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
@@ -58,7 +61,18 @@ public abstract class ExecutableSqlScript<C extends ContextImpl> extends SqlScri
     private final boolean mixed;
 
     /**
-     * The sql statements contained in this script.
+     * Whether to stream this script statement by statement instead of loading it fully in memory.
+     */
+    private final boolean stream;
+
+    /**
+     * The maximum number of consecutive batchable statements to send to the database in a single batch. Batching is
+     * disabled when this is less than 2.
+     */
+    private final int batchSize;
+
+    /**
+     * The sql statements contained in this script. {@code null} when streaming.
      */
     private final List<SqlStatement<C>> sqlStatements;
 
@@ -72,26 +86,40 @@ public abstract class ExecutableSqlScript<C extends ContextImpl> extends SqlScri
      */
     private boolean nonTransactionalStatementFound;
 
+    /**
+     * Whether the statements of this streamed SQL script have been checked. Only their transactional flags are kept.
+     */
+    private volatile boolean streamChecked;
+
     /**
      * Creates a new sql script from this source.
      *
      * @param resource            The sql script resource.
      * @param placeholderReplacer The placeholder replacer to use.
      * @param mixed               Whether to allow mixing transactional and non-transactional statements within the same migration.
+     * @param stream              Whether to stream this script statement by statement instead of loading it fully in memory.
+     * @param batchSize           The maximum number of consecutive DML statements to send to the database in a single batch. 0 to disable batching.
 
 
 
      */
-    public ExecutableSqlScript(LoadableResource resource, PlaceholderReplacer placeholderReplacer, boolean mixed
+    public ExecutableSqlScript(LoadableResource resource, PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
     ) {
         super(resource, placeholderReplacer);
         this.mixed = mixed;
+        this.stream = stream;
+        this.batchSize = batchSize;
 
-        LOG.debug("Parsing " + resource.getFilename() + " ...");
-        this.sqlStatements = extractStatements(resource.loadAsString());
+        if (stream) {
+            // Parsed one statement at a time while being executed
+            this.sqlStatements = null;
+        } else {
+            LOG.debug("Parsing " + resource.getFilename() + " ...");
+            this.sqlStatements = extractStatements(resource.loadAsString());
+        }
 
 
 
@@ -106,109 +134,189 @@ public abstract class ExecutableSqlScript<C extends ContextImpl> extends SqlScri
      * @throws IllegalStateException Thrown when the textual data parsing failed.
      */
     private List<SqlStatement<C>> extractStatements(LineReader reader) {
-        Line line;
-
         List<SqlStatement<C>> statements = new ArrayList<>();
-
-        Delimiter nonStandardDelimiter = null;
-        SqlStatementBuilder sqlStatementBuilder = createSqlStatementBuilder();
-
-        while ((line = reader.readLine()) != null) {
-            line = new PlaceholderReplacingLine(line, placeholderReplacer);
-            String lineStr = line.getLine();
-            if (sqlStatementBuilder.isEmpty() && !StringUtils.hasText(lineStr)) {
-                // Skip empty line between statements.
-                continue;
-            }
-
-            if (!sqlStatementBuilder.hasNonCommentPart()) {
-                Delimiter newDelimiter = sqlStatementBuilder.extractNewDelimiterFromLine(lineStr);
-                if (newDelimiter != null) {
-                    nonStandardDelimiter = newDelimiter;
-                    // Skip this line as it was an explicit delimiter change directive outside of any statements.
-                    continue;
-                }
-
-                // Start a new statement, marking it with this line number.
-                if (nonStandardDelimiter != null) {
-                    sqlStatementBuilder.setDelimiter(nonStandardDelimiter);
-                }
-            }
-
-            try {
-                sqlStatementBuilder.addLine(line);
-            } catch (Exception e) {
-                throw new FlywayException("Flyway parsing bug (" + e.getMessage() + ") at line " + line.getLineNumber() + ": " + lineStr, e);
-            }
-
-            if (sqlStatementBuilder.canDiscard()) {
-                sqlStatementBuilder = createSqlStatementBuilder();
-            } else if (sqlStatementBuilder.isTerminated()) {
-                addStatement(statements, sqlStatementBuilder);
-                sqlStatementBuilder = createSqlStatementBuilder();
+        try {
+            SqlStatementParser parser = new SqlStatementParser(reader);
+            SqlStatementBuilder sqlStatementBuilder;
+            while ((sqlStatementBuilder = parser.nextStatement()) != null) {
+                SqlStatement<C> sqlStatement = sqlStatementBuilder.getSqlStatement();
+                addStatement(sqlStatementBuilder, sqlStatement);
+                statements.add(sqlStatement);
             }
+        } finally {
+            IOUtils.close(reader);
         }
-
-        // Catch any statements not followed by delimiter.
-        if (!sqlStatementBuilder.isEmpty() && sqlStatementBuilder.hasNonCommentPart()) {
-            addStatement(statements, sqlStatementBuilder);
-        }
-
         return statements;
     }
 
     @Override
     public boolean executeInTransaction() {
+        if (stream) {
+            checkStreamedStatements();
+        }
         return !nonTransactionalStatementFound;
     }
 
+    /**
+     * Parses a streamed script once before executing it, one statement at a time, to find out whether it contains
+     * transactional and non-transactional statements. Only these two flags are kept, so this runs in constant memory.
+     * Just like for a script that is fully loaded, mixing both is refused before any statement is executed unless
+     * mixed is enabled.
+     */
+    private void checkStreamedStatements() {
+        if (streamChecked) {
+            return;
+        }
+        synchronized (this) {
+            if (streamChecked) {
+                return;
+            }
+            LOG.debug("Parsing " + resource.getFilename() + " ...");
+            LineReader reader = resource.loadAsString();
+            try {
+                SqlStatementParser parser = new SqlStatementParser(reader);
+                SqlStatementBuilder sqlStatementBuilder;
+                while ((sqlStatementBuilder = parser.nextStatement()) != null) {
+                    addStatement(sqlStatementBuilder, sqlStatementBuilder.getSqlStatement());
+                }
+            } finally {
+                IOUtils.close(reader);
+            }
+            streamChecked = true;
+        }
+    }
+
+    /**
+     * @throws FlywayException when this script is streamed, as its statements are never all held in memory.
+     */
     @Override
     public List<SqlStatement<C>> getSqlStatements() {
+        if (stream) {
+            throw new FlywayException("The statements of streamed SQL script " + resource.getFilename()
+                    + " are only available while executing it");
+        }
         return sqlStatements;
     }
 
     @Override
     public void execute(final JdbcTemplate jdbcTemplate) {
-        for (SqlStatement<C> sqlStatement : sqlStatements) {
-            C context = createContext();
-
-            String sql = sqlStatement.getSql();
-            LOG.debug("Executing SQL: " + sql);
-
+        List<SqlStatement<C>> batch = new ArrayList<>();
+        if (stream) {
+            checkStreamedStatements();
+            LineReader reader = resource.loadAsString();
             try {
-                List<Result> results = sqlStatement.execute(context, jdbcTemplate);
+                SqlStatementParser parser = new SqlStatementParser(reader);
+                SqlStatementBuilder sqlStatementBuilder;
+                while ((sqlStatementBuilder = parser.nextStatement()) != null) {
+                    SqlStatement<C> sqlStatement = sqlStatementBuilder.getSqlStatement();
+                    executeOrBatchStatement(jdbcTemplate, sqlStatement, batch);
+                }
+            } finally {
+                IOUtils.close(reader);
+            }
+        } else {
+            for (SqlStatement<C> sqlStatement : sqlStatements) {
+                executeOrBatchStatement(jdbcTemplate, sqlStatement, batch);
+            }
+        }
+        executeBatch(jdbcTemplate, batch);
+    }
 
+    /**
+     * Adds this statement to the current batch if it is batchable or executes it right away otherwise. Any pending
+     * batch is executed first to preserve the order of the statements.
+     */
+    private void executeOrBatchStatement(JdbcTemplate jdbcTemplate, SqlStatement<C> sqlStatement, List<SqlStatement<C>> batch) {
+        if (batchSize > 1 && sqlStatement.isBatchable()) {
+            batch.add(sqlStatement);
+            if (batch.size() >= batchSize) {
+                executeBatch(jdbcTemplate, batch);
+            }
+        } else {
+            executeBatch(jdbcTemplate, batch);
+            executeStatement(jdbcTemplate, sqlStatement);
+        }
+    }
 
+    /**
+     * Executes these statements as a single JDBC batch and clears the batch afterwards.
+     */
+    private void executeBatch(JdbcTemplate jdbcTemplate, List<SqlStatement<C>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (batch.size() == 1) {
+            executeStatement(jdbcTemplate, batch.get(0));
+            batch.clear();
+            return;
+        }
 
+        C context = createContext();
 
+        List<String> sqls = new ArrayList<>(batch.size());
+        for (SqlStatement<C> sqlStatement : batch) {
+            sqls.add(sqlStatement.getSql());
+        }
+        LOG.debug("Executing SQL batch of " + batch.size() + " statements starting at line " + batch.get(0).getLineNumber());
+
+        try {
+            int[] updateCounts = jdbcTemplate.executeBatch(context, sqls);
+            printWarnings(context);
+            for (int updateCount : updateCounts) {
+                if (updateCount >= 0) {
+                    LOG.debug("Update Count: " + updateCount);
+                }
+            }
+        } catch (BatchUpdateException e) {
+            printWarnings(context);
+            handleException(e, batch.get(JdbcUtils.getFailedStatementIndex(e, batch.size())), context);
+        } catch (SQLException e) {
+            printWarnings(context);
+            handleException(e, batch.get(0), context);
+        } finally {
+            batch.clear();
+        }
+    }
 
+    private void executeStatement(JdbcTemplate jdbcTemplate, SqlStatement<C> sqlStatement) {
+        C context = createContext();
 
-                printWarnings(context);
-                for (Result result : results) {
-                    if (result.getUpdateCount() != -1) {
-                        LOG.debug("Update Count: " + result.getUpdateCount());
-                    }
+        String sql = sqlStatement.getSql();
+        LOG.debug("Executing SQL: " + sql);
+
+        try {
+            List<Result> results = sqlStatement.execute(context, jdbcTemplate);
 
 
 
 
 
 
+            printWarnings(context);
+            for (Result result : results) {
+                if (result.getUpdateCount() != -1) {
+                    LOG.debug("Update Count: " + result.getUpdateCount());
                 }
-            } catch (final SQLException e) {
 
 
 
 
 
 
+            }
+        } catch (final SQLException e) {
+
 
 
 
 
-                printWarnings(context);
-                handleException(e, sqlStatement, context);
-            }
+
+
+
+
+
+            printWarnings(context);
+            handleException(e, sqlStatement, context);
         }
     }
 
@@ -261,10 +369,7 @@ public abstract class ExecutableSqlScript<C extends ContextImpl> extends SqlScri
 
     protected abstract SqlStatementBuilder createSqlStatementBuilder();
 
-    private void addStatement(List<SqlStatement<C>> statements, SqlStatementBuilder sqlStatementBuilder) {
-        SqlStatement<C> sqlStatement = sqlStatementBuilder.getSqlStatement();
-        statements.add(sqlStatement);
-
+    private void addStatement(SqlStatementBuilder sqlStatementBuilder, SqlStatement<C> sqlStatement) {
         if (sqlStatementBuilder.executeInTransaction()) {
             transactionalStatementFound = true;
         } else {
@@ -281,4 +386,68 @@ public abstract class ExecutableSqlScript<C extends ContextImpl> extends SqlScri
 
         LOG.debug("Found statement at line " + sqlStatement.getLineNumber() + ": " + sqlStatement.getSql() + (sqlStatementBuilder.executeInTransaction() ? "" : " [non-transactional]"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Parses the statements of a script one at a time, keeping only the statement currently being built in memory.
+     */
+    private class SqlStatementParser {
+        private final LineReader reader;
+        private Delimiter nonStandardDelimiter;
+
+        SqlStatementParser(LineReader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * Parses the next statement.
+         *
+         * @return The builder of the next terminated statement or {@code null} if the end of the script was reached.
+         * @throws IllegalStateException Thrown when the textual data parsing failed.
+         */
+        SqlStatementBuilder nextStatement() {
+            Line line;
+            SqlStatementBuilder sqlStatementBuilder = createSqlStatementBuilder();
+
+            while ((line = reader.readLine()) != null) {
+                line = new PlaceholderReplacingLine(line, placeholderReplacer);
+                String lineStr = line.getLine();
+                if (sqlStatementBuilder.isEmpty() && !StringUtils.hasText(lineStr)) {
+                    // Skip empty line between statements.
+                    continue;
+                }
+
+                if (!sqlStatementBuilder.hasNonCommentPart()) {
+                    Delimiter newDelimiter = sqlStatementBuilder.extractNewDelimiterFromLine(lineStr);
+                    if (newDelimiter != null) {
+                        nonStandardDelimiter = newDelimiter;
+                        // Skip this line as it was an explicit delimiter change directive outside of any statements.
+                        continue;
+                    }
+
+                    // Start a new statement, marking it with this line number.
+                    if (nonStandardDelimiter != null) {
+                        sqlStatementBuilder.setDelimiter(nonStandardDelimiter);
+                    }
+                }
+
+                try {
+                    sqlStatementBuilder.addLine(line);
+                } catch (Exception e) {
+                    throw new FlywayException("Flyway parsing bug (" + e.getMessage() + ") at line " + line.getLineNumber() + ": " + lineStr, e);
+                }
+
+                if (sqlStatementBuilder.canDiscard()) {
+                    sqlStatementBuilder = createSqlStatementBuilder();
+                } else if (sqlStatementBuilder.isTerminated()) {
+                    return sqlStatementBuilder;
+                }
+            }
+
+            // Catch any statements not followed by delimiter.
+            if (!sqlStatementBuilder.isEmpty() && sqlStatementBuilder.hasNonCommentPart()) {
+                return sqlStatementBuilder;
+            }
+            return null;
+        }
+    }
+}
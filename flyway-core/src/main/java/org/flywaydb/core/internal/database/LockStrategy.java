@@ -0,0 +1,46 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.database;
+
+import java.sql.SQLException;
+
+/**
+ * Database-specific way of acquiring and releasing an exclusive lock that is held across transactions, such as an
+ * advisory or application lock. Used by {@link LockTemplate}, which takes care of retries, backoff and the overall
+ * lock wait timeout.
+ */
+public interface LockStrategy {
+    /**
+     * Attempts to acquire the lock, waiting on the database side for at most this time for it to become available.
+     *
+     * @param timeoutMillis The maximum time to wait for the lock, in milliseconds. Always positive.
+     * @return {@code true} if the lock was acquired, {@code false} if it is still held by someone else.
+     * @throws SQLException when the lock could not be requested.
+     */
+    boolean tryLock(long timeoutMillis) throws SQLException;
+
+    /**
+     * Releases the lock.
+     *
+     * @throws SQLException when the lock could not be released.
+     */
+    void unlock() throws SQLException;
+
+    /**
+     * @return A description of the lock for use in log and error messages. (Example: PostgreSQL advisory lock)
+     */
+    String getDescription();
+}
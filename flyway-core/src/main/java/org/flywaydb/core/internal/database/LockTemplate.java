@@ -0,0 +1,156 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.database;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.logging.Log;
+import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.internal.exception.FlywaySqlException;
+import org.flywaydb.core.internal.util.TimeFormat;
+
+import java.sql.SQLException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Spring-like template for executing with a lock acquired using a {@link LockStrategy}.
+ * <p>
+ * The lock is requested with a blocking wait on the database side, so it is acquired as soon as it is released by
+ * its current holder instead of at the next poll. Databases returning before the requested time has elapsed are
+ * retried with a jittered exponential backoff to avoid a thundering herd of lock requests.
+ * </p>
+ */
+public class LockTemplate {
+    private static final Log LOG = LogFactory.getLog(LockTemplate.class);
+
+    /**
+     * The maximum time to wait for the lock within a single request, in milliseconds.
+     */
+    private static final long MAX_REQUEST_WAIT_MILLIS = 10000L;
+
+    /**
+     * The initial backoff between requests returning early, in milliseconds.
+     */
+    private static final long MIN_BACKOFF_MILLIS = 50L;
+
+    /**
+     * The maximum backoff between requests returning early, in milliseconds.
+     */
+    private static final long MAX_BACKOFF_MILLIS = 1000L;
+
+    /**
+     * The database-specific way of acquiring the lock.
+     */
+    private final LockStrategy lockStrategy;
+
+    /**
+     * The maximum time to wait for the lock in seconds. 0 to wait indefinitely.
+     */
+    private final int lockWaitTimeout;
+
+    /**
+     * Creates a new lock template.
+     *
+     * @param lockStrategy    The database-specific way of acquiring the lock.
+     * @param lockWaitTimeout The maximum time to wait for the lock in seconds. 0 to wait indefinitely.
+     */
+    public LockTemplate(LockStrategy lockStrategy, int lockWaitTimeout) {
+        this.lockStrategy = lockStrategy;
+        this.lockWaitTimeout = lockWaitTimeout;
+    }
+
+    /**
+     * Executes this callback with the lock.
+     *
+     * @param callable The callback to execute.
+     * @return The result of the callable code.
+     */
+    public <T> T execute(Callable<T> callable) {
+        boolean locked = false;
+        try {
+            lock();
+            locked = true;
+            return callable.call();
+        } catch (SQLException e) {
+            throw new FlywaySqlException("Unable to acquire " + lockStrategy.getDescription(), e);
+        } catch (Exception e) {
+            RuntimeException rethrow;
+            if (e instanceof RuntimeException) {
+                rethrow = (RuntimeException) e;
+            } else {
+                rethrow = new FlywayException(e);
+            }
+            throw rethrow;
+        } finally {
+            if (locked) {
+                try {
+                    lockStrategy.unlock();
+                } catch (SQLException e) {
+                    LOG.error("Unable to release " + lockStrategy.getDescription(), e);
+                }
+            }
+        }
+    }
+
+    private void lock() throws SQLException {
+        long start = System.currentTimeMillis();
+        long deadline = lockWaitTimeout == 0 ? Long.MAX_VALUE : start + lockWaitTimeout * 1000L;
+        long backoff = MIN_BACKOFF_MILLIS;
+        boolean contended = false;
+
+        while (true) {
+            long requestStart = System.currentTimeMillis();
+            long requestWait = Math.max(1L, Math.min(MAX_REQUEST_WAIT_MILLIS, deadline - requestStart));
+            if (lockStrategy.tryLock(requestWait)) {
+                break;
+            }
+
+            long now = System.currentTimeMillis();
+            if (now >= deadline) {
+                throw new FlywayException("Unable to acquire " + lockStrategy.getDescription() + " within "
+                        + lockWaitTimeout + " s as it is still held by another Flyway instance."
+                        + " Increase lockWaitTimeout to wait longer.");
+            }
+            if (!contended) {
+                contended = true;
+                LOG.info("Waiting for " + lockStrategy.getDescription() + " held by another Flyway instance ...");
+            }
+
+            if (now - requestStart < requestWait) {
+                // The database gave up before the requested time. Back off to avoid flooding it with lock requests.
+                sleep(Math.min(deadline - now, backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1)));
+                backoff = Math.min(MAX_BACKOFF_MILLIS, backoff * 2);
+            }
+        }
+
+        String message = "Acquired " + lockStrategy.getDescription() + " after waiting "
+                + TimeFormat.format(System.currentTimeMillis() - start);
+        if (contended) {
+            LOG.info(message);
+        } else {
+            LOG.debug(message);
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FlywayException("Interrupted while attempting to acquire " + lockStrategy.getDescription(), e);
+        }
+    }
+}
@@ -16,9 +16,12 @@
 package org.flywaydb.core.internal.database;
 
 import org.flywaydb.core.internal.exception.FlywaySqlException;
+import org.flywaydb.core.internal.util.StringUtils;
+import org.flywaydb.core.internal.util.jdbc.ContextImpl;
 import org.flywaydb.core.internal.util.jdbc.JdbcTemplate;
 import org.flywaydb.core.internal.util.jdbc.JdbcUtils;
 
+import java.sql.BatchUpdateException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -159,6 +162,90 @@ public abstract class Schema<D extends Database> {
      */
     protected abstract void doClean() throws SQLException;
 
+    /**
+     * @return Whether clean should enumerate and drop the objects of this schema on the server, for the databases
+     * supporting it, instead of one round trip per object.
+     */
+    protected final boolean isServerSideClean() {
+        return database.configuration.isServerSideClean();
+    }
+
+    /**
+     * Executes these statements dropping objects as part of clean, in order. When clean batching is enabled, they are
+     * sent to the database in JDBC batches of up to batchSize statements instead of one by one.
+     *
+     * @param statements The statements to execute.
+     * @throws SQLException when the execution failed.
+     */
+    protected final void executeDropStatements(List<String> statements) throws SQLException {
+        if (!database.configuration.isBatchClean() || statements.size() < 2) {
+            for (String statement : statements) {
+                jdbcTemplate.execute(statement);
+            }
+            return;
+        }
+
+        int batchSize = database.configuration.getBatchSize();
+        for (int from = 0; from < statements.size(); from += batchSize) {
+            List<String> batch = statements.subList(from, Math.min(from + batchSize, statements.size()));
+            try {
+                jdbcTemplate.executeBatch(new ContextImpl(), batch);
+            } catch (BatchUpdateException e) {
+                throw new FlywaySqlException("Unable to execute "
+                        + batch.get(JdbcUtils.getFailedStatementIndex(e, batch.size())), e);
+            }
+        }
+    }
+
+    /**
+     * Drops these objects of the same kind as part of clean, in order. When clean batching is enabled, several of them
+     * are dropped by each statement (like DROP TABLE a, b, c). Otherwise each object is dropped by its own statement.
+     * Only for databases supporting statements dropping several objects.
+     *
+     * @param prefix      The start of the statement, up to the object names (like DROP TABLE).
+     * @param objectNames The quoted names of the objects to drop.
+     * @param suffix      The end of the statement, after the object names (like CASCADE). Empty if none.
+     * @throws SQLException when the execution failed.
+     */
+    protected final void executeCombinedDropStatements(String prefix, List<String> objectNames, String suffix)
+            throws SQLException {
+        int objectsPerStatement = database.configuration.isBatchClean() ? database.configuration.getBatchSize() : 1;
+        for (int from = 0; from < objectNames.size(); from += objectsPerStatement) {
+            List<String> names = objectNames.subList(from, Math.min(from + objectsPerStatement, objectNames.size()));
+            jdbcTemplate.execute(prefix + " " + StringUtils.collectionToCommaDelimitedString(names)
+                    + (suffix.isEmpty() ? "" : " " + suffix));
+        }
+    }
+
+    /**
+     * Drops these tables as part of clean, in order. When clean batching is enabled, their drop statements are sent to
+     * the database in JDBC batches.
+     *
+     * @param tables The tables to drop.
+     * @throws SQLException when the execution failed.
+     */
+    protected final void dropTables(Table[] tables) throws SQLException {
+        if (database.configuration.isBatchClean()) {
+            List<String> statements = new ArrayList<>(tables.length);
+            for (Table table : tables) {
+                String statement = table.getDropStatement();
+                if (statement == null) {
+                    statements = null;
+                    break;
+                }
+                statements.add(statement);
+            }
+            if (statements != null) {
+                executeDropStatements(statements);
+                return;
+            }
+        }
+
+        for (Table table : tables) {
+            table.drop();
+        }
+    }
+
     /**
      * Retrieves all the tables in this schema.
      *
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.database;
+
+import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.flywaydb.core.internal.util.scanner.LoadableResource;
+
+import java.nio.charset.Charset;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache of parsed SQL scripts. This lets a script be parsed only once when it must be executed against many
+ * databases of the same type. Scripts are only shared between executions agreeing on everything the parsing depends
+ * on: the database type, the resource, its encoding, the placeholders and the script settings.
+ */
+public class SqlScriptCache {
+    /**
+     * The parsed scripts.
+     */
+    private final ConcurrentMap<Key, SqlScript> sqlScripts = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieves the parsed SQL script for this resource, parsing it if no execution with the same settings parsed it
+     * before.
+     *
+     * @param database            The database the script will be executed against.
+     * @param resource            The resource containing the SQL script.
+     * @param encoding            The encoding of the resource.
+     * @param placeholderReplacer The placeholder replacer.
+     * @param mixed               Whether to allow mixing transactional and non-transactional statements within the same migration.
+     * @param stream              Whether to stream the SQL script statement by statement instead of loading it fully in memory.
+     * @param batchSize           The maximum number of consecutive DML statements to send to the database in a single batch. 0 to disable batching.
+     * @return The SQL script.
+     */
+    public SqlScript getSqlScript(Database database, LoadableResource resource, Charset encoding,
+                                  PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize) {
+        Key key = new Key(database.getClass().getName(), resource.getLocation(), encoding.name(), placeholderReplacer,
+                mixed, stream, batchSize);
+        SqlScript sqlScript = sqlScripts.get(key);
+        if (sqlScript == null) {
+            sqlScript = database.createSqlScript(resource, placeholderReplacer, mixed, stream, batchSize);
+            SqlScript existing = sqlScripts.putIfAbsent(key, sqlScript);
+            if (existing != null) {
+                sqlScript = existing;
+            }
+        }
+        return sqlScript;
+    }
+
+    /**
+     * Everything the parsing of a script depends on.
+     */
+    private static final class Key {
+        private final String databaseType;
+        private final String location;
+        private final String encoding;
+        private final PlaceholderReplacer placeholderReplacer;
+        private final boolean mixed;
+        private final boolean stream;
+        private final int batchSize;
+
+        Key(String databaseType, String location, String encoding, PlaceholderReplacer placeholderReplacer,
+            boolean mixed, boolean stream, int batchSize) {
+            this.databaseType = databaseType;
+            this.location = location;
+            this.encoding = encoding;
+            this.placeholderReplacer = placeholderReplacer;
+            this.mixed = mixed;
+            this.stream = stream;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Key key = (Key) o;
+
+            return mixed == key.mixed
+                    && stream == key.stream
+                    && batchSize == key.batchSize
+                    && databaseType.equals(key.databaseType)
+                    && location.equals(key.location)
+                    && encoding.equals(key.encoding)
+                    && placeholderReplacer.equals(key.placeholderReplacer);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = databaseType.hashCode();
+            result = 31 * result + location.hashCode();
+            result = 31 * result + encoding.hashCode();
+            result = 31 * result + placeholderReplacer.hashCode();
+            result = 31 * result + (mixed ? 1 : 0);
+            result = 31 * result + (stream ? 1 : 0);
+            result = 31 * result + batchSize;
+            return result;
+        }
+    }
+}
@@ -23,11 +23,28 @@ import org.flywaydb.core.internal.util.line.Line;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * Builds a SQL statement, one line at a time.
  */
 public abstract class SqlStatementBuilder {
+    /**
+     * Matches the start of plain DML statements, optionally preceded by comments.
+     */
+    private static final Pattern BATCHABLE_STATEMENT_START_REGEX = Pattern.compile("^(/\\* .*? \\*/ )*(INSERT|UPDATE|DELETE|MERGE)( .*)?");
+
+    /**
+     * Matches the clauses through which DML statements can return results.
+     */
+    private static final Pattern RESULT_RETURNING_REGEX = Pattern.compile("\\b(RETURNING|OUTPUT)\\b", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * The number of characters at the start and at the end of a line that are simplified when using the lexer. This
+     * is plenty for recognizing statements and delimiters, and spares simplifying huge lines in full.
+     */
+    private static final int SIMPLIFIED_LENGTH = 4096;
+
     /**
      * The current statement, as it is being built.
      */
@@ -53,6 +70,16 @@ public abstract class SqlStatementBuilder {
      */
     private String alternateQuote;
 
+    /**
+     * Whether backslashes escape the next character within the current ' string literal. Only used by the lexer.
+     */
+    private boolean backslashEscapes;
+
+    /**
+     * The line currently being added, as is.
+     */
+    private String currentLine;
+
     /**
      * Whether the last processed line ended with a single line -- comment.
      */
@@ -78,6 +105,11 @@ public abstract class SqlStatementBuilder {
      */
     protected boolean executeInTransaction = true;
 
+    /**
+     * The first line of this statement containing more than just comments, in its simplified form.
+     */
+    protected String statementStart;
+
     /**
      * The default delimiter for this database.
      */
@@ -135,7 +167,7 @@ public abstract class SqlStatementBuilder {
      */
     public <C extends ContextImpl> SqlStatement<C> getSqlStatement() {
         //noinspection unchecked
-        return (SqlStatement<C>) new StandardSqlStatement(lines, delimiter);
+        return (SqlStatement<C>) new StandardSqlStatement(lines, delimiter, isBatchable());
     }
 
     /**
@@ -176,7 +208,8 @@ public abstract class SqlStatementBuilder {
      */
     public void addLine(Line sqlLine) {
         String line = sqlLine.getLine();
-        String lineTrimmed = line.trim();
+        boolean simplifyInFull = !useLexer() || line.length() <= 2 * SIMPLIFIED_LENGTH;
+        String lineTrimmed = (simplifyInFull ? line : line.substring(0, SIMPLIFIED_LENGTH)).trim();
         String lineSimplified = simplifyLine(lineTrimmed);
 
         // Skip empty lone ; or GO statements
@@ -188,7 +221,11 @@ public abstract class SqlStatementBuilder {
             nonCommentStatementPartSeen = true;
         }
 
+        currentLine = line;
         applyStateChanges(lineSimplified);
+        if (statementStart == null && nonCommentStatementPartSeen) {
+            statementStart = lineSimplified;
+        }
         if (endWithOpenMultilineStringLiteral() || insideMultiLineComment) {
             lines.add(sqlLine);
             return;
@@ -196,7 +233,10 @@ public abstract class SqlStatementBuilder {
 
         delimiter = changeDelimiterIfNecessary(lineSimplified, delimiter);
 
-        if (!lineEndsWithSingleLineComment && lineTerminatesStatement(lineSimplified, delimiter)) {
+        String lineEnd = simplifyInFull
+                ? lineSimplified
+                : simplifyLine(line.substring(line.length() - SIMPLIFIED_LENGTH).trim());
+        if (!lineEndsWithSingleLineComment && lineTerminatesStatement(lineEnd, delimiter)) {
             terminated = true;
         }
 
@@ -295,6 +335,11 @@ public abstract class SqlStatementBuilder {
      * @param line The line that was just added to the statement.
      */
     protected void applyStateChanges(String line) {
+        if (useLexer()) {
+            lexLine(currentLine);
+            return;
+        }
+
         Collection<String> tokens = tokenizeLine(line);
 
         List<TokenType> delimitingTokens = extractStringLiteralDelimitingTokens(tokens);
@@ -342,6 +387,168 @@ public abstract class SqlStatementBuilder {
         }
     }
 
+    /**
+     * Whether lines are analysed by the character-level lexer instead of being simplified and tokenized. The lexer
+     * goes through each line once, without creating intermediate strings, which makes a big difference for huge
+     * lines. Dialects whose string literals and comments are fully covered by the lexer hooks
+     * ({@link #isSingleLineCommentStart(String, int)} and {@link #getAlternateOpenQuoteLength(String, int)}) can
+     * enable it. All others keep using the token-based analysis.
+     *
+     * @return {@code true} to use the lexer, {@code false} to use the token-based analysis.
+     */
+    protected boolean useLexer() {
+        return false;
+    }
+
+    /**
+     * Analyses this line character by character, updating the string literal, comment and block state of this
+     * statement.
+     *
+     * @param line The line, as is.
+     */
+    private void lexLine(String line) {
+        lineEndsWithSingleLineComment = false;
+        int length = line.length();
+        int i = 0;
+        while (i < length) {
+            if (insideMultiLineComment) {
+                int end = line.indexOf("*/", i);
+                if (end < 0) {
+                    return;
+                }
+                insideMultiLineComment = false;
+                i = end + 2;
+            } else if (insideQuoteStringLiteral) {
+                int end = line.indexOf('\'', i);
+                if (end < 0) {
+                    return;
+                }
+                if (backslashEscapes && isEscapedByBackslash(line, i, end)) {
+                    i = end + 1;
+                } else if (end + 1 < length && line.charAt(end + 1) == '\'') {
+                    // Escaped quote
+                    i = end + 2;
+                } else {
+                    insideQuoteStringLiteral = false;
+                    i = end + 1;
+                }
+            } else if (insideAlternateQuoteStringLiteral) {
+                int end = indexOfIgnoreCase(line, alternateQuote, i);
+                if (end < 0) {
+                    return;
+                }
+                insideAlternateQuoteStringLiteral = false;
+                i = end + alternateQuote.length();
+                alternateQuote = null;
+            } else {
+                char c = line.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    i++;
+                    continue;
+                }
+                if (isSingleLineCommentStart(line, i)) {
+                    lineEndsWithSingleLineComment = true;
+                    return;
+                }
+                if (c == '/' && i + 1 < length && line.charAt(i + 1) == '*') {
+                    insideMultiLineComment = true;
+                    i += 2;
+                    continue;
+                }
+
+                nonCommentStatementPartSeen = true;
+                if (c == '\'') {
+                    insideQuoteStringLiteral = true;
+                    backslashEscapes = isBackslashEscapingStringLiteral(line, i);
+                    i++;
+                    continue;
+                }
+                int openQuoteLength = getAlternateOpenQuoteLength(line, i);
+                if (openQuoteLength > 0) {
+                    insideAlternateQuoteStringLiteral = true;
+                    alternateQuote = computeAlternateCloseQuote(line.substring(i, i + openQuoteLength).toUpperCase());
+                    i += openQuoteLength;
+                    continue;
+                }
+                if (isBlockStatement() && isWordPart(c)) {
+                    int end = i + 1;
+                    while (end < length && isWordPart(line.charAt(end))) {
+                        end++;
+                    }
+                    String word = line.substring(i, end).toUpperCase();
+                    if (isBlockBeginToken(word)) {
+                        nestedBlockDepth++;
+                    } else if (isBlockEndToken(word)) {
+                        nestedBlockDepth--;
+                    }
+                    i = end;
+                    continue;
+                }
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the character at this position is escaped by an odd number of backslashes before it.
+     */
+    private static boolean isEscapedByBackslash(String line, int from, int position) {
+        int backslashes = 0;
+        for (int i = position - 1; i >= from && line.charAt(i) == '\\'; i--) {
+            backslashes++;
+        }
+        return backslashes % 2 == 1;
+    }
+
+    private static boolean isWordPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private static int indexOfIgnoreCase(String line, String str, int fromIndex) {
+        for (int i = fromIndex; i <= line.length() - str.length(); i++) {
+            if (line.regionMatches(true, i, str, 0, str.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether a single-line comment starts at this position of this line. Only used by the lexer.
+     *
+     * @param line     The line.
+     * @param position The position within the line, outside of any string literal or comment.
+     * @return {@code true} if it does, {@code false} if not.
+     */
+    protected boolean isSingleLineCommentStart(String line, int position) {
+        return line.startsWith("--", position);
+    }
+
+    /**
+     * Checks whether backslashes escape characters within the ' string literal starting at this position of this
+     * line. Only used by the lexer.
+     *
+     * @param line          The line.
+     * @param quotePosition The position of the opening quote within the line.
+     * @return {@code true} if they do, {@code false} if quotes can only be escaped by doubling them.
+     */
+    protected boolean isBackslashEscapingStringLiteral(String line, int quotePosition) {
+        return false;
+    }
+
+    /**
+     * Checks whether an alternate string literal, such as a dollar-quoted one, starts at this position of this line.
+     * Its closing quote is computed from the opening one by {@link #computeAlternateCloseQuote(String)}, in upper
+     * case. Only used by the lexer.
+     *
+     * @param line     The line.
+     * @param position The position within the line, outside of any string literal or comment.
+     * @return The length of the opening quote. 0 if no alternate string literal starts at this position.
+     */
+    protected int getAlternateOpenQuoteLength(String line, int position) {
+        return 0;
+    }
+
     /**
      * @return Whether this is a statement that can contain blocks.
      */
@@ -481,6 +688,26 @@ public abstract class SqlStatementBuilder {
         return executeInTransaction;
     }
 
+    /**
+     * Whether this statement can be sent to the database as part of a JDBC batch. Only plain DML statements that do
+     * not return any results are considered batchable. Dialects with additional non-batchable DML constructs can
+     * refine this.
+     *
+     * @return {@code true} if it can be batched, {@code false} if it must be executed on its own.
+     */
+    public boolean isBatchable() {
+        if (statementStart == null || !executeInTransaction || isBlockStatement()
+                || !BATCHABLE_STATEMENT_START_REGEX.matcher(statementStart).matches()) {
+            return false;
+        }
+        for (Line line : lines) {
+            if (RESULT_RETURNING_REGEX.matcher(line.getLine()).find()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * The types of tokens relevant for string delimiter related parsing.
      */
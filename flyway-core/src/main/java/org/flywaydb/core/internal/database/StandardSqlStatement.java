@@ -27,8 +27,23 @@ import java.util.List;
  * A SQL statement from a script that can be executed at once against a database.
  */
 public class StandardSqlStatement extends AbstractSqlStatement<ContextImpl> {
+    /**
+     * Whether this statement can be sent to the database as part of a JDBC batch.
+     */
+    private final boolean batchable;
+
     public StandardSqlStatement(List<Line> lines, Delimiter delimiter) {
+        this(lines, delimiter, false);
+    }
+
+    public StandardSqlStatement(List<Line> lines, Delimiter delimiter, boolean batchable) {
         super(lines, delimiter);
+        this.batchable = batchable;
+    }
+
+    @Override
+    public boolean isBatchable() {
+        return batchable;
     }
 
     @Override
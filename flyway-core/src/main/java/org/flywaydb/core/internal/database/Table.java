@@ -42,6 +42,15 @@ public abstract class Table extends SchemaObject {
         super(jdbcTemplate, database, schema, name);
     }
 
+    /**
+     * Retrieves the statement dropping this table, for dropping several tables in a single batch when cleaning.
+     *
+     * @return The statement. {@code null} if dropping this table takes more than a single statement.
+     */
+    protected String getDropStatement() {
+        return null;
+    }
+
     /**
      * Checks whether this table exists.
      *
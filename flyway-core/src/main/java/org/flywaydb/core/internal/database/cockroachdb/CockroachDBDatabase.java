@@ -92,12 +92,12 @@ public class CockroachDBDatabase extends Database<CockroachDBConnection> {
 
     @Override
     protected SqlScript doCreateSqlScript(LoadableResource sqlScriptResource,
-                                          PlaceholderReplacer placeholderReplacer, boolean mixed
+                                          PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
     ) {
-        return new CockroachDBSqlScript(sqlScriptResource, placeholderReplacer, mixed
+        return new CockroachDBSqlScript(sqlScriptResource, placeholderReplacer, mixed, stream, batchSize
 
 
 
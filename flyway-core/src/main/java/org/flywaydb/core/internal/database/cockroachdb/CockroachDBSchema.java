@@ -65,22 +65,22 @@ public class CockroachDBSchema extends Schema<CockroachDBDatabase> {
 
     @Override
     protected void doClean() throws SQLException {
-        for (String statement : generateDropStatementsForViews()) {
-            jdbcTemplate.execute(statement);
-        }
+        executeCombinedDropStatements("DROP VIEW IF EXISTS", listViews(), "CASCADE");
 
+        List<String> tableNames = new ArrayList<>();
         for (Table table : allTables()) {
-            table.drop();
+            tableNames.add(table.toString());
         }
+        executeCombinedDropStatements("DROP TABLE", tableNames, "CASCADE");
     }
 
     /**
-     * Generates the statements for dropping the views in this schema.
+     * Lists the views in this schema.
      *
-     * @return The drop statements.
-     * @throws SQLException when the clean statements could not be generated.
+     * @return Their quoted names.
+     * @throws SQLException when the views could not be listed.
      */
-    private List<String> generateDropStatementsForViews() throws SQLException {
+    private List<String> listViews() throws SQLException {
         List<String> viewNames =
                 jdbcTemplate.queryForStringList(
                         // Search for all views
@@ -89,12 +89,12 @@ public class CockroachDBSchema extends Schema<CockroachDBDatabase> {
                                 " LEFT JOIN pg_depend dep ON dep.objid = c.oid AND dep.deptype = 'e'" +
                                 " WHERE c.relkind = 'v' AND  n.nspname = ? AND dep.objid IS NULL",
                         name);
-        List<String> statements = new ArrayList<>();
+        List<String> quotedNames = new ArrayList<>();
         for (String domainName : viewNames) {
-            statements.add("DROP VIEW IF EXISTS " + database.quote(name, domainName) + " CASCADE");
+            quotedNames.add(database.quote(name, domainName));
         }
 
-        return statements;
+        return quotedNames;
     }
 
     @Override
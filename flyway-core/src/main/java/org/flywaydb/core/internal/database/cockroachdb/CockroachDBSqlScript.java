@@ -27,12 +27,12 @@ import org.flywaydb.core.internal.util.scanner.LoadableResource;
  */
 class CockroachDBSqlScript extends ExecutableSqlScript {
     CockroachDBSqlScript(LoadableResource sqlScriptResource,
-                         PlaceholderReplacer placeholderReplacer, boolean mixed
+                         PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
     ) {
-        super(sqlScriptResource, placeholderReplacer, mixed
+        super(sqlScriptResource, placeholderReplacer, mixed, stream, batchSize
 
 
 
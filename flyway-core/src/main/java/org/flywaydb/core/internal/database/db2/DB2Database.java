@@ -81,12 +81,12 @@ public class DB2Database extends Database<DB2Connection> {
 
     @Override
     protected SqlScript doCreateSqlScript(LoadableResource resource,
-                                          PlaceholderReplacer placeholderReplacer, boolean mixed
+                                          PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
     ) {
-        return new DB2SqlScript(resource, placeholderReplacer, mixed
+        return new DB2SqlScript(resource, placeholderReplacer, mixed, stream, batchSize
 
 
 
@@ -80,49 +80,31 @@ public class DB2Schema extends Schema<DB2Database> {
             List<String> dropVersioningStatements = generateDropVersioningStatement();
             if (!dropVersioningStatements.isEmpty()) {
                 // Do a explicit drop of MQTs in order to be able to drop the Versioning
-                for (String dropTableStatement : generateDropStatements("S", "TABLE")) {
-                    jdbcTemplate.execute(dropTableStatement);
-                }
+                executeDropStatements(generateDropStatements("S", "TABLE"));
             }
 
-            for (String dropVersioningStatement : dropVersioningStatements) {
-                jdbcTemplate.execute(dropVersioningStatement);
-            }
+            executeDropStatements(dropVersioningStatements);
         }
 
         // views
-        for (String dropStatement : generateDropStatementsForViews()) {
-            jdbcTemplate.execute(dropStatement);
-        }
+        executeDropStatements(generateDropStatementsForViews());
 
         // aliases
-        for (String dropStatement : generateDropStatements("A", "ALIAS")) {
-            jdbcTemplate.execute(dropStatement);
-        }
+        executeDropStatements(generateDropStatements("A", "ALIAS"));
 
         // temporary Tables
-        for (String dropStatement : generateDropStatements("G", "TABLE")) {
-            jdbcTemplate.execute(dropStatement);
-        }
+        executeDropStatements(generateDropStatements("G", "TABLE"));
 
-        for (Table table : allTables()) {
-            table.drop();
-        }
+        dropTables(allTables());
 
         // sequences
-        for (String dropStatement : generateDropStatementsForSequences()) {
-            jdbcTemplate.execute(dropStatement);
-        }
+        executeDropStatements(generateDropStatementsForSequences());
 
         // procedures
-        for (String dropStatement : generateDropStatementsForProcedures()) {
-            jdbcTemplate.execute(dropStatement);
-        }
+        executeDropStatements(generateDropStatementsForProcedures());
 
         // triggers
-        for (String dropStatement : generateDropStatementsForTriggers()) {
-            jdbcTemplate.execute(dropStatement);
-        }
+        executeDropStatements(generateDropStatementsForTriggers());
 
         for (Function function : allFunctions()) {
             function.drop();
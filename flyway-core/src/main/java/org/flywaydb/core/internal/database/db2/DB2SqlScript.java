@@ -27,12 +27,12 @@ import org.flywaydb.core.internal.util.scanner.LoadableResource;
  * DB2-specific SQL script.
  */
 class DB2SqlScript extends ExecutableSqlScript<ContextImpl> {
-    DB2SqlScript(LoadableResource resource, PlaceholderReplacer placeholderReplacer, boolean mixed
+    DB2SqlScript(LoadableResource resource, PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
     ) {
-        super(resource, placeholderReplacer, mixed
+        super(resource, placeholderReplacer, mixed, stream, batchSize
 
 
 
@@ -40,7 +40,12 @@ public class DB2Table extends Table {
 
     @Override
     protected void doDrop() throws SQLException {
-        jdbcTemplate.execute("DROP TABLE " + this);
+        jdbcTemplate.execute(getDropStatement());
+    }
+
+    @Override
+    protected String getDropStatement() {
+        return "DROP TABLE " + this;
     }
 
     @Override
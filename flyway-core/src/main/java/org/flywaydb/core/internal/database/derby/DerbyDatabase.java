@@ -72,12 +72,12 @@ public class DerbyDatabase extends Database<DerbyConnection> {
 
     @Override
     protected SqlScript doCreateSqlScript(LoadableResource sqlScriptResource,
-                                          PlaceholderReplacer placeholderReplacer, boolean mixed
+                                          PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
     ) {
-        return new DerbySqlScript(sqlScriptResource, placeholderReplacer, mixed
+        return new DerbySqlScript(sqlScriptResource, placeholderReplacer, mixed, stream, batchSize
 
 
 
@@ -21,10 +21,12 @@ import org.flywaydb.core.internal.database.Database;
 import org.flywaydb.core.internal.database.SqlScript;
 import org.flywaydb.core.internal.exception.FlywayDbUpgradeRequiredException;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.flywaydb.core.internal.util.jdbc.JdbcTemplate;
 import org.flywaydb.core.internal.util.scanner.LoadableResource;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * H2 database.
@@ -72,12 +74,12 @@ public class H2Database extends Database<H2Connection> {
 
     @Override
     protected SqlScript doCreateSqlScript(LoadableResource sqlScriptResource,
-                                          PlaceholderReplacer placeholderReplacer, boolean mixed
+                                          PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
     ) {
-        return new H2SqlScript(sqlScriptResource, placeholderReplacer, mixed
+        return new H2SqlScript(sqlScriptResource, placeholderReplacer, mixed, stream, batchSize
 
 
 
@@ -94,6 +96,26 @@ public class H2Database extends Database<H2Connection> {
         return getMainConnection().getJdbcTemplate().queryForString("SELECT USER()");
     }
 
+    @Override
+    protected boolean doHasCrossSchemaDependencies(List<String> schemaNames) throws SQLException {
+        JdbcTemplate jdbcTemplate = getMainConnection().getJdbcTemplate();
+        if (jdbcTemplate.queryForInt("SELECT COUNT(*) FROM INFORMATION_SCHEMA.CROSS_REFERENCES"
+                        + " WHERE PKTABLE_SCHEMA IN " + createParameterList(schemaNames.size())
+                        + " AND FKTABLE_SCHEMA <> PKTABLE_SCHEMA",
+                schemaNames.toArray(new String[0])) > 0) {
+            return true;
+        }
+        // H2 doesn't record which tables a view uses, but its definition refers to them by qualified name
+        for (String schemaName : schemaNames) {
+            if (jdbcTemplate.queryForInt("SELECT COUNT(*) FROM INFORMATION_SCHEMA.VIEWS"
+                            + " WHERE TABLE_SCHEMA <> ? AND (VIEW_DEFINITION LIKE ? OR VIEW_DEFINITION LIKE ?)",
+                    schemaName, "%" + schemaName + ".%", "%" + doQuote(schemaName) + ".%") > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public boolean supportsDdlTransactions() {
         return false;
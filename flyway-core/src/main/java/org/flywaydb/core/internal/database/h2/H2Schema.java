@@ -65,26 +65,18 @@ public class H2Schema extends Schema<H2Database> {
 
     @Override
     protected void doClean() throws SQLException {
-        for (Table table : allTables()) {
-            table.drop();
-        }
+        dropTables(allTables());
 
         List<String> sequenceNames = listObjectNames("SEQUENCE", "IS_GENERATED = false");
-        for (String statement : generateDropStatements("SEQUENCE", sequenceNames)) {
-            jdbcTemplate.execute(statement);
-        }
+        executeDropStatements(generateDropStatements("SEQUENCE", sequenceNames));
 
         List<String> constantNames = listObjectNames("CONSTANT", "");
-        for (String statement : generateDropStatements("CONSTANT", constantNames)) {
-            jdbcTemplate.execute(statement);
-        }
+        executeDropStatements(generateDropStatements("CONSTANT", constantNames));
 
         List<String> domainNames = listObjectNames("DOMAIN", "");
         if (!domainNames.isEmpty()) {
-            if (name.equals(database.getMainConnection().getCurrentSchema().getName())) {
-                for (String statement : generateDropStatementsForCurrentSchema("DOMAIN", domainNames)) {
-                    jdbcTemplate.execute(statement);
-                }
+            if (name.equals(jdbcTemplate.queryForString("CALL SCHEMA()"))) {
+                executeDropStatements(generateDropStatementsForCurrentSchema("DOMAIN", domainNames));
             } else {
                 LOG.error("Unable to drop DOMAIN objects in schema " + database.quote(name)
                         + " due to H2 bug! (More info: http://code.google.com/p/h2database/issues/detail?id=306)");
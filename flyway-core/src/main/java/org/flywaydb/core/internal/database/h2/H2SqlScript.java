@@ -26,12 +26,12 @@ import org.flywaydb.core.internal.util.scanner.LoadableResource;
  * H2-specific SQL script.
  */
 public class H2SqlScript extends ExecutableSqlScript {
-    public H2SqlScript(LoadableResource sqlScriptResource, PlaceholderReplacer placeholderReplacer, boolean mixed
+    public H2SqlScript(LoadableResource sqlScriptResource, PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
     ) {
-        super(sqlScriptResource, placeholderReplacer, mixed
+        super(sqlScriptResource, placeholderReplacer, mixed, stream, batchSize
 
 
 
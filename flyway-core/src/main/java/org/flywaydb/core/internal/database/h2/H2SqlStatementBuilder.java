@@ -26,6 +26,16 @@ public class H2SqlStatementBuilder extends SqlStatementBuilder {
         super(defaultDelimiter);
     }
 
+    @Override
+    protected boolean useLexer() {
+        return true;
+    }
+
+    @Override
+    protected int getAlternateOpenQuoteLength(String line, int position) {
+        return line.startsWith("$$", position) ? 2 : 0;
+    }
+
     @Override
     protected String extractAlternateOpenQuote(String token) {
         if (token.startsWith("$$")) {
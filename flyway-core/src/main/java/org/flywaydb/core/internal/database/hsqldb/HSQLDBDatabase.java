@@ -71,12 +71,12 @@ public class HSQLDBDatabase extends Database<HSQLDBConnection> {
 
     @Override
     protected SqlScript doCreateSqlScript(LoadableResource sqlScriptResource,
-                                          PlaceholderReplacer placeholderReplacer, boolean mixed
+                                          PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
     ) {
-        return new HSQLDBSqlScript(sqlScriptResource, placeholderReplacer, mixed
+        return new HSQLDBSqlScript(sqlScriptResource, placeholderReplacer, mixed, stream, batchSize
 
 
 
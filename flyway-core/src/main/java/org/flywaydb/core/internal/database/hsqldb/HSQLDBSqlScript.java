@@ -26,12 +26,12 @@ import org.flywaydb.core.internal.util.scanner.LoadableResource;
  * HSQLDB-specific SQL script.
  */
 class HSQLDBSqlScript extends ExecutableSqlScript {
-    HSQLDBSqlScript(LoadableResource sqlScriptResource, PlaceholderReplacer placeholderReplacer, boolean mixed
+    HSQLDBSqlScript(LoadableResource sqlScriptResource, PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
     ) {
-        super(sqlScriptResource, placeholderReplacer, mixed
+        super(sqlScriptResource, placeholderReplacer, mixed, stream, batchSize
 
 
 
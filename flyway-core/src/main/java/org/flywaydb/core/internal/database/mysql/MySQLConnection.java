@@ -19,6 +19,7 @@ import org.flywaydb.core.api.configuration.Configuration;
 import org.flywaydb.core.api.logging.Log;
 import org.flywaydb.core.api.logging.LogFactory;
 import org.flywaydb.core.internal.database.Connection;
+import org.flywaydb.core.internal.database.LockTemplate;
 import org.flywaydb.core.internal.database.Schema;
 import org.flywaydb.core.internal.database.Table;
 import org.flywaydb.core.internal.util.StringUtils;
@@ -76,6 +77,6 @@ public class MySQLConnection extends Connection<MySQLDatabase> {
 
     @Override
     public <T> T lock(Table table, Callable<T> callable) {
-        return new MySQLNamedLockTemplate(jdbcTemplate, table.toString().hashCode()).execute(callable);
+        return new LockTemplate(new MySQLNamedLockStrategy(jdbcTemplate, table.toString().hashCode()), lockWaitTimeout).execute(callable);
     }
 }
\ No newline at end of file
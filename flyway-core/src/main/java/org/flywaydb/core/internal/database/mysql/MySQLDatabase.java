@@ -99,12 +99,12 @@ public class MySQLDatabase extends Database<MySQLConnection> {
 
     @Override
     protected SqlScript doCreateSqlScript(LoadableResource sqlScriptResource,
-                                          PlaceholderReplacer placeholderReplacer, boolean mixed
+                                          PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
     ) {
-        return new MySQLSqlScript(sqlScriptResource, placeholderReplacer, mixed
+        return new MySQLSqlScript(sqlScriptResource, placeholderReplacer, mixed, stream, batchSize
 
 
 
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.database.mysql;
+
+import org.flywaydb.core.internal.database.LockStrategy;
+import org.flywaydb.core.internal.util.jdbc.JdbcTemplate;
+
+import java.sql.SQLException;
+
+/**
+ * Lock strategy using MySQL named locks.
+ */
+public class MySQLNamedLockStrategy implements LockStrategy {
+    /**
+     * The connection for the named lock.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String lockName;
+
+    /**
+     * Creates a new named lock strategy for this connection.
+     *
+     * @param jdbcTemplate  The jdbcTemplate for the connection.
+     * @param discriminator A number to discriminate between locks.
+     */
+    MySQLNamedLockStrategy(JdbcTemplate jdbcTemplate, int discriminator) {
+        this.jdbcTemplate = jdbcTemplate;
+        lockName = "Flyway-" + discriminator;
+    }
+
+    @Override
+    public boolean tryLock(long timeoutMillis) throws SQLException {
+        // GET_LOCK only supports a whole number of seconds
+        long timeoutSeconds = (timeoutMillis + 999) / 1000;
+        return jdbcTemplate.queryForInt("SELECT GET_LOCK(?," + timeoutSeconds + ")", lockName) == 1;
+    }
+
+    @Override
+    public void unlock() throws SQLException {
+        jdbcTemplate.execute("SELECT RELEASE_LOCK('" + lockName + "')");
+    }
+
+    @Override
+    public String getDescription() {
+        return "MySQL named lock: " + lockName;
+    }
+}
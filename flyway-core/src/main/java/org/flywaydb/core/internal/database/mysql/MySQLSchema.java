@@ -70,22 +70,14 @@ public class MySQLSchema extends Schema<MySQLDatabase> {
 
     @Override
     protected void doClean() throws SQLException {
-        for (String statement : cleanEvents()) {
-            jdbcTemplate.execute(statement);
-        }
+        executeDropStatements(cleanEvents());
 
-        for (String statement : cleanRoutines()) {
-            jdbcTemplate.execute(statement);
-        }
+        executeDropStatements(cleanRoutines());
 
-        for (String statement : cleanViews()) {
-            jdbcTemplate.execute(statement);
-        }
+        executeDropStatements(cleanViews());
 
         jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 0");
-        for (Table table : allTables()) {
-            table.drop();
-        }
+        dropTables(allTables());
         jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 1");
     }
 
@@ -27,12 +27,12 @@ import org.flywaydb.core.internal.util.scanner.LoadableResource;
  * MySQL-specific SQL script.
  */
 class MySQLSqlScript extends ExecutableSqlScript<ContextImpl> {
-    MySQLSqlScript(LoadableResource sqlScriptResource, PlaceholderReplacer placeholderReplacer, boolean mixed
+    MySQLSqlScript(LoadableResource sqlScriptResource, PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
     ) {
-        super(sqlScriptResource, placeholderReplacer, mixed
+        super(sqlScriptResource, placeholderReplacer, mixed, stream, batchSize
 
 
 
@@ -40,7 +40,12 @@ public class MySQLTable extends Table {
 
     @Override
     protected void doDrop() throws SQLException {
-        jdbcTemplate.execute("DROP TABLE " + database.quote(schema.getName(), name));
+        jdbcTemplate.execute(getDropStatement());
+    }
+
+    @Override
+    protected String getDropStatement() {
+        return "DROP TABLE " + database.quote(schema.getName(), name);
     }
 
     @Override
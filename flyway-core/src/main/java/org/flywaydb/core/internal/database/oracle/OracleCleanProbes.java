@@ -0,0 +1,114 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.database.oracle;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The facts about the database and a schema that the queries and statements of clean depend on. They are probed once
+ * up front, so generating the clean SQL itself doesn't access the database.
+ */
+public final class OracleCleanProbes {
+    /**
+     * The base names of the data dictionary views clean reads from their DBA_ variant when it is accessible.
+     */
+    private static final List<String> DBA_VIEW_BASE_NAMES = Arrays.asList("CONTEXT", "DB_LINKS", "XML_SCHEMAS");
+
+    /**
+     * Whether Oracle XML DB is available.
+     */
+    private final boolean xmlDbAvailable;
+
+    /**
+     * Whether the schema contains reference partitioned tables.
+     */
+    private final boolean referencePartitionedTablesExist;
+
+    /**
+     * The base names of the data dictionary views whose DBA_ variant is accessible.
+     */
+    private final Set<String> accessibleDbaViewBaseNames;
+
+    /**
+     * Creates new probe results.
+     *
+     * @param xmlDbAvailable                  Whether Oracle XML DB is available.
+     * @param referencePartitionedTablesExist Whether the schema contains reference partitioned tables.
+     * @param accessibleDbaViewBaseNames      The base names of the data dictionary views whose DBA_ variant is
+     *                                        accessible, like CONTEXT for DBA_CONTEXT.
+     */
+    OracleCleanProbes(boolean xmlDbAvailable, boolean referencePartitionedTablesExist,
+                      Collection<String> accessibleDbaViewBaseNames) {
+        this.xmlDbAvailable = xmlDbAvailable;
+        this.referencePartitionedTablesExist = referencePartitionedTablesExist;
+        this.accessibleDbaViewBaseNames = new HashSet<>(accessibleDbaViewBaseNames);
+    }
+
+    /**
+     * Probes the database for the facts clean depends on.
+     *
+     * @param database The database.
+     * @param schema   The schema to clean.
+     * @return The probe results.
+     * @throws SQLException when the database could not be probed.
+     */
+    static OracleCleanProbes probe(OracleDatabase database, OracleSchema schema) throws SQLException {
+        boolean referencePartitionedTablesExist = database.queryReturnsRows(
+                "SELECT * FROM ALL_PART_TABLES WHERE OWNER = ? AND PARTITIONING_TYPE = 'REFERENCE'",
+                schema.getName());
+
+        boolean selectAnyDictionaryGranted = database.isPrivOrRoleGranted("SELECT ANY DICTIONARY");
+        Set<String> accessibleDbaViewBaseNames = new HashSet<>();
+        for (String baseName : DBA_VIEW_BASE_NAMES) {
+            if (selectAnyDictionaryGranted || database.isDataDictViewAccessible("DBA_" + baseName)) {
+                accessibleDbaViewBaseNames.add(baseName);
+            }
+        }
+
+        return new OracleCleanProbes(database.isXmlDbAvailable(), referencePartitionedTablesExist,
+                accessibleDbaViewBaseNames);
+    }
+
+    /**
+     * @return Whether Oracle XML DB is available.
+     */
+    boolean isXmlDbAvailable() {
+        return xmlDbAvailable;
+    }
+
+    /**
+     * @return Whether the schema contains reference partitioned tables.
+     */
+    boolean isReferencePartitionedTablesExist() {
+        return referencePartitionedTablesExist;
+    }
+
+    /**
+     * Returns the specified data dictionary view name prefixed with DBA_ or ALL_ depending on its accessibility, like
+     * {@link OracleDatabase#dbaOrAll(String)}.
+     *
+     * @param baseName the data dictionary view base name, unquoted case-sensitive, e.g. CONTEXT, XML_SCHEMAS.
+     * @return the full name of the view with the proper prefix.
+     */
+    String dbaOrAll(String baseName) {
+        return (accessibleDbaViewBaseNames.contains(baseName) ? "DBA_" : "ALL_") + baseName;
+    }
+}
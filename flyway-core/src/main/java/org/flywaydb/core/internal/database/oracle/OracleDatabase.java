@@ -96,12 +96,12 @@ public class OracleDatabase extends Database<OracleConnection> {
 
     @Override
     protected SqlScript doCreateSqlScript(LoadableResource sqlScriptResource,
-                                          PlaceholderReplacer placeholderReplacer, boolean mixed
+                                          PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
     ) {
-        return new OracleSqlScript(sqlScriptResource, placeholderReplacer, mixed
+        return new OracleSqlScript(sqlScriptResource, placeholderReplacer, mixed, stream, batchSize
 
 
 
@@ -118,6 +118,17 @@ public class OracleDatabase extends Database<OracleConnection> {
         return getMainConnection().getJdbcTemplate().queryForString("SELECT USER FROM DUAL");
     }
 
+    @Override
+    protected boolean doHasCrossSchemaDependencies(List<String> schemaNames) throws SQLException {
+        String[] params = schemaNames.toArray(new String[0]);
+        return getMainConnection().getJdbcTemplate().queryForInt("SELECT COUNT(*) FROM ALL_CONSTRAINTS"
+                + " WHERE CONSTRAINT_TYPE = 'R' AND R_OWNER IN " + createParameterList(params.length)
+                + " AND OWNER <> R_OWNER", params) > 0
+                || getMainConnection().getJdbcTemplate().queryForInt("SELECT COUNT(*) FROM ALL_DEPENDENCIES"
+                + " WHERE REFERENCED_OWNER IN " + createParameterList(params.length)
+                + " AND OWNER <> REFERENCED_OWNER", params) > 0;
+    }
+
     @Override
     public boolean supportsDdlTransactions() {
         return false;
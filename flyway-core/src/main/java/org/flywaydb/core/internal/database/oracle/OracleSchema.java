@@ -24,6 +24,7 @@ import org.flywaydb.core.internal.database.Table;
 import org.flywaydb.core.internal.util.StringUtils;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -38,6 +39,65 @@ import static org.flywaydb.core.internal.database.oracle.OracleSchema.ObjectType
 public class OracleSchema extends Schema<OracleDatabase> {
     private static final Log LOG = LogFactory.getLog(OracleSchema.class);
 
+    /**
+     * The object types clean processes, in the order in which it drops them. Order is important.
+     */
+    static final List<ObjectType> OBJECT_TYPES_TO_CLEAN = Arrays.asList(
+            // Types to drop.
+            TRIGGER,
+            QUEUE_TABLE,
+            FILE_WATCHER,
+            SCHEDULER_CHAIN,
+            SCHEDULER_JOB,
+            SCHEDULER_PROGRAM,
+            SCHEDULE,
+            RULE_SET,
+            RULE,
+            EVALUATION_CONTEXT,
+            FILE_GROUP,
+            XML_SCHEMA,
+            MINING_MODEL,
+            REWRITE_EQUIVALENCE,
+            SQL_TRANSLATION_PROFILE,
+            MATERIALIZED_VIEW,
+            MATERIALIZED_VIEW_LOG,
+            DIMENSION,
+            VIEW,
+            DOMAIN_INDEX,
+            DOMAIN_INDEX_TYPE,
+            TABLE,
+            INDEX,
+            CLUSTER,
+            SEQUENCE,
+            OPERATOR,
+            FUNCTION,
+            PROCEDURE,
+            PACKAGE,
+            CONTEXT,
+            LIBRARY,
+            TYPE,
+            SYNONYM,
+            JAVA_SOURCE,
+            JAVA_CLASS,
+            JAVA_RESOURCE,
+
+            // Object types with sensitive information (passwords), skip intentionally, print warning if found.
+            DATABASE_LINK,
+            CREDENTIAL,
+
+            // Unsupported types, print warning if found
+            DATABASE_DESTINATION,
+            SCHEDULER_GROUP,
+            CUBE,
+            CUBE_DIMENSION,
+            CUBE_BUILD_PROCESS,
+            MEASURE_FOLDER,
+
+            // Undocumented types, print warning if found
+            ASSEMBLY,
+            JAVA_DATA
+    );
+
     /**
      * Creates a new Oracle schema.
      *
@@ -109,68 +169,31 @@ public class OracleSchema extends Schema<OracleDatabase> {
 
         // Get existing object types in the schema.
         Set<String> objectTypeNames = getObjectTypeNames(jdbcTemplate, database, this);
+        OracleCleanProbes probes = OracleCleanProbes.probe(database, this);
+
+
+        if (isServerSideClean()) {
+            List<ObjectType> objectTypesToDrop = new ArrayList<>();
+            for (ObjectType objectType : OBJECT_TYPES_TO_CLEAN) {
+                if (objectTypeNames.contains(objectType.getName())) {
+                    if (objectType.isSupported()) {
+                        objectTypesToDrop.add(objectType);
+                    } else {
+                        // Only prints the warning for the unsupported type
+                        objectType.dropObjects(jdbcTemplate, database, this, probes);
+                    }
+                }
+            }
+            String block = generateCleanBlock(objectTypesToDrop, isDefaultSchemaForUser(), probes);
+            LOG.debug("Cleaning schema " + database.quote(name) + " on the server with:\n" + block);
+            jdbcTemplate.execute(block);
+            return;
+        }
 
-        // Define the list of types to process, order is important.
-        List<ObjectType> objectTypesToClean = Arrays.asList(
-                // Types to drop.
-                TRIGGER,
-                QUEUE_TABLE,
-                FILE_WATCHER,
-                SCHEDULER_CHAIN,
-                SCHEDULER_JOB,
-                SCHEDULER_PROGRAM,
-                SCHEDULE,
-                RULE_SET,
-                RULE,
-                EVALUATION_CONTEXT,
-                FILE_GROUP,
-                XML_SCHEMA,
-                MINING_MODEL,
-                REWRITE_EQUIVALENCE,
-                SQL_TRANSLATION_PROFILE,
-                MATERIALIZED_VIEW,
-                MATERIALIZED_VIEW_LOG,
-                DIMENSION,
-                VIEW,
-                DOMAIN_INDEX,
-                DOMAIN_INDEX_TYPE,
-                TABLE,
-                INDEX,
-                CLUSTER,
-                SEQUENCE,
-                OPERATOR,
-                FUNCTION,
-                PROCEDURE,
-                PACKAGE,
-                CONTEXT,
-                LIBRARY,
-                TYPE,
-                SYNONYM,
-                JAVA_SOURCE,
-                JAVA_CLASS,
-                JAVA_RESOURCE,
-
-                // Object types with sensitive information (passwords), skip intentionally, print warning if found.
-                DATABASE_LINK,
-                CREDENTIAL,
-
-                // Unsupported types, print warning if found
-                DATABASE_DESTINATION,
-                SCHEDULER_GROUP,
-                CUBE,
-                CUBE_DIMENSION,
-                CUBE_BUILD_PROCESS,
-                MEASURE_FOLDER,
-
-                // Undocumented types, print warning if found
-                ASSEMBLY,
-                JAVA_DATA
-        );
-
-        for (ObjectType objectType : objectTypesToClean) {
+        for (ObjectType objectType : OBJECT_TYPES_TO_CLEAN) {
             if (objectTypeNames.contains(objectType.getName())) {
                 LOG.debug("Cleaning objects of type " + objectType + " ...");
-                objectType.dropObjects(jdbcTemplate, database, this);
+                objectType.dropObjects(jdbcTemplate, database, this, probes);
             }
         }
 
@@ -179,6 +202,51 @@ public class OracleSchema extends Schema<OracleDatabase> {
         }
     }
 
+    /**
+     * Generates a single PL/SQL anonymous block cleaning this schema on the server. It drops the objects of these types
+     * in the same order and with the same statements as the client-side clean, and fails with the statement that could
+     * not be executed. Generating it doesn't access the database.
+     *
+     * @param objectTypes     The types of the objects to drop, in the order in which to drop them.
+     * @param purgeRecycleBin Whether to purge the recycle bin once all objects have been dropped.
+     * @param probes          The facts about the database and this schema the block depends on.
+     * @return The PL/SQL block.
+     * @throws SQLException when the block could not be generated.
+     */
+    String generateCleanBlock(List<ObjectType> objectTypes, boolean purgeRecycleBin, OracleCleanProbes probes)
+            throws SQLException {
+        StringBuilder block = new StringBuilder();
+        block.append("DECLARE\n");
+        block.append("  TYPE name_list IS TABLE OF VARCHAR2(4000);\n");
+        block.append("  schema_name CONSTANT VARCHAR2(128) := ").append(toLiteral(name)).append(";\n");
+        block.append("  objects SYS_REFCURSOR;\n");
+        block.append("  object_names name_list;\n");
+        block.append("  stmt VARCHAR2(32767);\n");
+        block.append("BEGIN\n");
+        for (ObjectType objectType : objectTypes) {
+            block.append(objectType.generateServerSideDrop(jdbcTemplate, database, this, probes));
+        }
+        if (purgeRecycleBin) {
+            block.append("  stmt := 'PURGE RECYCLEBIN';\n");
+            block.append("  EXECUTE IMMEDIATE stmt;\n");
+        }
+        block.append("EXCEPTION\n");
+        block.append("  WHEN OTHERS THEN\n");
+        block.append("    RAISE_APPLICATION_ERROR(-20000, SUBSTR('Unable to execute ' || stmt, 1, 2000), TRUE);\n");
+        block.append("END;\n");
+        return block.toString();
+    }
+
+    /**
+     * Turns this text into a PL/SQL string literal.
+     *
+     * @param text The text.
+     * @return The string literal.
+     */
+    private static String toLiteral(String text) {
+        return "'" + text.replace("'", "''") + "'";
+    }
+
     /**
      * Executes ALTER statements for all tables that have Flashback Archive enabled.
      * Flashback Archive is an asynchronous process so we need to wait until it completes, otherwise cleaning the
@@ -248,7 +316,8 @@ public class OracleSchema extends Schema<OracleDatabase> {
 
     @Override
     protected Table[] doAllTables() throws SQLException {
-        List<String> tableNames = TABLE.getObjectNames(jdbcTemplate, database, this);
+        List<String> tableNames = TABLE.getObjectNames(jdbcTemplate, database, this,
+                OracleCleanProbes.probe(database, this));
 
         Table[] tables = new Table[tableNames.size()];
         for (int i = 0; i < tableNames.size(); i++) {
@@ -270,12 +339,7 @@ public class OracleSchema extends Schema<OracleDatabase> {
         // Tables, including XML tables, except for nested tables, IOT overflow tables and other secondary objects.
         TABLE("TABLE", "CASCADE CONSTRAINTS PURGE") {
             @Override
-            public List<String> getObjectNames(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema) throws SQLException {
-                boolean referencePartitionedTablesExist = database.queryReturnsRows(
-                        "SELECT * FROM ALL_PART_TABLES WHERE OWNER = ? AND PARTITIONING_TYPE = 'REFERENCE'",
-                        schema.getName());
-                boolean xmlDbAvailable = database.isXmlDbAvailable();
-
+            public String getObjectNamesQuery(OracleCleanProbes probes) {
                 StringBuilder tablesQuery = new StringBuilder();
                 tablesQuery.append("WITH TABLES AS (\n" +
                         "  SELECT TABLE_NAME, OWNER\n" +
@@ -285,7 +349,7 @@ public class OracleSchema extends Schema<OracleDatabase> {
                         "    AND NESTED != 'YES'\n" +
                         "    AND SECONDARY != 'Y'\n");
 
-                if (xmlDbAvailable) {
+                if (probes.isXmlDbAvailable()) {
                     tablesQuery.append("  UNION ALL\n" +
                             "  SELECT TABLE_NAME, OWNER\n" +
                             "  FROM ALL_XML_TABLES\n" +
@@ -299,7 +363,7 @@ public class OracleSchema extends Schema<OracleDatabase> {
                         "FROM TABLES t\n");
 
                 // Reference partitioned tables should be dropped in child-to-parent order.
-                if (referencePartitionedTablesExist) {
+                if (probes.isReferencePartitionedTablesExist()) {
                     tablesQuery.append("  LEFT JOIN ALL_PART_TABLES pt\n" +
                             "    ON t.OWNER = pt.OWNER\n" +
                             "   AND t.TABLE_NAME = pt.TABLE_NAME\n" +
@@ -321,22 +385,15 @@ public class OracleSchema extends Schema<OracleDatabase> {
                             "ORDER BY LEVEL DESC");
                 }
 
-                int n = 1 + (xmlDbAvailable ? 1 : 0);
-                String[] params = new String[n];
-                Arrays.fill(params, schema.getName());
-
-                return jdbcTemplate.queryForStringList(tablesQuery.toString(), params);
+                return tablesQuery.toString();
             }
         },
 
         // Queue tables, have related objects and should be dropped separately prior to other types.
         QUEUE_TABLE("QUEUE TABLE") {
             @Override
-            public List<String> getObjectNames(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema) throws SQLException {
-                return jdbcTemplate.queryForStringList(
-                        "SELECT QUEUE_TABLE FROM ALL_QUEUE_TABLES WHERE OWNER = ?",
-                        schema.getName()
-                );
+            public String getObjectNamesQuery(OracleCleanProbes probes) {
+                return "SELECT QUEUE_TABLE FROM ALL_QUEUE_TABLES WHERE OWNER = ?";
             }
 
             @Override
@@ -348,11 +405,8 @@ public class OracleSchema extends Schema<OracleDatabase> {
         // Materialized view logs.
         MATERIALIZED_VIEW_LOG("MATERIALIZED VIEW LOG") {
             @Override
-            public List<String> getObjectNames(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema) throws SQLException {
-                return jdbcTemplate.queryForStringList(
-                        "SELECT MASTER FROM ALL_MVIEW_LOGS WHERE LOG_OWNER = ?",
-                        schema.getName()
-                );
+            public String getObjectNamesQuery(OracleCleanProbes probes) {
+                return "SELECT MASTER FROM ALL_MVIEW_LOGS WHERE LOG_OWNER = ?";
             }
 
             @Override
@@ -364,22 +418,16 @@ public class OracleSchema extends Schema<OracleDatabase> {
         // All indexes, except for domain indexes, should be dropped after tables (if any left).
         INDEX("INDEX") {
             @Override
-            public List<String> getObjectNames(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema) throws SQLException {
-                return jdbcTemplate.queryForStringList(
-                        "SELECT INDEX_NAME FROM ALL_INDEXES WHERE OWNER = ? AND INDEX_TYPE NOT LIKE '%DOMAIN%'",
-                        schema.getName()
-                );
+            public String getObjectNamesQuery(OracleCleanProbes probes) {
+                return "SELECT INDEX_NAME FROM ALL_INDEXES WHERE OWNER = ? AND INDEX_TYPE NOT LIKE '%DOMAIN%'";
             }
         },
 
         // Domain indexes, have related objects and should be dropped separately prior to tables.
         DOMAIN_INDEX("INDEX", "FORCE") {
             @Override
-            public List<String> getObjectNames(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema) throws SQLException {
-                return jdbcTemplate.queryForStringList(
-                        "SELECT INDEX_NAME FROM ALL_INDEXES WHERE OWNER = ? AND INDEX_TYPE LIKE '%DOMAIN%'",
-                        schema.getName()
-                );
+            public String getObjectNamesQuery(OracleCleanProbes probes) {
+                return "SELECT INDEX_NAME FROM ALL_INDEXES WHERE OWNER = ? AND INDEX_TYPE LIKE '%DOMAIN%'";
             }
         },
 
@@ -401,11 +449,8 @@ public class OracleSchema extends Schema<OracleDatabase> {
         // Dimensions.
         DIMENSION("DIMENSION") {
             @Override
-            public List<String> getObjectNames(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema) throws SQLException {
-                return jdbcTemplate.queryForStringList(
-                        "SELECT DIMENSION_NAME FROM ALL_DIMENSIONS WHERE OWNER = ?",
-                        schema.getName()
-                );
+            public String getObjectNamesQuery(OracleCleanProbes probes) {
+                return "SELECT DIMENSION_NAME FROM ALL_DIMENSIONS WHERE OWNER = ?";
             }
         },
 
@@ -423,11 +468,8 @@ public class OracleSchema extends Schema<OracleDatabase> {
         // Contexts, seen in DBA_CONTEXT view, may remain if DBA_CONTEXT is not accessible.
         CONTEXT("CONTEXT") {
             @Override
-            public List<String> getObjectNames(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema) throws SQLException {
-                return jdbcTemplate.queryForStringList(
-                        "SELECT NAMESPACE FROM " + database.dbaOrAll("CONTEXT") + " WHERE SCHEMA = ?",
-                        schema.getName()
-                );
+            public String getObjectNamesQuery(OracleCleanProbes probes) {
+                return "SELECT NAMESPACE FROM " + probes.dbaOrAll("CONTEXT") + " WHERE SCHEMA = ?";
             }
 
             @Override
@@ -453,14 +495,11 @@ public class OracleSchema extends Schema<OracleDatabase> {
         // XML schemas.
         XML_SCHEMA("XML SCHEMA") {
             @Override
-            public List<String> getObjectNames(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema) throws SQLException {
-                if (!database.isXmlDbAvailable()) {
-                    return Collections.emptyList();
+            public String getObjectNamesQuery(OracleCleanProbes probes) {
+                if (!probes.isXmlDbAvailable()) {
+                    return null;
                 }
-                return jdbcTemplate.queryForStringList(
-                        "SELECT QUAL_SCHEMA_URL FROM " + database.dbaOrAll("XML_SCHEMAS") + " WHERE OWNER = ?",
-                        schema.getName()
-                );
+                return "SELECT QUAL_SCHEMA_URL FROM " + probes.dbaOrAll("XML_SCHEMAS") + " WHERE OWNER = ?";
             }
 
             @Override
@@ -491,11 +530,11 @@ public class OracleSchema extends Schema<OracleDatabase> {
 
         MINING_MODEL("MINING MODEL") {
             @Override
-            public List<String> getObjectNames(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema) throws SQLException {
+            public List<String> getObjectNames(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema, OracleCleanProbes probes) throws SQLException {
 
 
 
-                    return super.getObjectNames(jdbcTemplate, database, schema);
+                    return super.getObjectNames(jdbcTemplate, database, schema, probes);
 
 
 
@@ -584,16 +623,13 @@ public class OracleSchema extends Schema<OracleDatabase> {
         // Intentionally skip them and let the clean callbacks handle them if needed.
         DATABASE_LINK("DATABASE LINK") {
             @Override
-            public void dropObjects(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema) throws SQLException {
+            public void dropObjects(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema, OracleCleanProbes probes) throws SQLException {
                 super.warnUnsupported(database.quote(schema.getName()));
             }
 
             @Override
-            public List<String> getObjectNames(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema) throws SQLException {
-                return jdbcTemplate.queryForStringList(
-                        "SELECT DB_LINK FROM " + database.dbaOrAll("DB_LINKS") + " WHERE OWNER = ?",
-                        schema.getName()
-                );
+            public String getObjectNamesQuery(OracleCleanProbes probes) {
+                return "SELECT DB_LINK FROM " + probes.dbaOrAll("DB_LINKS") + " WHERE OWNER = ?";
             }
 
             @Override
@@ -603,7 +639,7 @@ public class OracleSchema extends Schema<OracleDatabase> {
         },
         CREDENTIAL("CREDENTIAL") {
             @Override
-            public void dropObjects(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema) throws SQLException {
+            public void dropObjects(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema, OracleCleanProbes probes) throws SQLException {
                 super.warnUnsupported(database.quote(schema.getName()));
             }
 
@@ -616,7 +652,7 @@ public class OracleSchema extends Schema<OracleDatabase> {
         // Some scheduler types, not supported yet.
         DATABASE_DESTINATION("DESTINATION") {
             @Override
-            public void dropObjects(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema) throws SQLException {
+            public void dropObjects(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema, OracleCleanProbes probes) throws SQLException {
                 super.warnUnsupported(database.quote(schema.getName()));
             }
 
@@ -627,7 +663,7 @@ public class OracleSchema extends Schema<OracleDatabase> {
         },
         SCHEDULER_GROUP("SCHEDULER GROUP") {
             @Override
-            public void dropObjects(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema) throws SQLException {
+            public void dropObjects(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema, OracleCleanProbes probes) throws SQLException {
                 super.warnUnsupported(database.quote(schema.getName()));
             }
 
@@ -640,25 +676,25 @@ public class OracleSchema extends Schema<OracleDatabase> {
         // OLAP objects, not supported yet.
         CUBE("CUBE") {
             @Override
-            public void dropObjects(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema) throws SQLException {
+            public void dropObjects(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema, OracleCleanProbes probes) throws SQLException {
                 super.warnUnsupported(database.quote(schema.getName()));
             }
         },
         CUBE_DIMENSION("CUBE DIMENSION") {
             @Override
-            public void dropObjects(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema) throws SQLException {
+            public void dropObjects(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema, OracleCleanProbes probes) throws SQLException {
                 super.warnUnsupported(database.quote(schema.getName()));
             }
         },
         CUBE_BUILD_PROCESS("CUBE BUILD PROCESS") {
             @Override
-            public void dropObjects(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema) throws SQLException {
+            public void dropObjects(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema, OracleCleanProbes probes) throws SQLException {
                 super.warnUnsupported(database.quote(schema.getName()), "cube build processes");
             }
         },
         MEASURE_FOLDER("MEASURE FOLDER") {
             @Override
-            public void dropObjects(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema) throws SQLException {
+            public void dropObjects(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema, OracleCleanProbes probes) throws SQLException {
                 super.warnUnsupported(database.quote(schema.getName()));
             }
         },
@@ -666,13 +702,13 @@ public class OracleSchema extends Schema<OracleDatabase> {
         // Undocumented objects.
         ASSEMBLY("ASSEMBLY") {
             @Override
-            public void dropObjects(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema) throws SQLException {
+            public void dropObjects(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema, OracleCleanProbes probes) throws SQLException {
                 super.warnUnsupported(database.quote(schema.getName()), "assemblies");
             }
         },
         JAVA_DATA("JAVA DATA") {
             @Override
-            public void dropObjects(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema) throws SQLException {
+            public void dropObjects(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema, OracleCleanProbes probes) throws SQLException {
                 super.warnUnsupported(database.quote(schema.getName()));
             }
         },
@@ -708,6 +744,27 @@ public class OracleSchema extends Schema<OracleDatabase> {
             this(name, "");
         }
 
+        /**
+         * Stands for the name of the object in the drop statements generated for the server-side clean.
+         */
+        private static final String OBJECT_NAME_MARKER = "<<FLYWAY_OBJECT_NAME>>";
+
+        /**
+         * The object types clean doesn't drop. It only prints a warning if it finds objects of these types.
+         */
+        private static final List<ObjectType> UNSUPPORTED_TYPES = Arrays.asList(
+                DATABASE_LINK,
+                CREDENTIAL,
+                DATABASE_DESTINATION,
+                SCHEDULER_GROUP,
+                CUBE,
+                CUBE_DIMENSION,
+                CUBE_BUILD_PROCESS,
+                MEASURE_FOLDER,
+                ASSEMBLY,
+                JAVA_DATA
+        );
+
         public String getName() {
             return name;
         }
@@ -717,16 +774,30 @@ public class OracleSchema extends Schema<OracleDatabase> {
             return super.toString().replace('_', ' ');
         }
 
+        /**
+         * Returns the query for the object names of this type. Each of its parameters is the name of the schema.
+         * Building it doesn't access the database.
+         *
+         * @param probes The facts about the database and the schema the query depends on.
+         * @return The query. {@code null} if there can't be any objects of this type.
+         */
+        public String getObjectNamesQuery(OracleCleanProbes probes) {
+            return "SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = ? AND OBJECT_TYPE = '" + this.getName() + "'";
+        }
+
         /**
          * Returns the list of object names of this type.
          *
          * @throws SQLException if retrieving of objects failed.
          */
-        public List<String> getObjectNames(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema) throws SQLException {
-            return jdbcTemplate.queryForStringList(
-                    "SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = ? AND OBJECT_TYPE = ?",
-                    schema.getName(), this.getName()
-            );
+        public List<String> getObjectNames(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema, OracleCleanProbes probes) throws SQLException {
+            String query = getObjectNamesQuery(probes);
+            if (query == null) {
+                return Collections.emptyList();
+            }
+            String[] params = new String[StringUtils.countOccurrencesOf(query, "?")];
+            Arrays.fill(params, schema.getName());
+            return jdbcTemplate.queryForStringList(query, params);
         }
 
         /**
@@ -744,12 +815,65 @@ public class OracleSchema extends Schema<OracleDatabase> {
          *
          * @throws SQLException if cleaning failed.
          */
-        public void dropObjects(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema) throws SQLException {
-            for (String objectName : getObjectNames(jdbcTemplate, database, schema)) {
+        public void dropObjects(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema, OracleCleanProbes probes) throws SQLException {
+            for (String objectName : getObjectNames(jdbcTemplate, database, schema, probes)) {
                 jdbcTemplate.execute(generateDropStatement(jdbcTemplate, database, schema, objectName));
             }
         }
 
+        /**
+         * Checks whether clean drops the objects of this type, instead of only printing a warning if it finds any.
+         *
+         * @return {@code true} if it does, {@code false} if not.
+         */
+        public boolean isSupported() {
+            return !UNSUPPORTED_TYPES.contains(this);
+        }
+
+        /**
+         * Generates the PL/SQL dropping all objects of this type in the specified schema on the server. It queries the
+         * same object names and drops the objects with the same statements as {@link #dropObjects}.
+         *
+         * @param probes The facts about the database and the schema the statements depend on.
+         * @return The PL/SQL statements. An empty string if there can't be any objects of this type.
+         * @throws SQLException if generating the statements failed.
+         */
+        String generateServerSideDrop(JdbcTemplate jdbcTemplate, OracleDatabase database, OracleSchema schema,
+                                      OracleCleanProbes probes) throws SQLException {
+            String query = getObjectNamesQuery(probes);
+            if (query == null) {
+                return "";
+            }
+
+            // Bind the name of the schema to each parameter of the query
+            StringBuilder dynamicQuery = new StringBuilder();
+            StringBuilder using = new StringBuilder();
+            int parameter = 0;
+            for (String part : query.split("\\?", -1)) {
+                if (parameter > 0) {
+                    dynamicQuery.append(":").append(parameter);
+                    using.append(parameter == 1 ? " USING " : ", ").append("schema_name");
+                }
+                dynamicQuery.append(part);
+                parameter++;
+            }
+
+            // Split the drop statement around the name of the object, which is only known on the server
+            String dropStatement = generateDropStatement(jdbcTemplate, database, schema, OBJECT_NAME_MARKER);
+            int marker = dropStatement.indexOf(OBJECT_NAME_MARKER);
+            String dropSuffix = dropStatement.substring(marker + OBJECT_NAME_MARKER.length());
+
+            return "  -- " + this + "\n" +
+                    "  OPEN objects FOR " + toLiteral(dynamicQuery.toString()) + using + ";\n" +
+                    "  FETCH objects BULK COLLECT INTO object_names;\n" +
+                    "  CLOSE objects;\n" +
+                    "  FOR i IN 1 .. object_names.COUNT LOOP\n" +
+                    "    stmt := " + toLiteral(dropStatement.substring(0, marker)) + " || object_names(i)" +
+                    (dropSuffix.isEmpty() ? "" : " || " + toLiteral(dropSuffix)) + ";\n" +
+                    "    EXECUTE IMMEDIATE stmt;\n" +
+                    "  END LOOP;\n";
+        }
+
         private void warnUnsupported(String schemaName, String typeDesc) {
             LOG.warn("Unable to clean " + typeDesc + " for schema " + schemaName + ": unsupported operation");
         }
@@ -838,18 +962,9 @@ public class OracleSchema extends Schema<OracleDatabase> {
             Set<String> existingTypeNames = new HashSet<>(getObjectTypeNames(jdbcTemplate, database, schema));
 
             // Remove unsupported types.
-            existingTypeNames.removeAll(Arrays.asList(
-                    DATABASE_LINK.getName(),
-                    CREDENTIAL.getName(),
-                    DATABASE_DESTINATION.getName(),
-                    SCHEDULER_GROUP.getName(),
-                    CUBE.getName(),
-                    CUBE_DIMENSION.getName(),
-                    CUBE_BUILD_PROCESS.getName(),
-                    MEASURE_FOLDER.getName(),
-                    ASSEMBLY.getName(),
-                    JAVA_DATA.getName()
-            ));
+            for (ObjectType unsupportedType : UNSUPPORTED_TYPES) {
+                existingTypeNames.remove(unsupportedType.getName());
+            }
 
             return !existingTypeNames.isEmpty();
         }
@@ -232,17 +232,47 @@ public class OracleSqlStatementBuilder extends SqlStatementBuilder {
         return super.simplifyLine(simplifiedQQuotes);
     }
 
+    @Override
+    protected boolean useLexer() {
+        return true;
+    }
+
+    @Override
+    protected int getAlternateOpenQuoteLength(String line, int position) {
+        // q'[...]', Nq'[...]', ...
+        int start = position;
+        if (start > 0 && (Character.isLetterOrDigit(line.charAt(start - 1)) || line.charAt(start - 1) == '_')) {
+            return 0;
+        }
+        char c = line.charAt(position);
+        if (c == 'n' || c == 'N') {
+            position++;
+            if (position >= line.length()) {
+                return 0;
+            }
+            c = line.charAt(position);
+        }
+        if ((c != 'q' && c != 'Q') || position + 2 >= line.length() || line.charAt(position + 1) != '\''
+                || Character.isWhitespace(line.charAt(position + 2))) {
+            return 0;
+        }
+        return position + 3 - start;
+    }
+
     @Override
     protected String extractAlternateOpenQuote(String token) {
         if (token.startsWith("Q'") && (token.length() >= 3)) {
             return token.substring(0, 3);
         }
+        if (token.startsWith("NQ'") && (token.length() >= 4)) {
+            return token.substring(0, 4);
+        }
         return null;
     }
 
     @Override
     protected String computeAlternateCloseQuote(String openQuote) {
-        char specialChar = openQuote.charAt(2);
+        char specialChar = openQuote.charAt(openQuote.length() - 1);
         switch (specialChar) {
             case '[':
                 return "]'";
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.database.postgresql;
+
+import org.flywaydb.core.internal.database.LockStrategy;
+import org.flywaydb.core.internal.util.jdbc.JdbcTemplate;
+
+import java.sql.SQLException;
+
+/**
+ * Lock strategy using PostgreSQL advisory locks. The wait for the lock is bounded using the lock_timeout setting.
+ */
+public class PostgreSQLAdvisoryLockStrategy implements LockStrategy {
+    private static final long LOCK_MAGIC_NUM =
+            (0x46L << 40) // F
+                    + (0x6CL << 32) // l
+                    + (0x79L << 24) // y
+                    + (0x77 << 16) // w
+                    + (0x61 << 8) // a
+                    + 0x79; // y
+
+    /**
+     * The SQL state reported when lock_timeout expired. (lock_not_available)
+     */
+    private static final String LOCK_NOT_AVAILABLE = "55P03";
+
+    /**
+     * The connection for the advisory lock.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    private final long lockNum;
+
+    /**
+     * Creates a new advisory lock strategy for this connection.
+     *
+     * @param jdbcTemplate  The jdbcTemplate for the connection.
+     * @param discriminator A number to discriminate between locks.
+     */
+    PostgreSQLAdvisoryLockStrategy(JdbcTemplate jdbcTemplate, int discriminator) {
+        this.jdbcTemplate = jdbcTemplate;
+        lockNum = LOCK_MAGIC_NUM + discriminator;
+    }
+
+    @Override
+    public boolean tryLock(long timeoutMillis) throws SQLException {
+        String originalLockTimeout = jdbcTemplate.queryForString("SHOW lock_timeout");
+        jdbcTemplate.execute("SELECT set_config('lock_timeout', ?, false)", timeoutMillis + "ms");
+        try {
+            jdbcTemplate.execute("SELECT pg_advisory_lock(" + lockNum + ")");
+            return true;
+        } catch (SQLException e) {
+            if (LOCK_NOT_AVAILABLE.equals(e.getSQLState())) {
+                return false;
+            }
+            throw e;
+        } finally {
+            jdbcTemplate.execute("SELECT set_config('lock_timeout', ?, false)", originalLockTimeout);
+        }
+    }
+
+    @Override
+    public void unlock() throws SQLException {
+        jdbcTemplate.execute("SELECT pg_advisory_unlock(" + lockNum + ")");
+    }
+
+    @Override
+    public String getDescription() {
+        return "PostgreSQL advisory lock";
+    }
+}
@@ -17,6 +17,7 @@ package org.flywaydb.core.internal.database.postgresql;
 
 import org.flywaydb.core.api.configuration.Configuration;
 import org.flywaydb.core.internal.database.Connection;
+import org.flywaydb.core.internal.database.LockTemplate;
 import org.flywaydb.core.internal.database.Schema;
 import org.flywaydb.core.internal.database.Table;
 import org.flywaydb.core.internal.exception.FlywaySqlException;
@@ -88,6 +89,6 @@ public class PostgreSQLConnection extends Connection<PostgreSQLDatabase> {
 
     @Override
     public <T> T lock(Table table, Callable<T> callable) {
-        return new PostgreSQLAdvisoryLockTemplate(jdbcTemplate, table.toString().hashCode()).execute(callable);
+        return new LockTemplate(new PostgreSQLAdvisoryLockStrategy(jdbcTemplate, table.toString().hashCode()), lockWaitTimeout).execute(callable);
     }
 }
\ No newline at end of file
@@ -81,12 +81,12 @@ public class PostgreSQLDatabase extends Database<PostgreSQLConnection> {
 
     @Override
     protected SqlScript doCreateSqlScript(LoadableResource sqlScriptResource,
-                                          PlaceholderReplacer placeholderReplacer, boolean mixed
+                                          PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
     ) {
-        return new PostgreSQLSqlScript(sqlScriptResource, placeholderReplacer, mixed
+        return new PostgreSQLSqlScript(sqlScriptResource, placeholderReplacer, mixed, stream, batchSize
 
 
 
@@ -82,67 +82,49 @@ public class PostgreSQLSchema extends Schema<PostgreSQLDatabase> {
 
 
 
-            for (String statement : generateDropStatementsForMaterializedViews()) {
-                jdbcTemplate.execute(statement);
-            }
+            executeCombinedDropStatements("DROP MATERIALIZED VIEW IF EXISTS", listMaterializedViews(), "CASCADE");
 
 
 
 
-        for (String statement : generateDropStatementsForViews()) {
-            jdbcTemplate.execute(statement);
-        }
+        executeCombinedDropStatements("DROP VIEW IF EXISTS", listViews(), "CASCADE");
 
+        List<String> tableNames = new ArrayList<>();
         for (Table table : allTables()) {
-            table.drop();
-        }
-
-        for (String statement : generateDropStatementsForBaseTypes(true)) {
-            jdbcTemplate.execute(statement);
-        }
-
-        for (String statement : generateDropStatementsForAggregates()) {
-            jdbcTemplate.execute(statement);
-        }
-
-        for (String statement : generateDropStatementsForRoutines()) {
-            jdbcTemplate.execute(statement);
+            tableNames.add(table.toString());
         }
+        executeCombinedDropStatements("DROP TABLE", tableNames, "CASCADE");
 
-        for (String statement : generateDropStatementsForEnums()) {
-            jdbcTemplate.execute(statement);
-        }
+        executeDropStatements(generateDropStatementsForBaseTypes(true));
 
-        for (String statement : generateDropStatementsForDomains()) {
-            jdbcTemplate.execute(statement);
-        }
+        // Functions and aggregates can only be dropped together from PostgreSQL 10 on, so these are batched instead
+        executeDropStatements(generateDropStatementsForAggregates());
+        executeDropStatements(generateDropStatementsForRoutines());
 
-        for (String statement : generateDropStatementsForSequences()) {
-            jdbcTemplate.execute(statement);
-        }
+        executeCombinedDropStatements("DROP TYPE", listEnums(), "");
+        executeCombinedDropStatements("DROP DOMAIN", listDomains(), "");
+        executeCombinedDropStatements("DROP SEQUENCE IF EXISTS", listSequences(), "");
 
-        for (String statement : generateDropStatementsForBaseTypes(false)) {
-            jdbcTemplate.execute(statement);
-        }
+        executeDropStatements(generateDropStatementsForBaseTypes(false));
     }
 
     /**
-     * Generates the statements for dropping the sequences in this schema.
+     * Lists the sequences in this schema.
      *
-     * @return The drop statements.
-     * @throws SQLException when the clean statements could not be generated.
+     * @return Their quoted names.
+     * @throws SQLException when the sequences could not be listed.
      */
-    private List<String> generateDropStatementsForSequences() throws SQLException {
+    private List<String> listSequences() throws SQLException {
         List<String> sequenceNames =
                 jdbcTemplate.queryForStringList(
                         "SELECT sequence_name FROM information_schema.sequences WHERE sequence_schema=?", name);
 
-        List<String> statements = new ArrayList<>();
+        List<String> quotedNames = new ArrayList<>();
         for (String sequenceName : sequenceNames) {
-            statements.add("DROP SEQUENCE IF EXISTS " + database.quote(name, sequenceName));
+            quotedNames.add(database.quote(name, sequenceName));
         }
 
-        return statements;
+        return quotedNames;
     }
 
     /**
@@ -228,70 +210,70 @@ public class PostgreSQLSchema extends Schema<PostgreSQLDatabase> {
     }
 
     /**
-     * Generates the statements for dropping the enums in this schema.
+     * Lists the enums in this schema.
      *
-     * @return The drop statements.
-     * @throws SQLException when the clean statements could not be generated.
+     * @return Their quoted names.
+     * @throws SQLException when the enums could not be listed.
      */
-    private List<String> generateDropStatementsForEnums() throws SQLException {
+    private List<String> listEnums() throws SQLException {
         List<String> enumNames =
                 jdbcTemplate.queryForStringList(
                         "SELECT t.typname FROM pg_catalog.pg_type t INNER JOIN pg_catalog.pg_namespace n ON n.oid = t.typnamespace WHERE n.nspname = ? and t.typtype = 'e'", name);
 
-        List<String> statements = new ArrayList<>();
+        List<String> quotedNames = new ArrayList<>();
         for (String enumName : enumNames) {
-            statements.add("DROP TYPE " + database.quote(name, enumName));
+            quotedNames.add(database.quote(name, enumName));
         }
 
-        return statements;
+        return quotedNames;
     }
 
     /**
-     * Generates the statements for dropping the domains in this schema.
+     * Lists the domains in this schema.
      *
-     * @return The drop statements.
-     * @throws SQLException when the clean statements could not be generated.
+     * @return Their quoted names.
+     * @throws SQLException when the domains could not be listed.
      */
-    private List<String> generateDropStatementsForDomains() throws SQLException {
+    private List<String> listDomains() throws SQLException {
         List<String> domainNames =
                 jdbcTemplate.queryForStringList(
                         "SELECT domain_name FROM information_schema.domains WHERE domain_schema=?", name);
 
-        List<String> statements = new ArrayList<>();
+        List<String> quotedNames = new ArrayList<>();
         for (String domainName : domainNames) {
-            statements.add("DROP DOMAIN " + database.quote(name, domainName));
+            quotedNames.add(database.quote(name, domainName));
         }
 
-        return statements;
+        return quotedNames;
     }
 
     /**
-     * Generates the statements for dropping the materialized views in this schema.
+     * Lists the materialized views in this schema.
      *
-     * @return The drop statements.
-     * @throws SQLException when the clean statements could not be generated.
+     * @return Their quoted names.
+     * @throws SQLException when the materialized views could not be listed.
      */
-    private List<String> generateDropStatementsForMaterializedViews() throws SQLException {
+    private List<String> listMaterializedViews() throws SQLException {
         List<String> viewNames =
                 jdbcTemplate.queryForStringList(
                         "SELECT relname FROM pg_catalog.pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace"
                                 + " WHERE c.relkind = 'm' AND n.nspname = ?", name);
 
-        List<String> statements = new ArrayList<>();
+        List<String> quotedNames = new ArrayList<>();
         for (String domainName : viewNames) {
-            statements.add("DROP MATERIALIZED VIEW IF EXISTS " + database.quote(name, domainName) + " CASCADE");
+            quotedNames.add(database.quote(name, domainName));
         }
 
-        return statements;
+        return quotedNames;
     }
 
     /**
-     * Generates the statements for dropping the views in this schema.
+     * Lists the views in this schema.
      *
-     * @return The drop statements.
-     * @throws SQLException when the clean statements could not be generated.
+     * @return Their quoted names.
+     * @throws SQLException when the views could not be listed.
      */
-    private List<String> generateDropStatementsForViews() throws SQLException {
+    private List<String> listViews() throws SQLException {
         List<String> viewNames =
                 jdbcTemplate.queryForStringList(
                         // Search for all views
@@ -300,12 +282,12 @@ public class PostgreSQLSchema extends Schema<PostgreSQLDatabase> {
                                 " LEFT JOIN pg_depend dep ON dep.objid = c.oid AND dep.deptype = 'e'" +
                                 " WHERE c.relkind = 'v' AND  n.nspname = ? AND dep.objid IS NULL",
                         name);
-        List<String> statements = new ArrayList<>();
+        List<String> quotedNames = new ArrayList<>();
         for (String domainName : viewNames) {
-            statements.add("DROP VIEW IF EXISTS " + database.quote(name, domainName) + " CASCADE");
+            quotedNames.add(database.quote(name, domainName));
         }
 
-        return statements;
+        return quotedNames;
     }
 
     @Override
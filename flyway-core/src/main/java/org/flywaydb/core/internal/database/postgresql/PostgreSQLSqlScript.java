@@ -27,12 +27,12 @@ import org.flywaydb.core.internal.util.scanner.LoadableResource;
  * PostgreSQL-specific SQL script.
  */
 class PostgreSQLSqlScript extends ExecutableSqlScript<ContextImpl> {
-    PostgreSQLSqlScript(LoadableResource sqlScriptResource, PlaceholderReplacer placeholderReplacer, boolean mixed
+    PostgreSQLSqlScript(LoadableResource sqlScriptResource, PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
     ) {
-        super(sqlScriptResource, placeholderReplacer, mixed
+        super(sqlScriptResource, placeholderReplacer, mixed, stream, batchSize
 
 
 
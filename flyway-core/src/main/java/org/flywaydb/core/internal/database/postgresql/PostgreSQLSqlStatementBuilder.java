@@ -131,6 +131,35 @@ public class PostgreSQLSqlStatementBuilder extends SqlStatementBuilder {
         return null;
     }
 
+    @Override
+    protected boolean useLexer() {
+        return true;
+    }
+
+    @Override
+    protected int getAlternateOpenQuoteLength(String line, int position) {
+        // $$, $BODY$, $xyz123$, ... unless part of an identifier such as a$b$
+        if (line.charAt(position) != '$' || (position > 0 && isIdentifierPart(line.charAt(position - 1)))) {
+            return 0;
+        }
+        int end = position + 1;
+        while (end < line.length() && isIdentifierPart(line.charAt(end)) && line.charAt(end) != '$') {
+            end++;
+        }
+        return end < line.length() && line.charAt(end) == '$' ? end + 1 - position : 0;
+    }
+
+    @Override
+    protected boolean isBackslashEscapingStringLiteral(String line, int quotePosition) {
+        // E'...'
+        return quotePosition > 0 && Character.toUpperCase(line.charAt(quotePosition - 1)) == 'E'
+                && (quotePosition == 1 || !isIdentifierPart(line.charAt(quotePosition - 2)));
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
     @Override
     protected Delimiter changeDelimiterIfNecessary(String line, Delimiter delimiter) {
         if (pgCopy) {
@@ -83,12 +83,12 @@ public class RedshiftDatabase extends Database<RedshiftConnection> {
 
     @Override
     protected SqlScript doCreateSqlScript(LoadableResource sqlScriptResource,
-                                          PlaceholderReplacer placeholderReplacer, boolean mixed
+                                          PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
     ) {
-        return new RedshiftSqlScript(sqlScriptResource, placeholderReplacer, mixed
+        return new RedshiftSqlScript(sqlScriptResource, placeholderReplacer, mixed, stream, batchSize
 
 
 
@@ -28,12 +28,12 @@ import org.flywaydb.core.internal.util.scanner.LoadableResource;
  */
 class RedshiftSqlScript extends ExecutableSqlScript<ContextImpl> {
     RedshiftSqlScript(LoadableResource sqlScriptResource,
-                      PlaceholderReplacer placeholderReplacer, boolean mixed
+                      PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
     ) {
-        super(sqlScriptResource, placeholderReplacer, mixed
+        super(sqlScriptResource, placeholderReplacer, mixed, stream, batchSize
 
 
 
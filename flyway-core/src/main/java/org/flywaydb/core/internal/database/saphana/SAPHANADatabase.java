@@ -75,12 +75,12 @@ public class SAPHANADatabase extends Database<SAPHANAConnection> {
 
     @Override
     protected SqlScript doCreateSqlScript(LoadableResource sqlScriptResource,
-                                          PlaceholderReplacer placeholderReplacer, boolean mixed
+                                          PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
     ) {
-        return new SAPHANASqlScript(sqlScriptResource, placeholderReplacer, mixed
+        return new SAPHANASqlScript(sqlScriptResource, placeholderReplacer, mixed, stream, batchSize
 
 
 
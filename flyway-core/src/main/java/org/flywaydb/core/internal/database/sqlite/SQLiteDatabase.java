@@ -71,12 +71,12 @@ public class SQLiteDatabase extends Database<SQLiteConnection> {
 
     @Override
     protected SqlScript doCreateSqlScript(LoadableResource sqlScriptResource,
-                                          PlaceholderReplacer placeholderReplacer, boolean mixed
+                                          PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
     ) {
-        return new SQLiteSqlScript(sqlScriptResource, placeholderReplacer, mixed
+        return new SQLiteSqlScript(sqlScriptResource, placeholderReplacer, mixed, stream, batchSize
 
 
 
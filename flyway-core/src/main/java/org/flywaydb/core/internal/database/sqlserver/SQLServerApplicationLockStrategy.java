@@ -0,0 +1,94 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.database.sqlserver;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.internal.database.LockStrategy;
+import org.flywaydb.core.internal.util.jdbc.JdbcTemplate;
+import org.flywaydb.core.internal.util.jdbc.JdbcUtils;
+
+import java.sql.CallableStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Lock strategy using SQL Server application locks.
+ */
+public class SQLServerApplicationLockStrategy implements LockStrategy {
+    /**
+     * The status returned by sp_getapplock when the lock could not be granted within the timeout.
+     */
+    private static final int LOCK_TIMEOUT = -1;
+
+    private final SQLServerConnection connection;
+    private final JdbcTemplate jdbcTemplate;
+    private final String databaseName;
+    private final String lockName;
+
+    /**
+     * Creates a new application lock strategy for this connection.
+     *
+     * @param connection    The connection reference.
+     * @param jdbcTemplate  The jdbcTemplate for the connection.
+     * @param databaseName  The database in which to take the lock.
+     * @param discriminator A number to discriminate between locks.
+     */
+    SQLServerApplicationLockStrategy(SQLServerConnection connection, JdbcTemplate jdbcTemplate, String databaseName, int discriminator) {
+        this.connection = connection;
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseName = databaseName;
+        lockName = "Flyway-" + discriminator;
+    }
+
+    @Override
+    public boolean tryLock(long timeoutMillis) throws SQLException {
+        connection.setCurrentDatabase(databaseName);
+
+        int status;
+        CallableStatement statement = null;
+        try {
+            statement = jdbcTemplate.getConnection().prepareCall("{? = call sp_getapplock(?, ?, ?, ?)}");
+            statement.registerOutParameter(1, Types.INTEGER);
+            statement.setString(2, lockName);
+            statement.setString(3, "Exclusive");
+            statement.setString(4, "Session");
+            statement.setLong(5, timeoutMillis);
+            statement.execute();
+            status = statement.getInt(1);
+        } finally {
+            JdbcUtils.closeStatement(statement);
+        }
+
+        if (status == LOCK_TIMEOUT) {
+            return false;
+        }
+        if (status < 0) {
+            throw new FlywayException("Unable to acquire " + getDescription() + " (sp_getapplock status: " + status + ")");
+        }
+        return true;
+    }
+
+    @Override
+    public void unlock() throws SQLException {
+        connection.setCurrentDatabase(databaseName);
+        jdbcTemplate.execute("EXEC sp_releaseapplock @Resource = ?, @LockOwner = 'Session'", lockName);
+    }
+
+    @Override
+    public String getDescription() {
+        return "SQL Server application lock";
+    }
+}
@@ -17,6 +17,7 @@ package org.flywaydb.core.internal.database.sqlserver;
 
 import org.flywaydb.core.api.configuration.Configuration;
 import org.flywaydb.core.internal.database.Connection;
+import org.flywaydb.core.internal.database.LockTemplate;
 import org.flywaydb.core.internal.database.Schema;
 import org.flywaydb.core.internal.database.Table;
 import org.flywaydb.core.internal.exception.FlywaySqlException;
@@ -82,6 +83,6 @@ public class SQLServerConnection extends Connection<SQLServerDatabase> {
 
     @Override
     public <T> T lock(Table table, Callable<T> callable) {
-        return new SQLServerApplicationLockTemplate(this, jdbcTemplate, originalDatabaseName, table.toString().hashCode()).execute(callable);
+        return new LockTemplate(new SQLServerApplicationLockStrategy(this, jdbcTemplate, originalDatabaseName, table.toString().hashCode()), lockWaitTimeout).execute(callable);
     }
 }
\ No newline at end of file
@@ -122,12 +122,12 @@ public class SQLServerDatabase extends Database<SQLServerConnection> {
 
     @Override
     protected SqlScript doCreateSqlScript(LoadableResource sqlScriptResource,
-                                          PlaceholderReplacer placeholderReplacer, boolean mixed
+                                          PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
     ) {
-        return new SQLServerSqlScript(sqlScriptResource, placeholderReplacer, mixed
+        return new SQLServerSqlScript(sqlScriptResource, placeholderReplacer, mixed, stream, batchSize
 
 
 
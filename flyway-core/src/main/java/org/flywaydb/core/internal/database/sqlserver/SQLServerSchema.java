@@ -15,6 +15,8 @@
  */
 package org.flywaydb.core.internal.database.sqlserver;
 
+import org.flywaydb.core.api.logging.Log;
+import org.flywaydb.core.api.logging.LogFactory;
 import org.flywaydb.core.internal.database.Schema;
 import org.flywaydb.core.internal.database.Table;
 import org.flywaydb.core.internal.util.jdbc.JdbcTemplate;
@@ -29,6 +31,8 @@ import java.util.List;
  * SQLServer implementation of Schema.
  */
 public class SQLServerSchema extends Schema<SQLServerDatabase> {
+    private static final Log LOG = LogFactory.getLog(SQLServerSchema.class);
+
     private final String databaseName;
 
     /**
@@ -190,78 +194,149 @@ public class SQLServerSchema extends Schema<SQLServerDatabase> {
 
     @Override
     protected void doClean() throws SQLException {
+        if (isServerSideClean()) {
+            String batch = generateCleanBatch();
+            LOG.debug("Cleaning schema " + database.quote(name) + " on the server with:\n" + batch);
+            jdbcTemplate.execute(batch);
+            return;
+        }
+
         List<DBObject> tables = queryDBObjects(ObjectType.USER_TABLE);
 
-        for (String statement : cleanTriggers()) {
-            jdbcTemplate.execute(statement);
-        }
+        executeDropStatements(cleanTriggers());
 
-        for (String statement : cleanForeignKeys(tables)) {
-            jdbcTemplate.execute(statement);
-        }
+        executeDropStatements(cleanForeignKeys(tables));
 
-        for (String statement : cleanDefaultConstraints(tables)) {
-            jdbcTemplate.execute(statement);
-        }
+        executeDropStatements(cleanDefaultConstraints(tables));
 
-        for (String statement : cleanObjects("PROCEDURE",
+        executeDropStatements(cleanObjects("PROCEDURE",
                 ObjectType.STORED_PROCEDURE,
-                ObjectType.CLR_STORED_PROCEDURE)) {
-            jdbcTemplate.execute(statement);
-        }
+                ObjectType.CLR_STORED_PROCEDURE));
 
-        for (String statement : cleanObjects("VIEW", ObjectType.VIEW)) {
-            jdbcTemplate.execute(statement);
-        }
+        executeDropStatements(cleanObjects("VIEW", ObjectType.VIEW));
 
-        for (Table table : allTables()) {
-            table.drop();
-        }
+        dropTables(allTables());
 
-        for (String statement : cleanObjects("FUNCTION",
+        executeDropStatements(cleanObjects("FUNCTION",
                 ObjectType.SCALAR_FUNCTION,
                 ObjectType.CLR_SCALAR_FUNCTION,
                 ObjectType.CLR_TABLE_VALUED_FUNCTION,
                 ObjectType.TABLE_VALUED_FUNCTION,
-                ObjectType.INLINED_TABLE_FUNCTION)) {
-            jdbcTemplate.execute(statement);
-        }
+                ObjectType.INLINED_TABLE_FUNCTION));
 
-        for (String statement : cleanObjects("AGGREGATE", ObjectType.AGGREGATE)) {
-            jdbcTemplate.execute(statement);
-        }
+        executeDropStatements(cleanObjects("AGGREGATE", ObjectType.AGGREGATE));
 
-        for (String statement : cleanTypes()) {
-            jdbcTemplate.execute(statement);
-        }
+        executeDropStatements(cleanTypes());
 
-        for (String statement : cleanAssemblies()) {
-            jdbcTemplate.execute(statement);
-        }
+        executeDropStatements(cleanAssemblies());
 
-        for (String statement : cleanObjects("SYNONYM", ObjectType.SYNONYM)) {
-            jdbcTemplate.execute(statement);
-        }
+        executeDropStatements(cleanObjects("SYNONYM", ObjectType.SYNONYM));
 
-        for (String statement : cleanObjects("RULE", ObjectType.RULE)) {
-            jdbcTemplate.execute(statement);
-        }
+        executeDropStatements(cleanObjects("RULE", ObjectType.RULE));
 
-        for (String statement : cleanObjects("DEFAULT", ObjectType.DEFAULT_CONSTRAINT)) {
-            jdbcTemplate.execute(statement);
-        }
+        executeDropStatements(cleanObjects("DEFAULT", ObjectType.DEFAULT_CONSTRAINT));
 
 
 
 
-            for (String statement : cleanObjects("SEQUENCE", ObjectType.SEQUENCE_OBJECT)) {
-                jdbcTemplate.execute(statement);
-            }
+            executeDropStatements(cleanObjects("SEQUENCE", ObjectType.SEQUENCE_OBJECT));
 
 
 
     }
 
+    /**
+     * Generates a single T-SQL batch cleaning this schema on the server. It drops the same objects in the same order as
+     * the client-side clean, enumerating the objects of each step with a cursor once the previous steps are done, and
+     * fails with the statement that could not be executed. Generating it doesn't access the database.
+     *
+     * @return The T-SQL batch.
+     */
+    String generateCleanBatch() {
+        String schemaPrefix = database.quote(name) + ".";
+        String tablePrefix = "ALTER TABLE " + schemaPrefix;
+
+        List<String> queries = new ArrayList<>();
+        queries.add("SELECT N'DROP TRIGGER ' + QUOTENAME(name) + N' ON DATABASE' FROM sys.triggers" +
+                " WHERE is_ms_shipped=0 AND parent_id=0 AND parent_class_desc='DATABASE'");
+        queries.add("SELECT " + toLiteral(tablePrefix) + " + QUOTENAME(t.name) + N' DROP CONSTRAINT ' + QUOTENAME(c.name)" +
+                " FROM (" + getDBObjectsQuery(ObjectType.USER_TABLE) + ") t" +
+                " JOIN (" + getDBObjectsQuery(ObjectType.FOREIGN_KEY, ObjectType.CHECK_CONSTRAINT) + ") c" +
+                " ON c.parent_object_id = t.object_id ORDER BY t.create_date DESC, c.create_date DESC");
+        queries.add("SELECT " + toLiteral(tablePrefix) + " + QUOTENAME(t.name) + N' DROP CONSTRAINT ' + QUOTENAME(c.name)" +
+                " FROM (" + getDBObjectsQuery(ObjectType.USER_TABLE) + ") t" +
+                " JOIN (" + getDBObjectsQuery(ObjectType.DEFAULT_CONSTRAINT) + ") c" +
+                " ON c.parent_object_id = t.object_id ORDER BY t.create_date DESC, c.create_date DESC");
+        queries.add(getCleanObjectsQuery("DROP PROCEDURE " + schemaPrefix,
+                ObjectType.STORED_PROCEDURE,
+                ObjectType.CLR_STORED_PROCEDURE));
+        queries.add(getCleanObjectsQuery("DROP VIEW " + schemaPrefix, ObjectType.VIEW));
+        queries.add(getCleanObjectsQuery("DROP TABLE " + database.quote(databaseName, name) + ".",
+                ObjectType.USER_TABLE));
+        queries.add(getCleanObjectsQuery("DROP FUNCTION " + schemaPrefix,
+                ObjectType.SCALAR_FUNCTION,
+                ObjectType.CLR_SCALAR_FUNCTION,
+                ObjectType.CLR_TABLE_VALUED_FUNCTION,
+                ObjectType.TABLE_VALUED_FUNCTION,
+                ObjectType.INLINED_TABLE_FUNCTION));
+        queries.add(getCleanObjectsQuery("DROP AGGREGATE " + schemaPrefix, ObjectType.AGGREGATE));
+        queries.add("SELECT " + toLiteral("DROP TYPE " + schemaPrefix) + " + QUOTENAME(t.name)" +
+                " FROM sys.types t INNER JOIN sys.schemas s ON t.schema_id = s.schema_id" +
+                " WHERE t.is_user_defined = 1 AND s.name = " + toLiteral(name));
+        queries.add("SELECT N'DROP ASSEMBLY ' + QUOTENAME(name) FROM sys.assemblies WHERE is_user_defined=1");
+        queries.add(getCleanObjectsQuery("DROP SYNONYM " + schemaPrefix, ObjectType.SYNONYM));
+        queries.add(getCleanObjectsQuery("DROP RULE " + schemaPrefix, ObjectType.RULE));
+        queries.add(getCleanObjectsQuery("DROP DEFAULT " + schemaPrefix, ObjectType.DEFAULT_CONSTRAINT));
+        queries.add(getCleanObjectsQuery("DROP SEQUENCE " + schemaPrefix, ObjectType.SEQUENCE_OBJECT));
+
+        StringBuilder batch = new StringBuilder();
+        batch.append("SET NOCOUNT ON;\n");
+        batch.append("DECLARE @statement NVARCHAR(MAX);\n");
+        batch.append("BEGIN TRY\n");
+        for (int i = 0; i < queries.size(); i++) {
+            String cursor = "flyway_clean_" + (i + 1);
+            batch.append("    DECLARE ").append(cursor).append(" CURSOR LOCAL STATIC FOR\n");
+            batch.append("        ").append(queries.get(i)).append(";\n");
+            batch.append("    OPEN ").append(cursor).append(";\n");
+            batch.append("    FETCH NEXT FROM ").append(cursor).append(" INTO @statement;\n");
+            batch.append("    WHILE @@FETCH_STATUS = 0\n");
+            batch.append("    BEGIN\n");
+            batch.append("        EXEC (@statement);\n");
+            batch.append("        FETCH NEXT FROM ").append(cursor).append(" INTO @statement;\n");
+            batch.append("    END;\n");
+            batch.append("    CLOSE ").append(cursor).append(";\n");
+            batch.append("    DEALLOCATE ").append(cursor).append(";\n");
+        }
+        batch.append("END TRY\n");
+        batch.append("BEGIN CATCH\n");
+        batch.append("    DECLARE @error NVARCHAR(2048) = N'Unable to execute ' + ISNULL(@statement, N'') + N': ' + ERROR_MESSAGE();\n");
+        batch.append("    RAISERROR(N'%s', 16, 1, @error);\n");
+        batch.append("END CATCH;\n");
+        return batch.toString();
+    }
+
+    /**
+     * Builds the query generating the drop statements for the objects of these types in this schema, newest first.
+     *
+     * @param dropPrefix  The start of the DROP statements, up to the name of the object.
+     * @param objectTypes The type of objects to drop.
+     * @return The query.
+     */
+    private String getCleanObjectsQuery(String dropPrefix, ObjectType... objectTypes) {
+        return "SELECT " + toLiteral(dropPrefix) + " + QUOTENAME(o.name)" +
+                " FROM (" + getDBObjectsQuery(objectTypes) + ") o ORDER BY o.create_date DESC";
+    }
+
+    /**
+     * Turns this text into a T-SQL string literal.
+     *
+     * @param text The text.
+     * @return The string literal.
+     */
+    private static String toLiteral(String text) {
+        return "N'" + text.replace("'", "''") + "'";
+    }
+
     /**
      * Query objects with any of the given types.
      *
@@ -282,15 +357,45 @@ public class SQLServerSchema extends Schema<SQLServerDatabase> {
      * @throws SQLException when the retrieval failed
      */
     private List<DBObject> queryDBObjectsWithParent(DBObject parent, ObjectType... types) throws SQLException {
+        StringBuilder query = new StringBuilder(getDBObjectsQuery(types));
+
+        if (parent != null) {
+            // Apply the parent selection if one was given.
+            query.append(" AND obj.parent_object_id = ").append(parent.objectId);
+        }
+
+        query.append(" order by create_date desc"
+
+
+
+
+        );
+
+        return jdbcTemplate.query(query.toString(), new RowMapper<DBObject>() {
+            @Override
+            public DBObject mapRow(ResultSet rs) throws SQLException {
+                return new DBObject(rs.getLong("object_id"), rs.getString("name"));
+            }
+        });
+    }
+
+    /**
+     * Builds the query for the objects with any of the given types, without any ordering.
+     *
+     * @param types the object types to be queried
+     * @return the query
+     */
+    private String getDBObjectsQuery(ObjectType... types) {
         assert types != null && types.length > 0;
-        StringBuilder query = new StringBuilder("SELECT obj.object_id, obj.name FROM sys.objects AS obj " +
+        StringBuilder query = new StringBuilder("SELECT obj.object_id, obj.name, obj.parent_object_id, obj.create_date " +
+                "FROM sys.objects AS obj " +
                 "LEFT JOIN sys.extended_properties AS eps " +
                 "ON obj.object_id = eps.major_id " +
                 "AND eps.class = 1 " +    // Class 1 = objects and columns (we are only interested in objects).
                 "AND eps.minor_id = 0 " + // Minor ID, always 0 for objects.
                 "AND eps.name='microsoft_database_tools_support' " + // Select all objects generated from MS database
                 // tools.
-                "WHERE SCHEMA_NAME(obj.schema_id) = '" + name + "'  " +
+                "WHERE SCHEMA_NAME(obj.schema_id) = " + toLiteral(name) + " " +
                 "AND eps.major_id IS NULL " + // Left Excluding JOIN (we are only interested in user defined entries).
                 "AND obj.is_ms_shipped = 0 " + // Make sure we do not return anything MS shipped.
                 "AND obj.type IN (" // Select the object types.
@@ -306,25 +411,7 @@ public class SQLServerSchema extends Schema<SQLServerDatabase> {
             first = false;
         }
         query.append(")");
-
-        if (parent != null) {
-            // Apply the parent selection if one was given.
-            query.append(" AND obj.parent_object_id = ").append(parent.objectId);
-        }
-
-        query.append(" order by create_date desc"
-
-
-
-
-        );
-
-        return jdbcTemplate.query(query.toString(), new RowMapper<DBObject>() {
-            @Override
-            public DBObject mapRow(ResultSet rs) throws SQLException {
-                return new DBObject(rs.getLong("object_id"), rs.getString("name"));
-            }
-        });
+        return query.toString();
     }
 
     /**
@@ -26,12 +26,12 @@ import org.flywaydb.core.internal.util.scanner.LoadableResource;
  * SQL Server-specific SQL script.
  */
 class SQLServerSqlScript extends ExecutableSqlScript {
-    SQLServerSqlScript(LoadableResource sqlScriptResource, PlaceholderReplacer placeholderReplacer, boolean mixed
+    SQLServerSqlScript(LoadableResource sqlScriptResource, PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
     ) {
-        super(sqlScriptResource, placeholderReplacer, mixed
+        super(sqlScriptResource, placeholderReplacer, mixed, stream, batchSize
 
 
 
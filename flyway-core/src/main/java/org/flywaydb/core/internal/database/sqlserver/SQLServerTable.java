@@ -44,7 +44,12 @@ public class SQLServerTable extends Table {
 
     @Override
     protected void doDrop() throws SQLException {
-        jdbcTemplate.execute("DROP TABLE " + this);
+        jdbcTemplate.execute(getDropStatement());
+    }
+
+    @Override
+    protected String getDropStatement() {
+        return "DROP TABLE " + this;
     }
 
     @Override
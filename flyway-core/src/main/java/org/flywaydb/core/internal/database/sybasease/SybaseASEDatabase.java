@@ -80,12 +80,12 @@ public class SybaseASEDatabase extends Database<SybaseASEConnection> {
 
     @Override
     protected SqlScript doCreateSqlScript(LoadableResource sqlScriptResource,
-                                          PlaceholderReplacer placeholderReplacer, boolean mixed
+                                          PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
     ) {
-        return new SybaseASESqlScript(sqlScriptResource, placeholderReplacer, mixed
+        return new SybaseASESqlScript(sqlScriptResource, placeholderReplacer, mixed, stream, batchSize
 
 
 
@@ -26,12 +26,12 @@ import org.flywaydb.core.internal.util.scanner.LoadableResource;
  * Sybase ASE-specific SQL script.
  */
 class SybaseASESqlScript extends ExecutableSqlScript {
-    SybaseASESqlScript(LoadableResource sqlScriptResource, PlaceholderReplacer placeholderReplacer, boolean mixed
+    SybaseASESqlScript(LoadableResource sqlScriptResource, PlaceholderReplacer placeholderReplacer, boolean mixed, boolean stream, int batchSize
 
 
 
     ) {
-        super(sqlScriptResource, placeholderReplacer, mixed
+        super(sqlScriptResource, placeholderReplacer, mixed, stream, batchSize
 
 
 
@@ -64,6 +64,16 @@ public class MigrationInfoContext {
      */
     public MigrationVersion baseline;
 
+    /**
+     * The version of the SNAPSHOT migration that was applied.
+     */
+    public MigrationVersion snapshot;
+
+    /**
+     * The checksum of the resolved migrations compacted into the SNAPSHOT migration.
+     */
+    public Integer snapshotChecksum;
+
     /**
      * The last resolved migration.
      */
@@ -91,6 +101,8 @@ public class MigrationInfoContext {
         if (target != null ? !target.equals(that.target) : that.target != null) return false;
         if (schema != null ? !schema.equals(that.schema) : that.schema != null) return false;
         if (baseline != null ? !baseline.equals(that.baseline) : that.baseline != null) return false;
+        if (snapshot != null ? !snapshot.equals(that.snapshot) : that.snapshot != null) return false;
+        if (snapshotChecksum != null ? !snapshotChecksum.equals(that.snapshotChecksum) : that.snapshotChecksum != null) return false;
         if (lastResolved != null ? !lastResolved.equals(that.lastResolved) : that.lastResolved != null) return false;
         if (lastApplied != null ? !lastApplied.equals(that.lastApplied) : that.lastApplied != null) return false;
         return latestRepeatableRuns.equals(that.latestRepeatableRuns);
@@ -107,6 +119,8 @@ public class MigrationInfoContext {
         result = 31 * result + (target != null ? target.hashCode() : 0);
         result = 31 * result + (schema != null ? schema.hashCode() : 0);
         result = 31 * result + (baseline != null ? baseline.hashCode() : 0);
+        result = 31 * result + (snapshot != null ? snapshot.hashCode() : 0);
+        result = 31 * result + (snapshotChecksum != null ? snapshotChecksum.hashCode() : 0);
         result = 31 * result + (lastResolved != null ? lastResolved.hashCode() : 0);
         result = 31 * result + (lastApplied != null ? lastApplied.hashCode() : 0);
         result = 31 * result + latestRepeatableRuns.hashCode();
@@ -158,6 +158,10 @@ public class MigrationInfoImpl implements MigrationInfo {
             return MigrationState.BASELINE;
         }
 
+        if (MigrationType.SNAPSHOT == appliedMigration.getType()) {
+            return MigrationState.SNAPSHOT;
+        }
+
         if (resolvedMigration == null) {
             if (MigrationType.SCHEMA == appliedMigration.getType()) {
                 return MigrationState.SUCCESS;
@@ -250,9 +254,18 @@ public class MigrationInfoImpl implements MigrationInfo {
             return "Detected failed migration to version " + getVersion() + " (" + getDescription() + ")";
         }
 
+        if ((appliedMigration != null)
+                && (appliedMigration.getType() == MigrationType.SNAPSHOT)
+                && !ObjectUtils.nullSafeEquals(appliedMigration.getChecksum(), context.snapshotChecksum)) {
+            return createMismatchMessage("checksum", "snapshot of version " + getVersion()
+                            + " (migrations compacted into it were added, removed or modified locally)",
+                    appliedMigration.getChecksum(), context.snapshotChecksum);
+        }
+
         if ((resolvedMigration == null)
                 && (appliedMigration.getType() != MigrationType.SCHEMA)
                 && (appliedMigration.getType() != MigrationType.BASELINE)
+                && (appliedMigration.getType() != MigrationType.SNAPSHOT)
                 && (appliedMigration.getVersion() != null)
                 && (!context.missing || (MigrationState.MISSING_SUCCESS != getState() && MigrationState.MISSING_FAILED != getState()))
                 && (!context.future || (MigrationState.FUTURE_SUCCESS != getState() && MigrationState.FUTURE_FAILED != getState()))) {
@@ -17,6 +17,7 @@ package org.flywaydb.core.internal.info;
 
 import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationInfoFilter;
 import org.flywaydb.core.api.MigrationInfoService;
 import org.flywaydb.core.api.MigrationState;
 import org.flywaydb.core.api.MigrationType;
@@ -31,7 +32,8 @@ import org.flywaydb.core.internal.util.Pair;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -89,6 +91,43 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
      */
     private List<MigrationInfoImpl> migrationInfos;
 
+    /**
+     * The context shared by all migration infos calculated at the last refresh.
+     */
+    private MigrationInfoContext context;
+
+    /**
+     * The resolved versioned migrations at the last refresh.
+     */
+    private Map<Pair<MigrationVersion, Boolean>, ResolvedMigration> resolvedVersioned;
+
+    /**
+     * The resolved repeatable migrations at the last refresh.
+     */
+    private Map<String, ResolvedMigration> resolvedRepeatable;
+
+    /**
+     * The migration infos of the applied migrations. The versioned ones and the repeatable ones are each ordered by
+     * installed rank.
+     */
+    private List<MigrationInfoImpl> appliedMigrationInfos;
+
+    /**
+     * The migration infos of the resolved migrations that were not applied at the last refresh. The versioned ones are
+     * ordered by version and the repeatable ones by description.
+     */
+    private Map<ResolvedMigration, MigrationInfoImpl> pendingMigrationInfos;
+
+    /**
+     * The installed rank of the last applied migration seen. -1 if none.
+     */
+    private int lastInstalledRank;
+
+    /**
+     * The filter the infos must be able to match to be built. {@code null} to build the infos of all migrations.
+     */
+    private MigrationInfoFilter filter;
+
     /**
      * Creates a new MigrationInfoServiceImpl.
      *
@@ -114,12 +153,25 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
         this.future = future;
     }
 
+    /**
+     * Refreshes the info about the known migrations that can match this filter. The infos of all other migrations are
+     * skipped instead of being built, apart from the ones needed to determine the current one. {@link #all()} and the
+     * other lookups then only cover these infos, except for {@link #current()}, which stays accurate.
+     *
+     * @param filter The filter the infos must be able to match. {@code null} for all migrations.
+     */
+    public void refresh(MigrationInfoFilter filter) {
+        this.filter = filter;
+        refresh();
+    }
+
     /**
      * Refreshes the info about all known migrations from both the classpath and the DB.
      */
     public void refresh() {
         Collection<ResolvedMigration> resolvedMigrations = migrationResolver.resolveMigrations();
         List<AppliedMigration> appliedMigrations = schemaHistory.allAppliedMigrations();
+        int lastRank = appliedMigrations.isEmpty() ? -1 : appliedMigrations.get(appliedMigrations.size() - 1).getInstalledRank();
 
         MigrationInfoContext context = new MigrationInfoContext();
         context.outOfOrder = outOfOrder;
@@ -164,6 +216,9 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
             if (appliedMigration.getType() == MigrationType.BASELINE) {
                 context.baseline = version;
             }
+            if (appliedMigration.getType() == MigrationType.SNAPSHOT) {
+                context.snapshot = version;
+            }
 
 
 
@@ -193,10 +248,31 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
             context.target = context.lastApplied;
         }
 
+        MigrationVersion currentVersion = null;
+        for (Pair<AppliedMigration, AppliedMigrationAttributes> av : appliedVersioned) {
+            if (currentVersion == null || av.getLeft().getVersion().compareTo(currentVersion) > 0) {
+                currentVersion = av.getLeft().getVersion();
+            }
+        }
+
         List<MigrationInfoImpl> migrationInfos1 = new ArrayList<>();
-        Set<ResolvedMigration> pendingResolvedVersioned = new HashSet<>(resolvedVersioned.values());
+        Set<ResolvedMigration> pendingResolvedVersioned = new LinkedHashSet<>(resolvedVersioned.values());
+        if (context.snapshot != null) {
+            // The migrations compacted into the snapshot have no applied migration of their own anymore
+            List<ResolvedMigration> snapshotResolvedVersioned = new ArrayList<>();
+            for (ResolvedMigration resolvedMigration : resolvedVersioned.values()) {
+                MigrationVersion version = resolvedMigration.getVersion();
+                if ((context.baseline == null || version.compareTo(context.baseline) > 0)
+                        && version.compareTo(context.snapshot) <= 0) {
+                    snapshotResolvedVersioned.add(resolvedMigration);
+                }
+            }
+            context.snapshotChecksum = SnapshotChecksumCalculator.calculate(snapshotResolvedVersioned);
+            pendingResolvedVersioned.removeAll(snapshotResolvedVersioned);
+        }
         for (Pair<AppliedMigration, AppliedMigrationAttributes> av : appliedVersioned) {
-            ResolvedMigration resolvedMigration = resolvedVersioned.get(Pair.of(av.getLeft().getVersion(), av.getLeft().getType().isUndo()));
+            ResolvedMigration resolvedMigration = av.getLeft().getType() == MigrationType.SNAPSHOT ? null
+                    : resolvedVersioned.get(Pair.of(av.getLeft().getVersion(), av.getLeft().getType().isUndo()));
             if (resolvedMigration != null
 
 
@@ -204,6 +280,9 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
                     ) {
                 pendingResolvedVersioned.remove(resolvedMigration);
             }
+            if (!isRetained(av.getLeft().getVersion(), av.getLeft(), currentVersion, lastRank)) {
+                continue;
+            }
             migrationInfos1.add(new MigrationInfoImpl(resolvedMigration, av.getLeft(), context, av.getRight().outOfOrder
 
 
@@ -212,6 +291,9 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
         }
 
         for (ResolvedMigration prv : pendingResolvedVersioned) {
+            if (!isRetained(prv.getVersion(), null, currentVersion, lastRank)) {
+                continue;
+            }
             migrationInfos1.add(new MigrationInfoImpl(prv, null, context, false
 
 
@@ -227,13 +309,16 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
             }
         }
 
-        Set<ResolvedMigration> pendingResolvedRepeatable = new HashSet<>(resolvedRepeatable.values());
+        Set<ResolvedMigration> pendingResolvedRepeatable = new LinkedHashSet<>(resolvedRepeatable.values());
         for (AppliedMigration appliedRepeatableMigration : appliedRepeatable) {
             ResolvedMigration resolvedMigration = resolvedRepeatable.get(appliedRepeatableMigration.getDescription());
             int latestRank = context.latestRepeatableRuns.get(appliedRepeatableMigration.getDescription());
             if (resolvedMigration != null && appliedRepeatableMigration.getInstalledRank() == latestRank && ObjectUtils.nullSafeEquals(appliedRepeatableMigration.getChecksum(), resolvedMigration.getChecksum())) {
                 pendingResolvedRepeatable.remove(resolvedMigration);
             }
+            if (!isRetained(null, appliedRepeatableMigration, currentVersion, lastRank)) {
+                continue;
+            }
             migrationInfos1.add(new MigrationInfoImpl(resolvedMigration, appliedRepeatableMigration, context, false
 
 
@@ -242,6 +327,9 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
         }
 
         for (ResolvedMigration prr : pendingResolvedRepeatable) {
+            if (!isRetained(null, null, currentVersion, lastRank)) {
+                continue;
+            }
             migrationInfos1.add(new MigrationInfoImpl(prr, null, context, false
 
 
@@ -249,16 +337,137 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
             ));
         }
 
+        // Split up before sorting, so an incremental refresh can sort them again in exactly the same order
+        appliedMigrationInfos = new ArrayList<>();
+        pendingMigrationInfos = new LinkedHashMap<>();
+        for (MigrationInfoImpl migrationInfo : migrationInfos1) {
+            if (migrationInfo.getInstalledRank() == null) {
+                pendingMigrationInfos.put(migrationInfo.getResolvedMigration(), migrationInfo);
+            } else {
+                appliedMigrationInfos.add(migrationInfo);
+            }
+        }
+
         Collections.sort(migrationInfos1);
         migrationInfos = migrationInfos1;
+
+        this.context = context;
+        this.resolvedVersioned = resolvedVersioned;
+        this.resolvedRepeatable = resolvedRepeatable;
+        lastInstalledRank = lastRank;
     }
 
+    /**
+     * Checks whether the info of this migration must be built. When refreshing for a filter, infos that can't match it
+     * are skipped, except for the applied ones {@link #current()} may return: the ones with the highest version and
+     * the one applied last.
+     *
+     * @param version          The version of the migration. {@code null} for repeatable migrations.
+     * @param appliedMigration The applied migration. {@code null} if it hasn't been applied.
+     * @param currentVersion   The highest applied version. {@code null} if no versioned migration has been applied.
+     * @param lastRank         The installed rank of the migration applied last.
+     * @return {@code true} if it must be built, {@code false} if it can be skipped.
+     */
+    private boolean isRetained(MigrationVersion version, AppliedMigration appliedMigration,
+                               MigrationVersion currentVersion, int lastRank) {
+        if (filter == null) {
+            return true;
+        }
+        if (appliedMigration == null) {
+            return filter.mayMatch(version, null);
+        }
+        return appliedMigration.getInstalledRank() == lastRank
+                || (version != null && version.equals(currentVersion))
+                || filter.mayMatch(version, appliedMigration.getInstalledOn());
+    }
 
+    /**
+     * Refreshes the info about all known migrations with the migrations applied since the last refresh. Only the
+     * applied migrations with a higher installed rank than the last one seen are read from the schema history table
+     * and the resolved migrations are reused as is. This falls back to a full refresh when this service hasn't been
+     * refreshed before or when a synthetic migration (schema creation, baseline or snapshot) was applied in the meantime.
+     */
+    public void refreshIncrementally() {
+        if (migrationInfos == null) {
+            refresh();
+            return;
+        }
 
+        List<AppliedMigration> newAppliedMigrations = schemaHistory.appliedMigrationsAfter(lastInstalledRank);
+        if (newAppliedMigrations.isEmpty()) {
+            return;
+        }
+        for (AppliedMigration appliedMigration : newAppliedMigrations) {
+            if (appliedMigration.getType().isSynthetic()) {
+                refresh();
+                return;
+            }
+        }
 
+        for (AppliedMigration appliedMigration : newAppliedMigrations) {
+            MigrationVersion version = appliedMigration.getVersion();
+            ResolvedMigration resolvedMigration;
+            boolean outOfOrder = false;
+            if (version == null) {
+                context.latestRepeatableRuns.put(appliedMigration.getDescription(), appliedMigration.getInstalledRank());
+                resolvedMigration = resolvedRepeatable.get(appliedMigration.getDescription());
+                if (resolvedMigration != null && ObjectUtils.nullSafeEquals(appliedMigration.getChecksum(), resolvedMigration.getChecksum())) {
+                    pendingMigrationInfos.remove(resolvedMigration);
+                }
+            } else {
+                if (version.compareTo(context.lastApplied) > 0) {
+                    context.lastApplied = version;
+                } else {
+                    outOfOrder = true;
+                }
+                resolvedMigration = resolvedVersioned.get(Pair.of(version, appliedMigration.getType().isUndo()));
+                if (resolvedMigration != null) {
+                    pendingMigrationInfos.remove(resolvedMigration);
+                }
+            }
+            // Newly applied migrations always have the highest installed rank so far
+            appliedMigrationInfos.add(new MigrationInfoImpl(resolvedMigration, appliedMigration, context, outOfOrder
 
 
 
+            ));
+            lastInstalledRank = appliedMigration.getInstalledRank();
+        }
+
+        if (MigrationVersion.CURRENT == target) {
+            context.target = context.lastApplied;
+        }
+
+        migrationInfos = mergeMigrationInfos();
+    }
+
+    /**
+     * Merges the applied migration infos and the pending ones back into a single list in sort order.
+     * {@link MigrationInfoImpl#compareTo} orders applied migrations by installed rank, but ignored ones against applied
+     * ones by version. As this isn't a total order, the result of sorting depends on the order of its input, so the
+     * list is sorted again as a whole from the infos in the same order as a full refresh adds them: applied versioned,
+     * pending versioned, applied repeatable and pending repeatable. Each part is already sorted, which keeps this cheap.
+     *
+     * @return The merged migration infos.
+     */
+    private List<MigrationInfoImpl> mergeMigrationInfos() {
+        List<MigrationInfoImpl> merged = new ArrayList<>(appliedMigrationInfos.size() + pendingMigrationInfos.size());
+        for (boolean versioned : new boolean[]{true, false}) {
+            for (MigrationInfoImpl migrationInfo : appliedMigrationInfos) {
+                if ((migrationInfo.getVersion() != null) == versioned) {
+                    merged.add(migrationInfo);
+                }
+            }
+            for (MigrationInfoImpl migrationInfo : pendingMigrationInfos.values()) {
+                if ((migrationInfo.getVersion() != null) == versioned) {
+                    merged.add(migrationInfo);
+                }
+            }
+        }
+        Collections.sort(merged);
+        return merged;
+    }
+
 
 
 
@@ -276,6 +485,20 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
 
 
 
+
+
+
+
+
+
+    /**
+     * @return The checksum of the snapshot, as calculated over the resolved migrations it covers at the last refresh.
+     * {@code null} if the schema history table contains no snapshot.
+     */
+    public Integer getSnapshotChecksum() {
+        return context.snapshotChecksum;
+    }
+
     public MigrationInfo[] all() {
         return migrationInfos.toArray(new MigrationInfoImpl[0]);
     }
@@ -335,6 +558,11 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
         return appliedMigrations.toArray(new MigrationInfoImpl[0]);
     }
 
+    public Iterable<MigrationInfo> iterate(MigrationInfoFilter filter) {
+        // Filters the infos in place instead of the copy returned by all()
+        return filter.apply(migrationInfos);
+    }
+
     /**
      * Retrieves the full set of infos about the migrations resolved on the classpath.
      *
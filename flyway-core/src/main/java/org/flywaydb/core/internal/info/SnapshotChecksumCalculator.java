@@ -0,0 +1,52 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.info;
+
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+
+import java.nio.charset.Charset;
+import java.util.zip.CRC32;
+
+/**
+ * Calculates the checksum of a snapshot of the schema history table: a digest of the versions and checksums of all
+ * the migrations compacted into it.
+ */
+public class SnapshotChecksumCalculator {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /**
+     * Prevents instantiation.
+     */
+    private SnapshotChecksumCalculator() {
+        // Do nothing
+    }
+
+    /**
+     * Calculates the checksum of these resolved migrations.
+     *
+     * @param resolvedMigrations The resolved versioned migrations, ordered by version.
+     * @return The checksum.
+     */
+    public static int calculate(Iterable<ResolvedMigration> resolvedMigrations) {
+        CRC32 crc32 = new CRC32();
+        for (ResolvedMigration resolvedMigration : resolvedMigrations) {
+            Integer checksum = resolvedMigration.getChecksum();
+            String entry = resolvedMigration.getVersion().getVersion() + ":" + (checksum == null ? "-" : checksum) + "\n";
+            crc32.update(entry.getBytes(UTF8));
+        }
+        return (int) crc32.getValue();
+    }
+}
@@ -22,6 +22,7 @@ import org.flywaydb.core.api.configuration.FlywayConfiguration;
 import org.flywaydb.core.api.resolver.MigrationResolver;
 import org.flywaydb.core.api.resolver.ResolvedMigration;
 import org.flywaydb.core.internal.database.Database;
+import org.flywaydb.core.internal.database.SqlScriptCache;
 import org.flywaydb.core.internal.resolver.jdbc.JdbcMigrationResolver;
 import org.flywaydb.core.internal.resolver.spring.SpringJdbcMigrationResolver;
 import org.flywaydb.core.internal.resolver.sql.SqlMigrationResolver;
@@ -37,6 +38,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Facility for retrieving and sorting the available migrations from the classpath through the various migration
@@ -54,6 +56,16 @@ public class CompositeMigrationResolver implements MigrationResolver {
      */
     private List<ResolvedMigration> availableMigrations;
 
+    /**
+     * The database-specific support.
+     */
+    private final Database database;
+
+    /**
+     * The cache of resolved migrations to share with other executions. {@code null} if none.
+     */
+    private final ResolvedMigrationCache resolvedMigrationCache;
+
     /**
      * Creates a new CompositeMigrationResolver.
      *
@@ -62,15 +74,23 @@ public class CompositeMigrationResolver implements MigrationResolver {
      * @param configuration            The Flyway configuration.
      * @param locations                The locations where migrations are located.
      * @param placeholderReplacer      The placeholder replacer to use.
+     * @param sqlScriptCache           The cache of parsed SQL scripts to share with other executions. {@code null} if none.
+     * @param resolvedMigrationCache   The cache of resolved migrations to share with other executions. {@code null} if none.
+     * @param executorService          The thread pool for background work.
      * @param customMigrationResolvers Custom Migration Resolvers.
      */
     public CompositeMigrationResolver(Database database, Scanner scanner, Configuration configuration,
                                       List<Location> locations,
                                       PlaceholderReplacer placeholderReplacer,
+                                      SqlScriptCache sqlScriptCache,
+                                      ResolvedMigrationCache resolvedMigrationCache,
+                                      ExecutorService executorService,
                                       MigrationResolver... customMigrationResolvers) {
+        this.database = database;
+        this.resolvedMigrationCache = resolvedMigrationCache;
         if (!configuration.isSkipDefaultResolvers()) {
 
-            migrationResolvers.add(new SqlMigrationResolver(database, scanner, locations, placeholderReplacer, configuration));
+            migrationResolvers.add(new SqlMigrationResolver(database, scanner, locations, placeholderReplacer, configuration, sqlScriptCache, executorService));
             migrationResolvers.add(new JdbcMigrationResolver(scanner, locations, configuration));
 
             if (new FeatureDetector(scanner.getClassLoader()).isSpringJdbcAvailable()) {
@@ -90,7 +110,9 @@ public class CompositeMigrationResolver implements MigrationResolver {
      */
     public List<ResolvedMigration> resolveMigrations() {
         if (availableMigrations == null) {
-            availableMigrations = doFindAvailableMigrations();
+            availableMigrations = resolvedMigrationCache == null
+                    ? doFindAvailableMigrations()
+                    : resolvedMigrationCache.getResolvedMigrations(this, database);
         }
 
         return availableMigrations;
@@ -103,7 +125,7 @@ public class CompositeMigrationResolver implements MigrationResolver {
      * can be found.
      * @throws FlywayException when the available migrations have overlapping versions.
      */
-    private List<ResolvedMigration> doFindAvailableMigrations() throws FlywayException {
+    /* private -> for ResolvedMigrationCache */ List<ResolvedMigration> doFindAvailableMigrations() throws FlywayException {
         List<ResolvedMigration> migrations = new ArrayList<>(collectMigrations(migrationResolvers));
         Collections.sort(migrations, new ResolvedMigrationComparator());
 
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver;
+
+import org.flywaydb.core.api.resolver.MigrationExecutor;
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.database.Database;
+import org.flywaydb.core.internal.resolver.sql.SqlMigrationExecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cache of resolved migrations. This lets the migrations be resolved only once when many databases must be migrated
+ * with the same configuration. The executors of SQL migrations are bound to the database they were resolved for, so
+ * each database receives copies of the resolved migrations with executors bound to itself. All other executors,
+ * including the ones of custom resolvers, are shared as is.
+ */
+public class ResolvedMigrationCache {
+    /**
+     * The resolved migrations, sorted by version, oldest first. {@code null} until they have been resolved.
+     */
+    private List<ResolvedMigration> resolvedMigrations;
+
+    /**
+     * Retrieves the resolved migrations for this database, resolving them with this resolver if this hasn't been done
+     * before.
+     *
+     * @param migrationResolver The resolver to use when the migrations haven't been resolved yet.
+     * @param database          The database the migrations will be executed against.
+     * @return The resolved migrations, sorted by version, oldest first.
+     */
+    List<ResolvedMigration> getResolvedMigrations(CompositeMigrationResolver migrationResolver, Database database) {
+        List<ResolvedMigration> migrations;
+        synchronized (this) {
+            if (resolvedMigrations == null) {
+                resolvedMigrations = Collections.unmodifiableList(migrationResolver.doFindAvailableMigrations());
+            }
+            migrations = resolvedMigrations;
+        }
+
+        List<ResolvedMigration> boundMigrations = new ArrayList<>(migrations.size());
+        for (ResolvedMigration migration : migrations) {
+            boundMigrations.add(bind(migration, database));
+        }
+        return boundMigrations;
+    }
+
+    /**
+     * Binds this resolved migration to this database.
+     *
+     * @param migration The resolved migration.
+     * @param database  The database.
+     * @return The resolved migration bound to this database. The same instance if it isn't bound to any database.
+     */
+    private static ResolvedMigration bind(ResolvedMigration migration, Database database) {
+        MigrationExecutor executor = migration.getExecutor();
+        if (!(executor instanceof SqlMigrationExecutor)) {
+            return migration;
+        }
+
+        ResolvedMigrationImpl boundMigration = new ResolvedMigrationImpl();
+        boundMigration.setVersion(migration.getVersion());
+        boundMigration.setDescription(migration.getDescription());
+        boundMigration.setScript(migration.getScript());
+        boundMigration.setChecksum(migration.getChecksum());
+        boundMigration.setType(migration.getType());
+        boundMigration.setPhysicalLocation(migration.getPhysicalLocation());
+        boundMigration.setExecutor(((SqlMigrationExecutor) executor).forDatabase(database));
+        return boundMigration;
+    }
+}
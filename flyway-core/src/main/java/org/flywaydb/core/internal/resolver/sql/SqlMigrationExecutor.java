@@ -19,6 +19,7 @@ import org.flywaydb.core.api.configuration.Configuration;
 import org.flywaydb.core.api.resolver.MigrationExecutor;
 import org.flywaydb.core.internal.database.Database;
 import org.flywaydb.core.internal.database.SqlScript;
+import org.flywaydb.core.internal.database.SqlScriptCache;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
 import org.flywaydb.core.internal.util.scanner.LoadableResource;
 
@@ -50,6 +51,11 @@ public class SqlMigrationExecutor implements MigrationExecutor {
      */
     private final Configuration configuration;
 
+    /**
+     * The cache of parsed SQL scripts to share with other executions. {@code null} if none.
+     */
+    private final SqlScriptCache sqlScriptCache;
+
     /**
      * The SQL script that will be executed.
      */
@@ -62,12 +68,25 @@ public class SqlMigrationExecutor implements MigrationExecutor {
      * @param resource            The resource containing the sql script.
      * @param placeholderReplacer The placeholder replacer to apply to sql migration scripts.
      * @param configuration       The Flyway configuration.
+     * @param sqlScriptCache      The cache of parsed SQL scripts to share with other executions. {@code null} if none.
      */
-    SqlMigrationExecutor(Database database, LoadableResource resource, PlaceholderReplacer placeholderReplacer, Configuration configuration) {
+    SqlMigrationExecutor(Database database, LoadableResource resource, PlaceholderReplacer placeholderReplacer, Configuration configuration,
+                         SqlScriptCache sqlScriptCache) {
         this.database = database;
         this.resource = resource;
         this.placeholderReplacer = placeholderReplacer;
         this.configuration = configuration;
+        this.sqlScriptCache = sqlScriptCache;
+    }
+
+    /**
+     * Creates an executor for the same SQL script against another database.
+     *
+     * @param database The other database.
+     * @return The new executor.
+     */
+    public SqlMigrationExecutor forDatabase(Database database) {
+        return new SqlMigrationExecutor(database, resource, placeholderReplacer, configuration, sqlScriptCache);
     }
 
     @Override
@@ -76,10 +95,20 @@ public class SqlMigrationExecutor implements MigrationExecutor {
     }
 
     private synchronized SqlScript getSqlScript() {
+        if (sqlScript == null && sqlScriptCache != null) {
+            sqlScript = sqlScriptCache.getSqlScript(database, resource,
+                    configuration.getEncoding(),
+                    placeholderReplacer,
+                    configuration.isMixed(),
+                    configuration.isStream(),
+                    configuration.isBatch() ? configuration.getBatchSize() : 0);
+        }
         if (sqlScript == null) {
             sqlScript = database.createSqlScript(resource,
                     placeholderReplacer,
-                    configuration.isMixed()
+                    configuration.isMixed(),
+                    configuration.isStream(),
+                    configuration.isBatch() ? configuration.getBatchSize() : 0
 
 
 
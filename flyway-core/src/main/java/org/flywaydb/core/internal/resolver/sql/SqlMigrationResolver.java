@@ -23,18 +23,24 @@ import org.flywaydb.core.api.configuration.Configuration;
 import org.flywaydb.core.api.resolver.MigrationResolver;
 import org.flywaydb.core.api.resolver.ResolvedMigration;
 import org.flywaydb.core.internal.database.Database;
+import org.flywaydb.core.internal.database.SqlScriptCache;
 import org.flywaydb.core.internal.resolver.MigrationInfoHelper;
 import org.flywaydb.core.internal.resolver.ResolvedMigrationComparator;
 import org.flywaydb.core.internal.resolver.ResolvedMigrationImpl;
+import org.flywaydb.core.internal.util.ConcurrencyUtils;
 import org.flywaydb.core.internal.util.Pair;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.flywaydb.core.internal.util.scanner.ChecksumCache;
 import org.flywaydb.core.internal.util.scanner.LoadableResource;
 import org.flywaydb.core.internal.util.scanner.Resource;
 import org.flywaydb.core.internal.util.scanner.Scanner;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Migration resolver for SQL files on the classpath. The SQL files must have names like
@@ -66,6 +72,16 @@ public class SqlMigrationResolver implements MigrationResolver {
      */
     private final Configuration configuration;
 
+    /**
+     * The cache of parsed SQL scripts to share with other executions. {@code null} if none.
+     */
+    private final SqlScriptCache sqlScriptCache;
+
+    /**
+     * The thread pool to calculate checksums on.
+     */
+    private final ExecutorService executorService;
+
     /**
      * Creates a new instance.
      *
@@ -74,14 +90,19 @@ public class SqlMigrationResolver implements MigrationResolver {
      * @param locations           The locations on the classpath where to migrations are located.
      * @param placeholderReplacer The placeholder replacer to apply to sql migration scripts.
      * @param configuration       The Flyway configuration.
+     * @param sqlScriptCache      The cache of parsed SQL scripts to share with other executions. {@code null} if none.
+     * @param executorService     The thread pool to calculate checksums on.
      */
     public SqlMigrationResolver(Database database, Scanner scanner, List<Location> locations,
-                                PlaceholderReplacer placeholderReplacer, Configuration configuration) {
+                                PlaceholderReplacer placeholderReplacer, Configuration configuration,
+                                SqlScriptCache sqlScriptCache, ExecutorService executorService) {
         this.database = database;
         this.scanner = scanner;
         this.locations = locations;
         this.placeholderReplacer = placeholderReplacer;
         this.configuration = configuration;
+        this.sqlScriptCache = sqlScriptCache;
+        this.executorService = executorService;
     }
 
     public List<ResolvedMigration> resolveMigrations() {
@@ -89,9 +110,11 @@ public class SqlMigrationResolver implements MigrationResolver {
 
         String separator = configuration.getSqlMigrationSeparator();
         String[] suffixes = configuration.getSqlMigrationSuffixes();
+        ChecksumCache checksumCache = configuration.getChecksumCacheFile() == null
+                ? null : ChecksumCache.load(new File(configuration.getChecksumCacheFile()));
         for (Location location : locations) {
             scanForMigrations(location, migrations, configuration.getSqlMigrationPrefix(), separator, suffixes,
-                    false
+                    checksumCache, false
 
 
 
@@ -101,28 +124,39 @@ public class SqlMigrationResolver implements MigrationResolver {
 
 
             scanForMigrations(location, migrations, configuration.getRepeatableSqlMigrationPrefix(), separator, suffixes,
-                    true
+                    checksumCache, true
 
 
 
             );
         }
 
+        if (checksumCache != null) {
+            checksumCache.save();
+        }
+
         Collections.sort(migrations, new ResolvedMigrationComparator());
         return migrations;
     }
 
     private void scanForMigrations(Location location, List<ResolvedMigration> migrations, String prefix,
-                                   String separator, String[] suffixes, boolean repeatable
+                                   String separator, String[] suffixes, ChecksumCache checksumCache,
+                                   boolean repeatable
 
 
 
     ) {
+        List<LoadableResource> resources = new ArrayList<>();
         for (LoadableResource resource : scanner.scanForResources(location, prefix, suffixes)) {
-            String filename = resource.getFilename();
-            if (isSqlCallback(filename, separator, suffixes)) {
-                continue;
+            if (!isSqlCallback(resource.getFilename(), separator, suffixes)) {
+                resources.add(resource);
             }
+        }
+        List<Integer> checksums = calculateChecksums(resources, checksumCache);
+
+        for (int i = 0; i < resources.size(); i++) {
+            LoadableResource resource = resources.get(i);
+            String filename = resource.getFilename();
             Pair<MigrationVersion, String> info =
                     MigrationInfoHelper.extractVersionAndDescription(filename, prefix, separator, suffixes, repeatable);
 
@@ -130,18 +164,39 @@ public class SqlMigrationResolver implements MigrationResolver {
             migration.setVersion(info.getLeft());
             migration.setDescription(info.getRight());
             migration.setScript(extractScriptName(resource, location));
-            migration.setChecksum(resource.checksum());
+            migration.setChecksum(checksums.get(i));
             migration.setType(
 
 
 
                             MigrationType.SQL);
             migration.setPhysicalLocation(resource.getLocationOnDisk());
-            migration.setExecutor(new SqlMigrationExecutor(database, resource, placeholderReplacer, configuration));
+            migration.setExecutor(new SqlMigrationExecutor(database, resource, placeholderReplacer, configuration, sqlScriptCache));
             migrations.add(migration);
         }
     }
 
+    /**
+     * Calculates the checksums of these resources. As this requires reading every resource in full, the work is
+     * spread across the threads of the thread pool. Checksums of unchanged resources are taken from the cache instead.
+     *
+     * @param resources     The resources.
+     * @param checksumCache The checksum cache. {@code null} if none.
+     * @return The checksums, in the same order as the resources.
+     */
+    private List<Integer> calculateChecksums(List<LoadableResource> resources, final ChecksumCache checksumCache) {
+        List<Callable<Integer>> tasks = new ArrayList<>(resources.size());
+        for (final LoadableResource resource : resources) {
+            tasks.add(new Callable<Integer>() {
+                @Override
+                public Integer call() {
+                    return checksumCache == null ? resource.checksum() : checksumCache.checksum(resource);
+                }
+            });
+        }
+        return ConcurrencyUtils.invokeAll(executorService, "checksum calculation", tasks);
+    }
+
     /**
      * Checks whether this filename is actually a sql-based callback instead of a regular migration.
      *
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.schemahistory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The migrations applied on a schema, in the order they were applied. As this is also the order of their installed
+ * ranks, the migrations applied after a given one are found by binary search.
+ */
+public class AppliedMigrations {
+    /**
+     * The applied migrations, ordered by installed rank.
+     */
+    private final List<AppliedMigration> appliedMigrations = new ArrayList<>();
+
+    /**
+     * Read-only view of the applied migrations, handed out to callers.
+     */
+    private final List<AppliedMigration> appliedMigrationsView = Collections.unmodifiableList(appliedMigrations);
+
+    /**
+     * Creates a new, empty, instance.
+     */
+    public AppliedMigrations() {
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param appliedMigrations The applied migrations, ordered by installed rank.
+     */
+    public AppliedMigrations(List<AppliedMigration> appliedMigrations) {
+        for (AppliedMigration appliedMigration : appliedMigrations) {
+            add(appliedMigration);
+        }
+    }
+
+    /**
+     * Adds this applied migration.
+     *
+     * @param appliedMigration The applied migration. Its installed rank must be higher than the one of all migrations
+     *                         added so far.
+     */
+    void add(AppliedMigration appliedMigration) {
+        if (!appliedMigrations.isEmpty() && appliedMigration.getInstalledRank() <= getLastInstalledRank()) {
+            throw new IllegalArgumentException("Applied migrations must be added in the order of their installed rank."
+                    + " Got " + appliedMigration.getInstalledRank() + " after " + getLastInstalledRank());
+        }
+        appliedMigrations.add(appliedMigration);
+    }
+
+    /**
+     * Removes all applied migrations.
+     */
+    void clear() {
+        appliedMigrations.clear();
+    }
+
+    /**
+     * @return The applied migrations in the order they were applied (oldest first), as a read-only list.
+     */
+    public List<AppliedMigration> asList() {
+        return appliedMigrationsView;
+    }
+
+    /**
+     * @return Whether no migration has been applied so far.
+     */
+    public boolean isEmpty() {
+        return appliedMigrations.isEmpty();
+    }
+
+    /**
+     * @return The number of applied migrations.
+     */
+    public int size() {
+        return appliedMigrations.size();
+    }
+
+    /**
+     * @return The first applied migration. {@code null} if none.
+     */
+    public AppliedMigration getFirst() {
+        return appliedMigrations.isEmpty() ? null : appliedMigrations.get(0);
+    }
+
+    /**
+     * @return The installed rank of the last applied migration. -1 if none.
+     */
+    public int getLastInstalledRank() {
+        return appliedMigrations.isEmpty() ? -1 : appliedMigrations.get(appliedMigrations.size() - 1).getInstalledRank();
+    }
+
+    /**
+     * Retrieves the migrations that were applied after the one with this installed rank.
+     *
+     * @param installedRank The installed rank.
+     * @return The migrations applied after it, oldest first. An empty list if none.
+     */
+    public List<AppliedMigration> after(int installedRank) {
+        int index = indexOfInstalledRank(installedRank);
+        // Either the migration itself or the insertion point of its rank
+        int from = index < 0 ? -index - 1 : index + 1;
+        return new ArrayList<>(appliedMigrations.subList(from, appliedMigrations.size()));
+    }
+
+    /**
+     * Searches for this installed rank in the applied migrations, which are ordered by it.
+     *
+     * @param installedRank The installed rank.
+     * @return The index of the applied migration with this installed rank if there is one. Otherwise
+     * (-(insertion point) - 1), just like {@link Collections#binarySearch(List, Object)}.
+     */
+    private int indexOfInstalledRank(int installedRank) {
+        int low = 0;
+        int high = appliedMigrations.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleRank = appliedMigrations.get(middle).getInstalledRank();
+            if (middleRank < installedRank) {
+                low = middle + 1;
+            } else if (middleRank > installedRank) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+}
@@ -25,13 +25,13 @@ import org.flywaydb.core.internal.database.Connection;
 import org.flywaydb.core.internal.database.Database;
 import org.flywaydb.core.internal.database.Table;
 import org.flywaydb.core.internal.exception.FlywaySqlException;
+import org.flywaydb.core.internal.util.AbbreviationUtils;
 import org.flywaydb.core.internal.util.jdbc.JdbcTemplate;
-import org.flywaydb.core.internal.util.jdbc.RowMapper;
+import org.flywaydb.core.internal.util.jdbc.JdbcUtils;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.Callable;
 
@@ -41,6 +41,12 @@ import java.util.concurrent.Callable;
 class JdbcTableSchemaHistory extends SchemaHistory {
     private static final Log LOG = LogFactory.getLog(JdbcTableSchemaHistory.class);
 
+    /**
+     * The number of rows fetched per round trip when reading the schema history table. Large histories are then read
+     * in a few round trips instead of the driver default, which is as low as 10 rows for some drivers.
+     */
+    private static final int FETCH_SIZE = 1000;
+
     /**
      * The database to use.
      */
@@ -56,7 +62,13 @@ class JdbcTableSchemaHistory extends SchemaHistory {
     /**
      * Applied migration cache.
      */
-    private final LinkedList<AppliedMigration> cache = new LinkedList<>();
+    private final AppliedMigrations cache = new AppliedMigrations();
+
+    /**
+     * The statement reading the applied migrations after a given installed rank. Prepared on first use and reused
+     * for every refresh of the cache, until the cache is cleared. {@code null} if not prepared yet.
+     */
+    private PreparedStatement selectStatement;
 
     /**
      * The user invoking Flyway, for audit purposes.
@@ -103,6 +115,12 @@ class JdbcTableSchemaHistory extends SchemaHistory {
     @Override
     public void clearCache() {
         cache.clear();
+        closeSelectStatement();
+    }
+
+    private void closeSelectStatement() {
+        JdbcUtils.closeStatement(selectStatement);
+        selectStatement = null;
     }
 
     @Override
@@ -170,18 +188,67 @@ class JdbcTableSchemaHistory extends SchemaHistory {
 
     @Override
     public List<AppliedMigration> allAppliedMigrations() {
-        if (!exists()) {
-            return new ArrayList<>();
+        return getAppliedMigrations().asList();
+    }
+
+    @Override
+    public AppliedMigrations getAppliedMigrations() {
+        // The table can only disappear while migrations are cached if it is cleaned, which also clears the cache
+        if (cache.isEmpty()) {
+            if (!exists()) {
+                return new AppliedMigrations();
+            }
+        } else {
+            connection.restoreOriginalState();
         }
 
         refreshCache();
         return cache;
     }
 
+    /**
+     * Adds the migrations applied since the last refresh to the cache, reading them in a single pass.
+     */
     private void refreshCache() {
-        int maxCachedInstalledRank = cache.isEmpty() ? -1 : cache.getLast().getInstalledRank();
+        ResultSet resultSet = null;
+        try {
+            if (selectStatement == null) {
+                selectStatement = jdbcTemplate.getConnection().prepareStatement(createSelectQuery());
+                selectStatement.setFetchSize(FETCH_SIZE);
+            }
+            selectStatement.setInt(1, cache.getLastInstalledRank());
+            resultSet = selectStatement.executeQuery();
+            while (resultSet.next()) {
+                Integer checksum = resultSet.getInt("checksum");
+                if (resultSet.wasNull()) {
+                    checksum = null;
+                }
+                String version = resultSet.getString("version");
+
+                cache.add(new AppliedMigration(
+                        resultSet.getInt("installed_rank"),
+                        version != null ? MigrationVersion.fromVersion(version) : null,
+                        resultSet.getString("description"),
+                        MigrationType.valueOf(resultSet.getString("type")),
+                        resultSet.getString("script"),
+                        checksum,
+                        resultSet.getTimestamp("installed_on"),
+                        resultSet.getString("installed_by"),
+                        resultSet.getInt("execution_time"),
+                        resultSet.getBoolean("success")
+                ));
+            }
+        } catch (SQLException e) {
+            closeSelectStatement();
+            throw new FlywaySqlException("Error while retrieving the list of applied migrations from Schema History table "
+                    + table, e);
+        } finally {
+            JdbcUtils.closeResultSet(resultSet);
+        }
+    }
 
-        String query = "SELECT " + database.quote("installed_rank")
+    private String createSelectQuery() {
+        return "SELECT " + database.quote("installed_rank")
                 + "," + database.quote("version")
                 + "," + database.quote("description")
                 + "," + database.quote("type")
@@ -192,35 +259,8 @@ class JdbcTableSchemaHistory extends SchemaHistory {
                 + "," + database.quote("execution_time")
                 + "," + database.quote("success")
                 + " FROM " + table
-                + " WHERE " + database.quote("installed_rank") + " > " + maxCachedInstalledRank
+                + " WHERE " + database.quote("installed_rank") + " > ?"
                 + " ORDER BY " + database.quote("installed_rank");
-
-        try {
-            cache.addAll(jdbcTemplate.query(query, new RowMapper<AppliedMigration>() {
-                public AppliedMigration mapRow(final ResultSet rs) throws SQLException {
-                    Integer checksum = rs.getInt("checksum");
-                    if (rs.wasNull()) {
-                        checksum = null;
-                    }
-
-                    return new AppliedMigration(
-                            rs.getInt("installed_rank"),
-                            rs.getString("version") != null ? MigrationVersion.fromVersion(rs.getString("version")) : null,
-                            rs.getString("description"),
-                            MigrationType.valueOf(rs.getString("type")),
-                            rs.getString("script"),
-                            checksum,
-                            rs.getTimestamp("installed_on"),
-                            rs.getString("installed_by"),
-                            rs.getInt("execution_time"),
-                            rs.getBoolean("success")
-                    );
-                }
-            }));
-        } catch (SQLException e) {
-            throw new FlywaySqlException("Error while retrieving the list of applied migrations from Schema History table "
-                    + table, e);
-        }
     }
 
     @Override
@@ -281,4 +321,84 @@ class JdbcTableSchemaHistory extends SchemaHistory {
                     + " for version " + version, e);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public void updateSnapshotChecksum(AppliedMigration snapshotMigration, int checksum) {
+        connection.restoreOriginalState();
+
+        clearCache();
+
+        MigrationVersion version = snapshotMigration.getVersion();
+
+        LOG.info("Repairing Schema History table for snapshot of version " + version
+                + " (Checksum: " + checksum + ")  ...");
+
+        try {
+            jdbcTemplate.update("UPDATE " + table
+                            + " SET " + database.quote("checksum") + "=?"
+                            + " WHERE " + database.quote("installed_rank") + "=?",
+                    checksum, snapshotMigration.getInstalledRank());
+        } catch (SQLException e) {
+            throw new FlywaySqlException("Unable to repair Schema History table " + table
+                    + " for snapshot of version " + version, e);
+        }
+    }
+
+    @Override
+    public void compact(MigrationVersion version, int checksum, List<AppliedMigration> appliedMigrations) {
+        connection.restoreOriginalState();
+
+        Table archiveTable = table.getSchema().getTable(table.getName() + "_archive");
+        if (!archiveTable.exists()) {
+            LOG.info("Creating Schema History archive table: " + archiveTable);
+            database.getCreateScript(archiveTable).execute(jdbcTemplate);
+
+            // Lock again for databases with no DDL transactions as the implicit commit released the lock
+            if (!database.supportsDdlTransactions()) {
+                table.lock();
+            }
+        }
+
+        // Determined before moving any row, so the installed rank of a compacted migration is never reused
+        int installedRank = getAppliedMigrations().getLastInstalledRank() + 1;
+
+        String columns = database.quote("installed_rank")
+                + "," + database.quote("version")
+                + "," + database.quote("description")
+                + "," + database.quote("type")
+                + "," + database.quote("script")
+                + "," + database.quote("checksum")
+                + "," + database.quote("installed_by")
+                + "," + database.quote("installed_on")
+                + "," + database.quote("execution_time")
+                + "," + database.quote("success");
+        String where = " WHERE " + database.quote("installed_rank") + " = ?";
+
+        PreparedStatement archiveStatement = null;
+        PreparedStatement deleteStatement = null;
+        try {
+            clearCache();
+            archiveStatement = jdbcTemplate.getConnection().prepareStatement(
+                    "INSERT INTO " + archiveTable + " (" + columns + ") SELECT " + columns + " FROM " + table + where);
+            deleteStatement = jdbcTemplate.getConnection().prepareStatement("DELETE FROM " + table + where);
+            for (AppliedMigration appliedMigration : appliedMigrations) {
+                archiveStatement.setInt(1, appliedMigration.getInstalledRank());
+                archiveStatement.addBatch();
+                deleteStatement.setInt(1, appliedMigration.getInstalledRank());
+                deleteStatement.addBatch();
+            }
+            archiveStatement.executeBatch();
+            deleteStatement.executeBatch();
+        } catch (SQLException e) {
+            throw new FlywaySqlException("Unable to archive compacted migrations of Schema History table " + table
+                    + " to " + archiveTable, e);
+        } finally {
+            JdbcUtils.closeStatement(archiveStatement);
+            JdbcUtils.closeStatement(deleteStatement);
+        }
+
+        doAddAppliedMigration(installedRank, version, "<< Flyway Snapshot >>", MigrationType.SNAPSHOT,
+                AbbreviationUtils.abbreviateScript(archiveTable.toString()), checksum, 0, true);
+        clearCache();
+    }
+}
@@ -77,6 +77,28 @@ public abstract class SchemaHistory {
      */
     public abstract List<AppliedMigration> allAppliedMigrations();
 
+    /**
+     * Retrieves the migrations that were applied after the one with this installed rank.
+     *
+     * @param installedRank The installed rank of the last applied migration already known to the caller.
+     * @return The list of migrations applied after it in the order they were applied (oldest first).
+     * An empty list if no migration has been applied since.
+     */
+    public List<AppliedMigration> appliedMigrationsAfter(int installedRank) {
+        return getAppliedMigrations().after(installedRank);
+    }
+
+    /**
+     * Retrieves the applied migrations, indexed for lookups by installed rank, version and description. Implementations
+     * keeping the applied migrations in memory should return them directly, instead of having them copied and
+     * indexed on every call.
+     *
+     * @return The applied migrations.
+     */
+    public AppliedMigrations getAppliedMigrations() {
+        return new AppliedMigrations(allAppliedMigrations());
+    }
+
     /**
      * Creates and initializes the Flyway schema history table.
      *
@@ -133,8 +155,8 @@ public abstract class SchemaHistory {
      * @return {@code true} if it does, {@code false} if it doesn't.
      */
     public final boolean hasSchemasMarker() {
-        List<AppliedMigration> appliedMigrations = allAppliedMigrations();
-        return !appliedMigrations.isEmpty() && appliedMigrations.get(0).getType() == MigrationType.SCHEMA;
+        AppliedMigration firstAppliedMigration = getAppliedMigrations().getFirst();
+        return firstAppliedMigration != null && firstAppliedMigration.getType() == MigrationType.SCHEMA;
     }
 
 
@@ -146,6 +168,25 @@ public abstract class SchemaHistory {
      */
     public abstract void update(AppliedMigration appliedMigration, ResolvedMigration resolvedMigration);
 
+    /**
+     * Updates the checksum of this snapshot migration to match the migrations it now covers.
+     *
+     * @param snapshotMigration The snapshot migration to update.
+     * @param checksum          The checksum of the snapshot, as recalculated over the resolved migrations it covers.
+     */
+    public abstract void updateSnapshotChecksum(AppliedMigration snapshotMigration, int checksum);
+
+    /**
+     * Compacts these applied migrations into a single snapshot migration. Their rows are moved to an archive table
+     * next to the schema history table and replaced by a SNAPSHOT row recording the version and the checksum of the
+     * snapshot.
+     *
+     * @param version           The version of the snapshot. All migrations up to this version are compacted.
+     * @param checksum          The checksum of the snapshot, as calculated over the resolved migrations it covers.
+     * @param appliedMigrations The applied migrations to compact, including any previous snapshot.
+     */
+    public abstract void compact(MigrationVersion version, int checksum, List<AppliedMigration> appliedMigrations);
+
     /**
      * Clears the applied migration cache.
      */
@@ -184,11 +225,11 @@ public abstract class SchemaHistory {
      * @return The installed rank.
      */
     private int calculateInstalledRank() {
-        List<AppliedMigration> appliedMigrations = allAppliedMigrations();
+        AppliedMigrations appliedMigrations = getAppliedMigrations();
         if (appliedMigrations.isEmpty()) {
             return 1;
         }
-        return appliedMigrations.get(appliedMigrations.size() - 1).getInstalledRank() + 1;
+        return appliedMigrations.getLastInstalledRank() + 1;
     }
 
     protected abstract void doAddAppliedMigration(int installedRank, MigrationVersion version, String description,
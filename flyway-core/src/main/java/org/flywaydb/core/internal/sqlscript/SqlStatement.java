@@ -36,6 +36,12 @@ public interface SqlStatement<C extends ContextImpl> {
      */
     String getSql();
 
+    /**
+     * @return Whether this statement can be sent to the database as part of a JDBC batch together with other
+     * batchable statements.
+     */
+    boolean isBatchable();
+
     /**
      * Executes this statement against the database.
      *
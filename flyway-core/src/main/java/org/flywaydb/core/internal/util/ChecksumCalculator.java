@@ -0,0 +1,217 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Calculates the checksum of a text resource. This is the CRC32 of the UTF-8 encoding of each of its lines, after
+ * these have been trimmed.
+ * <p>
+ * Characters are trimmed and encoded on the fly into a single reusable buffer, instead of allocating a trimmed String
+ * and a byte array for every line. Instances are not thread-safe.
+ * </p>
+ */
+public class ChecksumCalculator {
+    /**
+     * The byte {@link String#getBytes(java.nio.charset.Charset)} substitutes for characters that can't be encoded.
+     */
+    private static final byte REPLACEMENT = '?';
+
+    private final CRC32 crc32 = new CRC32();
+
+    /**
+     * The size from which the encoded bytes are fed to the CRC32.
+     */
+    private static final int FLUSH_THRESHOLD = 8192;
+
+    /**
+     * The UTF-8 encoding of the completed lines not yet fed to the CRC32, followed by the current line without its
+     * leading whitespace. As the checksum of consecutive lines is the same as the one of their concatenation, the
+     * lines can be fed in bulk.
+     */
+    private byte[] bytes = new byte[2 * FLUSH_THRESHOLD];
+
+    /**
+     * The position in the buffer where the current line starts.
+     */
+    private int lineStart;
+
+    /**
+     * The position in the buffer after the last byte encoded so far.
+     */
+    private int length;
+
+    /**
+     * The position in the buffer after the last non-whitespace character of the current line.
+     */
+    private int trimmedLength;
+
+    /**
+     * The high surrogate waiting for its matching low surrogate. 0 if none.
+     */
+    private char highSurrogate;
+
+    /**
+     * Calculates the checksum of all the characters that can be read from this reader. The reader is not closed.
+     *
+     * @param reader The reader.
+     * @return The checksum.
+     * @throws IOException when the reader could not be read.
+     */
+    public static int calculate(Reader reader) throws IOException {
+        ChecksumCalculator calculator = new ChecksumCalculator();
+        char[] buffer = new char[4096];
+        int count;
+        while ((count = reader.read(buffer)) != -1) {
+            calculator.update(buffer, 0, count);
+        }
+        return calculator.getValue();
+    }
+
+    /**
+     * Updates the checksum with these characters.
+     *
+     * @param chars  The characters.
+     * @param offset The offset of the first character to use.
+     * @param count  The number of characters to use.
+     */
+    public void update(char[] chars, int offset, int count) {
+        for (int i = offset; i < offset + count; i++) {
+            update(chars[i]);
+        }
+    }
+
+    /**
+     * Updates the checksum with the remaining characters of this buffer.
+     *
+     * @param chars The characters.
+     */
+    public void update(CharBuffer chars) {
+        if (chars.hasArray()) {
+            update(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining());
+            chars.position(chars.limit());
+            return;
+        }
+        while (chars.hasRemaining()) {
+            update(chars.get());
+        }
+    }
+
+    /**
+     * Updates the checksum with these characters.
+     *
+     * @param chars The characters.
+     */
+    public void update(CharSequence chars) {
+        for (int i = 0; i < chars.length(); i++) {
+            update(chars.charAt(i));
+        }
+    }
+
+    /**
+     * Updates the checksum with this character.
+     *
+     * @param c The character.
+     */
+    public void update(char c) {
+        ensureCapacity();
+
+        if (highSurrogate != 0) {
+            char high = highSurrogate;
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(high, c);
+                bytes[length++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[length++] = (byte) (0x80 | (codePoint & 0x3F));
+                trimmedLength = length;
+                return;
+            }
+            bytes[length++] = REPLACEMENT;
+            trimmedLength = length;
+            ensureCapacity();
+        }
+
+        if (c == '\n') {
+            endLine();
+        } else if (c <= ' ') {
+            // Same definition of whitespace as String.trim(). Only kept if followed by something else on this line.
+            if (length > lineStart) {
+                bytes[length++] = (byte) c;
+            }
+        } else if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else {
+            if (c < 0x80) {
+                bytes[length++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[length++] = (byte) (0xC0 | (c >> 6));
+                bytes[length++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isLowSurrogate(c)) {
+                bytes[length++] = REPLACEMENT;
+            } else {
+                bytes[length++] = (byte) (0xE0 | (c >> 12));
+                bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[length++] = (byte) (0x80 | (c & 0x3F));
+            }
+            trimmedLength = length;
+        }
+    }
+
+    /**
+     * @return The checksum of all characters seen so far.
+     */
+    public int getValue() {
+        if (highSurrogate != 0) {
+            highSurrogate = 0;
+            ensureCapacity();
+            bytes[length++] = REPLACEMENT;
+            trimmedLength = length;
+        }
+        endLine();
+        crc32.update(bytes, 0, length);
+        length = 0;
+        lineStart = 0;
+        trimmedLength = 0;
+        return (int) crc32.getValue();
+    }
+
+    private void endLine() {
+        length = trimmedLength;
+        if (length >= FLUSH_THRESHOLD) {
+            crc32.update(bytes, 0, length);
+            length = 0;
+            trimmedLength = 0;
+        }
+        lineStart = length;
+    }
+
+    /**
+     * Ensures there is room for at least one more fully encoded character.
+     */
+    private void ensureCapacity() {
+        if (length + 4 > bytes.length) {
+            byte[] newBytes = new byte[bytes.length * 2];
+            System.arraycopy(bytes, 0, newBytes, 0, length);
+            bytes = newBytes;
+        }
+    }
+}
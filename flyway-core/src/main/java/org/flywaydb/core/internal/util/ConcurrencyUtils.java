@@ -0,0 +1,162 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util;
+
+import org.flywaydb.core.api.FlywayException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Utility class for running work on background threads.
+ */
+public class ConcurrencyUtils {
+    /**
+     * Prevents instantiation.
+     */
+    private ConcurrencyUtils() {
+        //Do nothing
+    }
+
+    /**
+     * @return The number of processors available to the JVM.
+     */
+    public static int availableProcessors() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Creates a new fixed-size thread pool whose daemon threads won't prevent the JVM from exiting. Threads that have
+     * been idle for a minute terminate, so a pool that is never shut down doesn't hold on to them.
+     *
+     * @param name    The prefix of the names of the threads.
+     * @param threads The maximum number of threads.
+     * @return The new thread pool.
+     */
+    public static ExecutorService newDaemonThreadPool(final String name, int threads) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Executes these tasks in parallel using up to one thread per available processor and waits for all of them to
+     * complete.
+     *
+     * @param name  The prefix of the names of the threads.
+     * @param tasks The tasks to execute.
+     * @param <T>   The type of the results.
+     * @return The results of the tasks (in the same order as the tasks).
+     * @throws FlywayException when a task failed or the thread was interrupted. Runtime exceptions thrown by a task
+     *                         are rethrown as is.
+     */
+    public static <T> List<T> invokeAll(String name, List<? extends Callable<T>> tasks) {
+        return invokeAll(name, availableProcessors(), tasks);
+    }
+
+    /**
+     * Executes these tasks in parallel using up to this number of threads and waits for all of them to complete.
+     *
+     * @param name    The prefix of the names of the threads.
+     * @param threads The maximum number of threads. Tasks mostly waiting on I/O may use more threads than there are
+     *                processors.
+     * @param tasks   The tasks to execute.
+     * @param <T>     The type of the results.
+     * @return The results of the tasks (in the same order as the tasks).
+     * @throws FlywayException when a task failed or the thread was interrupted. Runtime exceptions thrown by a task
+     *                         are rethrown as is.
+     */
+    public static <T> List<T> invokeAll(String name, int threads, List<? extends Callable<T>> tasks) {
+        List<T> results = new ArrayList<>(tasks.size());
+        if (tasks.size() < 2) {
+            for (Callable<T> task : tasks) {
+                try {
+                    results.add(task.call());
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new FlywayException(e.getMessage(), e);
+                }
+            }
+            return results;
+        }
+
+        ExecutorService executorService = newDaemonThreadPool(name, Math.min(threads, tasks.size()));
+        try {
+            return invokeAll(executorService, name, tasks);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Executes these tasks in parallel on this thread pool and waits for all of them to complete. The thread pool is
+     * left running, so it can be reused for other tasks.
+     *
+     * @param executorService The thread pool to use. Its tasks must never wait on other tasks of the same pool.
+     * @param name            The name of the work, for reporting.
+     * @param tasks           The tasks to execute.
+     * @param <T>             The type of the results.
+     * @return The results of the tasks (in the same order as the tasks).
+     * @throws FlywayException when a task failed or the thread was interrupted. Runtime exceptions thrown by a task
+     *                         are rethrown as is.
+     */
+    public static <T> List<T> invokeAll(ExecutorService executorService, String name, List<? extends Callable<T>> tasks) {
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (Callable<T> task : tasks) {
+                futures.add(executorService.submit(task));
+            }
+            List<T> results = new ArrayList<>(tasks.size());
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FlywayException("Interrupted while waiting for " + name + " to complete", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new FlywayException(e.getCause().getMessage(), e.getCause());
+        } finally {
+            // Don't leave the remaining tasks of a failed invocation running on the shared pool
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+}
@@ -21,8 +21,6 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Tool for replacing placeholders.
@@ -53,8 +51,6 @@ public class PlaceholderReplacer {
      */
     private final String placeholderSuffix;
 
-    private final Pattern pattern;
-
     /**
      * Creates a new PlaceholderReplacer.
      *
@@ -63,50 +59,104 @@ public class PlaceholderReplacer {
      * @param placeholderSuffix The suffix of every placeholder. Usually }
      */
     public PlaceholderReplacer(Map<String, String> placeholders, String placeholderPrefix, String placeholderSuffix) {
-        this.placeholders = placeholders;
+        this.placeholders = new HashMap<>(placeholders);
         this.placeholderPrefix = placeholderPrefix;
         this.placeholderSuffix = placeholderSuffix;
-        this.pattern = Pattern.compile(Pattern.quote(placeholderPrefix) + "(.+?)" + Pattern.quote(placeholderSuffix));
     }
 
     /**
-     * Replaces the placeholders in this input string with their corresponding values.
+     * Replaces the placeholders in this input string with their corresponding values. The input is scanned only once,
+     * looking up each placeholder expression as it is found and recording the ones without value. Inputs without
+     * placeholder prefix are returned as is.
      *
      * @param input The input to process.
      * @return The input string with all placeholders replaced.
+     * @throws FlywayException when the input contains placeholder expressions without corresponding value.
      */
     public String replacePlaceholders(String input) {
-        String noPlaceholders = input;
+        int start = input.indexOf(placeholderPrefix);
+        if (start < 0) {
+            return input;
+        }
+
+        StringBuilder result = null;
+        Set<String> unmatchedPlaceHolderExpressions = null;
+        int copied = 0;
+        while (start >= 0) {
+            int nameStart = start + placeholderPrefix.length();
+            int end = input.indexOf(placeholderSuffix, nameStart);
+            if (end < 0) {
+                break;
+            }
+
+            String placeholder = input.substring(nameStart, end);
+            if (placeholders.containsKey(placeholder)) {
+                if (result == null) {
+                    result = new StringBuilder(input.length() + 16);
+                }
+                String value = placeholders.get(placeholder);
+                result.append(input, copied, start).append(value == null ? "" : value);
+                copied = end + placeholderSuffix.length();
+                start = input.indexOf(placeholderPrefix, copied);
+            } else {
+                if (isPlaceholderExpression(placeholder)) {
+                    if (unmatchedPlaceHolderExpressions == null) {
+                        unmatchedPlaceHolderExpressions = new TreeSet<>();
+                    }
+                    unmatchedPlaceHolderExpressions.add(input.substring(start, end + placeholderSuffix.length()));
+                }
+                // Not a placeholder, but another expression may start within it.
+                start = input.indexOf(placeholderPrefix, start + 1);
+            }
+        }
 
-        for (String placeholder : placeholders.keySet()) {
-            String searchTerm = placeholderPrefix + placeholder + placeholderSuffix;
-            String value = placeholders.get(placeholder);
-            noPlaceholders = noPlaceholders.replace(searchTerm, value == null ? "" : value);
+        if (unmatchedPlaceHolderExpressions != null) {
+            throw new FlywayException("No value provided for placeholder expressions: "
+                    + StringUtils.collectionToCommaDelimitedString(unmatchedPlaceHolderExpressions)
+                    + ".  Check your configuration!");
         }
-        checkForUnmatchedPlaceholderExpression(noPlaceholders);
 
-        return noPlaceholders;
+        return result == null ? input : result.append(input, copied, input.length()).toString();
     }
 
     /**
-     * Check for unmatched placeholder expressions in the input string and throw
-     * a FlywayException if they do not have corresponding values.
+     * Checks whether this text between a placeholder prefix and suffix is meant as a placeholder name. Empty text,
+     * text spanning several lines and text containing the start of another expression are not.
      *
-     * @param input The input string.
-     * @throws FlywayException An exception listing the unmatched expressions.
+     * @param name The text between the prefix and the suffix.
+     * @return {@code true} if it is a placeholder name, {@code false} if not.
      */
-    private void checkForUnmatchedPlaceholderExpression(String input) {
-        Matcher matcher = pattern.matcher(input);
+    private boolean isPlaceholderExpression(String name) {
+        return !name.isEmpty() && !name.contains(placeholderPrefix) && !containsLineTerminator(name);
+    }
 
-        Set<String> unmatchedPlaceHolderExpressions = new TreeSet<>();
-        while (matcher.find()) {
-            unmatchedPlaceHolderExpressions.add(matcher.group());
+    private static boolean containsLineTerminator(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return true;
+            }
         }
+        return false;
+    }
 
-        if (!unmatchedPlaceHolderExpressions.isEmpty()) {
-            throw new FlywayException("No value provided for placeholder expressions: "
-                    + StringUtils.collectionToCommaDelimitedString(unmatchedPlaceHolderExpressions)
-                    + ".  Check your configuration!");
-        }
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        PlaceholderReplacer that = (PlaceholderReplacer) o;
+
+        return placeholders.equals(that.placeholders)
+                && placeholderPrefix.equals(that.placeholderPrefix)
+                && placeholderSuffix.equals(that.placeholderSuffix);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = placeholders.hashCode();
+        result = 31 * result + placeholderPrefix.hashCode();
+        result = 31 * result + placeholderSuffix.hashCode();
+        return result;
     }
-}
\ No newline at end of file
+}
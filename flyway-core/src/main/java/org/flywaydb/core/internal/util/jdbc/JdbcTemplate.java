@@ -270,6 +270,37 @@ public class JdbcTemplate {
         }
     }
 
+    /**
+     * Executes these sql statements as a single JDBC batch.
+     *
+     * @param errorContext The error context to which any warnings are added.
+     * @param sqls         The statements to execute.
+     * @return The update counts of the statements (in order).
+     * @throws SQLException when the execution fails. In case of a {@link java.sql.BatchUpdateException}, its update
+     *                      counts indicate which statements were executed before the failure.
+     */
+    public int[] executeBatch(ContextImpl errorContext, List<String> sqls) throws SQLException {
+        Statement statement = null;
+        try {
+            statement = connection.createStatement();
+            statement.setEscapeProcessing(false);
+            for (String sql : sqls) {
+                statement.addBatch(sql);
+            }
+            try {
+                return statement.executeBatch();
+            } finally {
+                @SuppressWarnings("ThrowableResultOfMethodCallIgnored") SQLWarning warning = statement.getWarnings();
+                while (warning != null) {
+                    errorContext.addWarning(new WarningImpl(warning.getErrorCode(), warning.getSQLState(), warning.getMessage()));
+                    warning = warning.getNextWarning();
+                }
+            }
+        } finally {
+            JdbcUtils.closeStatement(statement);
+        }
+    }
+
     private List<Result> extractResults(Statement statement, boolean hasResults) throws SQLException {
         List<Result> results = new ArrayList<>();
 
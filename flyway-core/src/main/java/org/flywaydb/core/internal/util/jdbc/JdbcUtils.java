@@ -21,6 +21,7 @@ import org.flywaydb.core.api.logging.LogFactory;
 import org.flywaydb.core.internal.exception.FlywaySqlException;
 
 import javax.sql.DataSource;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -108,4 +109,26 @@ public class JdbcUtils {
             LOG.error("Error while closing JDBC resultSet", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Determines which statement of a batch caused it to fail. Depending on the driver, either only the update counts
+     * of the statements executed before the failure are reported, or all failed statements are marked as
+     * {@link Statement#EXECUTE_FAILED}.
+     *
+     * @param e         The exception thrown by the batch.
+     * @param batchSize The number of statements in the batch.
+     * @return The index of the failed statement within the batch (0 if it can't be determined).
+     */
+    public static int getFailedStatementIndex(BatchUpdateException e, int batchSize) {
+        int[] updateCounts = e.getUpdateCounts();
+        if (updateCounts == null) {
+            return 0;
+        }
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+                return i;
+            }
+        }
+        return updateCounts.length < batchSize ? updateCounts.length : 0;
+    }
+}
@@ -21,6 +21,11 @@ public class PlaceholderReplacingLine implements Line {
     private final Line line;
     private final PlaceholderReplacer placeholderReplacer;
 
+    /**
+     * The line with its placeholders replaced. {@code null} until first requested.
+     */
+    private String replacedLine;
+
     public PlaceholderReplacingLine(Line line, PlaceholderReplacer placeholderReplacer) {
         this.line = line;
         this.placeholderReplacer = placeholderReplacer;
@@ -33,6 +38,9 @@ public class PlaceholderReplacingLine implements Line {
 
     @Override
     public String getLine() {
-        return placeholderReplacer.replacePlaceholders(line.getLine());
+        if (replacedLine == null) {
+            replacedLine = placeholderReplacer.replacePlaceholders(line.getLine());
+        }
+        return replacedLine;
     }
 }
\ No newline at end of file
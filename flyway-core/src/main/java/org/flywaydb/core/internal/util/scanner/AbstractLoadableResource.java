@@ -16,38 +16,86 @@
 package org.flywaydb.core.internal.util.scanner;
 
 import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.internal.util.ChecksumCalculator;
 import org.flywaydb.core.internal.util.IOUtils;
 import org.flywaydb.core.internal.util.line.Line;
 import org.flywaydb.core.internal.util.line.LineReader;
 
+import java.io.File;
 import java.io.IOException;
-import java.util.zip.CRC32;
+import java.nio.charset.Charset;
 
 public abstract class AbstractLoadableResource implements LoadableResource {
+    /**
+     * The time in milliseconds for which a file must remain unmodified before it gets a fingerprint. This guards
+     * against modifications within the same tick of the file system clock going unnoticed.
+     */
+    private static final long FINGERPRINT_MIN_AGE = 2000L;
+
     private Integer checksum;
 
+    protected AbstractLoadableResource() {
+    }
+
+    /**
+     * @param checksum The checksum of this resource, if already known. {@code null} if it must be calculated.
+     */
+    protected AbstractLoadableResource(Integer checksum) {
+        this.checksum = checksum;
+    }
+
     @Override
     public final int checksum() {
         if (checksum == null) {
-            final CRC32 crc32 = new CRC32();
-
-            LineReader lineReader = null;
             try {
-                lineReader = loadAsString();
-                Line line;
-                while ((line = lineReader.readLine()) != null) {
-                    //noinspection Since15
-                    crc32.update(line.getLine().trim().getBytes("UTF-8"));
-                }
+                checksum = calculateChecksum();
             } catch (IOException e) {
                 throw new FlywayException("Unable to calculate checksum for " + getLocation()
                         + " (" + getLocationOnDisk() + "): " + e.getMessage(), e);
-            } finally {
-                IOUtils.close(lineReader);
             }
-
-            checksum = (int) crc32.getValue();
         }
         return checksum;
     }
+
+    @Override
+    public String getFingerprint() {
+        return null;
+    }
+
+    /**
+     * Creates a fingerprint of this file based on its path, size and modification time.
+     *
+     * @param file     The file.
+     * @param encoding The encoding used to read the file.
+     * @return The fingerprint or {@code null} if the file doesn't exist or was modified too recently.
+     */
+    protected static String getFingerprint(File file, Charset encoding) {
+        long lastModified = file.lastModified();
+        if (lastModified == 0 || lastModified > System.currentTimeMillis() - FINGERPRINT_MIN_AGE) {
+            return null;
+        }
+        return "file:" + file.getAbsolutePath() + "|" + file.length() + "|" + lastModified + "|" + encoding.name();
+    }
+
+    /**
+     * Calculates the checksum of this resource by reading it line by line. Resources that can access their contents
+     * more directly can override this, as long as the result stays the same.
+     *
+     * @return The checksum.
+     * @throws IOException when the resource could not be read.
+     */
+    protected int calculateChecksum() throws IOException {
+        ChecksumCalculator calculator = new ChecksumCalculator();
+        LineReader lineReader = null;
+        try {
+            lineReader = loadAsString();
+            Line line;
+            while ((line = lineReader.readLine()) != null) {
+                calculator.update(line.getLine());
+            }
+        } finally {
+            IOUtils.close(lineReader);
+        }
+        return calculator.getValue();
+    }
 }
\ No newline at end of file
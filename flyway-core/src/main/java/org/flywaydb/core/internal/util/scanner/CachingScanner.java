@@ -0,0 +1,384 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.Location;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Scanner that only scans each location once and returns the same resources and classes on subsequent scans.
+ * This makes it safe to share a single instance between multiple threads. Call {@link #revalidate()} before reusing
+ * an instance at a later point in time, to pick up resources and classes which have been added or modified in the
+ * meantime.
+ */
+public class CachingScanner extends Scanner {
+    /**
+     * The resources found so far, per location, prefix and suffixes.
+     */
+    private final ConcurrentMap<String, ResourceScan> resources = new ConcurrentHashMap<>();
+
+    /**
+     * The classes found so far, per location and implemented interface.
+     */
+    private final ConcurrentMap<String, ClassScan> classes = new ConcurrentHashMap<>();
+
+    /**
+     * Whether classpath locations can be fingerprinted through the urls they resolve to.
+     */
+    private final boolean fingerprintable;
+
+    public CachingScanner(ClassLoader classLoader, Charset encoding, ExecutorService executorService) {
+        super(classLoader, encoding, executorService);
+        fingerprintable = !isAndroid() && !classLoader.getClass().getName().startsWith("com.ibm");
+    }
+
+    @Override
+    public LoadableResource[] scanForResources(Location location, String prefix, String[] suffixes) {
+        String key = location.getDescriptor() + "|" + prefix + "|" + Arrays.toString(suffixes);
+        ResourceScan result = resources.get(key);
+        if (result == null) {
+            // The underlying scanners are not thread-safe.
+            synchronized (this) {
+                result = resources.get(key);
+                if (result == null) {
+                    result = new ResourceScan(location, prefix, suffixes);
+                    if (location.isClassPath()) {
+                        result.locationFingerprint = getClassPathFingerprint(location);
+                    }
+                    result.setResources(super.scanForResources(location, prefix, suffixes));
+                    resources.put(key, result);
+                }
+            }
+        }
+        return result.getResources().clone();
+    }
+
+    /**
+     * Revalidates the resources and classes found so far. Locations on the filesystem are scanned again. Locations on
+     * the classpath are only scanned again when their fingerprint changed, when they can't be fingerprinted or when
+     * one of their resources has been modified or can't be fingerprinted. Resources whose fingerprint is unchanged
+     * are kept, along with their already calculated checksum. Classes that were already loaded stay the same, as
+     * they can't be reloaded.
+     */
+    public synchronized void revalidate() {
+        Map<String, String> locationFingerprints = new HashMap<>();
+        boolean classPathReset = false;
+
+        for (ResourceScan scan : resources.values()) {
+            if (scan.location.isClassPath()) {
+                String locationFingerprint = getClassPathFingerprint(scan.location, locationFingerprints);
+                if (locationFingerprint != null && locationFingerprint.equals(scan.locationFingerprint)
+                        && !scan.isModified()) {
+                    continue;
+                }
+                if (!classPathReset) {
+                    resetClassPath();
+                    classPathReset = true;
+                }
+                scan.locationFingerprint = locationFingerprint;
+            }
+
+            Map<String, LoadableResource> unchanged = new HashMap<>();
+            for (int i = 0; i < scan.resources.length; i++) {
+                if (scan.fingerprints[i] != null) {
+                    unchanged.put(scan.fingerprints[i], scan.resources[i]);
+                }
+            }
+
+            LoadableResource[] result = super.scanForResources(scan.location, scan.prefix, scan.suffixes);
+            for (int i = 0; i < result.length; i++) {
+                String fingerprint = result[i].getFingerprint();
+                if (fingerprint != null && unchanged.containsKey(fingerprint)) {
+                    result[i] = unchanged.get(fingerprint);
+                }
+            }
+            scan.setResources(result);
+        }
+
+        for (ClassScan scan : classes.values()) {
+            String locationFingerprint = getClassPathFingerprint(scan.location, locationFingerprints);
+            if (locationFingerprint != null && locationFingerprint.equals(scan.locationFingerprint)) {
+                continue;
+            }
+            if (!classPathReset) {
+                resetClassPath();
+                classPathReset = true;
+            }
+            try {
+                scan.classes = super.scanForClasses(scan.location, scan.implementedInterface);
+            } catch (Exception e) {
+                throw new FlywayException("Unable to scan for Java migrations in location: " + scan.location, e);
+            }
+            scan.locationFingerprint = locationFingerprint;
+        }
+    }
+
+    /**
+     * Revalidates the resources found so far on the filesystem after only these files and directories have changed.
+     * Only the changed paths are scanned again, instead of the locations containing them. The resources of all other
+     * paths are kept, along with their already calculated checksum. Locations on the classpath and classes are left
+     * untouched.
+     *
+     * @param changedPaths The files and directories on the filesystem that have been added, modified or removed.
+     */
+    public synchronized void revalidate(Collection<Path> changedPaths) {
+        List<Path> normalizedPaths = new ArrayList<>(changedPaths.size());
+        for (Path changedPath : changedPaths) {
+            normalizedPaths.add(normalize(changedPath));
+        }
+
+        for (ResourceScan scan : resources.values()) {
+            if (!scan.location.isFileSystem()) {
+                continue;
+            }
+
+            // Resources are named after the location as configured, so changed paths are resolved against it.
+            Path locationPath = Paths.get(scan.location.getPath());
+            Path normalizedLocationPath = normalize(locationPath);
+            List<Path> scanPaths = new ArrayList<>();
+            for (Path changedPath : normalizedPaths) {
+                if (changedPath.startsWith(normalizedLocationPath)) {
+                    scanPaths.add(locationPath.resolve(normalizedLocationPath.relativize(changedPath)));
+                }
+            }
+            if (scanPaths.isEmpty()) {
+                continue;
+            }
+
+            // The fingerprints of the kept resources are kept as well, as they are the ones their checksums match.
+            Map<LoadableResource, String> result = new TreeMap<>();
+            Map<String, LoadableResource> unchanged = new HashMap<>();
+            for (int i = 0; i < scan.resources.length; i++) {
+                if (!isBelow(Paths.get(scan.resources[i].getLocation()), scanPaths)) {
+                    result.put(scan.resources[i], scan.fingerprints[i]);
+                } else if (scan.fingerprints[i] != null) {
+                    unchanged.put(scan.fingerprints[i], scan.resources[i]);
+                }
+            }
+
+            for (Path scanPath : scanPaths) {
+                for (LoadableResource resource : scanFileSystemPath(scanPath, scan.prefix, scan.suffixes)) {
+                    String fingerprint = resource.getFingerprint();
+                    if (fingerprint != null && unchanged.containsKey(fingerprint)) {
+                        resource = unchanged.get(fingerprint);
+                    }
+                    result.put(resource, fingerprint);
+                }
+            }
+            scan.setResources(result.keySet().toArray(new LoadableResource[result.size()]),
+                    result.values().toArray(new String[result.size()]));
+        }
+    }
+
+    private static Path normalize(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    private static boolean isBelow(Path path, List<Path> directories) {
+        for (Path directory : directories) {
+            if (path.startsWith(directory)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Class<?>[] scanForClasses(Location location, Class<?> implementedInterface) throws Exception {
+        String key = location.getDescriptor() + "|" + implementedInterface.getName();
+        ClassScan result = classes.get(key);
+        if (result == null) {
+            // The underlying scanners are not thread-safe.
+            synchronized (this) {
+                result = classes.get(key);
+                if (result == null) {
+                    result = new ClassScan(location, implementedInterface);
+                    result.locationFingerprint = getClassPathFingerprint(location);
+                    result.classes = super.scanForClasses(location, implementedInterface);
+                    classes.put(key, result);
+                }
+            }
+        }
+        return result.classes.clone();
+    }
+
+    private String getClassPathFingerprint(Location location, Map<String, String> locationFingerprints) {
+        String descriptor = location.getDescriptor();
+        if (!locationFingerprints.containsKey(descriptor)) {
+            locationFingerprints.put(descriptor, getClassPathFingerprint(location));
+        }
+        return locationFingerprints.get(descriptor);
+    }
+
+    /**
+     * Fingerprints this location on the classpath. The fingerprint consists of the urls the location resolves to,
+     * along with the path, size and modification time of the files below it for directories and of the jar file
+     * itself for jars. It changes whenever resources or classes are added to or removed from the location, or
+     * modified.
+     *
+     * @param location The location on the classpath.
+     * @return The fingerprint or {@code null} if the location can't be fingerprinted.
+     */
+    private String getClassPathFingerprint(Location location) {
+        if (!fingerprintable) {
+            return null;
+        }
+
+        StringBuilder fingerprint = new StringBuilder();
+        try {
+            Enumeration<URL> urls = getClassLoader().getResources(location.getPath());
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                fingerprint.append(url.toExternalForm()).append('\n');
+                if ("file".equals(url.getProtocol())) {
+                    appendDirectoryFingerprint(new File(url.toURI()), "", fingerprint);
+                } else if ("jar".equals(url.getProtocol()) && url.getPath().startsWith("file:")
+                        && url.getPath().contains("!/")) {
+                    String jarUrl = url.getPath().substring(0, url.getPath().indexOf("!/"));
+                    appendFileFingerprint(new File(new URL(jarUrl).toURI()), "", fingerprint);
+                } else {
+                    // Other protocols, like vfs or bundle, are always scanned again.
+                    return null;
+                }
+            }
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+        return fingerprint.toString();
+    }
+
+    private static void appendDirectoryFingerprint(File directory, String path, StringBuilder fingerprint) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files);
+        for (File file : files) {
+            if (file.isDirectory()) {
+                appendDirectoryFingerprint(file, path + file.getName() + "/", fingerprint);
+            } else {
+                appendFileFingerprint(file, path + file.getName(), fingerprint);
+            }
+        }
+    }
+
+    private static void appendFileFingerprint(File file, String path, StringBuilder fingerprint) {
+        fingerprint.append(path).append('|').append(file.length()).append('|').append(file.lastModified()).append('\n');
+    }
+
+    /**
+     * The resources found by scanning a location for a prefix and suffixes.
+     */
+    private static class ResourceScan {
+        private final Location location;
+        private final String prefix;
+        private final String[] suffixes;
+
+        /**
+         * The resources found.
+         */
+        private volatile LoadableResource[] resources;
+
+        /**
+         * The fingerprints of the resources at the time they were found, in the same order as the resources.
+         * {@code null} for resources without fingerprint.
+         */
+        private String[] fingerprints;
+
+        /**
+         * The fingerprint of the location on the classpath at the time it was scanned. {@code null} for locations on
+         * the filesystem and for locations that can't be fingerprinted.
+         */
+        private String locationFingerprint;
+
+        ResourceScan(Location location, String prefix, String[] suffixes) {
+            this.location = location;
+            this.prefix = prefix;
+            this.suffixes = suffixes;
+        }
+
+        LoadableResource[] getResources() {
+            return resources;
+        }
+
+        void setResources(LoadableResource[] resources) {
+            setResources(resources, getFingerprints(resources));
+        }
+
+        void setResources(LoadableResource[] resources, String[] fingerprints) {
+            this.fingerprints = fingerprints;
+            this.resources = resources;
+        }
+
+        /**
+         * @return Whether any of the resources has been modified since it was found or can't be fingerprinted.
+         */
+        boolean isModified() {
+            String[] currentFingerprints = getFingerprints(resources);
+            return Arrays.asList(currentFingerprints).contains(null) || !Arrays.equals(fingerprints, currentFingerprints);
+        }
+
+        private static String[] getFingerprints(LoadableResource[] resources) {
+            String[] fingerprints = new String[resources.length];
+            for (int i = 0; i < resources.length; i++) {
+                fingerprints[i] = resources[i].getFingerprint();
+            }
+            return fingerprints;
+        }
+    }
+
+    /**
+     * The classes found by scanning a location for implementations of an interface.
+     */
+    private static class ClassScan {
+        private final Location location;
+        private final Class<?> implementedInterface;
+
+        /**
+         * The classes found.
+         */
+        private volatile Class<?>[] classes;
+
+        /**
+         * The fingerprint of the location at the time it was scanned. {@code null} if it can't be fingerprinted.
+         */
+        private String locationFingerprint;
+
+        ClassScan(Location location, Class<?> implementedInterface) {
+            this.location = location;
+            this.implementedInterface = implementedInterface;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner;
+
+import org.flywaydb.core.api.logging.Log;
+import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.internal.util.IOUtils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of resource checksums persisted in a file across runs. Checksums are keyed by the fingerprint of their
+ * resource, so a resource that changed automatically gets a new entry and only resources without fingerprint or
+ * with changed contents need to be read. Safe for concurrent use.
+ */
+public class ChecksumCache {
+    private static final Log LOG = LogFactory.getLog(ChecksumCache.class);
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final String HEADER = "# Flyway checksum cache. This file can safely be deleted.";
+
+    /**
+     * The file in which the cache is persisted.
+     */
+    private final File file;
+
+    /**
+     * The checksums read from the file, by fingerprint.
+     */
+    private final Map<String, Integer> cachedChecksums;
+
+    /**
+     * The checksums used since this cache was loaded, by fingerprint. Only these are persisted again.
+     */
+    private final Map<String, Integer> usedChecksums = new ConcurrentHashMap<>();
+
+    /**
+     * Whether any checksum had to be calculated since this cache was loaded.
+     */
+    private volatile boolean modified;
+
+    private ChecksumCache(File file, Map<String, Integer> cachedChecksums) {
+        this.file = file;
+        this.cachedChecksums = cachedChecksums;
+    }
+
+    /**
+     * Loads the checksum cache persisted in this file. A missing or unreadable file results in an empty cache.
+     *
+     * @param file The file.
+     * @return The cache.
+     */
+    public static ChecksumCache load(File file) {
+        Map<String, Integer> checksums = new ConcurrentHashMap<>();
+        if (file.isFile()) {
+            BufferedReader reader = null;
+            try {
+                reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF8));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int separator = line.indexOf(' ');
+                    if (line.startsWith("#") || separator < 0) {
+                        continue;
+                    }
+                    checksums.put(line.substring(separator + 1), Integer.parseInt(line.substring(0, separator)));
+                }
+            } catch (IOException | NumberFormatException e) {
+                LOG.warn("Ignoring invalid checksum cache " + file.getAbsolutePath() + ": " + e.getMessage());
+                checksums.clear();
+            } finally {
+                IOUtils.close(reader);
+            }
+        }
+        LOG.debug("Loaded " + checksums.size() + " checksums from cache " + file.getAbsolutePath());
+        return new ChecksumCache(file, checksums);
+    }
+
+    /**
+     * Retrieves the checksum of this resource from the cache, calculating it if necessary.
+     *
+     * @param resource The resource.
+     * @return The checksum.
+     */
+    public int checksum(LoadableResource resource) {
+        String fingerprint = resource.getFingerprint();
+        if (fingerprint == null || fingerprint.indexOf('\n') >= 0) {
+            return resource.checksum();
+        }
+
+        Integer checksum = cachedChecksums.get(fingerprint);
+        if (checksum == null) {
+            checksum = resource.checksum();
+            modified = true;
+        }
+        usedChecksums.put(fingerprint, checksum);
+        return checksum;
+    }
+
+    /**
+     * Persists the checksums used since this cache was loaded, if they differ from the ones read from the file.
+     * Failures are logged, but otherwise ignored as the cache is only an optimization.
+     */
+    public void save() {
+        if (!modified && usedChecksums.size() == cachedChecksums.size()) {
+            return;
+        }
+
+        Writer writer = null;
+        File tempFile = null;
+        try {
+            File directory = file.getAbsoluteFile().getParentFile();
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Unable to create directory " + directory);
+            }
+            // Write to a separate file first, so concurrent readers never see a partially written cache
+            tempFile = File.createTempFile(file.getName(), ".tmp", directory);
+            writer = new OutputStreamWriter(new FileOutputStream(tempFile), UTF8);
+            writer.write(HEADER + "\n");
+            for (Map.Entry<String, Integer> entry : new TreeMap<>(usedChecksums).entrySet()) {
+                writer.write(entry.getValue() + " " + entry.getKey() + "\n");
+            }
+            writer.close();
+            writer = null;
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            LOG.debug("Saved " + usedChecksums.size() + " checksums to cache " + file.getAbsolutePath());
+        } catch (IOException e) {
+            LOG.warn("Unable to save checksum cache " + file.getAbsolutePath() + ": " + e.getMessage());
+            IOUtils.close(writer);
+            writer = null;
+            if (tempFile != null && !tempFile.delete()) {
+                tempFile.deleteOnExit();
+            }
+        } finally {
+            IOUtils.close(writer);
+        }
+    }
+}
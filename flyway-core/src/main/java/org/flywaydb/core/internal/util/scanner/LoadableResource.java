@@ -41,4 +41,12 @@ public interface LoadableResource extends Resource {
      * @return The crc-32 checksum of the bytes.
      */
     int checksum();
+
+    /**
+     * Retrieves a fingerprint of the contents of this resource that can be determined without reading them, such as
+     * its size and modification time. The fingerprint changes whenever the contents change.
+     *
+     * @return The fingerprint or {@code null} if this resource doesn't have one.
+     */
+    String getFingerprint();
 }
\ No newline at end of file
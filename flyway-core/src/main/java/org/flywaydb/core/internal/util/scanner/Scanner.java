@@ -24,24 +24,53 @@ import org.flywaydb.core.internal.util.scanner.classpath.ClassPathScanner;
 import org.flywaydb.core.internal.util.scanner.filesystem.FileSystemScanner;
 
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Scanner for Resources and Classes.
  */
 public class Scanner {
-    private final ResourceAndClassScanner resourceAndClassScanner;
+    private ResourceAndClassScanner resourceAndClassScanner;
 
     private final ClassLoader classLoader;
+    private final Charset encoding;
     private final FileSystemScanner fileSystemScanner;
 
-    public Scanner(ClassLoader classLoader, Charset encoding) {
+    /**
+     * Creates a new scanner.
+     *
+     * @param classLoader     The ClassLoader to scan the classpath with.
+     * @param encoding        Encoding to use when loading a resource as a string.
+     * @param executorService The thread pool to scan filesystem locations on. Its tasks must never wait on a scan.
+     */
+    public Scanner(ClassLoader classLoader, Charset encoding, ExecutorService executorService) {
         this.classLoader = classLoader;
-        if (new FeatureDetector(classLoader).isAndroidAvailable()) {
-            resourceAndClassScanner = new AndroidScanner(classLoader, encoding);
-        } else {
-            resourceAndClassScanner = new ClassPathScanner(classLoader, encoding);
+        this.encoding = encoding;
+        resourceAndClassScanner = createResourceAndClassScanner();
+        fileSystemScanner = new FileSystemScanner(encoding, executorService);
+    }
+
+    private ResourceAndClassScanner createResourceAndClassScanner() {
+        if (isAndroid()) {
+            return new AndroidScanner(classLoader, encoding);
         }
-        fileSystemScanner = new FileSystemScanner(encoding);
+        return new ClassPathScanner(classLoader, encoding);
+    }
+
+    /**
+     * @return Whether the classpath is scanned the Android way instead of through the urls of its locations.
+     */
+    protected boolean isAndroid() {
+        return new FeatureDetector(classLoader).isAndroidAvailable();
+    }
+
+    /**
+     * Discards what has been learned about the contents of the classpath so far, so that subsequent scans pick up
+     * resources and classes which have been added or modified in the meantime.
+     */
+    protected void resetClassPath() {
+        resourceAndClassScanner = createResourceAndClassScanner();
     }
 
     /**
@@ -63,6 +92,19 @@ public class Scanner {
         }
     }
 
+    /**
+     * Scans only this file or directory below a location on the filesystem for resources, starting with the specified
+     * prefix and ending with the specified suffix.
+     *
+     * @param path     The file or directory to scan. Subdirectories are also searched.
+     * @param prefix   The prefix of the resource names to match.
+     * @param suffixes The suffixes of the resource names to match.
+     * @return The resources that were found. Empty if the path doesn't exist anymore.
+     */
+    protected LoadableResource[] scanFileSystemPath(Path path, String prefix, String[] suffixes) {
+        return fileSystemScanner.scanForResources(path, prefix, suffixes);
+    }
+
 
     /**
      * Scans the classpath for concrete classes under the specified package implementing this interface.
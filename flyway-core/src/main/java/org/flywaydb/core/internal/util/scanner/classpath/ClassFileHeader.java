@@ -0,0 +1,196 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner.classpath;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The header of a class file: its access flags, its superclass and the interfaces it directly implements. This is
+ * read straight from the bytes of the class file, without loading the class.
+ */
+class ClassFileHeader {
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private static final int ACC_ABSTRACT = 0x0400;
+    private static final int ACC_ENUM = 0x4000;
+
+    /**
+     * The access flags of the class.
+     */
+    private final int accessFlags;
+
+    /**
+     * The fully qualified name of the superclass. {@code null} for java.lang.Object and module descriptors.
+     */
+    private final String superClassName;
+
+    /**
+     * The fully qualified names of the interfaces directly implemented by the class.
+     */
+    private final List<String> interfaceNames;
+
+    private ClassFileHeader(int accessFlags, String superClassName, List<String> interfaceNames) {
+        this.accessFlags = accessFlags;
+        this.superClassName = superClassName;
+        this.interfaceNames = interfaceNames;
+    }
+
+    /**
+     * Reads the header of the class file with this name using this ClassLoader.
+     *
+     * @param classLoader The ClassLoader to read the class file with.
+     * @param className   The fully qualified name of the class.
+     * @return The header or {@code null} if the class file could not be found.
+     * @throws IOException when the class file could not be read or is invalid.
+     */
+    static ClassFileHeader read(ClassLoader classLoader, String className) throws IOException {
+        InputStream inputStream = classLoader.getResourceAsStream(className.replace('.', '/') + ".class");
+        if (inputStream == null) {
+            return null;
+        }
+        try {
+            return read(new DataInputStream(new BufferedInputStream(inputStream)));
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    private static ClassFileHeader read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Invalid class file magic number");
+        }
+        // Minor and major version
+        in.readUnsignedShort();
+        in.readUnsignedShort();
+
+        int constantPoolCount = in.readUnsignedShort();
+        String[] utf8s = new String[constantPoolCount];
+        int[] classNameIndexes = new int[constantPoolCount];
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case CONSTANT_UTF8:
+                    utf8s[i] = in.readUTF();
+                    break;
+                case CONSTANT_CLASS:
+                    classNameIndexes[i] = in.readUnsignedShort();
+                    break;
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    in.readUnsignedShort();
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    in.readUnsignedByte();
+                    in.readUnsignedShort();
+                    break;
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELDREF:
+                case CONSTANT_METHODREF:
+                case CONSTANT_INTERFACE_METHODREF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    in.readInt();
+                    break;
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    in.readLong();
+                    // These take up two entries in the constant pool.
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag: " + tag);
+            }
+        }
+
+        int accessFlags = in.readUnsignedShort();
+        // This class
+        in.readUnsignedShort();
+        String superClassName = getClassName(utf8s, classNameIndexes, in.readUnsignedShort());
+        int interfacesCount = in.readUnsignedShort();
+        List<String> interfaceNames = new ArrayList<>(interfacesCount);
+        for (int i = 0; i < interfacesCount; i++) {
+            interfaceNames.add(getClassName(utf8s, classNameIndexes, in.readUnsignedShort()));
+        }
+
+        return new ClassFileHeader(accessFlags, superClassName, Collections.unmodifiableList(interfaceNames));
+    }
+
+    private static String getClassName(String[] utf8s, int[] classNameIndexes, int index) throws IOException {
+        if (index == 0) {
+            return null;
+        }
+        if (index >= classNameIndexes.length || classNameIndexes[index] == 0 || utf8s[classNameIndexes[index]] == null) {
+            throw new IOException("Invalid class reference in constant pool: " + index);
+        }
+        return utf8s[classNameIndexes[index]].replace('/', '.');
+    }
+
+    /**
+     * @return Whether this is an abstract class or an interface.
+     */
+    boolean isAbstract() {
+        return (accessFlags & ACC_ABSTRACT) != 0;
+    }
+
+    /**
+     * @return Whether this is an enum.
+     */
+    boolean isEnum() {
+        return (accessFlags & ACC_ENUM) != 0;
+    }
+
+    /**
+     * @return The fully qualified name of the superclass. {@code null} for java.lang.Object and module descriptors.
+     */
+    String getSuperClassName() {
+        return superClassName;
+    }
+
+    /**
+     * @return The fully qualified names of the interfaces directly implemented by the class.
+     */
+    List<String> getInterfaceNames() {
+        return interfaceNames;
+    }
+}
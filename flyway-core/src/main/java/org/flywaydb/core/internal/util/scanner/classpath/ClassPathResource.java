@@ -16,8 +16,12 @@
 package org.flywaydb.core.internal.util.scanner.classpath;
 
 import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.logging.Log;
+import org.flywaydb.core.api.logging.LogFactory;
 import org.flywaydb.core.internal.util.BomStrippingReader;
+import org.flywaydb.core.internal.util.ChecksumCalculator;
 import org.flywaydb.core.internal.util.FileCopyUtils;
+import org.flywaydb.core.internal.util.IOUtils;
 import org.flywaydb.core.internal.util.line.DefaultLineReader;
 import org.flywaydb.core.internal.util.line.LineReader;
 import org.flywaydb.core.internal.util.scanner.AbstractLoadableResource;
@@ -26,15 +30,20 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.UnsupportedEncodingException;
+import java.net.JarURLConnection;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.nio.charset.Charset;
+import java.util.jar.JarEntry;
 
 /**
  * A resource on the classpath.
  */
 public class ClassPathResource extends AbstractLoadableResource implements Comparable<ClassPathResource> {
+    private static final Log LOG = LogFactory.getLog(ClassPathResource.class);
+
     /**
      * The location of the resource on the classpath.
      */
@@ -53,6 +62,19 @@ public class ClassPathResource extends AbstractLoadableResource implements Compa
      * @param classLoader The ClassLoader to use.
      */
     public ClassPathResource(String location, ClassLoader classLoader, Charset encoding) {
+        this(location, classLoader, encoding, null);
+    }
+
+    /**
+     * Creates a new ClassPathResource whose checksum is already known.
+     *
+     * @param location    The location of the resource on the classpath.
+     * @param classLoader The ClassLoader to use.
+     * @param encoding    The encoding of the resource.
+     * @param checksum    The checksum of the resource. {@code null} if it must be calculated.
+     */
+    public ClassPathResource(String location, ClassLoader classLoader, Charset encoding, Integer checksum) {
+        super(checksum);
         this.location = location;
         this.classLoader = classLoader;
         this.encoding = encoding;
@@ -96,6 +118,44 @@ public class ClassPathResource extends AbstractLoadableResource implements Compa
         }
     }
 
+    @Override
+    public String getFingerprint() {
+        URL url = getUrl();
+        if (url == null) {
+            return null;
+        }
+        try {
+            if ("file".equals(url.getProtocol())) {
+                return getFingerprint(new File(URLDecoder.decode(url.getPath(), "UTF-8")), encoding);
+            }
+            if ("jar".equals(url.getProtocol())) {
+                // The size and CRC of the entry come straight from the central directory of the jar
+                JarEntry jarEntry = ((JarURLConnection) url.openConnection()).getJarEntry();
+                if (jarEntry == null || jarEntry.getCrc() == -1) {
+                    return null;
+                }
+                return url + "|" + jarEntry.getSize() + "|" + jarEntry.getCrc() + "|" + encoding.name();
+            }
+        } catch (IOException | ClassCastException e) {
+            LOG.debug("Unable to determine fingerprint of " + url + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    @Override
+    protected int calculateChecksum() throws IOException {
+        InputStream inputStream = classLoader.getResourceAsStream(location);
+        if (inputStream == null) {
+            throw new FlywayException("Unable to obtain inputstream for resource: " + location);
+        }
+        Reader reader = new BomStrippingReader(new InputStreamReader(inputStream, encoding));
+        try {
+            return ChecksumCalculator.calculate(reader);
+        } finally {
+            IOUtils.close(reader);
+        }
+    }
+
     @Override
     public byte[] loadAsBytes() {
         try {
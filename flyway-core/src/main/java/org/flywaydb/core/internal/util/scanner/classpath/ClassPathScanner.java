@@ -26,6 +26,7 @@ import org.flywaydb.core.internal.util.scanner.LoadableResource;
 import org.flywaydb.core.internal.util.scanner.classpath.jboss.JBossVFSv2UrlResolver;
 import org.flywaydb.core.internal.util.scanner.classpath.jboss.JBossVFSv3ClassPathLocationScanner;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.lang.reflect.Modifier;
 import java.net.URISyntaxException;
@@ -36,6 +37,7 @@ import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -71,6 +73,22 @@ public class ClassPathScanner implements ResourceAndClassScanner {
      */
     private final Map<ClassPathLocationScanner, Map<URL, Set<String>>> resourceNameCache = new HashMap<>();
 
+    /**
+     * Cache migration indexes, by classpath root. {@code null} for roots without index.
+     */
+    private final Map<String, MigrationIndex> migrationIndexCache = new HashMap<>();
+
+    /**
+     * Cache the migration indexes found to be up to date, by location url. {@code null} for locations that must be
+     * scanned.
+     */
+    private final Map<URL, MigrationIndex> locationMigrationIndexCache = new HashMap<>();
+
+    /**
+     * The checksums of the resources found through a migration index, by resource name.
+     */
+    private final Map<String, Integer> indexedChecksums = new HashMap<>();
+
     /**
      * Creates a new Classpath scanner.
      *
@@ -90,7 +108,7 @@ public class ClassPathScanner implements ResourceAndClassScanner {
 
         Set<String> resourceNames = findResourceNames(path, prefix, suffixes);
         for (String resourceName : resourceNames) {
-            resources.add(new ClassPathResource(resourceName, classLoader, encoding));
+            resources.add(new ClassPathResource(resourceName, classLoader, encoding, indexedChecksums.get(resourceName)));
             LOG.debug("Found resource: " + resourceName);
         }
 
@@ -102,12 +120,25 @@ public class ClassPathScanner implements ResourceAndClassScanner {
         LOG.debug("Scanning for classes at '" + location + "' (Implementing: '" + implementedInterface.getName() + "')");
 
         List<Class<?>> classes = new ArrayList<Class<?>>();
+        Map<String, ClassFileHeader> headers = new HashMap<>();
+        Map<String, Boolean> implementations = new HashMap<>();
 
         Set<String> resourceNames = findResourceNames(location, "", ".class");
         for (String resourceName : resourceNames) {
             String className = toClassName(resourceName);
             Class<?> clazz;
 
+            // Only load the classes which may implement the interface according to their class files.
+            Boolean implementing = implementsInterface(className, implementedInterface.getName(), headers, implementations);
+            if (Boolean.FALSE.equals(implementing)) {
+                continue;
+            }
+            if (Boolean.TRUE.equals(implementing)
+                    && (headers.get(className).isAbstract() || headers.get(className).isEnum())) {
+                LOG.debug("Skipping non-instantiable class: " + className);
+                continue;
+            }
+
             try {
                 clazz = classLoader.loadClass(className);
 
@@ -139,6 +170,74 @@ public class ClassPathScanner implements ResourceAndClassScanner {
         return classes.toArray(new Class<?>[classes.size()]);
     }
 
+    /**
+     * Checks whether this class implements this interface based on the headers of the class files in its hierarchy,
+     * without loading any of them.
+     *
+     * @param className       The fully qualified name of the class.
+     * @param interfaceName   The fully qualified name of the interface.
+     * @param headers         The class file headers read so far, by class name.
+     * @param implementations The results of the checks so far, by class name.
+     * @return {@code true} if it does, {@code false} if it doesn't, {@code null} if part of the hierarchy could not
+     * be read and the class must be loaded to find out.
+     */
+    private Boolean implementsInterface(String className, String interfaceName, Map<String, ClassFileHeader> headers,
+                                        Map<String, Boolean> implementations) {
+        if (className.equals(interfaceName)) {
+            return true;
+        }
+        if (implementations.containsKey(className)) {
+            return implementations.get(className);
+        }
+
+        Boolean implementing;
+        if (className.startsWith("java.") && !interfaceName.startsWith("java.")) {
+            // Classes of the JDK can't implement interfaces from outside of it.
+            implementing = false;
+        } else {
+            ClassFileHeader header = readClassFileHeader(className);
+            if (header == null) {
+                implementing = null;
+            } else {
+                headers.put(className, header);
+                List<String> supertypeNames = new ArrayList<>(header.getInterfaceNames());
+                if (header.getSuperClassName() != null) {
+                    supertypeNames.add(header.getSuperClassName());
+                }
+
+                implementing = false;
+                for (String supertypeName : supertypeNames) {
+                    Boolean supertypeImplementing = implementsInterface(supertypeName, interfaceName, headers, implementations);
+                    if (Boolean.TRUE.equals(supertypeImplementing)) {
+                        implementing = true;
+                        break;
+                    }
+                    if (supertypeImplementing == null) {
+                        implementing = null;
+                    }
+                }
+            }
+        }
+
+        implementations.put(className, implementing);
+        return implementing;
+    }
+
+    /**
+     * Reads the header of the class file of this class.
+     *
+     * @param className The fully qualified name of the class.
+     * @return The header or {@code null} if the class file could not be found or read.
+     */
+    private ClassFileHeader readClassFileHeader(String className) {
+        try {
+            return ClassFileHeader.read(classLoader, className);
+        } catch (IOException e) {
+            LOG.debug("Unable to read class file of " + className + ": " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Converts this resource name to a fully qualified class name.
      *
@@ -162,6 +261,7 @@ public class ClassPathScanner implements ResourceAndClassScanner {
      */
     private Set<String> findResourceNames(Location location, String prefix, String... suffixes) throws IOException {
         Set<String> resourceNames = new TreeSet<>();
+        Set<String> unindexedResourceNames = new HashSet<>();
 
         List<URL> locationUrls = getLocationUrlsForPath(location);
         for (URL locationUrl : locationUrls) {
@@ -176,14 +276,33 @@ public class ClassPathScanner implements ResourceAndClassScanner {
                 String scanRoot = UrlUtils.toFilePath(resolvedUrl);
                 LOG.warn("Unable to scan location: " + scanRoot + " (unsupported protocol: " + protocol + ")");
             } else {
+                MigrationIndex migrationIndex = getMigrationIndex(location, resolvedUrl, classPathLocationScanner);
                 Set<String> names = resourceNameCache.get(classPathLocationScanner).get(resolvedUrl);
                 if (names == null) {
-                    names = classPathLocationScanner.findResourceNames(location.getPath(), resolvedUrl);
+                    names = migrationIndex == null
+                            ? classPathLocationScanner.findResourceNames(location.getPath(), resolvedUrl)
+                            : migrationIndex.getResourceNames(location.getPath());
                     resourceNameCache.get(classPathLocationScanner).put(resolvedUrl, names);
                 }
+                if (migrationIndex == null) {
+                    unindexedResourceNames.addAll(names);
+                } else {
+                    for (String name : names) {
+                        Integer checksum = migrationIndex.getChecksum(name, encoding);
+                        if (resourceNames.contains(name) || checksum == null) {
+                            // Only trust the index when it is the sole origin of the resource
+                            unindexedResourceNames.add(name);
+                        } else {
+                            indexedChecksums.put(name, checksum);
+                        }
+                    }
+                }
                 resourceNames.addAll(names);
             }
         }
+        for (String name : unindexedResourceNames) {
+            indexedChecksums.remove(name);
+        }
 
         boolean locationResolved = !locationUrls.isEmpty();
 
@@ -210,6 +329,19 @@ public class ClassPathScanner implements ResourceAndClassScanner {
                         }
 
                         try {
+                            Set<String> indexedResourceNames = getIndexedResourceNames(location, url, jarFile);
+                            if (indexedResourceNames != null) {
+                                for (String resourceName : indexedResourceNames) {
+                                    locationResolved = true;
+                                    for (String suffix : suffixes) {
+                                        if (resourceName.endsWith(suffix)) {
+                                            resourceNames.add(resourceName);
+                                        }
+                                    }
+                                }
+                                continue;
+                            }
+
                             Enumeration<JarEntry> entries = jarFile.entries();
                             while (entries.hasMoreElements()) {
                                 String entryName = entries.nextElement().getName();
@@ -237,6 +369,117 @@ public class ClassPathScanner implements ResourceAndClassScanner {
         return filterResourceNames(resourceNames, prefix, suffixes);
     }
 
+    /**
+     * Retrieves the migration index of the classpath root containing this location url. Only jar files are
+     * considered, as the contents of directories can change without the index being regenerated. An index is only
+     * used for this location as long as the resources it lists are still in the jar with the same contents.
+     *
+     * @param location                 The location on the classpath.
+     * @param locationUrl              The resolved url of the location.
+     * @param classPathLocationScanner The scanner for this location url.
+     * @return The migration index or {@code null} if there is none covering this location or if it is out of date.
+     * @throws IOException when the jar could not be read.
+     */
+    private MigrationIndex getMigrationIndex(Location location, URL locationUrl,
+                                             ClassPathLocationScanner classPathLocationScanner) throws IOException {
+        if (!(classPathLocationScanner instanceof JarFileClassPathLocationScanner)) {
+            return null;
+        }
+        if (!locationMigrationIndexCache.containsKey(locationUrl)) {
+            MigrationIndex migrationIndex = findMigrationIndex(location, locationUrl);
+            if (migrationIndex != null) {
+                if (((JarFileClassPathLocationScanner) classPathLocationScanner)
+                        .matches(migrationIndex, location.getPath(), locationUrl)) {
+                    LOG.debug("Using migration index for location " + location + " in " + locationUrl);
+                } else {
+                    warnOutOfDate(location, locationUrl);
+                    migrationIndex = null;
+                }
+            }
+            locationMigrationIndexCache.put(locationUrl, migrationIndex);
+        }
+        return locationMigrationIndexCache.get(locationUrl);
+    }
+
+    /**
+     * Retrieves the names of the resources at this location within this jar file from its migration index.
+     *
+     * @param location The location on the classpath.
+     * @param url      The url of the jar file.
+     * @param jarFile  The jar file.
+     * @return The resource names or {@code null} if the jar has no up to date migration index covering this location.
+     */
+    private Set<String> getIndexedResourceNames(Location location, URL url, JarFile jarFile) {
+        if (jarFile.getJarEntry(MigrationIndex.PATH) == null) {
+            return null;
+        }
+        MigrationIndex migrationIndex = loadMigrationIndex("jar:" + url.toExternalForm() + "!/");
+        if (migrationIndex == null || !migrationIndex.covers(location.getPath())) {
+            return null;
+        }
+        if (!migrationIndex.matches(location.getPath(), jarFile, "")) {
+            warnOutOfDate(location, url);
+            return null;
+        }
+        LOG.debug("Using migration index for location " + location + " in " + url);
+        return migrationIndex.getResourceNames(location.getPath());
+    }
+
+    private static void warnOutOfDate(Location location, URL url) {
+        LOG.warn("Ignoring out of date migration index for location " + location + " in " + url
+                + " and scanning instead. Regenerate the index whenever the migrations change.");
+    }
+
+    /**
+     * Finds the migration index of the classpath root containing this location url.
+     *
+     * @param location    The location on the classpath.
+     * @param locationUrl The resolved url of the location.
+     * @return The migration index or {@code null} if there is none covering this location.
+     */
+    private MigrationIndex findMigrationIndex(Location location, URL locationUrl) {
+        if (!"jar".equals(locationUrl.getProtocol())) {
+            return null;
+        }
+
+        String url = locationUrl.toExternalForm();
+        if (url.endsWith("/")) {
+            url = url.substring(0, url.length() - 1);
+        }
+        if (!url.endsWith(location.getPath())) {
+            return null;
+        }
+        String root = url.substring(0, url.length() - location.getPath().length());
+        if (!root.endsWith("/")) {
+            root += "/";
+        }
+
+        MigrationIndex migrationIndex = loadMigrationIndex(root);
+        return migrationIndex != null && migrationIndex.covers(location.getPath()) ? migrationIndex : null;
+    }
+
+    /**
+     * Loads the migration index of this classpath root, if it has one.
+     *
+     * @param root The url of the classpath root, ending with a slash.
+     * @return The migration index or {@code null} if there is none.
+     */
+    private MigrationIndex loadMigrationIndex(String root) {
+        if (!migrationIndexCache.containsKey(root)) {
+            MigrationIndex migrationIndex = null;
+            try {
+                migrationIndex = MigrationIndex.load(new URL(root + MigrationIndex.PATH));
+                LOG.debug("Found migration index in " + root);
+            } catch (FileNotFoundException e) {
+                LOG.debug("No migration index found in " + root);
+            } catch (IOException e) {
+                LOG.warn("Ignoring migration index of " + root + ": " + e.getMessage());
+            }
+            migrationIndexCache.put(root, migrationIndex);
+        }
+        return migrationIndexCache.get(root);
+    }
+
     /**
      * Gets the physical location urls for this logical path on the classpath.
      *
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner.classpath;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Sorted index of the entry names of a jar file. Indexes are shared by all scanners within this process, so each jar
+ * is only enumerated once, no matter how many Flyway instances and commands scan it. An index is rebuilt when the
+ * size or the modification time of its jar changes.
+ */
+class JarEntryIndex {
+    /**
+     * The maximum number of jar files whose index is kept.
+     */
+    private static final int MAX_INDEXES = 32;
+
+    /**
+     * The indexes, by canonical jar path, in least-recently-used order.
+     */
+    private static final Map<String, JarEntryIndex> INDEXES =
+            new LinkedHashMap<String, JarEntryIndex>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, JarEntryIndex> eldest) {
+                    return size() > MAX_INDEXES;
+                }
+            };
+
+    /**
+     * The size of the jar file at the time it was indexed.
+     */
+    private final long length;
+
+    /**
+     * The modification time of the jar file at the time it was indexed.
+     */
+    private final long lastModified;
+
+    /**
+     * The names of all entries of the jar file, in natural order.
+     */
+    private final String[] entryNames;
+
+    private JarEntryIndex(long length, long lastModified, String[] entryNames) {
+        this.length = length;
+        this.lastModified = lastModified;
+        this.entryNames = entryNames;
+    }
+
+    /**
+     * Retrieves the index of this jar file, building it if it isn't known yet or if the jar has changed since.
+     *
+     * @param jarFile The jar file.
+     * @return The index.
+     * @throws IOException when the jar file could not be read.
+     */
+    static JarEntryIndex get(File jarFile) throws IOException {
+        String path = jarFile.getCanonicalPath();
+        long length = jarFile.length();
+        long lastModified = jarFile.lastModified();
+
+        JarEntryIndex index;
+        synchronized (INDEXES) {
+            index = INDEXES.get(path);
+        }
+        if (index != null && index.length == length && index.lastModified == lastModified) {
+            return index;
+        }
+
+        index = new JarEntryIndex(length, lastModified, readEntryNames(jarFile));
+        synchronized (INDEXES) {
+            INDEXES.put(path, index);
+        }
+        return index;
+    }
+
+    /**
+     * Reads the names of all entries of this jar file. Opening it only reads its central directory, not the entries
+     * themselves.
+     *
+     * @param jarFile The jar file.
+     * @return The entry names, in natural order.
+     * @throws IOException when the jar file could not be read.
+     */
+    private static String[] readEntryNames(File jarFile) throws IOException {
+        ZipFile zipFile = new ZipFile(jarFile);
+        try {
+            List<String> entryNames = new ArrayList<>(zipFile.size());
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                entryNames.add(entries.nextElement().getName());
+            }
+            String[] sortedEntryNames = entryNames.toArray(new String[0]);
+            Arrays.sort(sortedEntryNames);
+            return sortedEntryNames;
+        } finally {
+            zipFile.close();
+        }
+    }
+
+    /**
+     * Finds the names of all entries starting with this prefix.
+     *
+     * @param prefix The prefix.
+     * @param strip  The number of leading characters to strip from the names.
+     * @return The names, without their first {@code strip} characters.
+     */
+    Set<String> findEntryNames(String prefix, int strip) {
+        Set<String> names = new TreeSet<>();
+        int index = Arrays.binarySearch(entryNames, prefix);
+        for (int i = index < 0 ? -index - 1 : index; i < entryNames.length && entryNames[i].startsWith(prefix); i++) {
+            names.add(entryNames[i].substring(strip));
+        }
+        return names;
+    }
+}
@@ -15,8 +15,10 @@
  */
 package org.flywaydb.core.internal.util.scanner.classpath;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.JarURLConnection;
+import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
@@ -41,17 +43,82 @@ public class JarFileClassPathLocationScanner implements ClassPathLocationScanner
     JarFileClassPathLocationScanner(String separator) { this.separator = separator; }
 
     public Set<String> findResourceNames(String location, URL locationUrl) throws IOException {
+        File localJarFile = getLocalJarFile(locationUrl);
+        if (localJarFile != null) {
+            String prefix = getPrefix(localJarFile.getName());
+            return JarEntryIndex.get(localJarFile).findEntryNames(toScan(prefix, location), prefix.length());
+        }
+
         JarFile jarFile = getJarFromUrl(locationUrl);
 
         try {
-            // For Tomcat and non-expanded WARs.
-            String prefix = jarFile.getName().toLowerCase().endsWith(".war") ? "WEB-INF/classes/" : "";
-            return findResourceNamesFromJarFile(jarFile, prefix, location);
+            return findResourceNamesFromJarFile(jarFile, getPrefix(jarFile.getName()), location);
         } finally {
             jarFile.close();
         }
     }
 
+    /**
+     * Checks whether this migration index of the jar still matches the resources at this location within it. The
+     * indexed resources are looked up by name, without going through all entries of the jar.
+     *
+     * @param migrationIndex The migration index.
+     * @param location       The location to look under.
+     * @param locationUrl    The URL of the location within the jar.
+     * @return {@code true} if it does, {@code false} if the location must be scanned instead.
+     * @throws IOException when reading the jar file failed.
+     */
+    boolean matches(MigrationIndex migrationIndex, String location, URL locationUrl) throws IOException {
+        File localJarFile = getLocalJarFile(locationUrl);
+        JarFile jarFile = localJarFile == null ? getJarFromUrl(locationUrl) : new JarFile(localJarFile);
+        try {
+            return migrationIndex.matches(location, jarFile, getPrefix(jarFile.getName()));
+        } finally {
+            jarFile.close();
+        }
+    }
+
+    /**
+     * Retrieves the prefix to ignore within this jar file.
+     *
+     * @param jarFileName The name of the jar file.
+     * @return The prefix.
+     */
+    private String getPrefix(String jarFileName) {
+        // For Tomcat and non-expanded WARs.
+        return jarFileName.toLowerCase().endsWith(".war") ? "WEB-INF/classes/" : "";
+    }
+
+    /**
+     * Retrieves the jar file represented by this URL on the local filesystem.
+     *
+     * @param locationUrl The URL of the jar.
+     * @return The jar file or {@code null} if it is not a plain file on the local filesystem, such as a jar nested in
+     * another jar.
+     */
+    private File getLocalJarFile(URL locationUrl) {
+        String urlFile = locationUrl.getFile();
+
+        int separatorIndex = urlFile.indexOf(separator);
+        if (separatorIndex == -1 || urlFile.indexOf(separator, separatorIndex + separator.length()) != -1) {
+            return null;
+        }
+
+        String jarFileUrl = urlFile.substring(0, separatorIndex);
+        if (!jarFileUrl.startsWith("file:")) {
+            return null;
+        }
+
+        File file;
+        try {
+            file = new File(new URL(jarFileUrl).toURI().getSchemeSpecificPart());
+        } catch (MalformedURLException | URISyntaxException ex) {
+            // Fallback for URLs that are not valid URIs (should hardly ever happen).
+            file = new File(jarFileUrl.substring("file:".length()));
+        }
+        return file.isFile() ? file : null;
+    }
+
     /**
      * Retrieves the Jar file represented by this URL.
      *
@@ -101,7 +168,7 @@ public class JarFileClassPathLocationScanner implements ClassPathLocationScanner
      * @throws java.io.IOException when reading the jar file failed.
      */
     private Set<String> findResourceNamesFromJarFile(JarFile jarFile, String prefix, String location) throws IOException {
-        String toScan = prefix + location + (location.endsWith("/") ? "" : "/");
+        String toScan = toScan(prefix, location);
         Set<String> resourceNames = new TreeSet<>();
 
         Enumeration<JarEntry> entries = jarFile.entries();
@@ -114,4 +181,15 @@ public class JarFileClassPathLocationScanner implements ClassPathLocationScanner
 
         return resourceNames;
     }
+
+    /**
+     * Retrieves the prefix of the names of the jar entries within this location.
+     *
+     * @param prefix   The prefix to ignore within the jar file.
+     * @param location The location to look under.
+     * @return The prefix of the entry names.
+     */
+    private String toScan(String prefix, String location) {
+        return prefix + location + (location.endsWith("/") ? "" : "/");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner.classpath;
+
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.internal.util.IOUtils;
+import org.flywaydb.core.internal.util.scanner.filesystem.FileSystemResource;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.CRC32;
+
+/**
+ * Index of the resources and classes at the classpath locations of an application, generated at build time by the
+ * Maven and Gradle plugins. With an index, the resources at a location inside a jar and the checksums of the SQL
+ * migrations among them are read in one go, instead of going through all entries of the jar and reading every
+ * migration.
+ * <p>The index also records the CRC-32 of every resource. Before it is used, each indexed resource is looked up by
+ * name in the central directory of the jar and its CRC-32 compared, so resources removed or modified since the index
+ * was generated make the location be scanned instead. Resources added to the jar afterwards can't be detected without
+ * going through all entries, so the index must be regenerated whenever the build packages new migrations.
+ * Indexes are only used for jars, never for directories.</p>
+ */
+public class MigrationIndex {
+    /**
+     * The path of the index on the classpath.
+     */
+    public static final String PATH = "META-INF/flyway/migrations.idx";
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final String HEADER = "# Flyway migration index. Generated at build time. Do not edit.";
+
+    /**
+     * The encoding used to calculate the checksums.
+     */
+    private final String encoding;
+
+    /**
+     * The locations covered by this index.
+     */
+    private final List<String> locations;
+
+    /**
+     * The checksums of the indexed resources, by resource name. {@code null} for resources without checksum.
+     */
+    private final Map<String, Integer> resources;
+
+    /**
+     * The CRC-32 checksums of the contents of the indexed resources, by resource name.
+     */
+    private final Map<String, Long> crcs;
+
+    private MigrationIndex(String encoding, List<String> locations, Map<String, Integer> resources,
+                           Map<String, Long> crcs) {
+        this.encoding = encoding;
+        this.locations = locations;
+        this.resources = resources;
+        this.crcs = crcs;
+    }
+
+    /**
+     * Generates the index of the resources and classes at the classpath locations of this configuration and writes it
+     * to this output directory.
+     *
+     * @param configuration   The Flyway configuration.
+     * @param outputDirectory The directory whose contents end up on the classpath.
+     * @param directories     The directories to index. These will be merged on the classpath.
+     * @return The number of indexed resources and classes.
+     * @throws IOException when the index could not be written.
+     */
+    public static int generate(Configuration configuration, File outputDirectory, Collection<File> directories)
+            throws IOException {
+        List<String> locations = new ArrayList<>();
+        Map<String, Integer> resources = new TreeMap<>();
+        Map<String, Long> crcs = new HashMap<>();
+        for (Location location : configuration.getLocations()) {
+            if (!location.isClassPath()) {
+                continue;
+            }
+            locations.add(location.getPath());
+            for (File directory : directories) {
+                File locationDirectory = new File(directory, location.getPath());
+                if (locationDirectory.isDirectory()) {
+                    addResources(configuration, location.getPath().isEmpty() ? "" : location.getPath() + "/",
+                            locationDirectory, resources, crcs);
+                }
+            }
+        }
+
+        File file = new File(outputDirectory, PATH);
+        File directory = file.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create directory " + directory);
+        }
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), UTF8);
+        try {
+            writer.write(HEADER + "\n");
+            writer.write("encoding " + configuration.getEncoding().name() + "\n");
+            for (String location : locations) {
+                writer.write("location " + location + "\n");
+            }
+            for (Map.Entry<String, Integer> resource : resources.entrySet()) {
+                writer.write("resource " + (resource.getValue() == null ? "-" : resource.getValue()) + " "
+                        + crcs.get(resource.getKey()) + " " + resource.getKey() + "\n");
+            }
+        } finally {
+            IOUtils.close(writer);
+        }
+        return resources.size();
+    }
+
+    private static void addResources(Configuration configuration, String prefix, File directory,
+                                     Map<String, Integer> resources, Map<String, Long> crcs) throws IOException {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String name = prefix + file.getName();
+            if (file.isDirectory()) {
+                addResources(configuration, name + "/", file, resources, crcs);
+                continue;
+            }
+            if (isSqlResource(configuration, file.getName())) {
+                resources.put(name, new FileSystemResource(file.getPath(), configuration.getEncoding()).checksum());
+            } else {
+                resources.put(name, null);
+            }
+            crcs.put(name, crc(file));
+        }
+    }
+
+    /**
+     * Calculates the CRC-32 of the contents of this file, as recorded for it in the central directory of a jar.
+     *
+     * @param file The file.
+     * @return The CRC-32.
+     * @throws IOException when the file could not be read.
+     */
+    private static long crc(File file) throws IOException {
+        CRC32 crc32 = new CRC32();
+        crc32.update(Files.readAllBytes(file.toPath()));
+        return crc32.getValue();
+    }
+
+    private static boolean isSqlResource(Configuration configuration, String filename) {
+        for (String suffix : configuration.getSqlMigrationSuffixes()) {
+            if (filename.endsWith(suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Loads the index at this URL.
+     *
+     * @param url The URL of the index.
+     * @return The index.
+     * @throws IOException when the index could not be read.
+     */
+    static MigrationIndex load(URL url) throws IOException {
+        String encoding = null;
+        List<String> locations = new ArrayList<>();
+        Map<String, Integer> resources = new HashMap<>();
+        Map<String, Long> crcs = new HashMap<>();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), UTF8));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("encoding ")) {
+                    encoding = line.substring("encoding ".length());
+                } else if (line.startsWith("location ")) {
+                    locations.add(line.substring("location ".length()));
+                } else if (line.startsWith("resource ")) {
+                    int separator = line.indexOf(' ', "resource ".length());
+                    int crcSeparator = line.indexOf(' ', separator + 1);
+                    String checksum = line.substring("resource ".length(), separator);
+                    String name = line.substring(crcSeparator + 1);
+                    resources.put(name, "-".equals(checksum) ? null : Integer.valueOf(checksum));
+                    crcs.put(name, Long.valueOf(line.substring(separator + 1, crcSeparator)));
+                }
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid migration index " + url + ": " + e.getMessage(), e);
+        } finally {
+            IOUtils.close(reader);
+        }
+
+        return new MigrationIndex(encoding, locations, resources, crcs);
+    }
+
+    /**
+     * Checks whether this index covers this location, either directly or through one of its parent locations.
+     *
+     * @param location The path of the location on the classpath.
+     * @return {@code true} if it does, {@code false} if the location must be scanned.
+     */
+    boolean covers(String location) {
+        for (String indexedLocation : locations) {
+            if (indexedLocation.isEmpty() || location.equals(indexedLocation) || location.startsWith(indexedLocation + "/")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the indexed resources at this location and below are still in this jar file, with the same
+     * contents. Each of them is looked up by name, without going through all entries of the jar.
+     *
+     * @param location The path of the location on the classpath.
+     * @param jarFile  The jar file containing this index.
+     * @param prefix   The prefix of the resource names within the jar file.
+     * @return {@code true} if they are, {@code false} if the location must be scanned instead.
+     */
+    boolean matches(String location, JarFile jarFile, String prefix) {
+        for (String resourceName : getResourceNames(location)) {
+            JarEntry jarEntry = jarFile.getJarEntry(prefix + resourceName);
+            if (jarEntry == null || jarEntry.getCrc() != crcs.get(resourceName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves the names of the indexed resources at this location and below.
+     *
+     * @param location The path of the location on the classpath.
+     * @return The resource names.
+     */
+    Set<String> getResourceNames(String location) {
+        String prefix = location.isEmpty() || location.endsWith("/") ? location : location + "/";
+        Set<String> resourceNames = new TreeSet<>();
+        for (String resourceName : resources.keySet()) {
+            if (resourceName.startsWith(prefix)) {
+                resourceNames.add(resourceName);
+            }
+        }
+        return resourceNames;
+    }
+
+    /**
+     * Retrieves the checksum of this resource, as calculated when the index was generated.
+     *
+     * @param resourceName The name of the resource.
+     * @param encoding     The encoding with which the resource will be read.
+     * @return The checksum or {@code null} if unknown or calculated with a different encoding.
+     */
+    Integer getChecksum(String resourceName, Charset encoding) {
+        if (!encoding.name().equals(this.encoding)) {
+            return null;
+        }
+        return resources.get(resourceName);
+    }
+}
@@ -17,7 +17,9 @@ package org.flywaydb.core.internal.util.scanner.filesystem;
 
 import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.internal.util.BomStrippingReader;
+import org.flywaydb.core.internal.util.ChecksumCalculator;
 import org.flywaydb.core.internal.util.FileCopyUtils;
+import org.flywaydb.core.internal.util.IOUtils;
 import org.flywaydb.core.internal.util.line.DefaultLineReader;
 import org.flywaydb.core.internal.util.line.LineReader;
 import org.flywaydb.core.internal.util.scanner.AbstractLoadableResource;
@@ -27,12 +29,30 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 
 /**
  * A resource on the filesystem.
  */
 public class FileSystemResource extends AbstractLoadableResource implements Comparable<FileSystemResource> {
+    /**
+     * The size from which files are decoded straight from their channel to calculate their checksum, instead of
+     * going through a reader. Smaller files are cheaper to read with a reader.
+     */
+    private static final long DIRECT_DECODING_THRESHOLD = 64 * 1024;
+
+    /**
+     * The size of the buffer the contents of a file are read into before being decoded.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     /**
      * The location of the resource on the filesystem.
      */
@@ -86,6 +106,80 @@ public class FileSystemResource extends AbstractLoadableResource implements Comp
         }
     }
 
+    @Override
+    public String getFingerprint() {
+        return getFingerprint(file, encoding);
+    }
+
+    @Override
+    protected int calculateChecksum() throws IOException {
+        if (file.length() < DIRECT_DECODING_THRESHOLD) {
+            Reader reader = new BomStrippingReader(new InputStreamReader(new FileInputStream(file), encoding));
+            try {
+                return ChecksumCalculator.calculate(reader);
+            } finally {
+                IOUtils.close(reader);
+            }
+        }
+
+        FileInputStream inputStream = new FileInputStream(file);
+        try {
+            return calculateChecksum(inputStream.getChannel());
+        } finally {
+            IOUtils.close(inputStream);
+        }
+    }
+
+    /**
+     * Calculates the checksum of the contents of this file, decoding them straight from a single reusable buffer.
+     *
+     * @param channel The channel to read the contents of the file from.
+     * @return The checksum.
+     * @throws IOException when the file could not be read.
+     */
+    private int calculateChecksum(ReadableByteChannel channel) throws IOException {
+        // Same error handling as InputStreamReader
+        CharsetDecoder decoder = encoding.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        CharBuffer chars = CharBuffer.allocate(8192);
+        ChecksumCalculator calculator = new ChecksumCalculator();
+
+        boolean first = true;
+        boolean endOfInput = false;
+        while (!endOfInput) {
+            endOfInput = channel.read(bytes) < 0;
+            bytes.flip();
+            CoderResult result;
+            do {
+                result = decoder.decode(bytes, chars, endOfInput);
+                chars.flip();
+                if (first && chars.hasRemaining()) {
+                    first = false;
+                    // Strip the BOM, like BomStrippingReader
+                    if (chars.get(0) == '\ufeff') {
+                        chars.get();
+                    }
+                }
+                calculator.update(chars);
+                chars.clear();
+            } while (result.isOverflow());
+            // Keep the bytes of an incomplete character for the next read
+            bytes.compact();
+        }
+
+        CoderResult result;
+        do {
+            result = decoder.flush(chars);
+            chars.flip();
+            calculator.update(chars);
+            chars.clear();
+        } while (result.isOverflow());
+
+        return calculator.getValue();
+    }
+
     /**
      * Loads this resource as a byte array.
      *
@@ -18,28 +18,48 @@ package org.flywaydb.core.internal.util.scanner.filesystem;
 import org.flywaydb.core.api.Location;
 import org.flywaydb.core.api.logging.Log;
 import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.internal.util.ConcurrencyUtils;
 import org.flywaydb.core.internal.util.StringUtils;
 import org.flywaydb.core.internal.util.scanner.LoadableResource;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 
 /**
  * FileSystem scanner.
  */
 public class FileSystemScanner {
     private static final Log LOG = LogFactory.getLog(FileSystemScanner.class);
+
     private final Charset encoding;
 
+    /**
+     * The thread pool to list directories on. Owned by the caller, so repeated scans don't start new threads.
+     */
+    private final ExecutorService executorService;
+
     /**
      * Creates a new filesystem scanner.
      *
-     * @param encoding Encoding to use when loading a resource as a string.
+     * @param encoding        Encoding to use when loading a resource as a string.
+     * @param executorService The thread pool to list directories on. Its tasks must never wait on a scan.
      */
-    public FileSystemScanner(Charset encoding) {
+    public FileSystemScanner(Charset encoding, ExecutorService executorService) {
         this.encoding = encoding;
+        this.executorService = executorService;
     }
 
     /**
@@ -82,65 +102,120 @@ public class FileSystemScanner {
     }
 
     /**
-     * Finds the resources names present at this location and below on the classpath starting with this prefix and
-     * ending with this suffix.
+     * Scans only this path below a location for resources starting with the specified prefix and ending with the
+     * specified suffix. This lets a location be updated after a change to a single file or directory without scanning
+     * it again in full.
      *
-     * @param path     The path on the classpath to scan.
-     * @param prefix   The filename prefix to match.
-     * @param suffixes The filename suffixes to match.
-     * @return The resource names.
+     * @param path     The file or directory to scan. Subdirectories are also searched.
+     * @param prefix   The prefix of the resource names to match.
+     * @param suffixes The suffixes of the resource names to match.
+     * @return The resources that were found. Empty if the path doesn't exist anymore.
      */
-    private Set<String> findResourceNames(String path, String prefix, String[] suffixes) {
-        Set<String> resourceNames = findResourceNamesFromFileSystem(path, new File(path));
-        return filterResourceNames(resourceNames, prefix, suffixes);
+    public LoadableResource[] scanForResources(Path path, String prefix, String... suffixes) {
+        Set<String> resourceNames;
+        if (Files.isDirectory(path)) {
+            resourceNames = findResourceNames(path.toString(), prefix, suffixes);
+        } else if (Files.isRegularFile(path) && Files.isReadable(path)
+                && fileNameMatches(path.getFileName().toString(), prefix, suffixes)) {
+            resourceNames = Collections.singleton(path.toString());
+        } else {
+            return new LoadableResource[0];
+        }
+
+        Set<LoadableResource> resources = new TreeSet<>();
+        for (String resourceName : resourceNames) {
+            resources.add(new FileSystemResource(resourceName, encoding));
+            LOG.debug("Found filesystem resource: " + resourceName);
+        }
+        return resources.toArray(new LoadableResource[resources.size()]);
     }
 
     /**
-     * Finds all the resource names contained in this file system folder.
+     * Finds the resources names present at this location and below on the filesystem starting with this prefix and
+     * ending with this suffix. The directory tree is walked level by level, listing the directories of each level in
+     * parallel on the thread pool of this scanner.
      *
-     * @param scanRootLocation The root location of the scan on disk.
-     * @param folder           The folder to look for resources under on disk.
-     * @return The resource names;
+     * @param path     The path on the filesystem to scan.
+     * @param prefix   The filename prefix to match.
+     * @param suffixes The filename suffixes to match.
+     * @return The resource names.
      */
-    @SuppressWarnings("ConstantConditions")
-    private Set<String> findResourceNamesFromFileSystem(String scanRootLocation, File folder) {
-        LOG.debug("Scanning for resources in path: " + folder.getPath() + " (" + scanRootLocation + ")");
-
+    private Set<String> findResourceNames(String path, final String prefix, final String[] suffixes) {
         Set<String> resourceNames = new TreeSet<>();
 
-        File[] files = folder.listFiles();
-        for (File file : files) {
-            if (file.canRead()) {
-                if (file.isDirectory()) {
-                    resourceNames.addAll(findResourceNamesFromFileSystem(scanRootLocation, file));
-                } else {
-                    resourceNames.add(file.getPath());
+        List<Path> directories = Collections.singletonList(Paths.get(path));
+        while (!directories.isEmpty()) {
+            List<DirectoryListing> listings;
+            if (directories.size() == 1) {
+                listings = Collections.singletonList(listDirectory(directories.get(0), prefix, suffixes));
+            } else {
+                List<Callable<DirectoryListing>> tasks = new ArrayList<>(directories.size());
+                for (final Path directory : directories) {
+                    tasks.add(new Callable<DirectoryListing>() {
+                        @Override
+                        public DirectoryListing call() {
+                            return listDirectory(directory, prefix, suffixes);
+                        }
+                    });
                 }
+                listings = ConcurrencyUtils.invokeAll(executorService, "filesystem scan", tasks);
             }
+
+            List<Path> subdirectories = new ArrayList<>();
+            for (DirectoryListing listing : listings) {
+                resourceNames.addAll(listing.resourceNames);
+                subdirectories.addAll(listing.subdirectories);
+            }
+            directories = subdirectories;
         }
 
         return resourceNames;
     }
 
     /**
-     * Filters this list of resource names to only include the ones whose filename matches this prefix and this suffix.
+     * Lists the resources matching this prefix and these suffixes and the subdirectories in this directory.
+     * Entries are filtered by name first. Only the attributes of matching entries are read in full, while all other
+     * entries are merely checked for being a directory.
      *
-     * @param resourceNames The names to filter.
-     * @param prefix        The prefix to match.
-     * @param suffixes      The suffixes to match.
-     * @return The filtered names set.
+     * @param directory The directory to list.
+     * @param prefix    The filename prefix to match.
+     * @param suffixes  The filename suffixes to match.
+     * @return The listing.
      */
-    private Set<String> filterResourceNames(Set<String> resourceNames, String prefix, String[] suffixes) {
-        Set<String> filteredResourceNames = new TreeSet<>();
-        for (String resourceName : resourceNames) {
-            String fileName = resourceName.substring(resourceName.lastIndexOf(File.separator) + 1);
-            if (fileNameMatches(fileName, prefix, suffixes)) {
-                filteredResourceNames.add(resourceName);
-            } else {
-                LOG.debug("Filtering out resource: " + resourceName + " (filename: " + fileName + ")");
+    private DirectoryListing listDirectory(Path directory, String prefix, String[] suffixes) {
+        LOG.debug("Scanning for resources in path: " + directory);
+
+        DirectoryListing listing = new DirectoryListing();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                String fileName = entry.getFileName().toString();
+                if (!fileNameMatches(fileName, prefix, suffixes)) {
+                    if (Files.isDirectory(entry)) {
+                        listing.subdirectories.add(entry);
+                    } else {
+                        LOG.debug("Filtering out resource: " + entry + " (filename: " + fileName + ")");
+                    }
+                    continue;
+                }
+
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                } catch (IOException e) {
+                    LOG.debug("Skipping unreadable path: " + entry + " (" + e.getMessage() + ")");
+                    continue;
+                }
+
+                if (attributes.isDirectory()) {
+                    listing.subdirectories.add(entry);
+                } else if (Files.isReadable(entry)) {
+                    listing.resourceNames.add(entry.toString());
+                }
             }
+        } catch (IOException e) {
+            LOG.warn("Skipping unreadable directory: " + directory + " (" + e.getMessage() + ")");
         }
-        return filteredResourceNames;
+        return listing;
     }
 
     private boolean fileNameMatches(String fileName, String prefix, String[] suffixes) {
@@ -152,4 +227,12 @@ public class FileSystemScanner {
         }
         return false;
     }
+
+    /**
+     * The matching resources and the subdirectories found in a directory.
+     */
+    private static class DirectoryListing {
+        private final List<String> resourceNames = new ArrayList<>();
+        private final List<Path> subdirectories = new ArrayList<>();
+    }
 }
\ No newline at end of file
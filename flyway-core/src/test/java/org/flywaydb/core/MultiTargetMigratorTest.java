@@ -0,0 +1,136 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core;
+
+import org.flywaydb.core.api.configuration.ClassicConfiguration;
+import org.flywaydb.core.api.resolver.MigrationResolver;
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MultiTargetMigratorTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void migrate() throws IOException, SQLException {
+        File location = temporaryFolder.newFolder("migrations");
+        write(location, "V1__Create.sql", "CREATE TABLE person (name VARCHAR(100));");
+        write(location, "V2__Insert.sql", "INSERT INTO person VALUES ('${name}');");
+
+        CountingResolver resolver = new CountingResolver();
+        ClassicConfiguration configuration = new ClassicConfiguration();
+        configuration.setLocationsAsStrings("filesystem:" + location.getPath());
+        configuration.setPlaceholders(Collections.singletonMap("name", "Alice"));
+        configuration.setResolvers(resolver);
+
+        DataSource first = dataSource("multi_target_first");
+        DataSource second = dataSource("multi_target_second");
+        DataSource third = dataSource("multi_target_third");
+        DataSource broken = dataSource("multi_target_broken");
+        execute(broken, "CREATE TABLE unrelated (id INT)");
+
+        List<MigrationTargetResult> results = new MultiTargetMigrator(configuration)
+                .threads(2)
+                .target("first", first)
+                .target("broken", broken)
+                .target("second", second)
+                .target("third", third)
+                .migrate();
+
+        assertEquals(4, results.size());
+        for (int i : new int[]{0, 2, 3}) {
+            MigrationTargetResult result = results.get(i);
+            assertTrue(result.toString(), result.isSuccess());
+            assertNull(result.getException());
+            assertEquals(2, result.getMigrationsExecuted());
+        }
+        // The failing target didn't get in the way of the others
+        MigrationTargetResult failed = results.get(1);
+        assertEquals("broken", failed.getName());
+        assertFalse(failed.isSuccess());
+        assertEquals(0, failed.getMigrationsExecuted());
+        assertTrue(failed.getException().getMessage(), failed.getException().getMessage().contains("non-empty schema"));
+
+        for (DataSource dataSource : new DataSource[]{first, second, third}) {
+            assertEquals("Alice", queryString(dataSource, "SELECT name FROM person"));
+        }
+        // The migrations were only resolved once for all targets
+        assertEquals(1, resolver.calls.get());
+    }
+
+    private static DataSource dataSource(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        dataSource.setPassword("");
+        return dataSource;
+    }
+
+    private static void execute(DataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static String queryString(DataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            assertTrue(resultSet.next());
+            String result = resultSet.getString(1);
+            assertFalse(resultSet.next());
+            return result;
+        }
+    }
+
+    private static void write(File root, String filename, String sql) throws IOException {
+        Files.write(new File(root, filename).toPath(), sql.getBytes(Charset.forName("UTF-8")));
+    }
+
+    /**
+     * A resolver without migrations of its own, counting how often it is asked for them.
+     */
+    private static class CountingResolver implements MigrationResolver {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public Collection<ResolvedMigration> resolveMigrations() {
+            calls.incrementAndGet();
+            return Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class MigrationInfoFilterTest {
+    private static final MigrationInfo V1 = info("1", MigrationState.SUCCESS, 1, new Date(1000));
+    private static final MigrationInfo R1 = info(null, MigrationState.SUCCESS, 2, new Date(2000));
+    private static final MigrationInfo V3 = info("3", MigrationState.SUCCESS, 3, new Date(3000));
+    private static final MigrationInfo V2 = info("2", MigrationState.IGNORED, null, null);
+    private static final MigrationInfo V4 = info("4", MigrationState.PENDING, null, null);
+
+    /**
+     * A service only implementing the abstract methods, so iterate falls back to its default implementation.
+     */
+    private static final MigrationInfoService SERVICE = new MigrationInfoService() {
+        @Override
+        public MigrationInfo[] all() {
+            return new MigrationInfo[]{V1, R1, V3, V2, V4};
+        }
+
+        @Override
+        public MigrationInfo current() {
+            return V3;
+        }
+
+        @Override
+        public MigrationInfo[] pending() {
+            return new MigrationInfo[]{V4};
+        }
+
+        @Override
+        public MigrationInfo[] applied() {
+            return new MigrationInfo[]{V1, R1, V3};
+        }
+    };
+
+    @Test
+    public void all() {
+        assertEquals(Arrays.asList(V1, R1, V3, V2, V4), iterate(new MigrationInfoFilter()));
+    }
+
+    @Test
+    public void orderByVersion() {
+        assertEquals(Arrays.asList(V1, V2, V3, V4, R1),
+                iterate(new MigrationInfoFilter().orderBy(MigrationInfoFilter.Order.VERSION)));
+    }
+
+    @Test
+    public void states() {
+        assertEquals(Arrays.asList(V2, V4),
+                iterate(new MigrationInfoFilter().states(MigrationState.PENDING, MigrationState.IGNORED)));
+        assertEquals(new ArrayList<MigrationInfo>(), iterate(new MigrationInfoFilter().states()));
+    }
+
+    @Test
+    public void versionRange() {
+        // Repeatable migrations have no version, so they never match a version range
+        assertEquals(Arrays.asList(V3, V2),
+                iterate(new MigrationInfoFilter().fromVersion(MigrationVersion.fromVersion("2"))
+                        .toVersion(MigrationVersion.fromVersion("3"))));
+        assertEquals(Arrays.asList(V3, V4),
+                iterate(new MigrationInfoFilter().fromVersion(MigrationVersion.fromVersion("3"))));
+    }
+
+    @Test
+    public void installedSince() {
+        assertEquals(Arrays.asList(R1, V3), iterate(new MigrationInfoFilter().installedSince(new Date(2000))));
+    }
+
+    @Test
+    public void page() {
+        MigrationInfoFilter filter = new MigrationInfoFilter().orderBy(MigrationInfoFilter.Order.VERSION)
+                .offset(1).limit(2);
+        assertEquals(Arrays.asList(V2, V3), iterate(filter));
+        // Can be iterated over several times
+        assertEquals(Arrays.asList(V2, V3), iterate(filter));
+        assertEquals(Arrays.asList(R1), iterate(new MigrationInfoFilter().offset(1).limit(1)));
+        assertEquals(new ArrayList<MigrationInfo>(), iterate(new MigrationInfoFilter().offset(5)));
+    }
+
+    @Test(expected = FlywayException.class)
+    public void negativeOffset() {
+        new MigrationInfoFilter().offset(-1);
+    }
+
+    @Test(expected = FlywayException.class)
+    public void negativeLimit() {
+        new MigrationInfoFilter().limit(-1);
+    }
+
+    private static List<MigrationInfo> iterate(MigrationInfoFilter filter) {
+        List<MigrationInfo> migrationInfos = new ArrayList<>();
+        for (MigrationInfo migrationInfo : SERVICE.iterate(filter)) {
+            migrationInfos.add(migrationInfo);
+        }
+        return migrationInfos;
+    }
+
+    private static MigrationInfo info(final String version, final MigrationState state, final Integer installedRank,
+                                      final Date installedOn) {
+        return new MigrationInfo() {
+            @Override
+            public MigrationType getType() {
+                return MigrationType.SQL;
+            }
+
+            @Override
+            public Integer getChecksum() {
+                return null;
+            }
+
+            @Override
+            public MigrationVersion getVersion() {
+                return version == null ? null : MigrationVersion.fromVersion(version);
+            }
+
+            @Override
+            public String getDescription() {
+                return "Migration " + version;
+            }
+
+            @Override
+            public String getScript() {
+                return "V" + version + ".sql";
+            }
+
+            @Override
+            public MigrationState getState() {
+                return state;
+            }
+
+            @Override
+            public Date getInstalledOn() {
+                return installedOn;
+            }
+
+            @Override
+            public String getInstalledBy() {
+                return null;
+            }
+
+            @Override
+            public Integer getInstalledRank() {
+                return installedRank;
+            }
+
+            @Override
+            public Integer getExecutionTime() {
+                return null;
+            }
+
+            @Override
+            public int compareTo(MigrationInfo o) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String toString() {
+                return getDescription();
+            }
+        };
+    }
+}
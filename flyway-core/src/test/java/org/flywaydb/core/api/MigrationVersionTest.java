@@ -0,0 +1,119 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MigrationVersionTest {
+    @Test
+    public void trailingZerosAreIgnored() {
+        MigrationVersion v1 = MigrationVersion.fromVersion("1");
+        MigrationVersion v100 = MigrationVersion.fromVersion("1.0.0");
+        assertEquals(v1, v100);
+        assertEquals(v1.hashCode(), v100.hashCode());
+        assertEquals(0, v1.compareTo(v100));
+        assertEquals("1.0.0", v100.toString());
+    }
+
+    @Test
+    public void leadingZerosAndUnderscores() {
+        assertEquals(MigrationVersion.fromVersion("5"), MigrationVersion.fromVersion("005"));
+        assertEquals(MigrationVersion.fromVersion("1.2"), MigrationVersion.fromVersion("1_2"));
+        assertEquals("1.2", MigrationVersion.fromVersion("1_2").getVersion());
+    }
+
+    @Test
+    public void partsAreComparedNumerically() {
+        List<MigrationVersion> versions = new ArrayList<>();
+        for (String version : new String[]{"1.10", "1.2", "2", "1.2.1", "1", "201004200021", "0.9"}) {
+            versions.add(MigrationVersion.fromVersion(version));
+        }
+        Collections.sort(versions);
+
+        List<String> sorted = new ArrayList<>();
+        for (MigrationVersion version : versions) {
+            sorted.add(version.toString());
+        }
+        assertEquals(Arrays.asList("0.9", "1", "1.2", "1.2.1", "1.10", "2", "201004200021"), sorted);
+    }
+
+    @Test
+    public void partsLargerThanLong() {
+        MigrationVersion big = MigrationVersion.fromVersion("1.99999999999999999999");
+        MigrationVersion bigger = MigrationVersion.fromVersion("1.100000000000000000000");
+        MigrationVersion small = MigrationVersion.fromVersion("1." + Long.MAX_VALUE);
+
+        assertTrue(small.compareTo(big) < 0);
+        assertTrue(big.compareTo(small) > 0);
+        assertTrue(big.compareTo(bigger) < 0);
+        assertEquals(big, MigrationVersion.fromVersion("1.99999999999999999999.0"));
+        assertEquals(big.hashCode(), MigrationVersion.fromVersion("1.99999999999999999999.0").hashCode());
+        assertNotEquals(big, small);
+    }
+
+    @Test
+    public void unusualFormats() {
+        // Not plain digits and dots, but still accepted as before
+        assertEquals(MigrationVersion.fromVersion("1.2"), MigrationVersion.fromVersion("+1.2"));
+        assertTrue(MigrationVersion.fromVersion("-1.2").compareTo(MigrationVersion.fromVersion("0")) < 0);
+    }
+
+    @Test
+    public void invalidVersion() {
+        for (String version : new String[]{"1.a", "abc", "1..2", ".1", ""}) {
+            try {
+                MigrationVersion.fromVersion(version);
+                fail("Accepted invalid version " + version);
+            } catch (FlywayException e) {
+                assertTrue(e.getMessage(), e.getMessage().startsWith("Invalid version containing non-numeric characters."));
+            }
+        }
+    }
+
+    @Test
+    public void versionsAreShared() {
+        assertSame(MigrationVersion.fromVersion("3.1.4"), MigrationVersion.fromVersion("3.1.4"));
+    }
+
+    @Test
+    public void markers() {
+        assertSame(MigrationVersion.EMPTY, MigrationVersion.fromVersion(null));
+        assertSame(MigrationVersion.CURRENT, MigrationVersion.fromVersion("current"));
+        assertSame(MigrationVersion.LATEST, MigrationVersion.fromVersion(Long.toString(Long.MAX_VALUE)));
+        assertNull(MigrationVersion.EMPTY.getVersion());
+        assertEquals(Long.toString(Long.MAX_VALUE), MigrationVersion.LATEST.getVersion());
+
+        MigrationVersion version = MigrationVersion.fromVersion("999999999");
+        assertTrue(MigrationVersion.EMPTY.compareTo(version) < 0);
+        assertTrue(version.compareTo(MigrationVersion.EMPTY) > 0);
+        assertTrue(MigrationVersion.LATEST.compareTo(version) > 0);
+        assertTrue(version.compareTo(MigrationVersion.LATEST) < 0);
+        assertEquals(0, MigrationVersion.LATEST.compareTo(MigrationVersion.LATEST));
+        assertTrue(version.compareTo(null) > 0);
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.command;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.flywaydb.core.internal.database.Database;
+import org.flywaydb.core.internal.database.DatabaseFactory;
+import org.flywaydb.core.internal.database.Schema;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DbCleanTest {
+    @Test
+    public void batchClean() throws SQLException {
+        String url = "jdbc:h2:mem:db_clean_batch;DB_CLOSE_DELAY=-1";
+        Connection connection = DriverManager.getConnection(url, "sa", "");
+        try {
+            execute(connection,
+                    "CREATE TABLE parent (id INT PRIMARY KEY)",
+                    "CREATE TABLE child (id INT, parent_id INT REFERENCES parent(id))",
+                    "CREATE TABLE other (id INT)",
+                    "CREATE VIEW child_view AS SELECT * FROM child",
+                    "CREATE SEQUENCE seq1",
+                    "CREATE SEQUENCE seq2",
+                    "CREATE SEQUENCE seq3");
+
+            // Smaller batches than objects, so the drops span several batches
+            new Flyway(new FluentConfiguration()
+                    .dataSource(url, "sa", "")
+                    .batchClean(true)
+                    .batchSize(2))
+                    .clean();
+
+            assertEquals(0, count(connection, "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES"
+                    + " WHERE TABLE_SCHEMA = 'PUBLIC'"));
+            assertEquals(0, count(connection, "SELECT COUNT(*) FROM INFORMATION_SCHEMA.SEQUENCES"
+                    + " WHERE SEQUENCE_SCHEMA = 'PUBLIC'"));
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void concurrentClean() throws SQLException {
+        String url = "jdbc:h2:mem:db_clean_concurrent;DB_CLOSE_DELAY=-1";
+        Connection connection = DriverManager.getConnection(url, "sa", "");
+        try {
+            for (String schema : new String[]{"S1", "S2", "S3", "S4"}) {
+                execute(connection,
+                        "CREATE SCHEMA " + schema,
+                        "CREATE TABLE " + schema + ".parent (id INT PRIMARY KEY)",
+                        "CREATE TABLE " + schema + ".child (id INT, parent_id INT REFERENCES " + schema + ".parent(id))",
+                        "CREATE VIEW " + schema + ".child_view AS SELECT * FROM " + schema + ".child",
+                        "CREATE SEQUENCE " + schema + ".seq");
+            }
+            FluentConfiguration configuration = new FluentConfiguration()
+                    .dataSource(url, "sa", "")
+                    .schemas("S1", "S2", "S3", "S4")
+                    .cleanParallelism(4);
+            assertFalse(hasCrossSchemaDependencies(configuration, "S1", "S2", "S3", "S4"));
+
+            new Flyway(configuration).clean();
+
+            assertEquals(0, count(connection, "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES"
+                    + " WHERE TABLE_SCHEMA IN ('S1', 'S2', 'S3', 'S4')"));
+            assertEquals(0, count(connection, "SELECT COUNT(*) FROM INFORMATION_SCHEMA.SEQUENCES"
+                    + " WHERE SEQUENCE_SCHEMA IN ('S1', 'S2', 'S3', 'S4')"));
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void crossSchemaDependencies() throws SQLException {
+        String url = "jdbc:h2:mem:db_clean_dependent;DB_CLOSE_DELAY=-1";
+        Connection connection = DriverManager.getConnection(url, "sa", "");
+        try {
+            execute(connection,
+                    "CREATE SCHEMA S1",
+                    "CREATE SCHEMA S2",
+                    "CREATE SCHEMA S3",
+                    "CREATE SCHEMA S4",
+                    "CREATE TABLE S1.parent (id INT PRIMARY KEY)",
+                    "CREATE TABLE S2.child (id INT, parent_id INT REFERENCES S1.parent(id))",
+                    "CREATE TABLE S3.t (id INT)",
+                    "CREATE VIEW S4.v AS SELECT * FROM S3.t");
+            FluentConfiguration configuration = new FluentConfiguration()
+                    .dataSource(url, "sa", "")
+                    .schemas("S1", "S2", "S3", "S4")
+                    .cleanParallelism(4);
+            // Foreign key
+            assertTrue(hasCrossSchemaDependencies(configuration, "S1", "S2"));
+            assertTrue(hasCrossSchemaDependencies(configuration, "S1"));
+            // Only referencing another schema doesn't keep a schema from being cleaned concurrently
+            assertFalse(hasCrossSchemaDependencies(configuration, "S2"));
+            // View
+            assertTrue(hasCrossSchemaDependencies(configuration, "S3", "S4"));
+            assertFalse(hasCrossSchemaDependencies(configuration, "S4"));
+
+            // Falls back to cleaning the schemas one after another
+            new Flyway(configuration).clean();
+
+            assertEquals(0, count(connection, "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES"
+                    + " WHERE TABLE_SCHEMA IN ('S1', 'S2', 'S3', 'S4')"));
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void concurrentCleanWithMissingFirstSchema() throws SQLException {
+        String url = "jdbc:h2:mem:db_clean_missing;DB_CLOSE_DELAY=-1";
+        Connection connection = DriverManager.getConnection(url, "sa", "");
+        try {
+            execute(connection,
+                    "CREATE SCHEMA S1",
+                    "CREATE SCHEMA S2",
+                    "CREATE TABLE S1.t (id INT)",
+                    "CREATE TABLE S2.t (id INT)");
+
+            new Flyway(new FluentConfiguration()
+                    .dataSource(url, "sa", "")
+                    .schemas("MISSING", "S1", "S2")
+                    .cleanParallelism(2))
+                    .clean();
+
+            assertEquals(0, count(connection, "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES"
+                    + " WHERE TABLE_SCHEMA IN ('S1', 'S2')"));
+        } finally {
+            connection.close();
+        }
+    }
+
+    private static boolean hasCrossSchemaDependencies(FluentConfiguration configuration, String... schemaNames) {
+        Database database = DatabaseFactory.createDatabase(configuration, false);
+        try {
+            List<Schema> schemas = new ArrayList<>();
+            for (String schemaName : schemaNames) {
+                schemas.add(database.getMainConnection().getSchema(schemaName));
+            }
+            return database.hasCrossSchemaDependencies(schemas);
+        } finally {
+            database.close();
+        }
+    }
+
+    private static void execute(Connection connection, String... sqls) throws SQLException {
+        Statement statement = connection.createStatement();
+        try {
+            for (String sql : sqls) {
+                statement.execute(sql);
+            }
+        } finally {
+            statement.close();
+        }
+    }
+
+    private static int count(Connection connection, String sql) throws SQLException {
+        Statement statement = connection.createStatement();
+        try {
+            ResultSet resultSet = statement.executeQuery(sql);
+            resultSet.next();
+            return resultSet.getInt(1);
+        } finally {
+            statement.close();
+        }
+    }
+}
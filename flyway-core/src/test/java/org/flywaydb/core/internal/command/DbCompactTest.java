@@ -0,0 +1,233 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.command;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.flywaydb.core.api.MigrationType;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.TestName;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DbCompactTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Rule
+    public TestName testName = new TestName();
+
+    private String url;
+    private File location;
+
+    @Before
+    public void setUp() throws IOException {
+        url = "jdbc:h2:mem:db_compact_" + testName.getMethodName() + ";DB_CLOSE_DELAY=-1";
+        location = temporaryFolder.newFolder("migrations");
+        write("V1__First.sql", "CREATE TABLE first (id INT);");
+        write("V2__Second.sql", "CREATE TABLE second (id INT);");
+        write("V3__Third.sql", "CREATE TABLE third (id INT);");
+        write("R__View.sql", "CREATE OR REPLACE VIEW all_ids AS SELECT id FROM first;");
+    }
+
+    @Test
+    public void compact() throws IOException, SQLException {
+        assertEquals(4, flyway().migrate());
+        assertFalse(tableExists("flyway_schema_history_archive"));
+
+        // The archive table is created on first use
+        assertEquals(3, flyway().compact());
+        assertTrue(tableExists("flyway_schema_history_archive"));
+        assertEquals(Arrays.asList("1 First SQL", "2 Second SQL", "3 Third SQL"),
+                describe("flyway_schema_history_archive"));
+        assertEquals(Arrays.asList("null View SQL", "3 << Flyway Snapshot >> SNAPSHOT"),
+                describe("flyway_schema_history"));
+
+        // The snapshot stands in for the migrations it covers
+        MigrationInfo[] all = flyway().info().all();
+        assertEquals(2, all.length);
+        assertEquals(MigrationState.SNAPSHOT, all[1].getState());
+        assertEquals(MigrationType.SNAPSHOT, all[1].getType());
+        assertEquals(MigrationVersion.fromVersion("3"), flyway().info().current().getVersion());
+        assertEquals(0, flyway().info().pending().length);
+        flyway().validate();
+
+        // Nothing new to compact
+        assertEquals(0, flyway().compact());
+
+        // New migrations are applied on top of the snapshot
+        write("V4__Fourth.sql", "CREATE TABLE fourth (id INT);");
+        assertEquals(1, flyway().migrate());
+        assertEquals(MigrationVersion.fromVersion("4"), flyway().info().current().getVersion());
+        assertEquals(0, flyway().migrate());
+        flyway().validate();
+    }
+
+    @Test
+    public void recompact() throws IOException, SQLException {
+        flyway().migrate();
+        flyway().compact();
+        write("V4__Fourth.sql", "CREATE TABLE fourth (id INT);");
+        write("V5__Fifth.sql", "CREATE TABLE fifth (id INT);");
+        flyway().migrate();
+
+        // The previous snapshot is folded into the new one
+        assertEquals(2, flyway().compact());
+        assertEquals(Arrays.asList("1 First SQL", "2 Second SQL", "3 Third SQL",
+                "3 << Flyway Snapshot >> SNAPSHOT", "4 Fourth SQL", "5 Fifth SQL"),
+                describe("flyway_schema_history_archive"));
+        assertEquals(Arrays.asList("null View SQL", "5 << Flyway Snapshot >> SNAPSHOT"),
+                describe("flyway_schema_history"));
+        assertEquals(MigrationVersion.fromVersion("5"), flyway().info().current().getVersion());
+        flyway().validate();
+    }
+
+    @Test
+    public void compactUpToTarget() throws SQLException {
+        flyway().migrate();
+
+        assertEquals(2, new Flyway(configuration().target("2")).compact());
+        assertEquals(Arrays.asList("3 Third SQL", "null View SQL", "2 << Flyway Snapshot >> SNAPSHOT"),
+                describe("flyway_schema_history"));
+        MigrationInfo current = flyway().info().current();
+        assertEquals(MigrationVersion.fromVersion("3"), current.getVersion());
+        assertEquals(MigrationState.SUCCESS, current.getState());
+        flyway().validate();
+    }
+
+    @Test
+    public void compactRefusesPendingMigration() throws SQLException {
+        new Flyway(configuration().target("1")).migrate();
+
+        try {
+            new Flyway(configuration().target("2")).compact();
+            fail();
+        } catch (FlywayException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("migration 2 is in state PENDING"));
+        }
+        assertFalse(tableExists("flyway_schema_history_archive"));
+        assertEquals(Arrays.asList("1 First SQL", "null View SQL"), describe("flyway_schema_history"));
+    }
+
+    @Test
+    public void compactRefusesFailedMigration() throws SQLException {
+        flyway().migrate();
+        // As left behind by a failed migration on a database without DDL transactions
+        execute("UPDATE \"flyway_schema_history\" SET \"success\" = FALSE WHERE \"version\" = '2'");
+
+        try {
+            flyway().compact();
+            fail();
+        } catch (FlywayException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Unable to compact schema history table"));
+        }
+        assertFalse(tableExists("flyway_schema_history_archive"));
+        assertEquals(4, describe("flyway_schema_history").size());
+    }
+
+    @Test
+    public void modifiedMigrationBelowSnapshot() throws IOException {
+        flyway().migrate();
+        flyway().compact();
+
+        write("V2__Second.sql", "CREATE TABLE second (id INT, name VARCHAR(10));");
+        try {
+            flyway().validate();
+            fail();
+        } catch (FlywayException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("snapshot of version 3"));
+        }
+        write("V4__Fourth.sql", "CREATE TABLE fourth (id INT);");
+        try {
+            flyway().migrate();
+            fail();
+        } catch (FlywayException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("snapshot of version 3"));
+        }
+
+        // Repair accepts the modified migration into the snapshot
+        flyway().repair();
+        assertEquals(1, flyway().migrate());
+        flyway().validate();
+    }
+
+    private Flyway flyway() {
+        return new Flyway(configuration());
+    }
+
+    private FluentConfiguration configuration() {
+        return new FluentConfiguration()
+                .dataSource(url, "sa", "")
+                .locations("filesystem:" + location.getPath());
+    }
+
+    private void write(String filename, String sql) throws IOException {
+        Files.write(new File(location, filename).toPath(), sql.getBytes(Charset.forName("UTF-8")));
+    }
+
+    private boolean tableExists(String table) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            ResultSet resultSet = connection.getMetaData().getTables(null, "PUBLIC", table, null);
+            return resultSet.next();
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    /**
+     * @return The version, description and type of the rows of this table, ordered by installed rank.
+     */
+    private List<String> describe(String table) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT \"version\", \"description\", \"type\" FROM \""
+                     + table + "\" ORDER BY \"installed_rank\"")) {
+            while (resultSet.next()) {
+                rows.add(resultSet.getString(1) + " " + resultSet.getString(2) + " " + resultSet.getString(3));
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.command;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class DbMigrateTest {
+    private static final String URL = "jdbc:h2:mem:db_migrate_up_to_date;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=200";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void upToDateWithoutLock() throws IOException, SQLException {
+        File older = temporaryFolder.newFolder("older");
+        File newer = temporaryFolder.newFolder("newer");
+        write(older, "V1__First.sql", "CREATE TABLE first (id INT);");
+        write(newer, "V1__First.sql", "CREATE TABLE first (id INT);");
+        write(newer, "V2__Second.sql", "CREATE TABLE second (id INT);");
+
+        assertEquals(2, flyway(newer, true).migrate());
+
+        // Another instance holds the lock on the schema history table, for example while applying a migration
+        Connection connection = DriverManager.getConnection(URL, "sa", "");
+        try {
+            connection.setAutoCommit(false);
+            Statement statement = connection.createStatement();
+            statement.executeQuery("SELECT * FROM \"flyway_schema_history\" FOR UPDATE");
+
+            assertEquals(0, flyway(newer, true).migrate());
+            // An older instance only sees the migrations up to V1. V2 is a future migration it can ignore.
+            assertEquals(0, flyway(older, true).migrate());
+
+            // Future migrations that aren't ignored are inspected under lock
+            try {
+                flyway(older, false).migrate();
+                fail();
+            } catch (FlywayException e) {
+                // Timed out waiting for the lock
+            }
+
+            // So are pending migrations
+            write(newer, "V3__Third.sql", "CREATE TABLE third (id INT);");
+            try {
+                flyway(newer, true).migrate();
+                fail();
+            } catch (FlywayException e) {
+                // Timed out waiting for the lock
+            }
+
+            connection.rollback();
+            assertEquals(1, flyway(newer, true).migrate());
+        } finally {
+            connection.close();
+        }
+    }
+
+    private static Flyway flyway(File location, boolean ignoreFutureMigrations) {
+        return new Flyway(new FluentConfiguration()
+                .dataSource(URL, "sa", "")
+                .locations("filesystem:" + location.getPath())
+                .ignoreFutureMigrations(ignoreFutureMigrations));
+    }
+
+    private static void write(File root, String filename, String sql) throws IOException {
+        Files.write(new File(root, filename).toPath(), sql.getBytes(Charset.forName("UTF-8")));
+    }
+}
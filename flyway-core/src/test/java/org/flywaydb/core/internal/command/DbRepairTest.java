@@ -0,0 +1,82 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.command;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationType;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DbRepairTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void repairSnapshotChecksum() throws IOException {
+        File root = temporaryFolder.getRoot();
+        write(root, "V1__First.sql", "CREATE TABLE first (id INT);");
+        write(root, "V2__Second.sql", "CREATE TABLE second (id INT);");
+        write(root, "V3__Third.sql", "CREATE TABLE third (id INT);");
+
+        Flyway flyway = new Flyway(new FluentConfiguration()
+                .dataSource("jdbc:h2:mem:db_repair_snapshot;DB_CLOSE_DELAY=-1", "sa", "")
+                .locations("filesystem:" + root.getPath())
+                .target("2"));
+        assertEquals(2, flyway.migrate());
+        assertEquals(2, flyway.compact());
+        flyway.validate();
+
+        // A migration compacted into the snapshot is edited locally
+        write(root, "V1__First.sql", "CREATE TABLE first (id INT, name VARCHAR(10));");
+        try {
+            flyway.validate();
+            fail();
+        } catch (FlywayException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("snapshot of version 2"));
+        }
+
+        flyway.repair();
+        flyway.validate();
+
+        MigrationInfo snapshot = flyway.info().current();
+        assertEquals(MigrationType.SNAPSHOT, snapshot.getType());
+
+        // Repairing again is a no-op, and migrations after the snapshot still apply on top of it
+        flyway.repair();
+        Flyway latest = new Flyway(new FluentConfiguration()
+                .dataSource("jdbc:h2:mem:db_repair_snapshot;DB_CLOSE_DELAY=-1", "sa", "")
+                .locations("filesystem:" + root.getPath()));
+        assertEquals(1, latest.migrate());
+        latest.validate();
+    }
+
+    private static void write(File root, String filename, String sql) throws IOException {
+        Files.write(new File(root, filename).toPath(), sql.getBytes(Charset.forName("UTF-8")));
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.command;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.configuration.ClassicConfiguration;
+import org.flywaydb.core.api.resolver.MigrationExecutor;
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.database.Database;
+import org.flywaydb.core.internal.database.DatabaseFactory;
+import org.flywaydb.core.internal.resolver.sql.SqlMigrationResolver;
+import org.flywaydb.core.internal.util.ConcurrencyUtils;
+import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.flywaydb.core.internal.util.scanner.RecordingResource;
+import org.flywaydb.core.internal.util.scanner.StubScanner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MigrationPrefetcherTest {
+    private final RecordingResource first = new RecordingResource("V1__First.sql", "CREATE TABLE first (id INT);");
+    private final RecordingResource second = new RecordingResource("V2__Second.sql", "CREATE TABLE second (id INT);");
+    private final RecordingResource third = new RecordingResource("V3__Third.sql", "CREATE TABLE third (id INT);");
+
+    private Database database;
+    private ExecutorService executorService;
+    private List<MigrationExecutor> executors;
+
+    @Before
+    public void setUp() {
+        ClassicConfiguration configuration = new ClassicConfiguration();
+        configuration.setDataSource("jdbc:h2:mem:migration_prefetcher;DB_CLOSE_DELAY=-1", "sa", "");
+        database = DatabaseFactory.createDatabase(configuration, false);
+        // A single thread, so preparations run one after the other in the order in which they were submitted
+        executorService = ConcurrencyUtils.newDaemonThreadPool("test-prefetch", 1);
+
+        executors = new ArrayList<>();
+        for (ResolvedMigration migration : new SqlMigrationResolver(database, new StubScanner(first, second, third),
+                Collections.singletonList(new Location("classpath:")), PlaceholderReplacer.NO_PLACEHOLDERS,
+                configuration, null, executorService).resolveMigrations()) {
+            executors.add(migration.getExecutor());
+        }
+        RecordingResource.clearLoads();
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+        database.close();
+    }
+
+    @Test
+    public void prefetchInOrder() throws InterruptedException {
+        MigrationPrefetcher prefetcher = new MigrationPrefetcher(executorService);
+        prefetcher.prefetchExecutors(executors.subList(0, 2));
+        // Already submitted migrations are not prepared again
+        prefetcher.prefetchExecutors(executors);
+        awaitIdle();
+        assertEquals(Arrays.asList("V1__First.sql", "V2__Second.sql", "V3__Third.sql"), RecordingResource.getLoads());
+        assertTrue(first.getThreads().get(0).startsWith("test-prefetch"));
+
+        // The migrations use the prepared scripts
+        for (MigrationExecutor executor : executors) {
+            executor.executeInTransaction();
+        }
+        assertEquals(3, RecordingResource.getLoads().size());
+    }
+
+    @Test
+    public void failureRaisedWhenApplied() throws InterruptedException {
+        second.setFailing(true);
+        MigrationPrefetcher prefetcher = new MigrationPrefetcher(executorService);
+        prefetcher.prefetchExecutors(executors);
+        awaitIdle();
+        assertEquals(Arrays.asList("V1__First.sql", "V2__Second.sql", "V3__Third.sql"), RecordingResource.getLoads());
+
+        try {
+            executors.get(1).executeInTransaction();
+            fail();
+        } catch (FlywayException e) {
+            assertEquals("Unable to load V2__Second.sql", e.getMessage());
+        }
+        // The failure didn't get in the way of preparing the next migration
+        executors.get(2).executeInTransaction();
+        assertEquals(4, RecordingResource.getLoads().size());
+    }
+
+    @Test
+    public void closeSkipsPendingWithoutInterruptingRunning() throws InterruptedException, ExecutionException {
+        CountDownLatch gate = new CountDownLatch(1);
+        first.setGate(gate);
+        MigrationPrefetcher prefetcher = new MigrationPrefetcher(executorService);
+        prefetcher.prefetchExecutors(executors);
+        while (RecordingResource.getLoads().isEmpty()) {
+            Thread.sleep(10);
+        }
+
+        prefetcher.close();
+        gate.countDown();
+        awaitIdle();
+        assertEquals(Collections.singletonList("V1__First.sql"), RecordingResource.getLoads());
+
+        // The running preparation completed instead of being interrupted
+        executors.get(0).executeInTransaction();
+        assertEquals(1, RecordingResource.getLoads().size());
+        // The pool is still usable for other work
+        assertEquals("done", executorService.submit(new Callable<String>() {
+            @Override
+            public String call() {
+                return "done";
+            }
+        }).get());
+    }
+
+    /**
+     * Waits until all work submitted to the pool so far has completed.
+     */
+    private void awaitIdle() throws InterruptedException {
+        final CountDownLatch idle = new CountDownLatch(1);
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                idle.countDown();
+            }
+        });
+        assertTrue(idle.await(10, TimeUnit.SECONDS));
+    }
+}
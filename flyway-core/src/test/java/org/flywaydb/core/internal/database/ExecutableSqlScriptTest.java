@@ -0,0 +1,270 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.database;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.internal.database.h2.H2SqlScript;
+import org.flywaydb.core.internal.database.postgresql.PostgreSQLSqlStatementBuilder;
+import org.flywaydb.core.internal.sqlscript.FlywaySqlScriptException;
+import org.flywaydb.core.internal.sqlscript.SqlStatement;
+import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.flywaydb.core.internal.util.jdbc.ContextImpl;
+import org.flywaydb.core.internal.util.jdbc.JdbcTemplate;
+import org.flywaydb.core.internal.util.line.Line;
+import org.flywaydb.core.internal.util.line.LineReader;
+import org.flywaydb.core.internal.util.scanner.LoadableResource;
+import org.flywaydb.core.internal.util.scanner.StringResource;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ExecutableSqlScriptTest {
+    private static final String SCRIPT = "-- comment\n"
+            + "CREATE TABLE t (id INT PRIMARY KEY, name VARCHAR(20));\n"
+            + "\n"
+            + "INSERT INTO t VALUES (1, 'a;b');\n"
+            + "/* multi\n"
+            + "   line */\n"
+            + "INSERT INTO t\n"
+            + "  VALUES (2, 'c');\n"
+            + "UPDATE t SET name = 'd' WHERE id = 2";
+
+    @Test
+    public void streamedStatementsMatchLoadedStatements() {
+        List<SqlStatement<ContextImpl>> loaded = new H2SqlScript(new StringResource(SCRIPT),
+                PlaceholderReplacer.NO_PLACEHOLDERS, false, false, 0).getSqlStatements();
+        RecordingJdbcConnection connection = new RecordingJdbcConnection("", 1, 0);
+        new H2SqlScript(new StringResource(SCRIPT), PlaceholderReplacer.NO_PLACEHOLDERS, false, true, 0)
+                .execute(new JdbcTemplate(connection.getConnection()));
+        List<String> streamed = connection.getSqls();
+
+        assertEquals(4, loaded.size());
+        assertEquals(loaded.size(), streamed.size());
+        for (int i = 0; i < loaded.size(); i++) {
+            assertEquals(loaded.get(i).getSql(), streamed.get(i));
+        }
+        // Comments preceding a statement belong to it
+        assertEquals(5, loaded.get(2).getLineNumber());
+    }
+
+    @Test
+    public void streamingReadsTheScriptOnlyWhenNeeded() throws SQLException {
+        CountingResource resource = new CountingResource(SCRIPT);
+        H2SqlScript sqlScript = new H2SqlScript(resource, PlaceholderReplacer.NO_PLACEHOLDERS, false, true, 0);
+        assertEquals(0, resource.loads);
+        try {
+            sqlScript.getSqlStatements();
+            fail();
+        } catch (FlywayException e) {
+            // The statements are never all held in memory
+        }
+
+        // All statements are checked once, without being kept, before executing any of them
+        assertTrue(sqlScript.executeInTransaction());
+        assertEquals(1, resource.loads);
+        // All 9 lines, plus reaching the end of the script after the last statement and once more to find no other
+        assertEquals(11, resource.linesRead);
+        assertTrue(sqlScript.executeInTransaction());
+        assertEquals(1, resource.loads);
+
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:sql_script_stream", "sa", "");
+        try {
+            sqlScript.execute(new JdbcTemplate(connection));
+            assertEquals(2, resource.loads);
+            assertEquals("a;b", queryString(connection, "SELECT name FROM t WHERE id = 1"));
+            assertEquals("d", queryString(connection, "SELECT name FROM t WHERE id = 2"));
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void streamingChecksMixedStatementsLikeLoading() {
+        String transactionalFirst = "CREATE TABLE t (id INT);\n"
+                + "CREATE INDEX CONCURRENTLY t_idx ON t (id);";
+        String nonTransactionalFirst = "CREATE INDEX CONCURRENTLY t_idx ON t (id);\n"
+                + "CREATE TABLE t (id INT);";
+        for (boolean stream : new boolean[]{false, true}) {
+            // Refused before any statement is executed, wherever the non-transactional statement is
+            for (String sql : new String[]{transactionalFirst, nonTransactionalFirst}) {
+                RecordingJdbcConnection connection = new RecordingJdbcConnection("", 10, 0);
+                try {
+                    ExecutableSqlScript<ContextImpl> sqlScript = postgreSQLScript(sql, false, stream);
+                    sqlScript.executeInTransaction();
+                    sqlScript.execute(new JdbcTemplate(connection.getConnection()));
+                    fail();
+                } catch (FlywayException e) {
+                    assertTrue(e.getMessage(), e.getMessage().contains("line 2"));
+                }
+                assertEquals(0, connection.getSqls().size());
+            }
+
+            // With mixed, any non-transactional statement makes the whole script run outside a transaction
+            for (String sql : new String[]{transactionalFirst, nonTransactionalFirst}) {
+                ExecutableSqlScript<ContextImpl> sqlScript = postgreSQLScript(sql, true, stream);
+                assertFalse(sqlScript.executeInTransaction());
+                RecordingJdbcConnection connection = new RecordingJdbcConnection("", 10, 0);
+                sqlScript.execute(new JdbcTemplate(connection.getConnection()));
+                assertEquals(2, connection.getSqls().size());
+            }
+        }
+    }
+
+    @Test
+    public void batchableStatements() {
+        List<SqlStatement<ContextImpl>> statements = new H2SqlScript(new StringResource(SCRIPT
+                + ";\nDELETE FROM t WHERE id = 1;\nSELECT * FROM t;"),
+                PlaceholderReplacer.NO_PLACEHOLDERS, false, false, 10).getSqlStatements();
+        assertFalse(statements.get(0).isBatchable());
+        assertTrue(statements.get(1).isBatchable());
+        assertTrue(statements.get(2).isBatchable());
+        assertTrue(statements.get(3).isBatchable());
+        assertTrue(statements.get(4).isBatchable());
+        assertFalse(statements.get(5).isBatchable());
+    }
+
+    @Test
+    public void batchExecutesPendingStatementsBeforeOtherStatements() throws SQLException {
+        String sql = "CREATE TABLE t (id INT PRIMARY KEY);\n"
+                + "INSERT INTO t VALUES (1);\n"
+                + "INSERT INTO t VALUES (2);\n"
+                + "CREATE TABLE copy AS SELECT * FROM t;\n"
+                + "INSERT INTO t VALUES (3);\n"
+                + "INSERT INTO copy SELECT * FROM t WHERE id = 3;\n"
+                + "INSERT INTO t VALUES (4);";
+
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:sql_script_batch_order", "sa", "");
+        try {
+            new H2SqlScript(new StringResource(sql), PlaceholderReplacer.NO_PLACEHOLDERS, false, false, 10)
+                    .execute(new JdbcTemplate(connection));
+            assertEquals("4", queryString(connection, "SELECT COUNT(*) FROM t"));
+            assertEquals("3", queryString(connection, "SELECT COUNT(*) FROM copy"));
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void batchFailingMidWay() throws SQLException {
+        String sql = "CREATE TABLE t (id INT PRIMARY KEY);\n"
+                + "INSERT INTO t VALUES (1);\n"
+                + "INSERT INTO t VALUES (2);\n"
+                + "INSERT INTO t VALUES (1);\n"
+                + "INSERT INTO t VALUES (3);\n"
+                + "CREATE TABLE never (id INT);";
+
+        for (boolean stream : new boolean[]{false, true}) {
+            Connection connection = DriverManager.getConnection("jdbc:h2:mem:sql_script_batch_failure", "sa", "");
+            try {
+                new H2SqlScript(new StringResource(sql), PlaceholderReplacer.NO_PLACEHOLDERS, false, stream, 10)
+                        .execute(new JdbcTemplate(connection));
+                fail();
+            } catch (FlywaySqlScriptException e) {
+                // The failure is attributed to the failed statement, not to the start of the batch
+                assertEquals(4, e.getLineNumber());
+                assertEquals("INSERT INTO t VALUES (1)", e.getStatement());
+                // The failed batch was flushed before the following statement
+                assertEquals("0", queryString(connection, "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES"
+                        + " WHERE TABLE_NAME = 'NEVER'"));
+            } finally {
+                connection.close();
+            }
+        }
+    }
+
+    @Test
+    public void batchSizeSmallerThanStatements() throws SQLException {
+        StringBuilder sql = new StringBuilder("CREATE TABLE t (id INT PRIMARY KEY);\n");
+        for (int i = 1; i <= 7; i++) {
+            sql.append("INSERT INTO t VALUES (").append(i).append(");\n");
+        }
+        sql.append("INSERT INTO t VALUES (5);");
+
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:sql_script_batch_size", "sa", "");
+        try {
+            new H2SqlScript(new StringResource(sql.toString()), PlaceholderReplacer.NO_PLACEHOLDERS, false, false, 3)
+                    .execute(new JdbcTemplate(connection));
+            fail();
+        } catch (FlywaySqlScriptException e) {
+            // The last statement is executed on its own after the batches of 3
+            assertEquals(9, e.getLineNumber());
+            assertEquals("7", queryString(connection, "SELECT COUNT(*) FROM t"));
+        } finally {
+            connection.close();
+        }
+    }
+
+    private static ExecutableSqlScript<ContextImpl> postgreSQLScript(String sql, boolean mixed, boolean stream) {
+        return new ExecutableSqlScript<ContextImpl>(new StringResource(sql), PlaceholderReplacer.NO_PLACEHOLDERS,
+                mixed, stream, 0) {
+            @Override
+            protected SqlStatementBuilder createSqlStatementBuilder() {
+                return new PostgreSQLSqlStatementBuilder(Delimiter.SEMICOLON);
+            }
+        };
+    }
+
+    private static String queryString(Connection connection, String sql) throws SQLException {
+        Statement statement = connection.createStatement();
+        try {
+            ResultSet resultSet = statement.executeQuery(sql);
+            return resultSet.next() ? resultSet.getString(1) : null;
+        } finally {
+            statement.close();
+        }
+    }
+
+    /**
+     * A resource counting how often it is read.
+     */
+    private static class CountingResource extends StringResource {
+        private int loads;
+        private int linesRead;
+
+        CountingResource(String str) {
+            super(str);
+        }
+
+        @Override
+        public LineReader loadAsString() {
+            loads++;
+            final LineReader lineReader = super.loadAsString();
+            return new LineReader() {
+                @Override
+                public Line readLine() {
+                    linesRead++;
+                    return lineReader.readLine();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    lineReader.close();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.database;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.internal.exception.FlywaySqlException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LockTemplateTest {
+    @Test
+    public void lock() {
+        FakeLockStrategy lockStrategy = new FakeLockStrategy(0, false);
+        assertEquals("done", new LockTemplate(lockStrategy, 0).execute(new Callable<String>() {
+            @Override
+            public String call() {
+                return "done";
+            }
+        }));
+        assertEquals(1, lockStrategy.requestedWaits.size());
+        assertEquals(1, lockStrategy.unlocks);
+    }
+
+    @Test
+    public void waitIndefinitely() {
+        // The database returns early three times before the lock is released
+        FakeLockStrategy lockStrategy = new FakeLockStrategy(3, false);
+        new LockTemplate(lockStrategy, 0).execute(callable());
+
+        assertEquals(4, lockStrategy.requestedWaits.size());
+        for (long requestedWait : lockStrategy.requestedWaits) {
+            assertEquals(10000L, requestedWait);
+        }
+        assertEquals(1, lockStrategy.unlocks);
+    }
+
+    @Test
+    public void timeoutWithEarlyReturns() {
+        FakeLockStrategy lockStrategy = new FakeLockStrategy(Integer.MAX_VALUE, false);
+        long start = System.currentTimeMillis();
+        try {
+            new LockTemplate(lockStrategy, 1).execute(callable());
+            fail();
+        } catch (FlywayException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("within 1 s"));
+        }
+        long elapsed = System.currentTimeMillis() - start;
+        assertTrue("" + elapsed, elapsed >= 1000L && elapsed < 5000L);
+
+        // Requests returning early are retried with backoff, never waiting past the deadline
+        assertTrue(lockStrategy.requestedWaits.size() > 1);
+        assertTrue(lockStrategy.requestedWaits.size() < 50);
+        for (long requestedWait : lockStrategy.requestedWaits) {
+            assertTrue("" + requestedWait, requestedWait >= 1L && requestedWait <= 1000L);
+        }
+        assertEquals(0, lockStrategy.unlocks);
+    }
+
+    @Test
+    public void timeoutWithBlockingRequests() {
+        FakeLockStrategy lockStrategy = new FakeLockStrategy(Integer.MAX_VALUE, true);
+        try {
+            new LockTemplate(lockStrategy, 1).execute(callable());
+            fail();
+        } catch (FlywayException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("within 1 s"));
+        }
+
+        // The first request already waits on the database side until the deadline
+        assertEquals(1000L, (long) lockStrategy.requestedWaits.get(0));
+        assertTrue(lockStrategy.requestedWaits.size() <= 2);
+        assertEquals(0, lockStrategy.unlocks);
+    }
+
+    @Test
+    public void releaseOnException() {
+        FakeLockStrategy lockStrategy = new FakeLockStrategy(0, false);
+        final IllegalStateException exception = new IllegalStateException();
+        try {
+            new LockTemplate(lockStrategy, 0).execute(new Callable<Object>() {
+                @Override
+                public Object call() {
+                    throw exception;
+                }
+            });
+            fail();
+        } catch (IllegalStateException e) {
+            assertSame(exception, e);
+        }
+        assertEquals(1, lockStrategy.unlocks);
+
+        try {
+            new LockTemplate(lockStrategy, 0).execute(new Callable<Object>() {
+                @Override
+                public Object call() throws IOException {
+                    throw new IOException();
+                }
+            });
+            fail();
+        } catch (FlywayException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        assertEquals(2, lockStrategy.unlocks);
+    }
+
+    @Test
+    public void lockFailure() {
+        FakeLockStrategy lockStrategy = new FakeLockStrategy(0, false) {
+            @Override
+            public boolean tryLock(long timeoutMillis) throws SQLException {
+                throw new SQLException("Lock request failed");
+            }
+        };
+        try {
+            new LockTemplate(lockStrategy, 0).execute(callable());
+            fail();
+        } catch (FlywaySqlException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("Unable to acquire fake lock"));
+        }
+        // A lock that was never acquired isn't released
+        assertEquals(0, lockStrategy.unlocks);
+    }
+
+    @Test
+    public void unlockFailure() {
+        FakeLockStrategy lockStrategy = new FakeLockStrategy(0, false) {
+            @Override
+            public void unlock() throws SQLException {
+                super.unlock();
+                throw new SQLException("Unlock failed");
+            }
+        };
+        // Failing to release the lock is logged and doesn't hide the result
+        assertEquals("done", new LockTemplate(lockStrategy, 0).execute(new Callable<String>() {
+            @Override
+            public String call() {
+                return "done";
+            }
+        }));
+        assertEquals(1, lockStrategy.unlocks);
+    }
+
+    private static Callable<Object> callable() {
+        return new Callable<Object>() {
+            @Override
+            public Object call() {
+                return null;
+            }
+        };
+    }
+
+    /**
+     * A lock held by someone else for a number of requests.
+     */
+    private static class FakeLockStrategy implements LockStrategy {
+        /**
+         * The wait requested for each lock request so far.
+         */
+        final List<Long> requestedWaits = new ArrayList<>();
+
+        /**
+         * The number of times the lock was released.
+         */
+        int unlocks;
+
+        /**
+         * The number of requests still failing before the lock is acquired.
+         */
+        private int failures;
+
+        /**
+         * Whether failing requests block for the requested time, like a database waiting on the server side, instead
+         * of returning right away.
+         */
+        private final boolean blocking;
+
+        FakeLockStrategy(int failures, boolean blocking) {
+            this.failures = failures;
+            this.blocking = blocking;
+        }
+
+        @Override
+        public boolean tryLock(long timeoutMillis) throws SQLException {
+            requestedWaits.add(timeoutMillis);
+            if (failures == 0) {
+                return true;
+            }
+            failures--;
+            if (blocking) {
+                try {
+                    Thread.sleep(timeoutMillis);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void unlock() throws SQLException {
+            unlocks++;
+        }
+
+        @Override
+        public String getDescription() {
+            return "fake lock";
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A JDBC connection without a database behind it, for creating the database support classes in tests. It records the
+ * SQL it is asked to run. Every query returns a single row whose columns all hold the same value. Other statements
+ * return no results.
+ */
+public class RecordingJdbcConnection {
+    /**
+     * The SQL run so far.
+     */
+    private final List<String> sqls = new ArrayList<>();
+
+    /**
+     * The value of every column of every row.
+     */
+    private final String value;
+
+    /**
+     * The major version reported by the database metadata.
+     */
+    private final int majorVersion;
+
+    /**
+     * The minor version reported by the database metadata.
+     */
+    private final int minorVersion;
+
+    /**
+     * Creates a new recording connection.
+     *
+     * @param value        The value of every column of every row.
+     * @param majorVersion The major version reported by the database metadata.
+     * @param minorVersion The minor version reported by the database metadata.
+     */
+    public RecordingJdbcConnection(String value, int majorVersion, int minorVersion) {
+        this.value = value;
+        this.majorVersion = majorVersion;
+        this.minorVersion = minorVersion;
+    }
+
+    /**
+     * @return The SQL run so far.
+     */
+    public List<String> getSqls() {
+        return sqls;
+    }
+
+    /**
+     * @return The JDBC connection.
+     */
+    public Connection getConnection() {
+        return proxy(Connection.class, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                String name = method.getName();
+                if ("getMetaData".equals(name)) {
+                    return metaData();
+                }
+                if ("prepareStatement".equals(name)) {
+                    return statement(PreparedStatement.class, (String) args[0]);
+                }
+                if ("createStatement".equals(name)) {
+                    return statement(Statement.class, null);
+                }
+                return defaultValue(method);
+            }
+        });
+    }
+
+    private DatabaseMetaData metaData() {
+        return proxy(DatabaseMetaData.class, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                String name = method.getName();
+                if ("getDatabaseMajorVersion".equals(name)) {
+                    return majorVersion;
+                }
+                if ("getDatabaseMinorVersion".equals(name)) {
+                    return minorVersion;
+                }
+                return defaultValue(method);
+            }
+        });
+    }
+
+    private <T extends Statement> T statement(Class<T> type, final String preparedSql) {
+        return proxy(type, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                String name = method.getName();
+                if (name.startsWith("execute")) {
+                    sqls.add(preparedSql == null ? (String) args[0] : preparedSql);
+                    if ("executeQuery".equals(name)) {
+                        return resultSet();
+                    }
+                }
+                if ("getUpdateCount".equals(name)) {
+                    // No further results
+                    return -1;
+                }
+                return defaultValue(method);
+            }
+        });
+    }
+
+    private ResultSet resultSet() {
+        return proxy(ResultSet.class, new InvocationHandler() {
+            private boolean beforeFirst = true;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                String name = method.getName();
+                if ("next".equals(name)) {
+                    boolean next = beforeFirst;
+                    beforeFirst = false;
+                    return next;
+                }
+                if ("getString".equals(name)) {
+                    return value;
+                }
+                return defaultValue(method);
+            }
+        });
+    }
+
+    private static Object defaultValue(Method method) {
+        Class<?> returnType = method.getReturnType();
+        if (returnType == boolean.class) {
+            return false;
+        }
+        if (returnType == int.class) {
+            return 0;
+        }
+        if (returnType == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(RecordingJdbcConnection.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.database;
+
+import org.flywaydb.core.api.configuration.ClassicConfiguration;
+import org.flywaydb.core.internal.sqlscript.SqlStatement;
+import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.flywaydb.core.internal.util.scanner.RecordingResource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class SqlScriptCacheTest {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private final SqlScriptCache sqlScriptCache = new SqlScriptCache();
+    private final RecordingResource resource = new RecordingResource("V1__Insert.sql",
+            "INSERT INTO t VALUES ('${name}');\nINSERT INTO t VALUES ('x');");
+
+    private Database database;
+
+    @Before
+    public void setUp() {
+        ClassicConfiguration configuration = new ClassicConfiguration();
+        configuration.setDataSource("jdbc:h2:mem:sql_script_cache;DB_CLOSE_DELAY=-1", "sa", "");
+        database = DatabaseFactory.createDatabase(configuration, false);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void sameSettings() {
+        SqlScript sqlScript = sqlScriptCache.getSqlScript(database, resource, UTF8, placeholders("Alice"),
+                false, false, 0);
+        assertSame(sqlScript, sqlScriptCache.getSqlScript(database, resource, UTF8, placeholders("Alice"),
+                false, false, 0));
+        assertEquals("INSERT INTO t VALUES ('Alice')", firstSql(sqlScript));
+    }
+
+    @Test
+    public void otherSettings() {
+        SqlScript sqlScript = sqlScriptCache.getSqlScript(database, resource, UTF8, placeholders("Alice"),
+                false, false, 0);
+
+        SqlScript otherPlaceholders = sqlScriptCache.getSqlScript(database, resource, UTF8, placeholders("Bob"),
+                false, false, 0);
+        assertNotSame(sqlScript, otherPlaceholders);
+        assertEquals("INSERT INTO t VALUES ('Bob')", firstSql(otherPlaceholders));
+
+        assertNotSame(sqlScript, sqlScriptCache.getSqlScript(database, resource, Charset.forName("ISO-8859-1"),
+                placeholders("Alice"), false, false, 0));
+        assertNotSame(sqlScript, sqlScriptCache.getSqlScript(database, resource, UTF8, placeholders("Alice"),
+                true, false, 0));
+        assertNotSame(sqlScript, sqlScriptCache.getSqlScript(database, resource, UTF8, placeholders("Alice"),
+                false, true, 0));
+        assertNotSame(sqlScript, sqlScriptCache.getSqlScript(database, resource, UTF8, placeholders("Alice"),
+                false, false, 2));
+    }
+
+    private static PlaceholderReplacer placeholders(String name) {
+        return new PlaceholderReplacer(Collections.singletonMap("name", name), "${", "}");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String firstSql(SqlScript sqlScript) {
+        return ((SqlStatement) sqlScript.getSqlStatements().get(0)).getSql();
+    }
+}
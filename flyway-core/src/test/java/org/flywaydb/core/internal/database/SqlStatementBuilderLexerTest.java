@@ -0,0 +1,272 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.database;
+
+import org.flywaydb.core.internal.database.h2.H2SqlStatementBuilder;
+import org.flywaydb.core.internal.database.oracle.OracleSqlStatementBuilder;
+import org.flywaydb.core.internal.database.postgresql.PostgreSQLSqlStatementBuilder;
+import org.flywaydb.core.internal.sqlscript.SqlStatement;
+import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.flywaydb.core.internal.util.jdbc.ContextImpl;
+import org.flywaydb.core.internal.util.scanner.StringResource;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the statements found by the lexer match the ones found by the token-based analysis of the same
+ * builders.
+ */
+public class SqlStatementBuilderLexerTest {
+    /**
+     * Long enough for lines to be simplified only at their head and their tail.
+     */
+    private static final String PAD = repeat("abc ", 2500);
+
+    @Test
+    public void dollarQuotedBody() {
+        assertSameStatements(POSTGRESQL, "CREATE FUNCTION f() RETURNS INT AS $$\n"
+                        + "BEGIN\n"
+                        + "  RAISE NOTICE 'a;b';\n"
+                        + "  RETURN 1;\n"
+                        + "END;\n"
+                        + "$$ LANGUAGE plpgsql;\n"
+                        + "SELECT $body$ ; $body$, 'x';\n"
+                        + "SELECT a$b$c FROM t;",
+                "1: CREATE FUNCTION f() RETURNS INT AS $$\nBEGIN\n  RAISE NOTICE 'a;b';\n  RETURN 1;\nEND;\n$$ LANGUAGE plpgsql",
+                "7: SELECT $body$ ; $body$, 'x'",
+                "8: SELECT a$b$c FROM t");
+    }
+
+    @Test
+    public void backslashEscapes() {
+        assertSameStatements(POSTGRESQL, "SELECT E'tab\\t;';\n"
+                        + "SELECT 'a\\';\n"
+                        + "SELECT e'\\\\';",
+                "1: SELECT E'tab\\t;'",
+                "2: SELECT 'a\\'",
+                "3: SELECT e'\\\\'");
+    }
+
+    @Test
+    public void backslashEscapedQuote() {
+        assertSameStatements(POSTGRESQL, "SELECT E'it\\'s;';\nSELECT 'it''s;';",
+                "1: SELECT E'it\\'s;'",
+                "2: SELECT 'it''s;'");
+    }
+
+    @Test
+    public void commentsInsideLiterals() {
+        for (Dialect dialect : new Dialect[]{POSTGRESQL, ORACLE, H2}) {
+            assertSameStatements(dialect, "SELECT '--not a comment;', '/* nor this;' FROM t;\n"
+                            + "SELECT '*/' FROM t;\n"
+                            + "SELECT 1 /* real ; comment */ FROM t;\n"
+                            + "SELECT 2 -- real ; comment\n"
+                            + "FROM t;",
+                    "1: SELECT '--not a comment;', '/* nor this;' FROM t",
+                    "2: SELECT '*/' FROM t",
+                    "3: SELECT 1 /* real ; comment */ FROM t",
+                    "4: SELECT 2 -- real ; comment\nFROM t");
+        }
+    }
+
+    @Test
+    public void literalsSpanningLines() {
+        for (Dialect dialect : new Dialect[]{POSTGRESQL, ORACLE, H2}) {
+            assertSameStatements(dialect, "INSERT INTO t VALUES ('first;\n"
+                            + "second -- ;\n"
+                            + "/* third;');\n"
+                            + "SELECT 1 FROM t;",
+                    "1: INSERT INTO t VALUES ('first;\nsecond -- ;\n/* third;')",
+                    "4: SELECT 1 FROM t");
+        }
+    }
+
+    @Test
+    public void alternateQuotes() {
+        assertSameStatements(ORACLE, "SELECT q'[it's; fine]' FROM dual;\n"
+                        + "SELECT Nq'{a;b}' FROM dual;\n"
+                        + "SELECT q'(first;\n"
+                        + "second' -- )' FROM dual;\n"
+                        + "SELECT 1 FROM dual;",
+                "1: SELECT q'[it's; fine]' FROM dual",
+                "2: SELECT Nq'{a;b}' FROM dual",
+                "3: SELECT q'(first;\nsecond' -- )' FROM dual",
+                "5: SELECT 1 FROM dual");
+        assertSameStatements(H2, "CREATE ALIAS f AS $$\n"
+                        + "int f() { return ';'.length(); }\n"
+                        + "$$;\n"
+                        + "SELECT 1 FROM t;",
+                "1: CREATE ALIAS f AS $$\nint f() { return ';'.length(); }\n$$",
+                "4: SELECT 1 FROM t");
+    }
+
+    @Test
+    public void alternateQuotesInsideBlock() {
+        assertSameStatements(ORACLE, "BEGIN\n"
+                        + "  INSERT INTO t VALUES (Nq'[it's; BEGIN]');\n"
+                        + "  INSERT INTO t VALUES (nQ'<END;>');\n"
+                        + "END;\n"
+                        + "/\n"
+                        + "SELECT 1 FROM dual;",
+                "1: BEGIN\n  INSERT INTO t VALUES (Nq'[it's; BEGIN]');\n  INSERT INTO t VALUES (nQ'<END;>');\nEND;\n",
+                "6: SELECT 1 FROM dual");
+    }
+
+    @Test
+    public void longLineDelimiterInsideLiteral() {
+        for (Dialect dialect : new Dialect[]{POSTGRESQL, ORACLE, H2}) {
+            assertSameStatements(dialect, "INSERT INTO t VALUES ('" + PAD + ";" + PAD + "');\nSELECT 1 FROM t;",
+                    "1: INSERT INTO t VALUES ('" + PAD + ";" + PAD + "')",
+                    "2: SELECT 1 FROM t");
+        }
+    }
+
+    @Test
+    public void longLineLiteralOpenedInTheMiddle() {
+        for (Dialect dialect : new Dialect[]{POSTGRESQL, ORACLE, H2}) {
+            assertSameStatements(dialect, "INSERT INTO t VALUES (1, " + PAD + "'" + PAD + ";\nstill;');\nSELECT 1 FROM t;",
+                    "1: INSERT INTO t VALUES (1, " + PAD + "'" + PAD + ";\nstill;')",
+                    "3: SELECT 1 FROM t");
+        }
+    }
+
+    @Test
+    public void longLineLiteralClosedInTheMiddle() {
+        for (Dialect dialect : new Dialect[]{POSTGRESQL, ORACLE, H2}) {
+            assertSameStatements(dialect, "INSERT INTO t VALUES ('first\n" + PAD + "'," + PAD + ";\nSELECT 1 FROM t;",
+                    "1: INSERT INTO t VALUES ('first\n" + PAD + "'," + PAD,
+                    "3: SELECT 1 FROM t");
+        }
+    }
+
+    @Test
+    public void longLineCommentsInTheMiddle() {
+        for (Dialect dialect : new Dialect[]{POSTGRESQL, ORACLE, H2}) {
+            assertSameStatements(dialect, "SELECT 1 /* " + PAD + ";\n*/ FROM t;\n"
+                            + "SELECT 2 -- " + PAD + ";\nFROM t;\n"
+                            + "SELECT '" + PAD + "--" + PAD + "/*' FROM t;\n"
+                            + "SELECT 3 FROM t;",
+                    "1: SELECT 1 /* " + PAD + ";\n*/ FROM t",
+                    "3: SELECT 2 -- " + PAD + ";\nFROM t",
+                    "5: SELECT '" + PAD + "--" + PAD + "/*' FROM t",
+                    "6: SELECT 3 FROM t");
+        }
+    }
+
+    @Test
+    public void longLineDelimiterInTheTail() {
+        for (Dialect dialect : new Dialect[]{POSTGRESQL, ORACLE, H2}) {
+            assertSameStatements(dialect, "SELECT " + PAD + PAD + "1 FROM t;\nSELECT '" + PAD + PAD + "' FROM t\n;",
+                    "1: SELECT " + PAD + PAD + "1 FROM t",
+                    "2: SELECT '" + PAD + PAD + "' FROM t\n");
+        }
+    }
+
+    @Test
+    public void longLineAlternateQuotes() {
+        assertSameStatements(POSTGRESQL, "SELECT " + PAD + "$x$" + PAD + ";" + PAD + "$x$;\nSELECT 1;",
+                "1: SELECT " + PAD + "$x$" + PAD + ";" + PAD + "$x$",
+                "2: SELECT 1");
+        assertSameStatements(ORACLE, "SELECT " + PAD + "q'<" + PAD + ";\n" + PAD + ">' FROM dual;\nSELECT 1 FROM dual;",
+                "1: SELECT " + PAD + "q'<" + PAD + ";\n" + PAD + ">' FROM dual",
+                "3: SELECT 1 FROM dual");
+        assertSameStatements(H2, "SELECT " + PAD + "$$" + PAD + ";" + PAD + "$$;\nSELECT 1;",
+                "1: SELECT " + PAD + "$$" + PAD + ";" + PAD + "$$",
+                "2: SELECT 1");
+    }
+
+    private static void assertSameStatements(Dialect dialect, String sql, String... expected) {
+        List<String> statements = parse(dialect, true, sql);
+        assertEquals(Arrays.asList(expected), statements);
+        assertEquals(parse(dialect, false, sql), statements);
+    }
+
+    /**
+     * Parses this script into statements.
+     *
+     * @return The statements, as line number and sql.
+     */
+    private static List<String> parse(final Dialect dialect, final boolean lexer, String sql) {
+        ExecutableSqlScript<ContextImpl> sqlScript = new ExecutableSqlScript<ContextImpl>(new StringResource(sql),
+                PlaceholderReplacer.NO_PLACEHOLDERS, false, false, 0) {
+            @Override
+            protected SqlStatementBuilder createSqlStatementBuilder() {
+                return dialect.createSqlStatementBuilder(lexer);
+            }
+        };
+        List<String> statements = new ArrayList<>();
+        for (SqlStatement<ContextImpl> statement : sqlScript.getSqlStatements()) {
+            statements.add(statement.getLineNumber() + ": " + statement.getSql());
+        }
+        return statements;
+    }
+
+    private static String repeat(String str, int times) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            result.append(str);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Creates the statement builders of a dialect, either using the lexer or the token-based analysis.
+     */
+    private interface Dialect {
+        SqlStatementBuilder createSqlStatementBuilder(boolean lexer);
+    }
+
+    private static final Dialect POSTGRESQL = new Dialect() {
+        @Override
+        public SqlStatementBuilder createSqlStatementBuilder(final boolean lexer) {
+            return new PostgreSQLSqlStatementBuilder(Delimiter.SEMICOLON) {
+                @Override
+                protected boolean useLexer() {
+                    return lexer;
+                }
+            };
+        }
+    };
+
+    private static final Dialect ORACLE = new Dialect() {
+        @Override
+        public SqlStatementBuilder createSqlStatementBuilder(final boolean lexer) {
+            return new OracleSqlStatementBuilder(Delimiter.SEMICOLON) {
+                @Override
+                protected boolean useLexer() {
+                    return lexer;
+                }
+            };
+        }
+    };
+
+    private static final Dialect H2 = new Dialect() {
+        @Override
+        public SqlStatementBuilder createSqlStatementBuilder(final boolean lexer) {
+            return new H2SqlStatementBuilder(Delimiter.SEMICOLON) {
+                @Override
+                protected boolean useLexer() {
+                    return lexer;
+                }
+            };
+        }
+    };
+}
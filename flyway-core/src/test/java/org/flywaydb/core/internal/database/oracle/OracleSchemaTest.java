@@ -0,0 +1,75 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.database.oracle;
+
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.flywaydb.core.internal.database.RecordingJdbcConnection;
+import org.flywaydb.core.internal.util.FileCopyUtils;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class OracleSchemaTest {
+    @Test
+    public void generateCleanBlock() throws IOException, SQLException {
+        OracleCleanProbes probes = new OracleCleanProbes(true, true,
+                Arrays.asList("CONTEXT", "DB_LINKS", "XML_SCHEMAS"));
+        assertEquals(load("clean-block.sql"), generateCleanBlock("APP", true, probes));
+    }
+
+    @Test
+    public void generateCleanBlockWithoutXmlDbOrDbaViews() throws IOException, SQLException {
+        // No XML tables or schemas, no reference partitioned tables and ALL_ views only
+        OracleCleanProbes probes = new OracleCleanProbes(false, false, Collections.<String>emptyList());
+        assertEquals(load("clean-block-minimal.sql"), generateCleanBlock("O'NEIL", false, probes));
+    }
+
+    /**
+     * Generates the clean block for all the object types clean drops, and checks that it didn't access the database.
+     */
+    private static String generateCleanBlock(String schemaName, boolean purgeRecycleBin, OracleCleanProbes probes)
+            throws SQLException {
+        RecordingJdbcConnection connection = new RecordingJdbcConnection(schemaName, 12, 2);
+        OracleDatabase database = new OracleDatabase(new FluentConfiguration(), connection.getConnection());
+        OracleSchema schema = new OracleSchema(database.getMainConnection().getJdbcTemplate(), database, schemaName);
+
+        List<OracleSchema.ObjectType> objectTypes = new ArrayList<>();
+        for (OracleSchema.ObjectType objectType : OracleSchema.OBJECT_TYPES_TO_CLEAN) {
+            if (objectType.isSupported()) {
+                objectTypes.add(objectType);
+            }
+        }
+
+        List<String> sqls = new ArrayList<>(connection.getSqls());
+        String block = schema.generateCleanBlock(objectTypes, purgeRecycleBin, probes);
+        assertEquals(sqls, connection.getSqls());
+        return block;
+    }
+
+    private static String load(String name) throws IOException {
+        return FileCopyUtils.copyToString(new InputStreamReader(
+                OracleSchemaTest.class.getResourceAsStream(name), Charset.forName("UTF-8")));
+    }
+}
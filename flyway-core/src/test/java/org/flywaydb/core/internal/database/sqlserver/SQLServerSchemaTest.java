@@ -0,0 +1,65 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.database.sqlserver;
+
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.flywaydb.core.internal.database.RecordingJdbcConnection;
+import org.flywaydb.core.internal.util.FileCopyUtils;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class SQLServerSchemaTest {
+    @Test
+    public void generateCleanBatch() throws IOException {
+        assertEquals(load("clean-batch.sql"), generateCleanBatch("flyway_db", "dbo"));
+    }
+
+    @Test
+    public void generateCleanBatchQuotesNames() throws IOException {
+        String batch = generateCleanBatch("my]db", "o'neil");
+        assertEquals(load("clean-batch-quoted.sql"), batch);
+        // The schema name only ever appears as an escaped literal or a quoted identifier
+        assertFalse(batch.replace("N'o''neil'", "").replace("[o''neil]", "").contains("o'neil"));
+    }
+
+    /**
+     * Generates the clean batch, and checks that it didn't access the database.
+     */
+    private static String generateCleanBatch(String databaseName, String schemaName) {
+        RecordingJdbcConnection connection = new RecordingJdbcConnection(databaseName, 14, 0);
+        SQLServerDatabase database = new SQLServerDatabase(new FluentConfiguration(), connection.getConnection());
+        SQLServerSchema schema = new SQLServerSchema(database.getMainConnection().getJdbcTemplate(), database,
+                databaseName, schemaName);
+
+        List<String> sqls = new ArrayList<>(connection.getSqls());
+        String batch = schema.generateCleanBatch();
+        assertEquals(sqls, connection.getSqls());
+        return batch;
+    }
+
+    private static String load(String name) throws IOException {
+        return FileCopyUtils.copyToString(new InputStreamReader(
+                SQLServerSchemaTest.class.getResourceAsStream(name), Charset.forName("UTF-8")));
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.info;
+
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationInfoFilter;
+import org.flywaydb.core.api.MigrationState;
+import org.flywaydb.core.api.MigrationType;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.resolver.MigrationResolver;
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.resolver.ResolvedMigrationImpl;
+import org.flywaydb.core.internal.schemahistory.AppliedMigration;
+import org.flywaydb.core.internal.schemahistory.SchemaHistory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.assertEquals;
+
+public class MigrationInfoServiceImplTest {
+    private final List<ResolvedMigration> resolvedMigrations = new ArrayList<>();
+    private final InMemorySchemaHistory schemaHistory = new InMemorySchemaHistory();
+
+    @Before
+    public void setUp() {
+        resolved("1", "First", 1);
+        resolved("2", "Second", 2);
+        resolved("2.5", "Late", 25);
+        resolved("3", "Third", 3);
+        resolved(null, "View", 100);
+    }
+
+    @Test
+    public void refreshIncrementally() {
+        apply("1", "First", 1);
+        MigrationInfoServiceImpl infoService = infoService(false);
+        infoService.refresh();
+        assertEquals(MigrationState.PENDING, infoService.all()[1].getState());
+
+        apply("2", "Second", 2);
+        apply("3", "Third", 3);
+        apply(null, "View", 100);
+        infoService.refreshIncrementally();
+        assertSameAsFullRefresh(infoService, false);
+        assertEquals("3", infoService.current().getVersion().getVersion());
+        assertEquals(MigrationState.IGNORED, infoService.all()[2].getState());
+
+        // Nothing applied since
+        infoService.refreshIncrementally();
+        assertSameAsFullRefresh(infoService, false);
+    }
+
+    @Test
+    public void refreshIncrementallyOutOfOrder() {
+        apply("1", "First", 1);
+        apply("3", "Third", 3);
+        MigrationInfoServiceImpl infoService = infoService(true);
+        infoService.refresh();
+
+        apply("2", "Second", 2);
+        apply("2.5", "Late", 25);
+        infoService.refreshIncrementally();
+        assertSameAsFullRefresh(infoService, true);
+        assertEquals(MigrationState.OUT_OF_ORDER, applied(infoService, 3).getState());
+    }
+
+    @Test
+    public void refreshIncrementallyWithIgnoredMigrations() {
+        apply("1", "First", 1);
+        apply("3", "Third", 3);
+        MigrationInfoServiceImpl infoService = infoService(false);
+        infoService.refresh();
+        assertEquals(MigrationState.IGNORED, infoService.all()[1].getState());
+
+        // Applied out of order by another instance: ranked after 3, while the ignored 2 is sorted by version
+        apply("2.5", "Late", 25);
+        apply(null, "View", 100);
+        infoService.refreshIncrementally();
+        assertSameAsFullRefresh(infoService, false);
+    }
+
+    @Test
+    public void refreshIncrementallyInAnyOrder() {
+        List<String> versions = Arrays.asList("1", "2", "2.5", "3", null);
+        for (List<String> order : permutations(versions)) {
+            for (boolean outOfOrder : new boolean[]{false, true}) {
+                schemaHistory.appliedMigrations.clear();
+                MigrationInfoServiceImpl infoService = infoService(outOfOrder);
+                infoService.refresh();
+                for (String version : order) {
+                    ResolvedMigration resolvedMigration = resolvedMigrations.get(versions.indexOf(version));
+                    apply(version, resolvedMigration.getDescription(), resolvedMigration.getChecksum());
+                    infoService.refreshIncrementally();
+                    assertSameAsFullRefresh(infoService, outOfOrder);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void refreshIncrementallyRepeatable() {
+        apply("1", "First", 1);
+        apply(null, "View", 100);
+        resolvedMigrations.remove(resolvedMigrations.size() - 1);
+        resolved(null, "View", 101);
+        MigrationInfoServiceImpl infoService = infoService(false);
+        infoService.refresh();
+        assertEquals(MigrationState.OUTDATED, applied(infoService, 2).getState());
+
+        // The earlier run of the repeatable migration is now superseded by the new one
+        apply(null, "View", 101);
+        infoService.refreshIncrementally();
+        assertSameAsFullRefresh(infoService, false);
+        assertEquals(MigrationState.SUPERSEDED, applied(infoService, 2).getState());
+    }
+
+    @Test
+    public void refreshIncrementallyWithUnresolvedMigration() {
+        apply("1", "First", 1);
+        MigrationInfoServiceImpl infoService = infoService(false);
+        infoService.refresh();
+
+        apply("4", "Fourth", 4);
+        infoService.refreshIncrementally();
+        assertSameAsFullRefresh(infoService, false);
+        assertEquals(MigrationState.FUTURE_SUCCESS, infoService.current().getState());
+    }
+
+    @Test
+    public void refreshIncrementallyAfterSyntheticMigration() {
+        MigrationInfoServiceImpl infoService = infoService(false);
+        infoService.refresh();
+
+        // A baseline changes the state of the migrations below it, so this must fall back to a full refresh
+        schemaHistory.appliedMigrations.add(new AppliedMigration(1, MigrationVersion.fromVersion("2"), "Baseline",
+                MigrationType.BASELINE, "Baseline", null, new Date(), "test", 0, true));
+        infoService.refreshIncrementally();
+        assertSameAsFullRefresh(infoService, false);
+        assertEquals(MigrationState.BELOW_BASELINE, infoService.all()[0].getState());
+    }
+
+    @Test
+    public void refreshIncrementallyWithoutRefresh() {
+        apply("1", "First", 1);
+        MigrationInfoServiceImpl infoService = infoService(false);
+        infoService.refreshIncrementally();
+        assertSameAsFullRefresh(infoService, false);
+    }
+
+    @Test
+    public void refreshForFilter() {
+        apply("1", "First", 1);
+        apply("2", "Second", 2);
+        apply(null, "View", 100);
+        MigrationInfoServiceImpl fullInfoService = infoService(false);
+        fullInfoService.refresh();
+
+        MigrationInfoFilter[] filters = {
+                new MigrationInfoFilter().toVersion(MigrationVersion.fromVersion("1")),
+                new MigrationInfoFilter().fromVersion(MigrationVersion.fromVersion("2.5"))
+                        .states(MigrationState.PENDING),
+                new MigrationInfoFilter().installedSince(new Date(System.currentTimeMillis() + 60000L)),
+                new MigrationInfoFilter().orderBy(MigrationInfoFilter.Order.VERSION).offset(1).limit(2)
+        };
+        for (MigrationInfoFilter filter : filters) {
+            MigrationInfoServiceImpl infoService = infoService(false);
+            infoService.refresh(filter);
+            assertEquals(describe(fullInfoService.iterate(filter)), describe(infoService.iterate(filter)));
+            assertEquals(fullInfoService.current().getVersion(), infoService.current().getVersion());
+        }
+
+        // The infos that can't match are not built at all, apart from the ones current() depends on
+        MigrationInfoServiceImpl infoService = infoService(false);
+        infoService.refresh(filters[0]);
+        assertEquals(Arrays.asList("1 First SUCCESS 1", "2 Second SUCCESS 2", "null View SUCCESS 3"),
+                describe(infoService.all()));
+        infoService.refresh(filters[2]);
+        assertEquals(Arrays.asList("2 Second SUCCESS 2", "null View SUCCESS 3"), describe(infoService.all()));
+    }
+
+    private MigrationInfoServiceImpl infoService(boolean outOfOrder) {
+        return new MigrationInfoServiceImpl(new MigrationResolver() {
+            @Override
+            public Collection<ResolvedMigration> resolveMigrations() {
+                return resolvedMigrations;
+            }
+        }, schemaHistory, MigrationVersion.LATEST, outOfOrder, true, true, true, true);
+    }
+
+    private void assertSameAsFullRefresh(MigrationInfoServiceImpl infoService, boolean outOfOrder) {
+        MigrationInfoServiceImpl fullInfoService = infoService(outOfOrder);
+        fullInfoService.refresh();
+        assertEquals(describe(fullInfoService.all()), describe(infoService.all()));
+        assertEquals(describe(fullInfoService.pending()), describe(infoService.pending()));
+        assertEquals(describe(fullInfoService.applied()), describe(infoService.applied()));
+    }
+
+    private static List<List<String>> permutations(List<String> values) {
+        List<List<String>> permutations = new ArrayList<>();
+        if (values.isEmpty()) {
+            permutations.add(new ArrayList<String>());
+            return permutations;
+        }
+        for (int i = 0; i < values.size(); i++) {
+            List<String> rest = new ArrayList<>(values);
+            String first = rest.remove(i);
+            for (List<String> permutation : permutations(rest)) {
+                permutation.add(0, first);
+                permutations.add(permutation);
+            }
+        }
+        return permutations;
+    }
+
+    private static MigrationInfo applied(MigrationInfoServiceImpl infoService, int installedRank) {
+        for (MigrationInfo migrationInfo : infoService.applied()) {
+            if (migrationInfo.getInstalledRank() == installedRank) {
+                return migrationInfo;
+            }
+        }
+        throw new AssertionError("No migration applied with installed rank " + installedRank);
+    }
+
+    private static List<String> describe(MigrationInfo[] migrationInfos) {
+        return describe(Arrays.asList(migrationInfos));
+    }
+
+    private static List<String> describe(Iterable<MigrationInfo> migrationInfos) {
+        List<String> descriptions = new ArrayList<>();
+        for (MigrationInfo migrationInfo : migrationInfos) {
+            descriptions.add(migrationInfo.getVersion() + " " + migrationInfo.getDescription() + " "
+                    + migrationInfo.getState() + " " + migrationInfo.getInstalledRank());
+        }
+        return descriptions;
+    }
+
+    private void resolved(String version, String description, int checksum) {
+        ResolvedMigrationImpl resolvedMigration = new ResolvedMigrationImpl();
+        resolvedMigration.setVersion(version == null ? null : MigrationVersion.fromVersion(version));
+        resolvedMigration.setDescription(description);
+        resolvedMigration.setScript(description + ".sql");
+        resolvedMigration.setChecksum(checksum);
+        resolvedMigration.setType(MigrationType.SQL);
+        resolvedMigrations.add(resolvedMigration);
+    }
+
+    private void apply(String version, String description, int checksum) {
+        List<AppliedMigration> appliedMigrations = schemaHistory.appliedMigrations;
+        appliedMigrations.add(new AppliedMigration(appliedMigrations.size() + 1,
+                version == null ? null : MigrationVersion.fromVersion(version), description, MigrationType.SQL,
+                description + ".sql", checksum, new Date(), "test", 0, true));
+    }
+
+    /**
+     * A schema history keeping its applied migrations in memory.
+     */
+    private static class InMemorySchemaHistory extends SchemaHistory {
+        private final List<AppliedMigration> appliedMigrations = new ArrayList<>();
+
+        @Override
+        public <T> T lock(Callable<T> callable) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public void create() {
+        }
+
+        @Override
+        public List<AppliedMigration> allAppliedMigrations() {
+            return new ArrayList<>(appliedMigrations);
+        }
+
+        @Override
+        public void removeFailedMigrations() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void update(AppliedMigration appliedMigration, ResolvedMigration resolvedMigration) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void updateSnapshotChecksum(AppliedMigration snapshotMigration, int checksum) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void compact(MigrationVersion version, int checksum, List<AppliedMigration> appliedMigrations) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected void doAddAppliedMigration(int installedRank, MigrationVersion version, String description,
+                                             MigrationType type, String script, Integer checksum, int executionTime,
+                                             boolean success) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver.sql;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.configuration.ClassicConfiguration;
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.util.ConcurrencyUtils;
+import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.flywaydb.core.internal.util.scanner.RecordingResource;
+import org.flywaydb.core.internal.util.scanner.StringResource;
+import org.flywaydb.core.internal.util.scanner.StubScanner;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SqlMigrationResolverTest {
+    private final ExecutorService executorService = ConcurrencyUtils.newDaemonThreadPool("test-checksum", 4);
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void checksumsInParallel() {
+        RecordingResource[] resources = new RecordingResource[10];
+        // Listed in reverse, so the migrations must be sorted
+        for (int i = 0; i < resources.length; i++) {
+            int version = resources.length - i;
+            resources[i] = new RecordingResource("V" + version + "__Migration.sql",
+                    "CREATE TABLE t" + version + " (id INT);\nINSERT INTO t" + version + " VALUES (" + version + ");");
+        }
+
+        List<ResolvedMigration> migrations = resolver(resources).resolveMigrations();
+
+        assertEquals(resources.length, migrations.size());
+        for (int i = 0; i < migrations.size(); i++) {
+            ResolvedMigration migration = migrations.get(i);
+            int version = i + 1;
+            assertEquals(String.valueOf(version), migration.getVersion().getVersion());
+            assertEquals(new StringResource("CREATE TABLE t" + version + " (id INT);\nINSERT INTO t" + version
+                    + " VALUES (" + version + ");").checksum(), (int) migration.getChecksum());
+        }
+        for (RecordingResource resource : resources) {
+            assertEquals(1, resource.getThreads().size());
+            assertTrue(resource.getThreads().get(0).startsWith("test-checksum"));
+        }
+    }
+
+    @Test
+    public void checksumFailure() {
+        RecordingResource first = new RecordingResource("V1__First.sql", "SELECT 1;");
+        RecordingResource second = new RecordingResource("V2__Second.sql", "SELECT 2;");
+        second.setFailing(true);
+
+        try {
+            resolver(first, second).resolveMigrations();
+            fail();
+        } catch (FlywayException e) {
+            assertEquals("Unable to load V2__Second.sql", e.getMessage());
+        }
+        // The shared pool is left running
+        assertFalse(executorService.isShutdown());
+        second.setFailing(false);
+        assertEquals(2, resolver(first, second).resolveMigrations().size());
+    }
+
+    private SqlMigrationResolver resolver(RecordingResource... resources) {
+        return new SqlMigrationResolver(null, new StubScanner(resources),
+                Collections.singletonList(new Location("classpath:")), PlaceholderReplacer.NO_PLACEHOLDERS,
+                new ClassicConfiguration(), null, executorService);
+    }
+}
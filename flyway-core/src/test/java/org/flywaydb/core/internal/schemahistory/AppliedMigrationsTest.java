@@ -0,0 +1,94 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.schemahistory;
+
+import org.flywaydb.core.api.MigrationType;
+import org.flywaydb.core.api.MigrationVersion;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AppliedMigrationsTest {
+    private static AppliedMigration appliedMigration(int installedRank) {
+        return new AppliedMigration(installedRank, MigrationVersion.fromVersion(Integer.toString(installedRank)),
+                "Migration " + installedRank, MigrationType.SQL, "V" + installedRank + "__Migration.sql", 0,
+                new Date(), "test", 1, true);
+    }
+
+    private static List<Integer> ranks(List<AppliedMigration> appliedMigrations) {
+        List<Integer> ranks = new ArrayList<>();
+        for (AppliedMigration appliedMigration : appliedMigrations) {
+            ranks.add(appliedMigration.getInstalledRank());
+        }
+        return ranks;
+    }
+
+    @Test
+    public void after() {
+        // Ranks can have gaps, for example after repair removed failed migrations
+        AppliedMigrations appliedMigrations = new AppliedMigrations(Arrays.asList(
+                appliedMigration(1), appliedMigration(2), appliedMigration(4), appliedMigration(7)));
+
+        assertEquals(Arrays.asList(1, 2, 4, 7), ranks(appliedMigrations.after(-1)));
+        assertEquals(Arrays.asList(4, 7), ranks(appliedMigrations.after(2)));
+        assertEquals(Arrays.asList(4, 7), ranks(appliedMigrations.after(3)));
+        assertEquals(Arrays.asList(7), ranks(appliedMigrations.after(4)));
+        assertTrue(appliedMigrations.after(7).isEmpty());
+        assertTrue(appliedMigrations.after(100).isEmpty());
+    }
+
+    @Test
+    public void empty() {
+        AppliedMigrations appliedMigrations = new AppliedMigrations();
+        assertTrue(appliedMigrations.isEmpty());
+        assertNull(appliedMigrations.getFirst());
+        assertEquals(-1, appliedMigrations.getLastInstalledRank());
+        assertTrue(appliedMigrations.after(-1).isEmpty());
+    }
+
+    @Test
+    public void add() {
+        AppliedMigrations appliedMigrations = new AppliedMigrations();
+        appliedMigrations.add(appliedMigration(1));
+        appliedMigrations.add(appliedMigration(3));
+        assertEquals(2, appliedMigrations.size());
+        assertEquals(1, appliedMigrations.getFirst().getInstalledRank());
+        assertEquals(3, appliedMigrations.getLastInstalledRank());
+
+        try {
+            appliedMigrations.add(appliedMigration(2));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(Arrays.asList(1, 3), ranks(appliedMigrations.asList()));
+        }
+
+        appliedMigrations.clear();
+        assertTrue(appliedMigrations.isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void asListIsReadOnly() {
+        new AppliedMigrations(Arrays.asList(appliedMigration(1))).asList().clear();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util;
+
+import org.flywaydb.core.api.FlywayException;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class PlaceholderReplacerTest {
+    private static PlaceholderReplacer replacer(String prefix, String suffix, String... namesAndValues) {
+        Map<String, String> placeholders = new HashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            placeholders.put(namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return new PlaceholderReplacer(placeholders, prefix, suffix);
+    }
+
+    @Test
+    public void replacePlaceholders() {
+        PlaceholderReplacer replacer = replacer("${", "}", "schema", "app", "table", "person");
+        assertEquals("SELECT * FROM app.person WHERE name = 'app'",
+                replacer.replacePlaceholders("SELECT * FROM ${schema}.${table} WHERE name = '${schema}'"));
+        assertEquals("appperson", replacer.replacePlaceholders("${schema}${table}"));
+    }
+
+    @Test
+    public void replacePlaceholdersNullValue() {
+        assertEquals("DROP TABLE t;", replacer("${", "}", "empty", null).replacePlaceholders("DROP TABLE t${empty};"));
+    }
+
+    @Test
+    public void replacePlaceholdersWithoutPrefixReturnsInput() {
+        String input = "SELECT 1 FROM dual";
+        assertSame(input, replacer("${", "}", "schema", "app").replacePlaceholders(input));
+    }
+
+    @Test
+    public void replacePlaceholdersIncompleteExpression() {
+        assertEquals("SELECT '${schema' FROM app", replacer("${", "}", "schema", "app")
+                .replacePlaceholders("SELECT '${schema' FROM ${schema}"));
+    }
+
+    @Test
+    public void replacePlaceholdersNestedPrefix() {
+        // The outer expression is unknown, but the inner one still starts a valid placeholder
+        assertEquals("$app", replacer("${", "}", "schema", "app").replacePlaceholders("$${schema}"));
+    }
+
+    @Test
+    public void replacePlaceholdersValueIsNotReplacedAgain() {
+        assertEquals("it costs $1 {dollar}", replacer("${", "}", "price", "$1 {dollar}", "dollar", "USD")
+                .replacePlaceholders("it costs ${price}"));
+    }
+
+    @Test
+    public void replacePlaceholdersIdenticalPrefixAndSuffix() {
+        PlaceholderReplacer replacer = replacer("@", "@", "a", "1", "b", "2");
+        assertEquals("12", replacer.replacePlaceholders("@a@@b@"));
+        assertEquals("x@1", replacer.replacePlaceholders("x@@a@"));
+    }
+
+    @Test
+    public void replacePlaceholdersUnmatchedExpressions() {
+        try {
+            replacer("${", "}", "schema", "app").replacePlaceholders("${schema}.${tables} ${schema} ${missing} ${tables}");
+            fail();
+        } catch (FlywayException e) {
+            assertEquals("No value provided for placeholder expressions: ${missing}, ${tables}.  Check your configuration!",
+                    e.getMessage());
+        }
+    }
+
+    @Test
+    public void replacePlaceholdersUnmatchedExpressionInValueIsIgnored() {
+        assertEquals("SELECT '${unknown}'", replacer("${", "}", "literal", "${unknown}")
+                .replacePlaceholders("SELECT '${literal}'"));
+    }
+
+    @Test
+    public void replacePlaceholdersUnmatchedExpressionsIdenticalPrefixAndSuffix() {
+        try {
+            replacer("@", "@", "a", "1").replacePlaceholders("@a@ @b@");
+            fail();
+        } catch (FlywayException e) {
+            assertEquals("No value provided for placeholder expressions: @b@.  Check your configuration!",
+                    e.getMessage());
+        }
+    }
+
+    @Test
+    public void replacePlaceholdersExpressionAcrossLinesIsNotUnmatched() {
+        String input = "BEGIN ${\n}";
+        assertEquals(input, replacer("${", "}", "schema", "app").replacePlaceholders(input));
+        assertEquals("${}", replacer("${", "}", "schema", "app").replacePlaceholders("${}"));
+    }
+
+    @Test
+    public void noPlaceholders() {
+        String input = "SELECT '${unknown}'";
+        assertSame(input, PlaceholderReplacer.NO_PLACEHOLDERS.replacePlaceholders(input));
+    }
+}
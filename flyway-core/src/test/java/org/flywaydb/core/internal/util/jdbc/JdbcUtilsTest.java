@@ -0,0 +1,80 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.jdbc;
+
+import org.junit.Test;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class JdbcUtilsTest {
+    @Test
+    public void getFailedStatementIndexStoppingDriver() {
+        // Drivers stopping at the first failure only report the update counts of the statements before it
+        assertEquals(0, JdbcUtils.getFailedStatementIndex(exception(), 5));
+        assertEquals(2, JdbcUtils.getFailedStatementIndex(exception(0, 0), 5));
+        assertEquals(4, JdbcUtils.getFailedStatementIndex(exception(0, 0, 0, 0), 5));
+    }
+
+    @Test
+    public void getFailedStatementIndexContinuingDriver() {
+        // Drivers continuing after a failure mark the failed statements
+        assertEquals(0, JdbcUtils.getFailedStatementIndex(exception(Statement.EXECUTE_FAILED, 0, 0), 3));
+        assertEquals(1, JdbcUtils.getFailedStatementIndex(
+                exception(0, Statement.EXECUTE_FAILED, Statement.EXECUTE_FAILED), 3));
+        assertEquals(2, JdbcUtils.getFailedStatementIndex(
+                exception(Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO, Statement.EXECUTE_FAILED), 3));
+    }
+
+    @Test
+    public void getFailedStatementIndexUnknown() {
+        assertEquals(0, JdbcUtils.getFailedStatementIndex(new BatchUpdateException(), 3));
+        assertEquals(0, JdbcUtils.getFailedStatementIndex(new BatchUpdateException((int[]) null), 3));
+        // All statements reported as successful: the failure can't be attributed to any of them
+        assertEquals(0, JdbcUtils.getFailedStatementIndex(exception(0, 0, 0), 3));
+    }
+
+    @Test
+    public void getFailedStatementIndexH2() throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:jdbc_utils_batch", "sa", "");
+        try {
+            Statement statement = connection.createStatement();
+            statement.execute("CREATE TABLE a (id INT)");
+            statement.execute("CREATE TABLE c (id INT)");
+            statement.addBatch("DROP TABLE a");
+            statement.addBatch("DROP TABLE b");
+            statement.addBatch("DROP TABLE c");
+            try {
+                statement.executeBatch();
+                fail();
+            } catch (BatchUpdateException e) {
+                assertEquals(1, JdbcUtils.getFailedStatementIndex(e, 3));
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    private static BatchUpdateException exception(int... updateCounts) {
+        return new BatchUpdateException(updateCounts);
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner;
+
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.internal.util.ConcurrencyUtils;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CachingScannerTest {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final String[] SUFFIXES = {".sql"};
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ExecutorService executorService = ConcurrencyUtils.newDaemonThreadPool("test-scanner", 4);
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void revalidateClassPathDirectory() throws IOException {
+        File classes = temporaryFolder.newFolder("classes");
+        write(classes, "db/migration/V1__First.sql", "CREATE TABLE first (id INT);");
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, null);
+        try {
+            CachingScanner scanner = new CachingScanner(classLoader, UTF8, executorService);
+            Location location = new Location("classpath:db/migration");
+            LoadableResource[] resources = scanner.scanForResources(location, "V", SUFFIXES);
+            assertEquals(1, resources.length);
+
+            // Nothing changed: the resource and its checksum are kept
+            scanner.revalidate();
+            assertSame(resources[0], scanner.scanForResources(location, "V", SUFFIXES)[0]);
+
+            // A migration is added between two commands
+            write(classes, "db/migration/sub/V2__Second.sql", "CREATE TABLE second (id INT);");
+            scanner.revalidate();
+            LoadableResource[] newResources = scanner.scanForResources(location, "V", SUFFIXES);
+            assertEquals(2, newResources.length);
+            assertEquals("db/migration/sub/V2__Second.sql", newResources[1].getLocation());
+
+            // A migration is removed
+            assertTrue(new File(classes, "db/migration/V1__First.sql").delete());
+            scanner.revalidate();
+            assertEquals(1, scanner.scanForResources(location, "V", SUFFIXES).length);
+        } finally {
+            classLoader.close();
+        }
+    }
+
+    @Test
+    public void revalidateLocationEmptyOnFirstScan() throws IOException {
+        File classes = temporaryFolder.newFolder("classes");
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, null);
+        try {
+            CachingScanner scanner = new CachingScanner(classLoader, UTF8, executorService);
+            Location location = new Location("classpath:db/migration");
+            assertEquals(0, scanner.scanForResources(location, "V", SUFFIXES).length);
+
+            write(classes, "db/migration/V1__First.sql", "CREATE TABLE first (id INT);");
+            scanner.revalidate();
+            assertEquals(1, scanner.scanForResources(location, "V", SUFFIXES).length);
+        } finally {
+            classLoader.close();
+        }
+    }
+
+    @Test
+    public void revalidateClasses() throws Exception {
+        File classes = temporaryFolder.newFolder("classes");
+        String packagePath = CachingScannerTest.class.getPackage().getName().replace('.', '/');
+        assertTrue(new File(classes, packagePath).mkdirs());
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, null);
+        try {
+            CachingScanner scanner = new CachingScanner(classLoader, UTF8, executorService);
+            Location location = new Location("classpath:" + packagePath);
+            assertEquals(0, scanner.scanForClasses(location, Runnable.class).length);
+
+            String classFile = AddedRunnable.class.getName().replace('.', '/') + ".class";
+            InputStream inputStream = CachingScannerTest.class.getClassLoader().getResourceAsStream(classFile);
+            try {
+                Files.copy(inputStream, new File(classes, classFile).toPath());
+            } finally {
+                inputStream.close();
+            }
+            scanner.revalidate();
+            Class<?>[] scannedClasses = scanner.scanForClasses(location, Runnable.class);
+            assertEquals(1, scannedClasses.length);
+            assertEquals(AddedRunnable.class.getName(), scannedClasses[0].getName());
+        } finally {
+            classLoader.close();
+        }
+    }
+
+    @Test
+    public void revalidateFileSystem() throws IOException {
+        File directory = temporaryFolder.newFolder("migrations");
+        write(directory, "V1__First.sql", "CREATE TABLE first (id INT);");
+        CachingScanner scanner = new CachingScanner(getClass().getClassLoader(), UTF8, executorService);
+        Location location = new Location("filesystem:" + directory.getPath());
+        assertEquals(1, scanner.scanForResources(location, "V", SUFFIXES).length);
+
+        write(directory, "V2__Second.sql", "CREATE TABLE second (id INT);");
+        scanner.revalidate();
+        assertEquals(2, scanner.scanForResources(location, "V", SUFFIXES).length);
+    }
+
+    @Test
+    public void revalidateChangedPaths() throws IOException {
+        File directory = temporaryFolder.newFolder("migrations");
+        write(directory, "V1__First.sql", "CREATE TABLE first (id INT);");
+        write(directory, "V2__Second.sql", "CREATE TABLE second (id INT);");
+        CachingScanner scanner = new CachingScanner(getClass().getClassLoader(), UTF8, executorService);
+        Location location = new Location("filesystem:" + directory.getPath());
+        LoadableResource[] resources = scanner.scanForResources(location, "V", SUFFIXES);
+        assertEquals(2, resources.length);
+
+        write(directory, "V1__First.sql", "CREATE TABLE first (id INT, name VARCHAR(10));");
+        assertTrue(new File(directory, "V2__Second.sql").delete());
+        write(directory, "sub/V3__Third.sql", "CREATE TABLE third (id INT);");
+        write(directory, "sub/V4__Fourth.sql", "CREATE TABLE fourth (id INT);");
+        // Not reported as changed, so not picked up
+        write(directory, "V5__Fifth.sql", "CREATE TABLE fifth (id INT);");
+        scanner.revalidate(Arrays.asList(
+                new File(directory, "V2__Second.sql").toPath(),
+                new File(directory, "sub").toPath(),
+                new File(directory, "sub/V3__Third.sql").toPath(),
+                new File(temporaryFolder.getRoot(), "elsewhere/V6__Sixth.sql").toPath()));
+        LoadableResource[] newResources = scanner.scanForResources(location, "V", SUFFIXES);
+        assertEquals(3, newResources.length);
+        // Not reported as changed, so kept as is
+        assertSame(resources[0], newResources[0]);
+        assertEquals(new File(directory, "sub/V3__Third.sql").getPath(), newResources[1].getLocation());
+        assertEquals(new File(directory, "sub/V4__Fourth.sql").getPath(), newResources[2].getLocation());
+
+        scanner.revalidate(Collections.singletonList(new File(directory, "V1__First.sql").toPath()));
+        newResources = scanner.scanForResources(location, "V", SUFFIXES);
+        assertEquals(3, newResources.length);
+        assertNotSame(resources[0], newResources[0]);
+        assertEquals("CREATE TABLE first (id INT, name VARCHAR(10));", new String(newResources[0].loadAsBytes(), UTF8));
+    }
+
+    private static void write(File root, String path, String contents) throws IOException {
+        File file = new File(root, path);
+        assertTrue(file.getParentFile().isDirectory() || file.getParentFile().mkdirs());
+        Files.write(file.toPath(), contents.getBytes(UTF8));
+        // Old enough to be fingerprinted
+        assertTrue(file.setLastModified(System.currentTimeMillis() - 60000L));
+    }
+
+    /**
+     * A class added to the classpath between two scans.
+     */
+    public static class AddedRunnable implements Runnable {
+        @Override
+        public void run() {
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner;
+
+import org.flywaydb.core.internal.util.scanner.filesystem.FileSystemResource;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ChecksumCacheTest {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /**
+     * A modification time old enough for files to get a fingerprint.
+     */
+    private static final long LAST_MODIFIED = System.currentTimeMillis() / 1000 * 1000 - 60000L;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void unchangedResource() throws IOException {
+        File cacheFile = new File(temporaryFolder.getRoot(), "cache/checksums");
+        File migration = write("V1__First.sql", "CREATE TABLE a (id INT);", LAST_MODIFIED);
+        int checksum = resource(migration).checksum();
+
+        ChecksumCache checksumCache = ChecksumCache.load(cacheFile);
+        assertEquals(checksum, checksumCache.checksum(resource(migration)));
+        checksumCache.save();
+        assertTrue(cacheFile.isFile());
+
+        // Same size and modification time: the cached checksum is used without reading the file
+        write("V1__First.sql", "CREATE TABLE b (id INT);", LAST_MODIFIED);
+        assertEquals(checksum, ChecksumCache.load(cacheFile).checksum(resource(migration)));
+    }
+
+    @Test
+    public void staleEntry() throws IOException {
+        File cacheFile = new File(temporaryFolder.getRoot(), "checksums");
+        File migration = write("V1__First.sql", "CREATE TABLE a (id INT);", LAST_MODIFIED);
+        ChecksumCache checksumCache = ChecksumCache.load(cacheFile);
+        int checksum = checksumCache.checksum(resource(migration));
+        checksumCache.save();
+
+        // A modified file gets a new fingerprint, so the stale entry is ignored
+        write("V1__First.sql", "CREATE TABLE b (id INT);", LAST_MODIFIED + 1000L);
+        checksumCache = ChecksumCache.load(cacheFile);
+        int newChecksum = checksumCache.checksum(resource(migration));
+        assertNotEquals(checksum, newChecksum);
+        assertEquals(resource(migration).checksum(), newChecksum);
+        checksumCache.save();
+
+        // Only the entries in use are kept
+        List<String> lines = Files.readAllLines(cacheFile.toPath(), UTF8);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(1), lines.get(1).startsWith(newChecksum + " file:"));
+    }
+
+    @Test
+    public void recentlyModifiedResource() throws IOException {
+        File cacheFile = new File(temporaryFolder.getRoot(), "checksums");
+        File migration = write("V1__First.sql", "CREATE TABLE a (id INT);", System.currentTimeMillis());
+        assertNull(resource(migration).getFingerprint());
+
+        // Without fingerprint the checksum is always calculated and never cached
+        ChecksumCache checksumCache = ChecksumCache.load(cacheFile);
+        assertEquals(resource(migration).checksum(), checksumCache.checksum(resource(migration)));
+        checksumCache.save();
+        assertFalse(cacheFile.exists());
+    }
+
+    @Test
+    public void corruptCache() throws IOException {
+        File migration = write("V1__First.sql", "CREATE TABLE a (id INT);", LAST_MODIFIED);
+        String fingerprint = resource(migration).getFingerprint();
+        assertNotNull(fingerprint);
+        File cacheFile = write("checksums", "12 " + fingerprint + "\nnot-a-number " + fingerprint + "\n", LAST_MODIFIED);
+
+        // The whole file is ignored rather than trusting part of it
+        ChecksumCache checksumCache = ChecksumCache.load(cacheFile);
+        assertEquals(resource(migration).checksum(), checksumCache.checksum(resource(migration)));
+        checksumCache.save();
+        assertEquals(resource(migration).checksum(), ChecksumCache.load(cacheFile).checksum(resource(migration)));
+    }
+
+    @Test
+    public void unmodifiedCacheIsNotSavedAgain() throws IOException {
+        File cacheFile = new File(temporaryFolder.getRoot(), "checksums");
+        File migration = write("V1__First.sql", "CREATE TABLE a (id INT);", LAST_MODIFIED);
+        ChecksumCache checksumCache = ChecksumCache.load(cacheFile);
+        checksumCache.checksum(resource(migration));
+        checksumCache.save();
+        assertTrue(cacheFile.setLastModified(LAST_MODIFIED));
+
+        checksumCache = ChecksumCache.load(cacheFile);
+        checksumCache.checksum(resource(migration));
+        checksumCache.save();
+        assertEquals(LAST_MODIFIED, cacheFile.lastModified());
+    }
+
+    private static FileSystemResource resource(File file) {
+        return new FileSystemResource(file.getPath(), UTF8);
+    }
+
+    private File write(String filename, String contents, long lastModified) throws IOException {
+        File file = new File(temporaryFolder.getRoot(), filename);
+        Files.write(file.toPath(), contents.getBytes(UTF8));
+        assertTrue(file.setLastModified(lastModified));
+        return file;
+    }
+}
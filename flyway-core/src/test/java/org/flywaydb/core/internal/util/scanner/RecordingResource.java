@@ -0,0 +1,143 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.internal.util.line.LineReader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A resource held in memory, for tests. It records the threads loading it and can be made to wait while loading or
+ * to fail.
+ */
+public class RecordingResource extends AbstractLoadableResource {
+    /**
+     * The resources loaded so far by all instances, in order.
+     */
+    private static final List<String> LOADS = Collections.synchronizedList(new ArrayList<String>());
+
+    private final String filename;
+    private final String sql;
+
+    /**
+     * The threads that loaded this resource so far.
+     */
+    private final List<String> threads = Collections.synchronizedList(new ArrayList<String>());
+
+    /**
+     * Opened to let loading proceed once it has been recorded. {@code null} to load immediately.
+     */
+    private volatile CountDownLatch gate;
+
+    /**
+     * Whether loading fails.
+     */
+    private volatile boolean failing;
+
+    /**
+     * @param filename The filename, also used as location.
+     * @param sql      The contents.
+     */
+    public RecordingResource(String filename, String sql) {
+        this.filename = filename;
+        this.sql = sql;
+    }
+
+    /**
+     * @return The filenames of the resources loaded so far by all instances, in order.
+     */
+    public static List<String> getLoads() {
+        synchronized (LOADS) {
+            return new ArrayList<>(LOADS);
+        }
+    }
+
+    /**
+     * Forgets the loads recorded so far by all instances.
+     */
+    public static void clearLoads() {
+        LOADS.clear();
+    }
+
+    /**
+     * @return The names of the threads that loaded this resource so far.
+     */
+    public List<String> getThreads() {
+        synchronized (threads) {
+            return new ArrayList<>(threads);
+        }
+    }
+
+    /**
+     * @param gate Opened to let loading proceed once it has been recorded. {@code null} to load immediately.
+     */
+    public void setGate(CountDownLatch gate) {
+        this.gate = gate;
+    }
+
+    /**
+     * @param failing Whether loading fails.
+     */
+    public void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+
+    @Override
+    public LineReader loadAsString() {
+        threads.add(Thread.currentThread().getName());
+        LOADS.add(filename);
+        CountDownLatch currentGate = gate;
+        if (currentGate != null) {
+            try {
+                if (!currentGate.await(10, TimeUnit.SECONDS)) {
+                    throw new FlywayException("Gate of " + filename + " not opened");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FlywayException("Interrupted while loading " + filename, e);
+            }
+        }
+        if (failing) {
+            throw new FlywayException("Unable to load " + filename);
+        }
+        return new StringResource(sql).loadAsString();
+    }
+
+    @Override
+    public byte[] loadAsBytes() {
+        return new byte[0];
+    }
+
+    @Override
+    public String getLocation() {
+        return filename;
+    }
+
+    @Override
+    public String getLocationOnDisk() {
+        return filename;
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+}
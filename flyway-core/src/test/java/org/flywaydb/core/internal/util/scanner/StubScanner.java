@@ -0,0 +1,54 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner;
+
+import org.flywaydb.core.api.Location;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A scanner finding the same resources in every location, for tests.
+ */
+public class StubScanner extends Scanner {
+    private final List<LoadableResource> resources;
+
+    /**
+     * @param resources The resources to find.
+     */
+    public StubScanner(LoadableResource... resources) {
+        // Never scans, so it needs no thread pool
+        super(StubScanner.class.getClassLoader(), Charset.forName("UTF-8"), null);
+        this.resources = Arrays.asList(resources);
+    }
+
+    @Override
+    public LoadableResource[] scanForResources(Location location, String prefix, String[] suffixes) {
+        List<LoadableResource> result = new ArrayList<>();
+        for (LoadableResource resource : resources) {
+            String filename = resource.getFilename();
+            for (String suffix : suffixes) {
+                if (filename.startsWith(prefix) && filename.endsWith(suffix)) {
+                    result.add(resource);
+                    break;
+                }
+            }
+        }
+        return result.toArray(new LoadableResource[0]);
+    }
+}
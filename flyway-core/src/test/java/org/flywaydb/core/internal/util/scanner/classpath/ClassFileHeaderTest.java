@@ -0,0 +1,191 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner.classpath;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ClassFileHeaderTest {
+    @Test
+    public void concreteClass() throws IOException {
+        ClassFileHeader header = read(ConcreteClass.class);
+        assertFalse(header.isAbstract());
+        assertFalse(header.isEnum());
+        assertEquals(ArrayList.class.getName(), header.getSuperClassName());
+        assertEquals(Arrays.asList(Runnable.class.getName(), Serializable.class.getName()), header.getInterfaceNames());
+    }
+
+    @Test
+    public void classWithWideConstants() throws IOException {
+        // Long and double constants take up two entries in the constant pool
+        ClassFileHeader header = read(Constants.class);
+        assertEquals(Object.class.getName(), header.getSuperClassName());
+        assertEquals(Collections.singletonList(Runnable.class.getName()), header.getInterfaceNames());
+    }
+
+    @Test
+    public void abstractClassInterfaceAndEnum() throws IOException {
+        assertTrue(read(AbstractClass.class).isAbstract());
+        assertTrue(read(Interface.class).isAbstract());
+        assertEquals(Collections.singletonList(Runnable.class.getName()), read(Interface.class).getInterfaceNames());
+        assertTrue(read(Enumeration.class).isEnum());
+        assertEquals(Enum.class.getName(), read(Enumeration.class).getSuperClassName());
+    }
+
+    @Test
+    public void object() throws IOException {
+        assertNull(read(Object.class).getSuperClassName());
+    }
+
+    @Test
+    public void missingClassFile() throws IOException {
+        assertNull(ClassFileHeader.read(getClass().getClassLoader(), "org.flywaydb.NoSuchClass"));
+    }
+
+    @Test
+    public void truncatedClassFile() throws IOException {
+        byte[] bytes = bytes(ConcreteClass.class);
+        assertInvalid(new byte[0]);
+        assertInvalid(Arrays.copyOf(bytes, 3));
+        assertInvalid(Arrays.copyOf(bytes, 9));
+        assertInvalid(Arrays.copyOf(bytes, bytes.length / 4));
+
+        // Everything after the interfaces isn't needed
+        int headerLength = headerLength(bytes);
+        assertEquals(read(ConcreteClass.class).getInterfaceNames(),
+                ClassFileHeader.read(new ByteClassLoader(Arrays.copyOf(bytes, headerLength)), "Test").getInterfaceNames());
+        assertInvalid(Arrays.copyOf(bytes, headerLength - 1));
+    }
+
+    @Test
+    public void invalidClassFile() throws IOException {
+        byte[] bytes = bytes(ConcreteClass.class);
+        byte[] invalidMagic = bytes.clone();
+        invalidMagic[0] = 0;
+        assertInvalid(invalidMagic);
+
+        // The superclass points past the end of the constant pool
+        byte[] invalidSuperClass = Arrays.copyOf(bytes, headerLength(bytes));
+        int superClassOffset = invalidSuperClass.length - 2 - 2 * 2 - 2;
+        invalidSuperClass[superClassOffset] = (byte) 0xFF;
+        invalidSuperClass[superClassOffset + 1] = (byte) 0xFF;
+        assertInvalid(invalidSuperClass);
+    }
+
+    private static ClassFileHeader read(Class<?> clazz) throws IOException {
+        return ClassFileHeader.read(ClassFileHeaderTest.class.getClassLoader(), clazz.getName());
+    }
+
+    private static void assertInvalid(byte[] bytes) {
+        try {
+            ClassFileHeader.read(new ByteClassLoader(bytes), "Test");
+            fail();
+        } catch (IOException e) {
+            // Expected
+        }
+    }
+
+    private static byte[] bytes(Class<?> clazz) throws IOException {
+        InputStream inputStream = ClassFileHeaderTest.class.getClassLoader()
+                .getResourceAsStream(clazz.getName().replace('.', '/') + ".class");
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+            return outputStream.toByteArray();
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    /**
+     * Finds the length of the header of ConcreteClass, which ends with its two interfaces, by looking for the
+     * shortest prefix of its class file that can be read.
+     */
+    private static int headerLength(byte[] bytes) {
+        for (int length = 1; length <= bytes.length; length++) {
+            try {
+                ClassFileHeader.read(new ByteClassLoader(Arrays.copyOf(bytes, length)), "Test");
+                return length;
+            } catch (IOException e) {
+                // Still too short
+            }
+        }
+        throw new AssertionError("Unreadable class file");
+    }
+
+    /**
+     * A ClassLoader serving the same bytes for every class file.
+     */
+    private static class ByteClassLoader extends ClassLoader {
+        private final byte[] bytes;
+
+        ByteClassLoader(byte[] bytes) {
+            super(null);
+            this.bytes = bytes;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            return new ByteArrayInputStream(bytes);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    public static class ConcreteClass extends ArrayList<String> implements Runnable, Serializable {
+        @Override
+        public void run() {
+        }
+    }
+
+    public static class Constants implements Runnable {
+        public static final long LONG = 1234567890123L;
+        public static final double DOUBLE = 1.5;
+        public static final String STRING = "constant";
+
+        @Override
+        public void run() {
+        }
+    }
+
+    public abstract static class AbstractClass implements Runnable {
+    }
+
+    public interface Interface extends Runnable {
+    }
+
+    public enum Enumeration {
+        A, B
+    }
+}
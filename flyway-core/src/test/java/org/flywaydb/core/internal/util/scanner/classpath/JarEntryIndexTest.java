@@ -0,0 +1,83 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner.classpath;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.TreeSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class JarEntryIndexTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void findEntryNames() throws IOException {
+        File jar = temporaryFolder.newFile("migrations.jar");
+        writeJar(jar, "db/", "db/migration/", "db/migration/V1__First.sql", "db/migration/sub/V2__Second.sql",
+                "db/migration2/V3__Other.sql", "db/migratio.sql", "com/example/App.class");
+
+        JarEntryIndex index = JarEntryIndex.get(jar);
+        assertEquals(new TreeSet<>(Arrays.asList("", "V1__First.sql", "sub/V2__Second.sql")),
+                index.findEntryNames("db/migration/", "db/migration/".length()));
+        assertEquals(new TreeSet<>(Arrays.asList("db/migration/", "db/migration/V1__First.sql", "db/migration/sub/V2__Second.sql")),
+                index.findEntryNames("db/migration/", 0));
+        assertTrue(index.findEntryNames("org/", 0).isEmpty());
+        assertTrue(index.findEntryNames("zzz", 0).isEmpty());
+    }
+
+    @Test
+    public void indexIsSharedUntilJarChanges() throws IOException {
+        File jar = temporaryFolder.newFile("changing.jar");
+        writeJar(jar, "db/migration/V1__First.sql");
+        jar.setLastModified(1000000000000L);
+
+        JarEntryIndex index = JarEntryIndex.get(jar);
+        assertSame(index, JarEntryIndex.get(jar));
+
+        writeJar(jar, "db/migration/V1__First.sql", "db/migration/V2__Second.sql");
+        jar.setLastModified(1000000060000L);
+
+        JarEntryIndex changedIndex = JarEntryIndex.get(jar);
+        assertNotSame(index, changedIndex);
+        assertEquals(new TreeSet<>(Arrays.asList("V1__First.sql", "V2__Second.sql")),
+                changedIndex.findEntryNames("db/migration/", "db/migration/".length()));
+    }
+
+    private static void writeJar(File jar, String... entryNames) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(jar));
+        try {
+            for (String entryName : entryNames) {
+                zip.putNextEntry(new ZipEntry(entryName));
+                zip.closeEntry();
+            }
+        } finally {
+            zip.close();
+        }
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner.classpath;
+
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.flywaydb.core.internal.util.scanner.LoadableResource;
+import org.flywaydb.core.internal.util.scanner.StringResource;
+import org.flywaydb.core.internal.util.scanner.filesystem.FileSystemResource;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.jar.JarFile;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MigrationIndexTest {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final String V1 = "CREATE TABLE first (id INT);";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void generate() throws IOException {
+        File classes = temporaryFolder.newFolder("classes");
+        write(classes, "db/migration/V1__First.sql", V1);
+        write(classes, "db/migration/sub/V2__Second.sql", "CREATE TABLE second (id INT);");
+        write(classes, "db/migration/README.txt", "Not a migration");
+        write(classes, "db/other/V3__Other.sql", "CREATE TABLE other (id INT);");
+
+        File output = temporaryFolder.newFolder("output");
+        assertEquals(3, MigrationIndex.generate(new FluentConfiguration()
+                        .locations("classpath:db/migration", "filesystem:" + classes.getPath()),
+                output, Collections.singletonList(classes)));
+
+        MigrationIndex migrationIndex = MigrationIndex.load(new File(output, MigrationIndex.PATH).toURI().toURL());
+        assertTrue(migrationIndex.covers("db/migration"));
+        assertTrue(migrationIndex.covers("db/migration/sub"));
+        assertFalse(migrationIndex.covers("db"));
+        assertFalse(migrationIndex.covers("db/migration2"));
+        assertFalse(migrationIndex.covers("db/other"));
+
+        assertEquals(new TreeSet<>(Arrays.asList("db/migration/README.txt", "db/migration/V1__First.sql",
+                "db/migration/sub/V2__Second.sql")), migrationIndex.getResourceNames("db/migration"));
+        assertEquals(new TreeSet<>(Arrays.asList("db/migration/sub/V2__Second.sql")),
+                migrationIndex.getResourceNames("db/migration/sub/"));
+
+        int checksum = new FileSystemResource(new File(classes, "db/migration/V1__First.sql").getPath(), UTF8).checksum();
+        assertEquals(checksum, (int) migrationIndex.getChecksum("db/migration/V1__First.sql", UTF8));
+        assertNull(migrationIndex.getChecksum("db/migration/README.txt", UTF8));
+        assertNull(migrationIndex.getChecksum("db/migration/V9__Unknown.sql", UTF8));
+        // Checksums depend on the encoding the resources are read with
+        assertNull(migrationIndex.getChecksum("db/migration/V1__First.sql", Charset.forName("ISO-8859-1")));
+
+        File jar = temporaryFolder.newFile("classes.jar");
+        ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(jar));
+        try {
+            zip.putNextEntry(new ZipEntry("WEB-INF/classes/db/migration/sub/V2__Second.sql"));
+            zip.write("CREATE TABLE second (id INT);".getBytes(UTF8));
+            zip.closeEntry();
+        } finally {
+            zip.close();
+        }
+        JarFile jarFile = new JarFile(jar);
+        try {
+            assertTrue(migrationIndex.matches("db/migration/sub", jarFile, "WEB-INF/classes/"));
+            // V1 and README are missing from the jar
+            assertFalse(migrationIndex.matches("db/migration", jarFile, "WEB-INF/classes/"));
+        } finally {
+            jarFile.close();
+        }
+    }
+
+    @Test
+    public void loadCorruptIndex() throws IOException {
+        assertInvalid("resource 12");
+        assertInvalid("resource abc 1 db/migration/V1__First.sql");
+        // Lacks the CRC of the resource
+        assertInvalid("resource 12 db/migration/V1__First.sql");
+    }
+
+    @Test
+    public void scanJarWithIndex() throws Exception {
+        // The index deliberately holds a different checksum, to tell whether it was used
+        File jar = writeJar("indexed.jar", "location db/migration\nresource 42 " + crc(V1)
+                + " db/migration/V1__First.sql\n");
+        assertEquals(42, scanChecksum(jar));
+    }
+
+    @Test
+    public void scanJarWithOutOfDateIndex() throws Exception {
+        // Modified since the index was generated
+        File jar = writeJar("modified.jar", "location db/migration\nresource 42 "
+                + crc("CREATE TABLE first (id BIGINT);") + " db/migration/V1__First.sql\n");
+        assertEquals(checksum(), scanChecksum(jar));
+
+        // Removed since the index was generated
+        jar = writeJar("removed.jar", "location db/migration\nresource 42 " + crc(V1)
+                + " db/migration/V1__First.sql\nresource 43 " + crc(V1) + " db/migration/V2__Second.sql\n");
+        assertEquals(checksum(), scanChecksum(jar));
+    }
+
+    @Test
+    public void scanJarWithoutDirectoryEntriesWithIndex() throws Exception {
+        // V2 was added after the index was generated, which can only be detected by going through all entries
+        File jar = writeJarWithoutDirectoryEntries("indexed-flat.jar", "location db/migration\nresource 42 "
+                + crc(V1) + " db/migration/V1__First.sql\n");
+        assertEquals(Arrays.asList("db/migration/V1__First.sql"), scanLocations(jar));
+    }
+
+    @Test
+    public void scanJarWithoutDirectoryEntriesWithoutIndex() throws Exception {
+        File jar = writeJarWithoutDirectoryEntries("flat.jar", null);
+        assertEquals(Arrays.asList("db/migration/V1__First.sql", "db/migration/V2__Second.sql"), scanLocations(jar));
+    }
+
+    @Test
+    public void scanJarWithoutIndex() throws Exception {
+        File jar = writeJar("unindexed.jar", null);
+        assertEquals(checksum(), scanChecksum(jar));
+    }
+
+    @Test
+    public void scanJarWithCorruptIndex() throws Exception {
+        File jar = writeJar("corrupt.jar", "location db/migration\nresource 42\n");
+        assertEquals(checksum(), scanChecksum(jar));
+    }
+
+    @Test
+    public void scanJarWithIndexForOtherLocation() throws Exception {
+        File jar = writeJar("other.jar", "location db/other\nresource 42 " + crc(V1) + " db/other/V1__First.sql\n");
+        assertEquals(checksum(), scanChecksum(jar));
+    }
+
+    private static int checksum() {
+        return new StringResource(V1).checksum();
+    }
+
+    private static long crc(String contents) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(contents.getBytes(UTF8));
+        return crc32.getValue();
+    }
+
+    private static int scanChecksum(File jar) throws Exception {
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{jar.toURI().toURL()}, null);
+        try {
+            LoadableResource[] resources = new ClassPathScanner(classLoader, UTF8)
+                    .scanForResources(new Location("classpath:db/migration"), "V", ".sql");
+            assertEquals(1, resources.length);
+            assertEquals("db/migration/V1__First.sql", resources[0].getLocation());
+            return resources[0].checksum();
+        } finally {
+            classLoader.close();
+        }
+    }
+
+    /**
+     * Scans a jar whose location can't be resolved by the class loader, as it has no directory entries.
+     */
+    private static List<String> scanLocations(File jar) throws Exception {
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{jar.toURI().toURL()}, null);
+        try {
+            List<String> locations = new ArrayList<>();
+            for (LoadableResource resource : new ClassPathScanner(classLoader, UTF8)
+                    .scanForResources(new Location("classpath:db/migration"), "V", ".sql")) {
+                locations.add(resource.getLocation());
+            }
+            return locations;
+        } finally {
+            classLoader.close();
+        }
+    }
+
+    private void assertInvalid(String line) throws IOException {
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), ("encoding UTF-8\nlocation db/migration\n" + line + "\n").getBytes(UTF8));
+        try {
+            MigrationIndex.load(file.toURI().toURL());
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Invalid migration index"));
+        }
+    }
+
+    private File writeJar(String name, String index) throws IOException {
+        File jar = temporaryFolder.newFile(name);
+        ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(jar));
+        try {
+            // Like jars built by Maven or Gradle, include the directory entries
+            zip.putNextEntry(new ZipEntry("db/"));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("db/migration/"));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("db/migration/V1__First.sql"));
+            zip.write(V1.getBytes(UTF8));
+            zip.closeEntry();
+            if (index != null) {
+                zip.putNextEntry(new ZipEntry(MigrationIndex.PATH));
+                zip.write(("encoding UTF-8\n" + index).getBytes(UTF8));
+                zip.closeEntry();
+            }
+        } finally {
+            zip.close();
+        }
+        return jar;
+    }
+
+    private File writeJarWithoutDirectoryEntries(String name, String index) throws IOException {
+        File jar = temporaryFolder.newFile(name);
+        ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(jar));
+        try {
+            zip.putNextEntry(new ZipEntry("db/migration/V1__First.sql"));
+            zip.write(V1.getBytes(UTF8));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("db/migration/V2__Second.sql"));
+            zip.write("CREATE TABLE second (id INT);".getBytes(UTF8));
+            zip.closeEntry();
+            if (index != null) {
+                zip.putNextEntry(new ZipEntry(MigrationIndex.PATH));
+                zip.write(("encoding UTF-8\n" + index).getBytes(UTF8));
+                zip.closeEntry();
+            }
+        } finally {
+            zip.close();
+        }
+        return jar;
+    }
+
+    private static void write(File root, String path, String contents) throws IOException {
+        File file = new File(root, path);
+        assertTrue(file.getParentFile().isDirectory() || file.getParentFile().mkdirs());
+        Files.write(file.toPath(), contents.getBytes(UTF8));
+    }
+}
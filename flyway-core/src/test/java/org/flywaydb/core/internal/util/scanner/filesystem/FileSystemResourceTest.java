@@ -0,0 +1,127 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner.filesystem;
+
+import org.flywaydb.core.internal.util.IOUtils;
+import org.flywaydb.core.internal.util.line.Line;
+import org.flywaydb.core.internal.util.line.LineReader;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.zip.CRC32;
+
+import static org.junit.Assert.assertEquals;
+
+public class FileSystemResourceTest {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void checksumSmallFile() throws IOException {
+        assertChecksum("CREATE TABLE t (\r\n  id INT  \n);\n\n  INSERT INTO t VALUES (1);", UTF8);
+    }
+
+    @Test
+    public void checksumEmptyFile() throws IOException {
+        assertChecksum("", UTF8);
+    }
+
+    @Test
+    public void checksumLargeFile() throws IOException {
+        assertChecksum(sql(300 * 1024, "INSERT INTO t VALUES ('x');"), UTF8);
+    }
+
+    @Test
+    public void checksumLargeFileWithBomAndCrLf() throws IOException {
+        assertChecksum("\ufeff" + sql(200 * 1024, "  INSERT INTO t VALUES ('x');  \r"), UTF8);
+    }
+
+    @Test
+    public void checksumLargeFileWithMultiByteCharactersAcrossBuffers() throws IOException {
+        // 3-byte characters and surrogate pairs (4 bytes) never align with the 64 KB read buffer
+        assertChecksum(sql(300 * 1024, "INSERT INTO t VALUES ('\u20ac\u00e9\ud83d\ude00');"), UTF8);
+    }
+
+    @Test
+    public void checksumLargeFileUtf16() throws IOException {
+        Charset utf16 = Charset.forName("UTF-16LE");
+        assertChecksum("\ufeff" + sql(100 * 1024, "INSERT INTO t VALUES ('\u20ac');"), utf16);
+    }
+
+    @Test
+    public void checksumLargeFileWithMalformedBytes() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (int i = 0; i < 10000; i++) {
+            bytes.write(("INSERT INTO t VALUES (" + i + ");").getBytes(UTF8));
+            bytes.write(0xC3);
+            bytes.write(0xFF);
+            bytes.write('\n');
+        }
+        assertChecksum(bytes.toByteArray(), UTF8);
+    }
+
+    private void assertChecksum(String contents, Charset encoding) throws IOException {
+        assertChecksum(contents.getBytes(encoding), encoding);
+    }
+
+    private void assertChecksum(byte[] contents, Charset encoding) throws IOException {
+        File file = temporaryFolder.newFile();
+        OutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(contents);
+        } finally {
+            outputStream.close();
+        }
+
+        assertEquals(lineByLineChecksum(file, encoding),
+                new FileSystemResource(file.getPath(), encoding).checksum());
+    }
+
+    /**
+     * The checksum as calculated by reading the resource line by line, which is the reference the optimized
+     * calculation must match.
+     */
+    private static int lineByLineChecksum(File file, Charset encoding) {
+        LineReader lineReader = new FileSystemResource(file.getPath(), encoding).loadAsString();
+        try {
+            CRC32 crc32 = new CRC32();
+            Line line;
+            while ((line = lineReader.readLine()) != null) {
+                crc32.update(line.getLine().trim().getBytes(UTF8));
+            }
+            return (int) crc32.getValue();
+        } finally {
+            IOUtils.close(lineReader);
+        }
+    }
+
+    private static String sql(int size, String line) {
+        StringBuilder sql = new StringBuilder(size + line.length() + 1);
+        while (sql.length() < size) {
+            sql.append(line).append('\n');
+        }
+        return sql.toString();
+    }
+}
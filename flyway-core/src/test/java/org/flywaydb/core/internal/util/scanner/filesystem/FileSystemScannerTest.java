@@ -0,0 +1,78 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner.filesystem;
+
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.internal.util.ConcurrencyUtils;
+import org.flywaydb.core.internal.util.scanner.LoadableResource;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FileSystemScannerTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ExecutorService executorService = ConcurrencyUtils.newDaemonThreadPool("test-scanner", 4);
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void scanForResources() throws IOException {
+        File root = temporaryFolder.getRoot();
+        for (String path : new String[]{"V1__First.sql", "V2__Second.txt", "README.md", "a/V3__Third.sql",
+                "a/b/V4__Fourth.sql", "c/d/e/f/V5__Fifth.sql", "other/R__Repeatable.sql"}) {
+            File file = new File(root, path);
+            file.getParentFile().mkdirs();
+            assertTrue(file.createNewFile());
+        }
+        // A directory whose name matches is descended into, but isn't a resource itself
+        assertTrue(new File(root, "V6__Directory.sql").mkdir());
+        assertTrue(new File(root, "V6__Directory.sql/V7__Nested.sql").createNewFile());
+        assertTrue(new File(root, "empty").mkdir());
+
+        LoadableResource[] resources = new FileSystemScanner(Charset.forName("UTF-8"), executorService)
+                .scanForResources(new Location("filesystem:" + root.getPath()), "V", ".sql");
+
+        List<String> filenames = new ArrayList<>();
+        for (LoadableResource resource : resources) {
+            filenames.add(resource.getFilename());
+        }
+        assertEquals(Arrays.asList("V1__First.sql", "V7__Nested.sql", "V3__Third.sql", "V4__Fourth.sql",
+                "V5__Fifth.sql"), filenames);
+    }
+
+    @Test
+    public void scanForResourcesMissingLocation() {
+        assertEquals(0, new FileSystemScanner(Charset.forName("UTF-8"), executorService)
+                .scanForResources(new Location("filesystem:" + new File(temporaryFolder.getRoot(), "missing")), "V", ".sql").length);
+    }
+}
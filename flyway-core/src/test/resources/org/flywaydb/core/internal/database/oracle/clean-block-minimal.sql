@@ -0,0 +1,301 @@
+DECLARE
+  TYPE name_list IS TABLE OF VARCHAR2(4000);
+  schema_name CONSTANT VARCHAR2(128) := 'O''NEIL';
+  objects SYS_REFCURSOR;
+  object_names name_list;
+  stmt VARCHAR2(32767);
+BEGIN
+  -- TRIGGER
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''TRIGGER''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP TRIGGER "O''NEIL"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- QUEUE TABLE
+  OPEN objects FOR 'SELECT QUEUE_TABLE FROM ALL_QUEUE_TABLES WHERE OWNER = :1' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_AQADM.DROP_QUEUE_TABLE(''"O''NEIL"."' || object_names(i) || '"'', FORCE => TRUE); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- FILE WATCHER
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''FILE WATCHER''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_SCHEDULER.DROP_FILE_WATCHER(''"O''NEIL"."' || object_names(i) || '"'', FORCE => TRUE); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- SCHEDULER CHAIN
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''CHAIN''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_SCHEDULER.DROP_CHAIN(''"O''NEIL"."' || object_names(i) || '"'', FORCE => TRUE); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- SCHEDULER JOB
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''JOB''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_SCHEDULER.DROP_JOB(''"O''NEIL"."' || object_names(i) || '"'', FORCE => TRUE); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- SCHEDULER PROGRAM
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''PROGRAM''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_SCHEDULER.DROP_PROGRAM(''"O''NEIL"."' || object_names(i) || '"'', FORCE => TRUE); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- SCHEDULE
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''SCHEDULE''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_SCHEDULER.DROP_SCHEDULE(''"O''NEIL"."' || object_names(i) || '"'', FORCE => TRUE); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- RULE SET
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''RULE SET''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_RULE_ADM.DROP_RULE_SET(''"O''NEIL"."' || object_names(i) || '"'', DELETE_RULES => FALSE); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- RULE
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''RULE''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_RULE_ADM.DROP_RULE(''"O''NEIL"."' || object_names(i) || '"'', FORCE => TRUE); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- EVALUATION CONTEXT
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''EVALUATION CONTEXT''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_RULE_ADM.DROP_EVALUATION_CONTEXT(''"O''NEIL"."' || object_names(i) || '"'', FORCE => TRUE); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- FILE GROUP
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''FILE GROUP''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_FILE_GROUP.DROP_FILE_GROUP(''"O''NEIL"."' || object_names(i) || '"''); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- MINING MODEL
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''MINING MODEL''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_DATA_MINING.DROP_MODEL(''"O''NEIL"."' || object_names(i) || '"''); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- REWRITE EQUIVALENCE
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''REWRITE EQUIVALENCE''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN SYS.DBMS_ADVANCED_REWRITE.DROP_REWRITE_EQUIVALENCE(''"O''NEIL"."' || object_names(i) || '"''); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- SQL TRANSLATION PROFILE
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''SQL TRANSLATION PROFILE''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_SQL_TRANSLATOR.DROP_PROFILE(''"O''NEIL"."' || object_names(i) || '"''); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- MATERIALIZED VIEW
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''MATERIALIZED VIEW''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP MATERIALIZED VIEW "O''NEIL"."' || object_names(i) || '" PRESERVE TABLE';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- MATERIALIZED VIEW LOG
+  OPEN objects FOR 'SELECT MASTER FROM ALL_MVIEW_LOGS WHERE LOG_OWNER = :1' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP MATERIALIZED VIEW LOG ON "O''NEIL"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- DIMENSION
+  OPEN objects FOR 'SELECT DIMENSION_NAME FROM ALL_DIMENSIONS WHERE OWNER = :1' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP DIMENSION "O''NEIL"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- VIEW
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''VIEW''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP VIEW "O''NEIL"."' || object_names(i) || '" CASCADE CONSTRAINTS';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- DOMAIN INDEX
+  OPEN objects FOR 'SELECT INDEX_NAME FROM ALL_INDEXES WHERE OWNER = :1 AND INDEX_TYPE LIKE ''%DOMAIN%''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP INDEX "O''NEIL"."' || object_names(i) || '" FORCE';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- DOMAIN INDEX TYPE
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''INDEXTYPE''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP INDEXTYPE "O''NEIL"."' || object_names(i) || '" FORCE';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- TABLE
+  OPEN objects FOR 'WITH TABLES AS (
+  SELECT TABLE_NAME, OWNER
+  FROM ALL_TABLES
+  WHERE OWNER = :1
+    AND (IOT_TYPE IS NULL OR IOT_TYPE NOT LIKE ''%OVERFLOW%'')
+    AND NESTED != ''YES''
+    AND SECONDARY != ''Y''
+)
+SELECT t.TABLE_NAME
+FROM TABLES t
+' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP TABLE "O''NEIL"."' || object_names(i) || '" CASCADE CONSTRAINTS PURGE';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- INDEX
+  OPEN objects FOR 'SELECT INDEX_NAME FROM ALL_INDEXES WHERE OWNER = :1 AND INDEX_TYPE NOT LIKE ''%DOMAIN%''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP INDEX "O''NEIL"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- CLUSTER
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''CLUSTER''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP CLUSTER "O''NEIL"."' || object_names(i) || '" INCLUDING TABLES CASCADE CONSTRAINTS';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- SEQUENCE
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''SEQUENCE''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP SEQUENCE "O''NEIL"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- OPERATOR
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''OPERATOR''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP OPERATOR "O''NEIL"."' || object_names(i) || '" FORCE';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- FUNCTION
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''FUNCTION''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP FUNCTION "O''NEIL"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- PROCEDURE
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''PROCEDURE''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP PROCEDURE "O''NEIL"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- PACKAGE
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''PACKAGE''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP PACKAGE "O''NEIL"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- CONTEXT
+  OPEN objects FOR 'SELECT NAMESPACE FROM ALL_CONTEXT WHERE SCHEMA = :1' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP CONTEXT "' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- LIBRARY
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''LIBRARY''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP LIBRARY "O''NEIL"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- TYPE
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''TYPE''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP TYPE "O''NEIL"."' || object_names(i) || '" FORCE';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- SYNONYM
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''SYNONYM''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP SYNONYM "O''NEIL"."' || object_names(i) || '" FORCE';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- JAVA SOURCE
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''JAVA SOURCE''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP JAVA SOURCE "O''NEIL"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- JAVA CLASS
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''JAVA CLASS''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP JAVA CLASS "O''NEIL"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- JAVA RESOURCE
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''JAVA RESOURCE''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP JAVA RESOURCE "O''NEIL"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+EXCEPTION
+  WHEN OTHERS THEN
+    RAISE_APPLICATION_ERROR(-20000, SUBSTR('Unable to execute ' || stmt, 1, 2000), TRUE);
+END;
@@ -0,0 +1,334 @@
+DECLARE
+  TYPE name_list IS TABLE OF VARCHAR2(4000);
+  schema_name CONSTANT VARCHAR2(128) := 'APP';
+  objects SYS_REFCURSOR;
+  object_names name_list;
+  stmt VARCHAR2(32767);
+BEGIN
+  -- TRIGGER
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''TRIGGER''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP TRIGGER "APP"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- QUEUE TABLE
+  OPEN objects FOR 'SELECT QUEUE_TABLE FROM ALL_QUEUE_TABLES WHERE OWNER = :1' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_AQADM.DROP_QUEUE_TABLE(''"APP"."' || object_names(i) || '"'', FORCE => TRUE); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- FILE WATCHER
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''FILE WATCHER''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_SCHEDULER.DROP_FILE_WATCHER(''"APP"."' || object_names(i) || '"'', FORCE => TRUE); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- SCHEDULER CHAIN
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''CHAIN''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_SCHEDULER.DROP_CHAIN(''"APP"."' || object_names(i) || '"'', FORCE => TRUE); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- SCHEDULER JOB
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''JOB''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_SCHEDULER.DROP_JOB(''"APP"."' || object_names(i) || '"'', FORCE => TRUE); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- SCHEDULER PROGRAM
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''PROGRAM''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_SCHEDULER.DROP_PROGRAM(''"APP"."' || object_names(i) || '"'', FORCE => TRUE); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- SCHEDULE
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''SCHEDULE''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_SCHEDULER.DROP_SCHEDULE(''"APP"."' || object_names(i) || '"'', FORCE => TRUE); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- RULE SET
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''RULE SET''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_RULE_ADM.DROP_RULE_SET(''"APP"."' || object_names(i) || '"'', DELETE_RULES => FALSE); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- RULE
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''RULE''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_RULE_ADM.DROP_RULE(''"APP"."' || object_names(i) || '"'', FORCE => TRUE); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- EVALUATION CONTEXT
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''EVALUATION CONTEXT''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_RULE_ADM.DROP_EVALUATION_CONTEXT(''"APP"."' || object_names(i) || '"'', FORCE => TRUE); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- FILE GROUP
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''FILE GROUP''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_FILE_GROUP.DROP_FILE_GROUP(''"APP"."' || object_names(i) || '"''); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- XML SCHEMA
+  OPEN objects FOR 'SELECT QUAL_SCHEMA_URL FROM DBA_XML_SCHEMAS WHERE OWNER = :1' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_XMLSCHEMA.DELETESCHEMA(''' || object_names(i) || ''', DELETE_OPTION => DBMS_XMLSCHEMA.DELETE_CASCADE_FORCE); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- MINING MODEL
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''MINING MODEL''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_DATA_MINING.DROP_MODEL(''"APP"."' || object_names(i) || '"''); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- REWRITE EQUIVALENCE
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''REWRITE EQUIVALENCE''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN SYS.DBMS_ADVANCED_REWRITE.DROP_REWRITE_EQUIVALENCE(''"APP"."' || object_names(i) || '"''); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- SQL TRANSLATION PROFILE
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''SQL TRANSLATION PROFILE''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'BEGIN DBMS_SQL_TRANSLATOR.DROP_PROFILE(''"APP"."' || object_names(i) || '"''); END;';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- MATERIALIZED VIEW
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''MATERIALIZED VIEW''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP MATERIALIZED VIEW "APP"."' || object_names(i) || '" PRESERVE TABLE';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- MATERIALIZED VIEW LOG
+  OPEN objects FOR 'SELECT MASTER FROM ALL_MVIEW_LOGS WHERE LOG_OWNER = :1' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP MATERIALIZED VIEW LOG ON "APP"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- DIMENSION
+  OPEN objects FOR 'SELECT DIMENSION_NAME FROM ALL_DIMENSIONS WHERE OWNER = :1' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP DIMENSION "APP"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- VIEW
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''VIEW''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP VIEW "APP"."' || object_names(i) || '" CASCADE CONSTRAINTS';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- DOMAIN INDEX
+  OPEN objects FOR 'SELECT INDEX_NAME FROM ALL_INDEXES WHERE OWNER = :1 AND INDEX_TYPE LIKE ''%DOMAIN%''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP INDEX "APP"."' || object_names(i) || '" FORCE';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- DOMAIN INDEX TYPE
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''INDEXTYPE''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP INDEXTYPE "APP"."' || object_names(i) || '" FORCE';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- TABLE
+  OPEN objects FOR 'WITH TABLES AS (
+  SELECT TABLE_NAME, OWNER
+  FROM ALL_TABLES
+  WHERE OWNER = :1
+    AND (IOT_TYPE IS NULL OR IOT_TYPE NOT LIKE ''%OVERFLOW%'')
+    AND NESTED != ''YES''
+    AND SECONDARY != ''Y''
+  UNION ALL
+  SELECT TABLE_NAME, OWNER
+  FROM ALL_XML_TABLES
+  WHERE OWNER = :2
+    AND TABLE_NAME NOT LIKE ''BIN$________________________$_''
+)
+SELECT t.TABLE_NAME
+FROM TABLES t
+  LEFT JOIN ALL_PART_TABLES pt
+    ON t.OWNER = pt.OWNER
+   AND t.TABLE_NAME = pt.TABLE_NAME
+   AND pt.PARTITIONING_TYPE = ''REFERENCE''
+  LEFT JOIN ALL_CONSTRAINTS fk
+    ON pt.OWNER = fk.OWNER
+   AND pt.TABLE_NAME = fk.TABLE_NAME
+   AND pt.REF_PTN_CONSTRAINT_NAME = fk.CONSTRAINT_NAME
+   AND fk.CONSTRAINT_TYPE = ''R''
+  LEFT JOIN ALL_CONSTRAINTS puk
+    ON fk.R_OWNER = puk.OWNER
+   AND fk.R_CONSTRAINT_NAME = puk.CONSTRAINT_NAME
+   AND puk.CONSTRAINT_TYPE IN (''P'', ''U'')
+  LEFT JOIN TABLES p
+    ON puk.OWNER = p.OWNER
+   AND puk.TABLE_NAME = p.TABLE_NAME
+START WITH p.TABLE_NAME IS NULL
+CONNECT BY PRIOR t.TABLE_NAME = p.TABLE_NAME
+ORDER BY LEVEL DESC' USING schema_name, schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP TABLE "APP"."' || object_names(i) || '" CASCADE CONSTRAINTS PURGE';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- INDEX
+  OPEN objects FOR 'SELECT INDEX_NAME FROM ALL_INDEXES WHERE OWNER = :1 AND INDEX_TYPE NOT LIKE ''%DOMAIN%''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP INDEX "APP"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- CLUSTER
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''CLUSTER''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP CLUSTER "APP"."' || object_names(i) || '" INCLUDING TABLES CASCADE CONSTRAINTS';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- SEQUENCE
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''SEQUENCE''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP SEQUENCE "APP"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- OPERATOR
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''OPERATOR''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP OPERATOR "APP"."' || object_names(i) || '" FORCE';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- FUNCTION
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''FUNCTION''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP FUNCTION "APP"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- PROCEDURE
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''PROCEDURE''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP PROCEDURE "APP"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- PACKAGE
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''PACKAGE''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP PACKAGE "APP"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- CONTEXT
+  OPEN objects FOR 'SELECT NAMESPACE FROM DBA_CONTEXT WHERE SCHEMA = :1' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP CONTEXT "' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- LIBRARY
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''LIBRARY''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP LIBRARY "APP"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- TYPE
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''TYPE''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP TYPE "APP"."' || object_names(i) || '" FORCE';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- SYNONYM
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''SYNONYM''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP SYNONYM "APP"."' || object_names(i) || '" FORCE';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- JAVA SOURCE
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''JAVA SOURCE''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP JAVA SOURCE "APP"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- JAVA CLASS
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''JAVA CLASS''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP JAVA CLASS "APP"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  -- JAVA RESOURCE
+  OPEN objects FOR 'SELECT OBJECT_NAME FROM ALL_OBJECTS WHERE OWNER = :1 AND OBJECT_TYPE = ''JAVA RESOURCE''' USING schema_name;
+  FETCH objects BULK COLLECT INTO object_names;
+  CLOSE objects;
+  FOR i IN 1 .. object_names.COUNT LOOP
+    stmt := 'DROP JAVA RESOURCE "APP"."' || object_names(i) || '"';
+    EXECUTE IMMEDIATE stmt;
+  END LOOP;
+  stmt := 'PURGE RECYCLEBIN';
+  EXECUTE IMMEDIATE stmt;
+EXCEPTION
+  WHEN OTHERS THEN
+    RAISE_APPLICATION_ERROR(-20000, SUBSTR('Unable to execute ' || stmt, 1, 2000), TRUE);
+END;
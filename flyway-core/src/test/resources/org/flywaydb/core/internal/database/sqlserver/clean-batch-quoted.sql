@@ -0,0 +1,162 @@
+SET NOCOUNT ON;
+DECLARE @statement NVARCHAR(MAX);
+BEGIN TRY
+    DECLARE flyway_clean_1 CURSOR LOCAL STATIC FOR
+        SELECT N'DROP TRIGGER ' + QUOTENAME(name) + N' ON DATABASE' FROM sys.triggers WHERE is_ms_shipped=0 AND parent_id=0 AND parent_class_desc='DATABASE';
+    OPEN flyway_clean_1;
+    FETCH NEXT FROM flyway_clean_1 INTO @statement;
+    WHILE @@FETCH_STATUS = 0
+    BEGIN
+        EXEC (@statement);
+        FETCH NEXT FROM flyway_clean_1 INTO @statement;
+    END;
+    CLOSE flyway_clean_1;
+    DEALLOCATE flyway_clean_1;
+    DECLARE flyway_clean_2 CURSOR LOCAL STATIC FOR
+        SELECT N'ALTER TABLE [o''neil].' + QUOTENAME(t.name) + N' DROP CONSTRAINT ' + QUOTENAME(c.name) FROM (SELECT obj.object_id, obj.name, obj.parent_object_id, obj.create_date FROM sys.objects AS obj LEFT JOIN sys.extended_properties AS eps ON obj.object_id = eps.major_id AND eps.class = 1 AND eps.minor_id = 0 AND eps.name='microsoft_database_tools_support' WHERE SCHEMA_NAME(obj.schema_id) = N'o''neil' AND eps.major_id IS NULL AND obj.is_ms_shipped = 0 AND obj.type IN ('U')) t JOIN (SELECT obj.object_id, obj.name, obj.parent_object_id, obj.create_date FROM sys.objects AS obj LEFT JOIN sys.extended_properties AS eps ON obj.object_id = eps.major_id AND eps.class = 1 AND eps.minor_id = 0 AND eps.name='microsoft_database_tools_support' WHERE SCHEMA_NAME(obj.schema_id) = N'o''neil' AND eps.major_id IS NULL AND obj.is_ms_shipped = 0 AND obj.type IN ('F', 'C')) c ON c.parent_object_id = t.object_id ORDER BY t.create_date DESC, c.create_date DESC;
+    OPEN flyway_clean_2;
+    FETCH NEXT FROM flyway_clean_2 INTO @statement;
+    WHILE @@FETCH_STATUS = 0
+    BEGIN
+        EXEC (@statement);
+        FETCH NEXT FROM flyway_clean_2 INTO @statement;
+    END;
+    CLOSE flyway_clean_2;
+    DEALLOCATE flyway_clean_2;
+    DECLARE flyway_clean_3 CURSOR LOCAL STATIC FOR
+        SELECT N'ALTER TABLE [o''neil].' + QUOTENAME(t.name) + N' DROP CONSTRAINT ' + QUOTENAME(c.name) FROM (SELECT obj.object_id, obj.name, obj.parent_object_id, obj.create_date FROM sys.objects AS obj LEFT JOIN sys.extended_properties AS eps ON obj.object_id = eps.major_id AND eps.class = 1 AND eps.minor_id = 0 AND eps.name='microsoft_database_tools_support' WHERE SCHEMA_NAME(obj.schema_id) = N'o''neil' AND eps.major_id IS NULL AND obj.is_ms_shipped = 0 AND obj.type IN ('U')) t JOIN (SELECT obj.object_id, obj.name, obj.parent_object_id, obj.create_date FROM sys.objects AS obj LEFT JOIN sys.extended_properties AS eps ON obj.object_id = eps.major_id AND eps.class = 1 AND eps.minor_id = 0 AND eps.name='microsoft_database_tools_support' WHERE SCHEMA_NAME(obj.schema_id) = N'o''neil' AND eps.major_id IS NULL AND obj.is_ms_shipped = 0 AND obj.type IN ('D')) c ON c.parent_object_id = t.object_id ORDER BY t.create_date DESC, c.create_date DESC;
+    OPEN flyway_clean_3;
+    FETCH NEXT FROM flyway_clean_3 INTO @statement;
+    WHILE @@FETCH_STATUS = 0
+    BEGIN
+        EXEC (@statement);
+        FETCH NEXT FROM flyway_clean_3 INTO @statement;
+    END;
+    CLOSE flyway_clean_3;
+    DEALLOCATE flyway_clean_3;
+    DECLARE flyway_clean_4 CURSOR LOCAL STATIC FOR
+        SELECT N'DROP PROCEDURE [o''neil].' + QUOTENAME(o.name) FROM (SELECT obj.object_id, obj.name, obj.parent_object_id, obj.create_date FROM sys.objects AS obj LEFT JOIN sys.extended_properties AS eps ON obj.object_id = eps.major_id AND eps.class = 1 AND eps.minor_id = 0 AND eps.name='microsoft_database_tools_support' WHERE SCHEMA_NAME(obj.schema_id) = N'o''neil' AND eps.major_id IS NULL AND obj.is_ms_shipped = 0 AND obj.type IN ('P', 'PC')) o ORDER BY o.create_date DESC;
+    OPEN flyway_clean_4;
+    FETCH NEXT FROM flyway_clean_4 INTO @statement;
+    WHILE @@FETCH_STATUS = 0
+    BEGIN
+        EXEC (@statement);
+        FETCH NEXT FROM flyway_clean_4 INTO @statement;
+    END;
+    CLOSE flyway_clean_4;
+    DEALLOCATE flyway_clean_4;
+    DECLARE flyway_clean_5 CURSOR LOCAL STATIC FOR
+        SELECT N'DROP VIEW [o''neil].' + QUOTENAME(o.name) FROM (SELECT obj.object_id, obj.name, obj.parent_object_id, obj.create_date FROM sys.objects AS obj LEFT JOIN sys.extended_properties AS eps ON obj.object_id = eps.major_id AND eps.class = 1 AND eps.minor_id = 0 AND eps.name='microsoft_database_tools_support' WHERE SCHEMA_NAME(obj.schema_id) = N'o''neil' AND eps.major_id IS NULL AND obj.is_ms_shipped = 0 AND obj.type IN ('V')) o ORDER BY o.create_date DESC;
+    OPEN flyway_clean_5;
+    FETCH NEXT FROM flyway_clean_5 INTO @statement;
+    WHILE @@FETCH_STATUS = 0
+    BEGIN
+        EXEC (@statement);
+        FETCH NEXT FROM flyway_clean_5 INTO @statement;
+    END;
+    CLOSE flyway_clean_5;
+    DEALLOCATE flyway_clean_5;
+    DECLARE flyway_clean_6 CURSOR LOCAL STATIC FOR
+        SELECT N'DROP TABLE [my]]db].[o''neil].' + QUOTENAME(o.name) FROM (SELECT obj.object_id, obj.name, obj.parent_object_id, obj.create_date FROM sys.objects AS obj LEFT JOIN sys.extended_properties AS eps ON obj.object_id = eps.major_id AND eps.class = 1 AND eps.minor_id = 0 AND eps.name='microsoft_database_tools_support' WHERE SCHEMA_NAME(obj.schema_id) = N'o''neil' AND eps.major_id IS NULL AND obj.is_ms_shipped = 0 AND obj.type IN ('U')) o ORDER BY o.create_date DESC;
+    OPEN flyway_clean_6;
+    FETCH NEXT FROM flyway_clean_6 INTO @statement;
+    WHILE @@FETCH_STATUS = 0
+    BEGIN
+        EXEC (@statement);
+        FETCH NEXT FROM flyway_clean_6 INTO @statement;
+    END;
+    CLOSE flyway_clean_6;
+    DEALLOCATE flyway_clean_6;
+    DECLARE flyway_clean_7 CURSOR LOCAL STATIC FOR
+        SELECT N'DROP FUNCTION [o''neil].' + QUOTENAME(o.name) FROM (SELECT obj.object_id, obj.name, obj.parent_object_id, obj.create_date FROM sys.objects AS obj LEFT JOIN sys.extended_properties AS eps ON obj.object_id = eps.major_id AND eps.class = 1 AND eps.minor_id = 0 AND eps.name='microsoft_database_tools_support' WHERE SCHEMA_NAME(obj.schema_id) = N'o''neil' AND eps.major_id IS NULL AND obj.is_ms_shipped = 0 AND obj.type IN ('FN', 'FS', 'FT', 'TF', 'IF')) o ORDER BY o.create_date DESC;
+    OPEN flyway_clean_7;
+    FETCH NEXT FROM flyway_clean_7 INTO @statement;
+    WHILE @@FETCH_STATUS = 0
+    BEGIN
+        EXEC (@statement);
+        FETCH NEXT FROM flyway_clean_7 INTO @statement;
+    END;
+    CLOSE flyway_clean_7;
+    DEALLOCATE flyway_clean_7;
+    DECLARE flyway_clean_8 CURSOR LOCAL STATIC FOR
+        SELECT N'DROP AGGREGATE [o''neil].' + QUOTENAME(o.name) FROM (SELECT obj.object_id, obj.name, obj.parent_object_id, obj.create_date FROM sys.objects AS obj LEFT JOIN sys.extended_properties AS eps ON obj.object_id = eps.major_id AND eps.class = 1 AND eps.minor_id = 0 AND eps.name='microsoft_database_tools_support' WHERE SCHEMA_NAME(obj.schema_id) = N'o''neil' AND eps.major_id IS NULL AND obj.is_ms_shipped = 0 AND obj.type IN ('AF')) o ORDER BY o.create_date DESC;
+    OPEN flyway_clean_8;
+    FETCH NEXT FROM flyway_clean_8 INTO @statement;
+    WHILE @@FETCH_STATUS = 0
+    BEGIN
+        EXEC (@statement);
+        FETCH NEXT FROM flyway_clean_8 INTO @statement;
+    END;
+    CLOSE flyway_clean_8;
+    DEALLOCATE flyway_clean_8;
+    DECLARE flyway_clean_9 CURSOR LOCAL STATIC FOR
+        SELECT N'DROP TYPE [o''neil].' + QUOTENAME(t.name) FROM sys.types t INNER JOIN sys.schemas s ON t.schema_id = s.schema_id WHERE t.is_user_defined = 1 AND s.name = N'o''neil';
+    OPEN flyway_clean_9;
+    FETCH NEXT FROM flyway_clean_9 INTO @statement;
+    WHILE @@FETCH_STATUS = 0
+    BEGIN
+        EXEC (@statement);
+        FETCH NEXT FROM flyway_clean_9 INTO @statement;
+    END;
+    CLOSE flyway_clean_9;
+    DEALLOCATE flyway_clean_9;
+    DECLARE flyway_clean_10 CURSOR LOCAL STATIC FOR
+        SELECT N'DROP ASSEMBLY ' + QUOTENAME(name) FROM sys.assemblies WHERE is_user_defined=1;
+    OPEN flyway_clean_10;
+    FETCH NEXT FROM flyway_clean_10 INTO @statement;
+    WHILE @@FETCH_STATUS = 0
+    BEGIN
+        EXEC (@statement);
+        FETCH NEXT FROM flyway_clean_10 INTO @statement;
+    END;
+    CLOSE flyway_clean_10;
+    DEALLOCATE flyway_clean_10;
+    DECLARE flyway_clean_11 CURSOR LOCAL STATIC FOR
+        SELECT N'DROP SYNONYM [o''neil].' + QUOTENAME(o.name) FROM (SELECT obj.object_id, obj.name, obj.parent_object_id, obj.create_date FROM sys.objects AS obj LEFT JOIN sys.extended_properties AS eps ON obj.object_id = eps.major_id AND eps.class = 1 AND eps.minor_id = 0 AND eps.name='microsoft_database_tools_support' WHERE SCHEMA_NAME(obj.schema_id) = N'o''neil' AND eps.major_id IS NULL AND obj.is_ms_shipped = 0 AND obj.type IN ('SN')) o ORDER BY o.create_date DESC;
+    OPEN flyway_clean_11;
+    FETCH NEXT FROM flyway_clean_11 INTO @statement;
+    WHILE @@FETCH_STATUS = 0
+    BEGIN
+        EXEC (@statement);
+        FETCH NEXT FROM flyway_clean_11 INTO @statement;
+    END;
+    CLOSE flyway_clean_11;
+    DEALLOCATE flyway_clean_11;
+    DECLARE flyway_clean_12 CURSOR LOCAL STATIC FOR
+        SELECT N'DROP RULE [o''neil].' + QUOTENAME(o.name) FROM (SELECT obj.object_id, obj.name, obj.parent_object_id, obj.create_date FROM sys.objects AS obj LEFT JOIN sys.extended_properties AS eps ON obj.object_id = eps.major_id AND eps.class = 1 AND eps.minor_id = 0 AND eps.name='microsoft_database_tools_support' WHERE SCHEMA_NAME(obj.schema_id) = N'o''neil' AND eps.major_id IS NULL AND obj.is_ms_shipped = 0 AND obj.type IN ('R')) o ORDER BY o.create_date DESC;
+    OPEN flyway_clean_12;
+    FETCH NEXT FROM flyway_clean_12 INTO @statement;
+    WHILE @@FETCH_STATUS = 0
+    BEGIN
+        EXEC (@statement);
+        FETCH NEXT FROM flyway_clean_12 INTO @statement;
+    END;
+    CLOSE flyway_clean_12;
+    DEALLOCATE flyway_clean_12;
+    DECLARE flyway_clean_13 CURSOR LOCAL STATIC FOR
+        SELECT N'DROP DEFAULT [o''neil].' + QUOTENAME(o.name) FROM (SELECT obj.object_id, obj.name, obj.parent_object_id, obj.create_date FROM sys.objects AS obj LEFT JOIN sys.extended_properties AS eps ON obj.object_id = eps.major_id AND eps.class = 1 AND eps.minor_id = 0 AND eps.name='microsoft_database_tools_support' WHERE SCHEMA_NAME(obj.schema_id) = N'o''neil' AND eps.major_id IS NULL AND obj.is_ms_shipped = 0 AND obj.type IN ('D')) o ORDER BY o.create_date DESC;
+    OPEN flyway_clean_13;
+    FETCH NEXT FROM flyway_clean_13 INTO @statement;
+    WHILE @@FETCH_STATUS = 0
+    BEGIN
+        EXEC (@statement);
+        FETCH NEXT FROM flyway_clean_13 INTO @statement;
+    END;
+    CLOSE flyway_clean_13;
+    DEALLOCATE flyway_clean_13;
+    DECLARE flyway_clean_14 CURSOR LOCAL STATIC FOR
+        SELECT N'DROP SEQUENCE [o''neil].' + QUOTENAME(o.name) FROM (SELECT obj.object_id, obj.name, obj.parent_object_id, obj.create_date FROM sys.objects AS obj LEFT JOIN sys.extended_properties AS eps ON obj.object_id = eps.major_id AND eps.class = 1 AND eps.minor_id = 0 AND eps.name='microsoft_database_tools_support' WHERE SCHEMA_NAME(obj.schema_id) = N'o''neil' AND eps.major_id IS NULL AND obj.is_ms_shipped = 0 AND obj.type IN ('SO')) o ORDER BY o.create_date DESC;
+    OPEN flyway_clean_14;
+    FETCH NEXT FROM flyway_clean_14 INTO @statement;
+    WHILE @@FETCH_STATUS = 0
+    BEGIN
+        EXEC (@statement);
+        FETCH NEXT FROM flyway_clean_14 INTO @statement;
+    END;
+    CLOSE flyway_clean_14;
+    DEALLOCATE flyway_clean_14;
+END TRY
+BEGIN CATCH
+    DECLARE @error NVARCHAR(2048) = N'Unable to execute ' + ISNULL(@statement, N'') + N': ' + ERROR_MESSAGE();
+    RAISERROR(N'%s', 16, 1, @error);
+END CATCH;
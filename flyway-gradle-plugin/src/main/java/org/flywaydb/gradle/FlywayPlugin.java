@@ -17,6 +17,8 @@ package org.flywaydb.gradle;
 
 import org.flywaydb.gradle.task.FlywayBaselineTask;
 import org.flywaydb.gradle.task.FlywayCleanTask;
+import org.flywaydb.gradle.task.FlywayCompactTask;
+import org.flywaydb.gradle.task.FlywayIndexTask;
 import org.flywaydb.gradle.task.FlywayInfoTask;
 import org.flywaydb.gradle.task.FlywayMigrateTask;
 import org.flywaydb.gradle.task.FlywayRepairTask;
@@ -38,5 +40,7 @@ public class FlywayPlugin implements Plugin<Project> {
         project.getTasks().create("flywayValidate", FlywayValidateTask.class);
         project.getTasks().create("flywayInfo", FlywayInfoTask.class);
         project.getTasks().create("flywayRepair", FlywayRepairTask.class);
+        project.getTasks().create("flywayCompact", FlywayCompactTask.class);
+        project.getTasks().create("flywayIndex", FlywayIndexTask.class);
     }
 }
\ No newline at end of file
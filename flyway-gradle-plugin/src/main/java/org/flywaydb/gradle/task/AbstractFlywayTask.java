@@ -317,12 +317,72 @@ public abstract class AbstractFlywayTask extends DefaultTask {
      */
     public Boolean group;
 
+    /**
+     * Whether to stream SQL migrations when executing them. Streaming doesn't require loading the entire SQL file in memory at once.
+     * Instead each statement is loaded and executed one at a time. This is particularly useful for very large SQL migrations composed of multiple MB or even GB of data.
+     * <p>{@code true} to stream SQL migrations. {@code false} to fully load them in memory instead. (default: {@code false})</p>
+     */
+    public Boolean stream;
+
+    /**
+     * Whether to batch SQL statements when executing them. Batching can save up to 99 percent of network roundtrips by
+     * sending consecutive plain DML statements (insert, update, delete and merge) to the database in batches instead of one by one.
+     * <p>{@code true} to batch SQL statements. {@code false} to execute them individually instead. (default: {@code false})</p>
+     */
+    public Boolean batch;
+
+    /**
+     * How many statements are sent to the database together when migrations or clean are batched. Larger batches save
+     * more round trips at the cost of more memory held by the JDBC driver.
+     * <p>The maximum number of statements per batch. (default: 100)</p>
+     */
+    public Integer batchSize;
+
+    /**
+     * The maximum time to wait for the lock on the schema history table when another Flyway instance is holding it.
+     * Flyway fails when the lock couldn't be acquired within this time.
+     * <p>The maximum time to wait for the lock in seconds. 0 to wait indefinitely. (default: 0)</p>
+     */
+    public Integer lockWaitTimeout;
+
+    /**
+     * Whether clean should batch its drop statements. Dropping objects of the same type is then done with statements
+     * dropping several objects at once where the database supports them (PostgreSQL and CockroachDB), or sent to the
+     * database in JDBC batches of up to batchSize statements otherwise, instead of one round trip per object.
+     * <p>{@code true} to batch the drop statements of clean. {@code false} to drop objects one by one. (default: {@code false})</p>
+     */
+    public Boolean batchClean;
+
+    /**
+     * The maximum number of schemas clean should clean concurrently, each over its own connection. Databases that only
+     * use a single connection, like SQLite, always clean their schemas one after another.
+     * Schemas referenced by objects in other schemas, like foreign keys or views, are also cleaned one after another.
+     * <p>The maximum number of schemas to clean concurrently. 1 to clean them one after another. (default: 1)</p>
+     */
+    public Integer cleanParallelism;
+
+    /**
+     * Whether clean should enumerate and drop the objects of a schema on the database server, with a single generated
+     * PL/SQL block (Oracle) or T-SQL batch (SQL Server), instead of one round trip per object. Other databases ignore
+     * this setting.
+     * <p>{@code true} to clean Oracle and SQL Server schemas on the server. {@code false} to drop objects one by one. (default: {@code false})</p>
+     */
+    public Boolean serverSideClean;
+
     /**
      * The username that will be recorded in the schema history table as having applied the migration.
      * {@code null} for the current database user of the connection. (default: {@code null}).
      */
     public String installedBy;
 
+    /**
+     * The file in which to cache the checksums of migrations across runs, so that unchanged migrations don't have to be
+     * read again. Migrations are considered unchanged as long as the size and modification time of their file (or the
+     * size and CRC of their jar entry) are the same.
+     * <p>The path of the cache file or {@code null} to disable the cache. (default: {@code null})</p>
+     */
+    public String checksumCacheFile;
+
     /**
      * Gradle configurations that will be added to the classpath for running Flyway tasks.
      * (default: <code>compile</code>, <code>runtime</code>, <code>testCompile</code>, <code>testRuntime</code>)
@@ -483,7 +543,15 @@ public abstract class AbstractFlywayTask extends DefaultTask {
         putIfSet(conf, ConfigUtils.SQL_MIGRATION_SUFFIXES, StringUtils.arrayToCommaDelimitedString(sqlMigrationSuffixes), StringUtils.arrayToCommaDelimitedString(extension.sqlMigrationSuffixes));
         putIfSet(conf, ConfigUtils.MIXED, mixed, extension.mixed);
         putIfSet(conf, ConfigUtils.GROUP, group, extension.group);
+        putIfSet(conf, ConfigUtils.STREAM, stream, extension.stream);
+        putIfSet(conf, ConfigUtils.BATCH, batch, extension.batch);
+        putIfSet(conf, ConfigUtils.BATCH_SIZE, batchSize, extension.batchSize);
+        putIfSet(conf, ConfigUtils.LOCK_WAIT_TIMEOUT, lockWaitTimeout, extension.lockWaitTimeout);
+        putIfSet(conf, ConfigUtils.BATCH_CLEAN, batchClean, extension.batchClean);
+        putIfSet(conf, ConfigUtils.CLEAN_PARALLELISM, cleanParallelism, extension.cleanParallelism);
+        putIfSet(conf, ConfigUtils.SERVER_SIDE_CLEAN, serverSideClean, extension.serverSideClean);
         putIfSet(conf, ConfigUtils.INSTALLED_BY, installedBy, extension.installedBy);
+        putIfSet(conf, ConfigUtils.CHECKSUM_CACHE_FILE, checksumCacheFile, extension.checksumCacheFile);
         putIfSet(conf, ConfigUtils.ENCODING, encoding, extension.encoding);
         putIfSet(conf, ConfigUtils.PLACEHOLDER_REPLACEMENT, placeholderReplacement, extension.placeholderReplacement);
         putIfSet(conf, ConfigUtils.PLACEHOLDER_PREFIX, placeholderPrefix, extension.placeholderPrefix);
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.gradle.task;
+
+import org.flywaydb.core.Flyway;
+
+/**
+ * Compacts the Flyway schema history table. The successfully applied migrations up to the target version (or the
+ * current version if no target is set) are folded into a single snapshot row and their rows are moved to an archive
+ * table next to the schema history table.
+ */
+public class FlywayCompactTask extends AbstractFlywayTask {
+    public FlywayCompactTask() {
+        super();
+        setDescription("Compacts the Flyway schema history table into a snapshot.");
+    }
+
+    @Override
+    protected Object run(Flyway flyway) {
+        return flyway.compact();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.gradle.task;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.internal.util.scanner.classpath.MigrationIndex;
+import org.gradle.api.plugins.JavaPluginConvention;
+import org.gradle.api.tasks.SourceSet;
+
+import java.io.File;
+import java.io.IOException;
+
+public class FlywayIndexTask extends AbstractFlywayTask {
+    public FlywayIndexTask() {
+        super();
+        setDescription("Generates an index of the migrations at the classpath locations, so they don't have to be scanned at runtime.");
+        dependsOn("classes");
+    }
+
+    @Override
+    protected Object run(Flyway flyway) {
+        SourceSet main = getProject().getConvention().getPlugin(JavaPluginConvention.class)
+                .getSourceSets().getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+        File outputDirectory = main.getOutput().getResourcesDir();
+        try {
+            int count = MigrationIndex.generate(flyway.getConfiguration(), outputDirectory, main.getOutput().getFiles());
+            System.out.println("Indexed " + count + " migration resources and classes in "
+                    + new File(outputDirectory, MigrationIndex.PATH).getPath());
+            return count;
+        } catch (IOException e) {
+            throw new FlywayException("Unable to generate migration index in " + outputDirectory, e);
+        }
+    }
+}
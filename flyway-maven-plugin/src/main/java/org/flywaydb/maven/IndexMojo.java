@@ -0,0 +1,45 @@
+/*
+ * Copyright 2010-2018 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.maven;
+
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.internal.util.scanner.classpath.MigrationIndex;
+
+import java.io.File;
+import java.util.Collections;
+
+/**
+ * Maven goal that generates an index of the migrations at the configured classpath locations in the build output
+ * directory. At runtime Flyway reads this index instead of scanning the jar for migrations.
+ */
+@SuppressWarnings({"UnusedDeclaration", "JavaDoc"})
+@Mojo(name = "index",
+        requiresDependencyResolution = ResolutionScope.COMPILE,
+        defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+        threadSafe = true)
+public class IndexMojo extends AbstractFlywayMojo {
+    @Override
+    protected void doExecute(Flyway flyway) throws Exception {
+        File outputDirectory = new File(mavenProject.getBuild().getOutputDirectory());
+        int count = MigrationIndex.generate(flyway.getConfiguration(), outputDirectory,
+                Collections.singletonList(outputDirectory));
+        log.info("Indexed " + count + " migration resources and classes in "
+                + new File(outputDirectory, MigrationIndex.PATH).getPath());
+    }
+}